@@ -2,12 +2,21 @@ package com.salonhub.api.appointment.controller;
 
 import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
 import com.salonhub.api.appointment.dto.AppointmentResponseDTO;
+import com.salonhub.api.appointment.dto.AppointmentSearchCriteria;
+import com.salonhub.api.appointment.dto.AppointmentSummaryDTO;
+import com.salonhub.api.appointment.dto.SplitBookingRequestDTO;
+import com.salonhub.api.appointment.model.BookingStatus;
 import com.salonhub.api.appointment.service.AppointmentService;
+import com.salonhub.api.common.pagination.KeysetPage;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -33,6 +42,15 @@ public class AppointmentController {
         return ResponseEntity.ok(service.book(dto));
     }
 
+    /**
+     * Book services at the earliest time they fit on a day, split across technicians where that finishes sooner
+     */
+    @PostMapping("/split")
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<AppointmentResponseDTO> createSplit(@Valid @RequestBody SplitBookingRequestDTO dto) {
+        return ResponseEntity.ok(service.bookSplit(dto));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('TECHNICIAN', 'FRONT_DESK', 'MANAGER', 'ADMIN')")
     public ResponseEntity<AppointmentResponseDTO> getOne(@PathVariable Long id) {
@@ -45,10 +63,51 @@ public class AppointmentController {
         return ResponseEntity.ok(service.listByCustomer(customerId));
     }
 
+    /**
+     * An employee's appointments between two dates (inclusive); defaults to the week starting today
+     */
     @GetMapping("/employee/{employeeId}")
     @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN') or (authentication.principal.id == #employeeId)")
-    public ResponseEntity<List<AppointmentResponseDTO>> getByEmployee(@PathVariable Long employeeId) {
-        return ResponseEntity.ok(service.listByEmployee(employeeId));
+    public ResponseEntity<List<AppointmentResponseDTO>> getByEmployee(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(6);
+        return ResponseEntity.ok(service.listByEmployee(employeeId, start, end));
+    }
+
+    /**
+     * Day or week calendar across employees, one page at a time. Pass the returned nextCursor to continue.
+     */
+    @GetMapping("/calendar")
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<KeysetPage<AppointmentResponseDTO>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Long> employeeIds,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "200") int size) {
+        return ResponseEntity.ok(service.calendar(from, to != null ? to : from, employeeIds, cursor, size));
+    }
+
+    /**
+     * Search by any combination of status, start time range [from, to), employee, customer and service,
+     * one page at a time. Pass the returned nextCursor to continue.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<KeysetPage<AppointmentSummaryDTO>> search(
+            @RequestParam(required = false) List<BookingStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) List<Long> employeeId,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) List<Long> serviceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        AppointmentSearchCriteria criteria = new AppointmentSearchCriteria(status, from, to, employeeId, customerId, serviceId);
+        return ResponseEntity.ok(service.search(criteria, cursor, size));
     }
 
     @PutMapping("/{id}")
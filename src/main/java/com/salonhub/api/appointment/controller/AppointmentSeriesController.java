@@ -0,0 +1,64 @@
+package com.salonhub.api.appointment.controller;
+
+import com.salonhub.api.appointment.dto.AppointmentSeriesResponseDTO;
+import com.salonhub.api.appointment.dto.RecurringAppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.SeriesUpdateRequestDTO;
+import com.salonhub.api.appointment.service.AppointmentSeriesService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Recurring appointment series, with the same role rules as single appointments:
+ * - CREATE / UPDATE series: FRONT_DESK, MANAGER, ADMIN
+ * - VIEW series: TECHNICIAN, FRONT_DESK, MANAGER, ADMIN
+ * - CANCEL series: MANAGER, ADMIN
+ */
+@RestController
+@RequestMapping("/api/appointments/series")
+@Validated
+public class AppointmentSeriesController {
+    private final AppointmentSeriesService service;
+
+    public AppointmentSeriesController(AppointmentSeriesService service) {
+        this.service = service;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<AppointmentSeriesResponseDTO> create(@Valid @RequestBody RecurringAppointmentRequestDTO dto) {
+        return ResponseEntity.ok(service.create(dto));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<AppointmentSeriesResponseDTO> getOne(@PathVariable Long id) {
+        return ResponseEntity.ok(service.get(id));
+    }
+
+    /**
+     * Move the remaining occurrences to another technician and/or time of day
+     */
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<AppointmentSeriesResponseDTO> update(@PathVariable Long id,
+                                                               @RequestBody SeriesUpdateRequestDTO dto) {
+        return ResponseEntity.ok(service.update(id, dto));
+    }
+
+    /**
+     * Cancel the remaining occurrences, from {@code from} (default today) on
+     */
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<Void> cancel(@PathVariable Long id,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        service.cancel(id, from);
+        return ResponseEntity.noContent().build();
+    }
+}
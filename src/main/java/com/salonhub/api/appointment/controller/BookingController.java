@@ -1,19 +1,32 @@
 package com.salonhub.api.appointment.controller;
 
 import com.salonhub.api.appointment.dto.AppointmentResponseDTO;
+import com.salonhub.api.appointment.dto.AvailabilityResponseDTO;
 import com.salonhub.api.appointment.dto.BookingRequestDTO;
+import com.salonhub.api.appointment.dto.ServicePlanDTO;
+import com.salonhub.api.appointment.dto.SlotHoldDTO;
+import com.salonhub.api.appointment.dto.SlotHoldRequestDTO;
 import com.salonhub.api.appointment.service.AppointmentService;
+import com.salonhub.api.appointment.service.AvailabilityService;
+import com.salonhub.api.appointment.service.SlotHoldService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
 /**
  * Public Booking Controller for online appointment booking.
  * 
@@ -31,16 +44,116 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
     
     private final AppointmentService appointmentService;
+    private final AvailabilityService availabilityService;
+    private final SlotHoldService slotHoldService;
     
-    public BookingController(AppointmentService appointmentService) {
+    public BookingController(AppointmentService appointmentService, AvailabilityService availabilityService,
+                             SlotHoldService slotHoldService) {
         this.appointmentService = appointmentService;
+        this.availabilityService = availabilityService;
+        this.slotHoldService = slotHoldService;
+    }
+    
+    @GetMapping("/availability")
+    @Operation(
+        summary = "Find open booking times",
+        description = "Lists start times between 'from' and 'to' (inclusive) at which the selected services can be booked, " +
+                      "with the staff free for each. Takes existing appointments and today's walk-in queue into account."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Open start times",
+            content = @Content(schema = @Schema(implementation = AvailabilityResponseDTO.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid range or unknown service"
+        )
+    })
+    public ResponseEntity<AvailabilityResponseDTO> getAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam List<Long> serviceIds,
+            @RequestParam(required = false) Long staffId) {
+        return ResponseEntity.ok(availabilityService.findAvailability(from, to, serviceIds, staffId));
+    }
+    
+    @GetMapping("/plan")
+    @Operation(
+        summary = "Plan services across technicians",
+        description = "Finds the earliest way to do the selected services on 'date', split across whichever technicians " +
+                      "are free. With 'parallel', services in different categories (e.g. a manicure and a pedicure) " +
+                      "may be done at the same time."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Who does each service and when",
+            content = @Content(schema = @Schema(implementation = ServicePlanDTO.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Past date, too many services or unknown service"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "The services can't all be fitted in that day"
+        )
+    })
+    public ResponseEntity<ServicePlanDTO> getPlan(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam List<Long> serviceIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime after,
+            @RequestParam(defaultValue = "true") boolean parallel) {
+        return ResponseEntity.ok(availabilityService.plan(date, after, serviceIds, parallel));
+    }
+    
+    @PostMapping("/holds")
+    @Operation(
+        summary = "Hold a time during checkout",
+        description = "Reserves the time for the selected services for a few minutes, with the requested staff member " +
+                      "or the first free one. Send the returned holdId with the booking to book the held time. " +
+                      "Each client may hold only a few times at once, and requests are rate limited."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Time held",
+            content = @Content(schema = @Schema(implementation = SlotHoldDTO.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Service or staff not found"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Time slot is already booked or held, or this client already holds too many times"
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many hold requests from this client"
+        )
+    })
+    public ResponseEntity<SlotHoldDTO> createHold(@Valid @RequestBody SlotHoldRequestDTO request,
+                                                  HttpServletRequest httpRequest) {
+        // The client's address as resolved from X-Forwarded-For, like the rate limiter's
+        return ResponseEntity.ok(slotHoldService.hold(request, httpRequest.getRemoteAddr()));
+    }
+    
+    @DeleteMapping("/holds/{holdId}")
+    @Operation(summary = "Release a hold", description = "Gives the held time back, e.g. when the customer leaves checkout.")
+    public ResponseEntity<Void> releaseHold(@PathVariable UUID holdId) {
+        slotHoldService.release(holdId);
+        return ResponseEntity.noContent().build();
     }
     
     @PostMapping
     @Operation(
         summary = "Create a new booking",
         description = "Creates a new appointment booking. If customer doesn't exist, creates a new customer record. " +
-                      "Accepts customer name, email, phone instead of requiring customer ID."
+                      "Accepts customer name, email, phone instead of requiring customer ID. " +
+                      "With a holdId, books the held staff member and time."
     )
     @ApiResponses({
         @ApiResponse(
@@ -58,7 +171,7 @@ public class BookingController {
         ),
         @ApiResponse(
             responseCode = "409",
-            description = "Time slot is already booked"
+            description = "Time slot is already booked, or the hold has expired"
         )
     })
     public ResponseEntity<AppointmentResponseDTO> createBooking(
@@ -0,0 +1,72 @@
+package com.salonhub.api.appointment.controller;
+
+import com.salonhub.api.appointment.dto.CalendarFeedLinkDTO;
+import com.salonhub.api.appointment.service.CalendarFeedService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Technicians' schedules as iCalendar feeds:
+ * - GET feed (.ics): public, authorized by the token in the URL
+ * - GET feed link: TECHNICIAN (own), FRONT_DESK, MANAGER, ADMIN
+ */
+@RestController
+@RequestMapping("/api/appointments/feed")
+public class CalendarFeedController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final CalendarFeedService feedService;
+
+    public CalendarFeedController(CalendarFeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    @GetMapping("/{employeeId}.ics")
+    public ResponseEntity<StreamingResponseBody> feed(@PathVariable Long employeeId,
+                                                      @RequestParam(required = false) String token,
+                                                      WebRequest request) {
+        if (!feedService.isValidToken(employeeId, token)) {
+            return ResponseEntity.notFound().build();
+        }
+        CalendarFeedService.FeedVersion version = feedService.version(employeeId);
+        if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            feedService.write(employeeId, writer);
+        };
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+
+    @GetMapping("/{employeeId}/link")
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN') or (authentication.principal.id == #employeeId)")
+    public ResponseEntity<CalendarFeedLinkDTO> link(@PathVariable Long employeeId) {
+        String url = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/appointments/feed/{employeeId}.ics")
+                .queryParam("token", feedService.token(employeeId))
+                .buildAndExpand(employeeId)
+                .toUriString();
+        return ResponseEntity.ok(new CalendarFeedLinkDTO(employeeId, url));
+    }
+}
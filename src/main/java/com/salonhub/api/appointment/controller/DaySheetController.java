@@ -0,0 +1,47 @@
+package com.salonhub.api.appointment.controller;
+
+import com.salonhub.api.appointment.dto.DaySheetDTO;
+import com.salonhub.api.appointment.service.DaySheetService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Technicians' day sheets (appointments and assigned walk-ins); the date defaults to today:
+ * - GET all technicians: FRONT_DESK, MANAGER, ADMIN
+ * - GET one technician: TECHNICIAN (own), FRONT_DESK, MANAGER, ADMIN
+ */
+@RestController
+@RequestMapping("/api/appointments/day-sheets")
+public class DaySheetController {
+
+    private final DaySheetService daySheetService;
+
+    public DaySheetController(DaySheetService daySheetService) {
+        this.daySheetService = daySheetService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<List<DaySheetDTO>> getAll(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) List<Long> employeeIds) {
+        return ResponseEntity.ok(daySheetService.getDaySheets(date != null ? date : LocalDate.now(), employeeIds));
+    }
+
+    @GetMapping("/{employeeId}")
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN') or (authentication.principal.id == #employeeId)")
+    public ResponseEntity<DaySheetDTO> getOne(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(daySheetService.getDaySheet(employeeId, date != null ? date : LocalDate.now()));
+    }
+}
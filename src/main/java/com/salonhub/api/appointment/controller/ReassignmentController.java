@@ -0,0 +1,44 @@
+package com.salonhub.api.appointment.controller;
+
+import com.salonhub.api.appointment.dto.ReassignmentResultDTO;
+import com.salonhub.api.appointment.service.ReassignmentService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Moving an absent technician's appointments to colleagues; the date defaults to today:
+ * - POST reassignment: FRONT_DESK, MANAGER, ADMIN
+ *
+ * Marking a technician unavailable (PATCH /api/employees/{id}/availability) does not reassign anything by
+ * itself: the flag also covers clocking in and out, and the front desk needs this call's response to phone
+ * the customers nobody could take. Call this after marking a technician out for the day.
+ */
+@RestController
+@RequestMapping("/api/appointments/reassignments")
+public class ReassignmentController {
+
+    private final ReassignmentService reassignmentService;
+
+    public ReassignmentController(ReassignmentService reassignmentService) {
+        this.reassignmentService = reassignmentService;
+    }
+
+    /**
+     * Reassign the employee's upcoming appointments for the day; the response lists what could not be placed
+     */
+    @PostMapping("/{employeeId}")
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<ReassignmentResultDTO> reassign(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(reassignmentService.reassign(employeeId, date != null ? date : LocalDate.now()));
+    }
+}
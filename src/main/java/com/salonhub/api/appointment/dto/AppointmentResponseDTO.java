@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,7 +18,11 @@ public class AppointmentResponseDTO {
     private Long employeeId;
     private List<ServiceTypeDTO> services;
     private Integer totalEstimatedDuration;
+    private BigDecimal totalPrice;
     private LocalDateTime startTime;
+    private LocalDateTime endTime;
     private LocalDateTime actualEndTime;
     private BookingStatus status;
+    /** Who does each service and when; empty unless the services are split across technicians */
+    private List<ServiceAssignmentDTO> assignments;
 }
\ No newline at end of file
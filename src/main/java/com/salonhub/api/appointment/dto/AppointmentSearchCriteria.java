@@ -0,0 +1,27 @@
+package com.salonhub.api.appointment.dto;
+
+import com.salonhub.api.appointment.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appointment search filters; null or empty filters match everything.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentSearchCriteria {
+    private List<BookingStatus> statuses;
+    /** Start time lower bound, inclusive */
+    private LocalDateTime from;
+    /** Start time upper bound, exclusive */
+    private LocalDateTime to;
+    private List<Long> employeeIds;
+    private Long customerId;
+    /** Appointments including any of these services */
+    private List<Long> serviceIds;
+}
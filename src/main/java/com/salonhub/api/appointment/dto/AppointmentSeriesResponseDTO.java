@@ -0,0 +1,26 @@
+package com.salonhub.api.appointment.dto;
+
+import com.salonhub.api.appointment.model.RecurrenceFrequency;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentSeriesResponseDTO {
+    private Long id;
+    private Long customerId;
+    private Long employeeId;
+    private RecurrenceFrequency frequency;
+    private LocalDate until;
+    private List<ServiceTypeDTO> services;
+    private Integer totalEstimatedDuration;
+    private BigDecimal totalPrice;
+    /** Active occurrences, in start order */
+    private List<SeriesOccurrenceDTO> occurrences;
+}
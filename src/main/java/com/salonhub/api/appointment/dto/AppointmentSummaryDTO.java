@@ -0,0 +1,30 @@
+package com.salonhub.api.appointment.dto;
+
+import com.salonhub.api.appointment.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An appointment search hit: what the front desk list shows, without full customer or service records.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentSummaryDTO {
+    private Long id;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BookingStatus status;
+    private Long customerId;
+    private String customerName;
+    private Long employeeId;
+    private String employeeName;
+    private List<String> serviceNames;
+    private Integer totalDurationMinutes;
+    private BigDecimal totalPrice;
+}
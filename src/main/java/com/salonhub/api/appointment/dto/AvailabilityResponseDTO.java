@@ -0,0 +1,24 @@
+package com.salonhub.api.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Open start times for a set of services over a date range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityResponseDTO {
+
+    private LocalDate from;
+    private LocalDate to;
+    private List<Long> serviceIds;
+    private Long staffId;
+    private int durationMinutes;
+    private List<AvailableSlotDTO> slots;
+}
@@ -0,0 +1,19 @@
+package com.salonhub.api.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotDTO {
+
+    private LocalDateTime startTime;
+
+    // Technicians free for the whole booking, in the order they should be offered
+    private List<Long> staffIds;
+}
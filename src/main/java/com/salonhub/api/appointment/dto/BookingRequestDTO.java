@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * DTO for public booking requests.
@@ -43,6 +44,9 @@ public class BookingRequestDTO {
     @NotNull(message = "Scheduled time is required")
     private LocalDateTime scheduledTime;
     
+    // Optional: a hold from POST /api/bookings/holds; books the held staff member and time
+    private UUID holdId;
+    
     // Optional fields
     private Integer duration;
     
@@ -0,0 +1,14 @@
+package com.salonhub.api.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarFeedLinkDTO {
+    private Long employeeId;
+    /** Subscribe URL for calendar apps; anyone holding it can read the feed */
+    private String url;
+}
@@ -0,0 +1,24 @@
+package com.salonhub.api.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything on one technician's plate for a day: booked appointments and assigned walk-ins, in start order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DaySheetDTO {
+
+    private Long employeeId;
+    private LocalDate date;
+    /** When the sheet was last built or patched */
+    private LocalDateTime asOf;
+    private List<DaySheetEntryDTO> entries;
+}
@@ -0,0 +1,29 @@
+package com.salonhub.api.appointment.dto;
+
+import com.salonhub.api.appointment.repository.DaySheetEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DaySheetEntryDTO {
+
+    private DaySheetEntry.Kind kind;
+    /** Appointment id, or queue entry id for walk-ins */
+    private Long id;
+    /** Check-in time for walk-ins */
+    private LocalDateTime startTime;
+    /** Null for walk-ins */
+    private LocalDateTime endTime;
+    /** Booking status for appointments, queue status for walk-ins */
+    private String status;
+    private String customerName;
+    private List<String> serviceNames;
+    /** Null for appointments */
+    private Integer queueNumber;
+}
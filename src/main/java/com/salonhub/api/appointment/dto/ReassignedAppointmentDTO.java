@@ -0,0 +1,18 @@
+package com.salonhub.api.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReassignedAppointmentDTO {
+    private Long appointmentId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    /** The technician it now belongs to; still the absent one when it could not be placed */
+    private Long employeeId;
+}
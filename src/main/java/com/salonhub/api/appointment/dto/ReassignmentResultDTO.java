@@ -0,0 +1,22 @@
+package com.salonhub.api.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Outcome of handing an absent technician's day to the others.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReassignmentResultDTO {
+    private Long employeeId;
+    private LocalDate date;
+    private List<ReassignedAppointmentDTO> reassigned;
+    /** Appointments no available technician was free for; left with the absent technician */
+    private List<ReassignedAppointmentDTO> unplaced;
+}
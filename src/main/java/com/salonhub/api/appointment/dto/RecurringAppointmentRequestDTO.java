@@ -0,0 +1,41 @@
+package com.salonhub.api.appointment.dto;
+
+import com.salonhub.api.appointment.model.RecurrenceFrequency;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A repeating booking: the first occurrence plus a frequency, ending on {@code until} or after {@code count}
+ * occurrences (whichever comes first when both are given).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringAppointmentRequestDTO {
+    @NotNull
+    private Long customerId;
+
+    private Long employeeId;
+
+    @NotEmpty
+    private List<@NotNull Long> serviceIds;
+
+    @NotNull
+    private LocalDateTime startTime;
+
+    @NotNull
+    private RecurrenceFrequency frequency;
+
+    private LocalDate until;
+
+    @Min(1)
+    private Integer count;
+}
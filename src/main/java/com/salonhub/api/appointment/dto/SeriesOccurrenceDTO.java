@@ -0,0 +1,16 @@
+package com.salonhub.api.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesOccurrenceDTO {
+    private Long appointmentId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,23 @@
+package com.salonhub.api.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Change every remaining occurrence of a series: a new technician, a new time of day, or both.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesUpdateRequestDTO {
+    /** First day to change; defaults to today */
+    private LocalDate from;
+
+    private Long employeeId;
+
+    private LocalTime time;
+}
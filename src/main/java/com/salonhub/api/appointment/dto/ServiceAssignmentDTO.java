@@ -0,0 +1,21 @@
+package com.salonhub.api.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Who does one of an appointment's services, and when.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceAssignmentDTO {
+    private Long serviceId;
+    private String serviceName;
+    private Long employeeId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
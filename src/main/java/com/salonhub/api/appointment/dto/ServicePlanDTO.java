@@ -0,0 +1,23 @@
+package com.salonhub.api.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The earliest way to fit a set of services in on one day, split across technicians.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServicePlanDTO {
+    /** When the first service starts and the last one ends */
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private boolean parallel;
+    /** One per service, in the order the services were requested */
+    private List<ServiceAssignmentDTO> assignments;
+}
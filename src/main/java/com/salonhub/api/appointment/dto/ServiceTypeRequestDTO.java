@@ -37,4 +37,7 @@ public class ServiceTypeRequestDTO {
 
     @Builder.Default
     private Boolean active = true;
+
+    /** The station type the service needs one of, e.g. a pedicure chair; null for none */
+    private Long stationTypeId;
 }
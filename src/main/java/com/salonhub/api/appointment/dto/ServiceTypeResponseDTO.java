@@ -21,4 +21,5 @@ public class ServiceTypeResponseDTO {
     private String category;
     private Boolean popular;
     private Boolean active;
+    private Long stationTypeId;
 }
@@ -0,0 +1,22 @@
+package com.salonhub.api.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A held slot. Send {@code holdId} with the booking before {@code expiresAt} to book it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotHoldDTO {
+    private UUID holdId;
+    private Long staffId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,24 @@
+package com.salonhub.api.appointment.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotHoldRequestDTO {
+    @NotEmpty(message = "At least one service must be selected")
+    private List<Long> serviceIds;
+
+    /** Optional: null holds the time with any free technician */
+    private Long staffId;
+
+    @NotNull(message = "Start time is required")
+    private LocalDateTime startTime;
+}
@@ -0,0 +1,34 @@
+package com.salonhub.api.appointment.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Book services at the earliest time they fit on a day, split across whichever technicians are free.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SplitBookingRequestDTO {
+    @NotNull
+    private Long customerId;
+
+    @NotEmpty
+    private List<@NotNull Long> serviceIds;
+
+    @NotNull
+    private LocalDate date;
+
+    /** Optional: nothing starts before this time */
+    private LocalTime after;
+
+    /** Whether services in different categories may be done at the same time */
+    private boolean parallel = true;
+}
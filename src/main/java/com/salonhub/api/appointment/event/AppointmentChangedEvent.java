@@ -0,0 +1,20 @@
+package com.salonhub.api.appointment.event;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Published whenever an appointment is created or changed.
+ *
+ * @param appointmentId the changed appointment, or null when many changed at once (a recurring series, a reassignment)
+ * @param employeeIds technicians whose schedule the change touches (the old and the new one when reassigned)
+ * @param dates every day whose schedule the change touches (the old and the new day when it moved)
+ * @param appointmentIds every appointment the change touches; for bulk changes that may have no technician
+ */
+public record AppointmentChangedEvent(Long appointmentId, Set<Long> employeeIds, Set<LocalDate> dates,
+                                      Set<Long> appointmentIds) {
+
+    public AppointmentChangedEvent(Long appointmentId, Set<Long> employeeIds, Set<LocalDate> dates) {
+        this(appointmentId, employeeIds, dates, appointmentId != null ? Set.of(appointmentId) : Set.of());
+    }
+}
@@ -0,0 +1,13 @@
+package com.salonhub.api.appointment.event;
+
+import com.salonhub.api.appointment.repository.AppointmentSpan;
+
+import java.util.List;
+
+/**
+ * Published when appointments with a technician are cancelled, alongside {@link AppointmentChangedEvent}.
+ *
+ * @param spans the technician and time each cancelled appointment gave up
+ */
+public record AppointmentsCancelledEvent(List<AppointmentSpan> spans) {
+}
@@ -3,6 +3,7 @@ package com.salonhub.api.appointment.mapper;
 import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
 import com.salonhub.api.appointment.dto.AppointmentResponseDTO;
 import com.salonhub.api.appointment.model.Appointment;
+import com.salonhub.api.appointment.dto.ServiceAssignmentDTO;
 import com.salonhub.api.appointment.dto.ServiceTypeDTO;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,21 +23,22 @@ public class AppointmentMapper {
         resp.setCustomerId(appt.getCustomer().getId());
         resp.setEmployeeId(appt.getEmployee() != null ? appt.getEmployee().getId() : null);
 
-        // Map services to DTOs
-        List<ServiceTypeDTO> services = appt.getServices().stream()
-            .map(s -> new ServiceTypeDTO(s.getId(), s.getName(), s.getEstimatedDurationMinutes()))
+        // Services and totals come from the booking-time snapshot
+        List<ServiceTypeDTO> services = appt.getLineItems().stream()
+            .map(item -> new ServiceTypeDTO(item.getServiceId(), item.getServiceName(), item.getDurationMinutes()))
             .collect(Collectors.toList());
         resp.setServices(services);
-
-        // Compute total estimated duration
-        int totalEstimate = services.stream()
-            .mapToInt(ServiceTypeDTO::getEstimatedDurationMinutes)
-            .sum();
-        resp.setTotalEstimatedDuration(totalEstimate);
+        resp.setTotalEstimatedDuration(appt.getTotalDurationMinutes());
+        resp.setTotalPrice(appt.getTotalPrice());
 
         resp.setStartTime(appt.getStartTime());
+        resp.setEndTime(appt.getEndTime());
         resp.setActualEndTime(appt.getActualEndTime());
         resp.setStatus(appt.getStatus());
+        resp.setAssignments(!appt.isServicesSplit() ? List.of() : appt.getLineItems().stream()
+            .map(item -> new ServiceAssignmentDTO(item.getServiceId(), item.getServiceName(), item.getEmployeeId(),
+                item.getStartTime(), item.getEndTime()))
+            .collect(Collectors.toList()));
         return resp;
     }
 
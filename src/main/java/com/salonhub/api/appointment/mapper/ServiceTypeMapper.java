@@ -25,6 +25,7 @@ public class ServiceTypeMapper {
                 .category(serviceType.getCategory())
                 .popular(serviceType.getPopular())
                 .active(serviceType.getActive())
+                .stationTypeId(serviceType.getStationTypeId())
                 .build();
     }
     
@@ -44,6 +45,7 @@ public class ServiceTypeMapper {
         serviceType.setCategory(requestDTO.getCategory());
         serviceType.setPopular(requestDTO.getPopular() != null ? requestDTO.getPopular() : false);
         serviceType.setActive(requestDTO.getActive() != null ? requestDTO.getActive() : true);
+        serviceType.setStationTypeId(requestDTO.getStationTypeId());
         return serviceType;
     }
     
@@ -60,6 +62,7 @@ public class ServiceTypeMapper {
         existingServiceType.setPrice(requestDTO.getPrice());
         existingServiceType.setDescription(requestDTO.getDescription());
         existingServiceType.setCategory(requestDTO.getCategory());
+        existingServiceType.setStationTypeId(requestDTO.getStationTypeId());
         if (requestDTO.getPopular() != null) {
             existingServiceType.setPopular(requestDTO.getPopular());
         }
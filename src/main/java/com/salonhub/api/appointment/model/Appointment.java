@@ -4,9 +4,11 @@ import jakarta.persistence.EnumType;
 import com.salonhub.api.customer.model.Customer;
 import com.salonhub.api.employee.model.Employee;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -14,29 +16,46 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Associations are lazy; reads that return appointments load them through {@link #DETAILS_GRAPH}.
+ */
 @Entity
 @Table(name = "appointments")
+@NamedEntityGraph(name = Appointment.DETAILS_GRAPH, attributeNodes = {
+    @NamedAttributeNode("customer"),
+    @NamedAttributeNode("employee"),
+    @NamedAttributeNode("lineItems")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Appointment {
+    /** Everything an {@code AppointmentResponseDTO} needs (line items, not services), fetched in one statement */
+    public static final String DETAILS_GRAPH = "Appointment.details";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     private Employee employee;
 
@@ -48,13 +67,109 @@ public class Appointment {
     )
     private List<ServiceType> services;
 
+    /** Snapshot of the booked services; rebuilt whenever {@link #services} changes */
+    @OneToMany(mappedBy = "appointment", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    private List<AppointmentLineItem> lineItems = new ArrayList<>();
+
+    @Column(name = "total_duration_minutes", nullable = false)
+    private Integer totalDurationMinutes;
+
+    @Column(name = "total_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalPrice;
+
     @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
 
+    /** Scheduled end: start plus the booked services' durations, or the actual end once completed */
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
     @Column(name = "actual_end_time")
     private LocalDateTime actualEndTime;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BookingStatus status;
-}
\ No newline at end of file
+
+    /** The recurring series this appointment was generated from, if any */
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    /**
+     * Services are split across technicians or run side by side. Each line item then carries its own technician
+     * and time; {@link #employee} is the first of them and start/end span them all.
+     */
+    @Column(name = "services_split", nullable = false)
+    private boolean servicesSplit;
+
+    /**
+     * Book {@code services}: snapshot them as line items and set the totals and scheduled end from the snapshot.
+     * The services are done one after another by {@link #employee}, undoing any split.
+     */
+    public void applyServices(List<ServiceType> services) {
+        this.services = services;
+        servicesSplit = false;
+        lineItems.clear();
+        int duration = 0;
+        BigDecimal price = BigDecimal.ZERO;
+        for (ServiceType service : services) {
+            AppointmentLineItem item = AppointmentLineItem.snapshot(this, service);
+            lineItems.add(item);
+            duration += item.getDurationMinutes();
+            price = price.add(item.getPrice());
+        }
+        totalDurationMinutes = duration;
+        totalPrice = price;
+        if (startTime != null) {
+            endTime = startTime.plusMinutes(duration);
+        }
+    }
+
+    /**
+     * Split the booked services: line item {@code i} is done by {@code employees.get(i)} from {@code starts.get(i)}.
+     * The first service to start sets the appointment's technician; start and end span all services.
+     */
+    public void splitServices(List<Employee> employees, List<LocalDateTime> starts) {
+        if (employees.size() != lineItems.size() || starts.size() != lineItems.size()) {
+            throw new IllegalArgumentException("Every service needs a technician and a start time");
+        }
+        servicesSplit = true;
+        startTime = null;
+        endTime = null;
+        for (int i = 0; i < lineItems.size(); i++) {
+            AppointmentLineItem item = lineItems.get(i);
+            item.setEmployeeId(employees.get(i).getId());
+            item.setStartTime(starts.get(i));
+            item.setEndTime(starts.get(i).plusMinutes(item.getDurationMinutes()));
+            if (startTime == null || item.getStartTime().isBefore(startTime)) {
+                startTime = item.getStartTime();
+                employee = employees.get(i);
+            }
+            if (endTime == null || item.getEndTime().isAfter(endTime)) {
+                endTime = item.getEndTime();
+            }
+        }
+    }
+
+    /**
+     * The stations the booked services take and when: a split service's own time, otherwise its turn after
+     * the services before it. Nothing runs past {@link #endTime}, so finishing early frees the station.
+     */
+    public List<StationUse> stationUses() {
+        List<StationUse> uses = new ArrayList<>();
+        LocalDateTime next = startTime;
+        for (AppointmentLineItem item : lineItems) {
+            LocalDateTime start = servicesSplit ? item.getStartTime() : next;
+            LocalDateTime end = servicesSplit ? item.getEndTime() : next.plusMinutes(item.getDurationMinutes());
+            next = end;
+            if (endTime != null && end.isAfter(endTime)) {
+                end = endTime;
+            }
+            if (item.getStationTypeId() != null && start.isBefore(end)) {
+                uses.add(new StationUse(item.getStationTypeId(), start, end));
+            }
+        }
+        return uses;
+    }
+}
@@ -0,0 +1,75 @@
+package com.salonhub.api.appointment.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A booked service as it was at booking time. Later changes to the service's name, duration or price
+ * don't touch existing appointments. In a split appointment it also records who does the service and when.
+ */
+@Entity
+@Table(name = "appointment_line_items")
+@Data
+@NoArgsConstructor
+public class AppointmentLineItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "appointment_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Appointment appointment;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Column(name = "service_name", nullable = false)
+    private String serviceName;
+
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    /** Who does this service and when, for split appointments; null when the appointment's technician does it in turn */
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "start_time")
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time")
+    private LocalDateTime endTime;
+
+    /** The station type the service needed when booked; null for none */
+    @Column(name = "station_type_id")
+    private Long stationTypeId;
+
+    public static AppointmentLineItem snapshot(Appointment appointment, ServiceType service) {
+        AppointmentLineItem item = new AppointmentLineItem();
+        item.setAppointment(appointment);
+        item.setServiceId(service.getId());
+        item.setServiceName(service.getName());
+        item.setDurationMinutes(service.getEstimatedDurationMinutes());
+        item.setPrice(service.getPrice() != null ? service.getPrice() : BigDecimal.ZERO);
+        item.setStationTypeId(service.getStationTypeId());
+        return item;
+    }
+}
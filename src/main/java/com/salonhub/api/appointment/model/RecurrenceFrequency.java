@@ -0,0 +1,24 @@
+package com.salonhub.api.appointment.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * How often a recurring appointment series repeats.
+ */
+public enum RecurrenceFrequency {
+    WEEKLY,
+    BIWEEKLY,
+    MONTHLY;
+
+    /**
+     * Start of the {@code index}-th occurrence (0 is the first). Monthly series keep the day of month,
+     * falling back to the month's last day when it is shorter.
+     */
+    public LocalDateTime occurrence(LocalDateTime first, int index) {
+        return switch (this) {
+            case WEEKLY -> first.plusWeeks(index);
+            case BIWEEKLY -> first.plusWeeks(2L * index);
+            case MONTHLY -> first.plusMonths(index);
+        };
+    }
+}
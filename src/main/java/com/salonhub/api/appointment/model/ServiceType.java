@@ -41,6 +41,10 @@ public class ServiceType {
     @Column(nullable = false)
     private Boolean active = true;
 
+    /** The station type this service takes one of while it is done, e.g. a pedicure chair; null for none */
+    @Column(name = "station_type_id")
+    private Long stationTypeId;
+
     // Constructor for backward compatibility (without new fields)
     public ServiceType(Long id, String name, Integer estimatedDurationMinutes, java.math.BigDecimal price) {
         this.id = id;
@@ -0,0 +1,57 @@
+package com.salonhub.api.appointment.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A technician's time reserved for a few minutes while a customer finishes online checkout.
+ * The id is random and doubles as the customer's claim on the hold.
+ */
+@Entity
+@Table(name = "slot_holds", indexes = {
+    @Index(name = "idx_slot_holds_employee_start", columnList = "employee_id, start_time"),
+    @Index(name = "idx_slot_holds_expires_at", columnList = "expires_at"),
+    @Index(name = "idx_slot_holds_client_expires", columnList = "client_address, expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotHold {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /** Where an online checkout hold came from; null for holds the salon takes itself */
+    @Column(name = "client_address", length = 45)
+    private String clientAddress;
+
+    public boolean isActive(LocalDateTime now) {
+        return now.isBefore(expiresAt);
+    }
+
+    /** Half-open, like appointments: back-to-back holds don't overlap */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return startTime.isBefore(end) && endTime.isAfter(start);
+    }
+}
@@ -0,0 +1,9 @@
+package com.salonhub.api.appointment.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One station of a type taken for [start, end) by one of an appointment's services.
+ */
+public record StationUse(long stationTypeId, LocalDateTime start, LocalDateTime end) {
+}
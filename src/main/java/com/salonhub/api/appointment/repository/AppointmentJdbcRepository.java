@@ -0,0 +1,280 @@
+package com.salonhub.api.appointment.repository;
+
+import com.salonhub.api.appointment.model.Appointment;
+import com.salonhub.api.appointment.model.AppointmentLineItem;
+import com.salonhub.api.appointment.model.BookingStatus;
+import com.salonhub.api.appointment.model.ServiceType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * JDBC access to appointments for series-wide writes that would otherwise cost several round trips per occurrence.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AppointmentJdbcRepository {
+
+    private static final String INSERT_APPOINTMENT_SQL =
+            "INSERT INTO appointments (customer_id, employee_id, start_time, end_time, status, "
+            + "total_duration_minutes, total_price, series_id, services_split) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LINE_ITEM_SQL =
+            "INSERT INTO appointment_line_items (appointment_id, service_id, service_name, duration_minutes, price, "
+            + "station_type_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SERVICE_SQL =
+            "INSERT INTO appointment_services (appointment_id, service_id) VALUES (?, ?)";
+    /** A technician's own appointments, then their services in split appointments, at the times they do them */
+    private static final String CALENDAR_SQL =
+            "SELECT a.id, a.start_time, a.end_time, a.status, c.name AS customer_name, li.service_name, li.id AS item_id "
+            + "FROM appointments a "
+            + "JOIN customers c ON c.id = a.customer_id "
+            + "LEFT JOIN appointment_line_items li ON li.appointment_id = a.id "
+            + "WHERE a.employee_id = ? AND a.start_time >= ? AND a.start_time < ? AND a.status <> 'CANCELLED' "
+            + "AND a.services_split = FALSE "
+            + "UNION ALL "
+            + "SELECT a.id, li.start_time, li.end_time, a.status, c.name, li.service_name, li.id "
+            + "FROM appointment_line_items li "
+            + "JOIN appointments a ON a.id = li.appointment_id "
+            + "JOIN customers c ON c.id = a.customer_id "
+            + "WHERE li.employee_id = ? AND a.start_time >= ? AND a.start_time < ? AND a.status <> 'CANCELLED' "
+            + "AND a.services_split = TRUE "
+            + "ORDER BY start_time, id, item_id";
+    private static final int CALENDAR_FETCH_SIZE = 200;
+    private static final String DAY_SHEET_APPOINTMENTS_SQL =
+            "SELECT 'APPOINTMENT' AS kind, a.id, a.employee_id, a.start_time, a.end_time, a.status, "
+            + "c.name AS customer_name, li.service_name, li.id AS item_id, CAST(NULL AS INTEGER) AS queue_number "
+            + "FROM appointments a "
+            + "JOIN customers c ON c.id = a.customer_id "
+            + "LEFT JOIN appointment_line_items li ON li.appointment_id = a.id ";
+    private static final String DAY_SHEET_WALK_INS_SQL =
+            "SELECT 'WALK_IN', q.id, q.employee_id, q.created_at, CAST(NULL AS TIMESTAMP), q.status, "
+            + "c.name, CAST(NULL AS VARCHAR(255)), CAST(NULL AS BIGINT), q.queue_number "
+            + "FROM queue q "
+            + "JOIN customers c ON c.id = q.customer_id "
+            + "WHERE q.appointment_id IS NULL ";
+    private static final String DAY_SHEET_SQL =
+            DAY_SHEET_APPOINTMENTS_SQL
+            + "WHERE a.employee_id = ? AND a.start_time >= ? AND a.start_time < ? AND a.status <> 'CANCELLED' "
+            + "AND a.services_split = FALSE "
+            + "UNION ALL "
+            // Services this technician does in split appointments, at their own times
+            + "SELECT 'APPOINTMENT', a.id, li.employee_id, li.start_time, li.end_time, a.status, "
+            + "c.name, li.service_name, li.id, CAST(NULL AS INTEGER) "
+            + "FROM appointment_line_items li "
+            + "JOIN appointments a ON a.id = li.appointment_id "
+            + "JOIN customers c ON c.id = a.customer_id "
+            + "WHERE li.employee_id = ? AND a.start_time >= ? AND a.start_time < ? AND a.status <> 'CANCELLED' "
+            + "AND a.services_split = TRUE "
+            + "UNION ALL "
+            + DAY_SHEET_WALK_INS_SQL
+            + "AND q.employee_id = ? AND q.created_at >= ? AND q.created_at < ? AND q.status <> 'CANCELLED' "
+            + "ORDER BY start_time, kind, id, item_id";
+    private static final String RESCHEDULE_SQL =
+            "UPDATE appointments SET employee_id = ?, start_time = ?, end_time = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert new appointments with their line items and services, one JDBC batch per table.
+     * Generated ids are written back onto the given appointments.
+     */
+    public List<Appointment> batchInsert(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return appointments;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_APPOINTMENT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Appointment appointment = appointments.get(i);
+                        ps.setLong(1, appointment.getCustomer().getId());
+                        ps.setObject(2, appointment.getEmployee() != null ? appointment.getEmployee().getId() : null, Types.BIGINT);
+                        ps.setTimestamp(3, Timestamp.valueOf(appointment.getStartTime()));
+                        ps.setTimestamp(4, Timestamp.valueOf(appointment.getEndTime()));
+                        ps.setString(5, appointment.getStatus().name());
+                        ps.setInt(6, appointment.getTotalDurationMinutes());
+                        ps.setBigDecimal(7, appointment.getTotalPrice());
+                        ps.setObject(8, appointment.getSeriesId(), Types.BIGINT);
+                        ps.setBoolean(9, appointment.isServicesSplit());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return appointments.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<AppointmentLineItem> lineItems = new ArrayList<>();
+        List<long[]> services = new ArrayList<>();
+        for (int i = 0; i < appointments.size(); i++) {
+            Appointment appointment = appointments.get(i);
+            appointment.setId(((Number) keys.get(i).get("id")).longValue());
+            lineItems.addAll(appointment.getLineItems());
+            for (ServiceType service : appointment.getServices()) {
+                services.add(new long[] {appointment.getId(), service.getId()});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_LINE_ITEM_SQL, lineItems, lineItems.size(), (ps, item) -> {
+            ps.setLong(1, item.getAppointment().getId());
+            ps.setLong(2, item.getServiceId());
+            ps.setString(3, item.getServiceName());
+            ps.setInt(4, item.getDurationMinutes());
+            ps.setBigDecimal(5, item.getPrice());
+            ps.setObject(6, item.getStationTypeId(), Types.BIGINT);
+        });
+        jdbcTemplate.batchUpdate(INSERT_SERVICE_SQL, services, services.size(), (ps, pair) -> {
+            ps.setLong(1, pair[0]);
+            ps.setLong(2, pair[1]);
+        });
+        return appointments;
+    }
+
+    /**
+     * Move appointments in one batch; each span carries an appointment's new technician and times.
+     */
+    public void batchReschedule(List<AppointmentSpan> spans) {
+        jdbcTemplate.batchUpdate(RESCHEDULE_SQL, spans, spans.size(), (ps, span) -> {
+            ps.setObject(1, span.employeeId(), Types.BIGINT);
+            ps.setTimestamp(2, Timestamp.valueOf(span.startTime()));
+            ps.setTimestamp(3, Timestamp.valueOf(span.endTime()));
+            ps.setLong(4, span.appointmentId());
+        });
+    }
+
+    /**
+     * Hand an employee's non-cancelled appointments starting in [start, end) to {@code consumer} in start order,
+     * reading rows through a cursor so the whole range is never held in memory. Must run inside a transaction
+     * for PostgreSQL to honour the fetch size.
+     */
+    public void forEachCalendarEntry(Long employeeId, LocalDateTime start, LocalDateTime end,
+                                     Consumer<CalendarEntry> consumer) {
+        // One row per line item; consecutive rows of the same appointment are folded into one entry that lasts
+        // until the last of them ends
+        CalendarEntry[] current = new CalendarEntry[1];
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CALENDAR_SQL);
+            ps.setFetchSize(CALENDAR_FETCH_SIZE);
+            ps.setLong(1, employeeId);
+            ps.setTimestamp(2, Timestamp.valueOf(start));
+            ps.setTimestamp(3, Timestamp.valueOf(end));
+            ps.setLong(4, employeeId);
+            ps.setTimestamp(5, Timestamp.valueOf(start));
+            ps.setTimestamp(6, Timestamp.valueOf(end));
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+            if (current[0] == null || current[0].appointmentId() != id) {
+                if (current[0] != null) {
+                    consumer.accept(current[0]);
+                }
+                current[0] = new CalendarEntry(id,
+                        rs.getTimestamp("start_time").toLocalDateTime(),
+                        rs.getTimestamp("end_time").toLocalDateTime(),
+                        BookingStatus.valueOf(rs.getString("status")),
+                        rs.getString("customer_name"),
+                        new ArrayList<>());
+            } else {
+                LocalDateTime endTime = rs.getTimestamp("end_time").toLocalDateTime();
+                if (endTime.isAfter(current[0].endTime())) {
+                    current[0] = new CalendarEntry(id, current[0].startTime(), endTime, current[0].status(),
+                            current[0].customerName(), current[0].serviceNames());
+                }
+            }
+            String service = rs.getString("service_name");
+            if (service != null) {
+                current[0].serviceNames().add(service);
+            }
+        });
+        if (current[0] != null) {
+            consumer.accept(current[0]);
+        }
+    }
+
+    /**
+     * A technician's appointments and walk-ins for one day, in start order, from a single query.
+     */
+    public List<DaySheetEntry> findDaySheet(Long employeeId, LocalDateTime start, LocalDateTime end) {
+        Timestamp from = Timestamp.valueOf(start);
+        Timestamp to = Timestamp.valueOf(end);
+        return queryDaySheet(DAY_SHEET_SQL, employeeId, from, to, employeeId, from, to, employeeId, from, to);
+    }
+
+    /**
+     * One appointment as a day sheet entry, whatever its status or day. Split appointments come back whole,
+     * not as one technician's share.
+     */
+    public Optional<DaySheetEntry> findDaySheetAppointment(Long appointmentId) {
+        return queryDaySheet(DAY_SHEET_APPOINTMENTS_SQL + "WHERE a.id = ? ORDER BY li.id", appointmentId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * The given queue entries as day sheet entries, whatever their status or day. Entries that were
+     * removed, or that belong to an appointment, are left out.
+     */
+    public List<DaySheetEntry> findDaySheetWalkIns(Collection<Long> queueIds) {
+        if (queueIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(queueIds.size(), "?"));
+        return queryDaySheet(DAY_SHEET_WALK_INS_SQL + "AND q.id IN (" + placeholders + ") ORDER BY q.id",
+                queueIds.toArray());
+    }
+
+    private List<DaySheetEntry> queryDaySheet(String sql, Object... args) {
+        // One row per line item; consecutive rows of the same entry are folded together, lasting until the last ends
+        List<DaySheetEntry> entries = new ArrayList<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            DaySheetEntry.Kind kind = DaySheetEntry.Kind.valueOf(rs.getString(1).trim());
+            long id = rs.getLong(2);
+            DaySheetEntry last = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+            if (last == null || last.kind() != kind || last.id() != id) {
+                Timestamp endTime = rs.getTimestamp(5);
+                last = new DaySheetEntry(kind, id,
+                        rs.getObject(3) != null ? rs.getLong(3) : null,
+                        rs.getTimestamp(4).toLocalDateTime(),
+                        endTime != null ? endTime.toLocalDateTime() : null,
+                        rs.getString(6),
+                        rs.getString(7),
+                        new ArrayList<>(),
+                        rs.getObject(10) != null ? rs.getInt(10) : null);
+                entries.add(last);
+            } else if (last.endTime() != null && rs.getTimestamp(5) != null
+                    && rs.getTimestamp(5).toLocalDateTime().isAfter(last.endTime())) {
+                // A later service of the same split appointment
+                last = new DaySheetEntry(last.kind(), last.id(), last.employeeId(), last.startTime(),
+                        rs.getTimestamp(5).toLocalDateTime(), last.status(), last.customerName(),
+                        last.serviceNames(), last.queueNumber());
+                entries.set(entries.size() - 1, last);
+            }
+            String service = rs.getString(8);
+            if (service != null) {
+                last.serviceNames().add(service);
+            }
+        }, args);
+        return entries;
+    }
+}
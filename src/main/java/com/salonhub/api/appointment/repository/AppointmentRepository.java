@@ -1,11 +1,223 @@
 package com.salonhub.api.appointment.repository;
 
 import com.salonhub.api.appointment.model.Appointment;
+import com.salonhub.api.appointment.model.BookingStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+    @EntityGraph(Appointment.DETAILS_GRAPH)
     List<Appointment> findByCustomerId(Long customerId);
-    List<Appointment> findByEmployeeIdAndStartTimeBetween(Long employeeId, LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    Optional<Appointment> findWithDetailsById(Long id);
+
+    /** Time taken by every non-cancelled appointment starting in [start, end), for availability search */
+    @Query("SELECT new com.salonhub.api.appointment.repository.AppointmentSpan(a.id, a.employee.id, a.startTime, a.endTime) "
+            + "FROM Appointment a "
+            + "WHERE a.startTime >= :start AND a.startTime < :end "
+            + "AND a.status <> com.salonhub.api.appointment.model.BookingStatus.CANCELLED "
+            + "ORDER BY a.startTime")
+    List<AppointmentSpan> findSpansStartingBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /** Per-service time of non-cancelled split appointments starting in [start, end), in start order */
+    @Query("SELECT new com.salonhub.api.appointment.repository.AppointmentSpan(a.id, li.employeeId, li.startTime, li.endTime) "
+            + "FROM AppointmentLineItem li JOIN li.appointment a "
+            + "WHERE a.servicesSplit = true AND li.employeeId IS NOT NULL "
+            + "AND a.startTime >= :start AND a.startTime < :end "
+            + "AND a.status <> com.salonhub.api.appointment.model.BookingStatus.CANCELLED "
+            + "ORDER BY li.startTime")
+    List<AppointmentSpan> findAssignmentSpansStartingBetween(@Param("start") LocalDateTime start,
+                                                             @Param("end") LocalDateTime end);
+
+    /**
+     * Technician time taken by non-cancelled appointments starting in [start, end), in start order: one span per
+     * appointment, or one per service for split appointments.
+     */
+    default List<AppointmentSpan> findBusySpansStartingBetween(LocalDateTime start, LocalDateTime end) {
+        List<AppointmentSpan> assignments = findAssignmentSpansStartingBetween(start, end);
+        List<AppointmentSpan> spans = findSpansStartingBetween(start, end);
+        if (assignments.isEmpty()) {
+            return spans;
+        }
+        Set<Long> split = new HashSet<>();
+        assignments.forEach(span -> split.add(span.appointmentId()));
+        List<AppointmentSpan> busy = new ArrayList<>(assignments);
+        for (AppointmentSpan span : spans) {
+            if (!split.contains(span.appointmentId())) {
+                busy.add(span);
+            }
+        }
+        busy.sort(Comparator.comparing(AppointmentSpan::startTime));
+        return busy;
+    }
+
+    /**
+     * Whether the employee has a non-cancelled appointment overlapping [start, end), other than {@code excludeId}:
+     * one of their own, or one of their services in a split appointment.
+     * Half-open, so back-to-back appointments don't conflict.
+     */
+    @Query("SELECT COUNT(a) > 0 FROM Appointment a "
+            + "WHERE a.startTime < :end AND a.endTime > :start "
+            + "AND a.status <> com.salonhub.api.appointment.model.BookingStatus.CANCELLED "
+            + "AND (:excludeId IS NULL OR a.id <> :excludeId) "
+            + "AND ((a.servicesSplit = false AND a.employee.id = :employeeId) "
+            + "OR (a.servicesSplit = true AND EXISTS (SELECT li.id FROM AppointmentLineItem li "
+            + "WHERE li.appointment = a AND li.employeeId = :employeeId "
+            + "AND li.startTime < :end AND li.endTime > :start)))")
+    boolean existsOverlapping(@Param("employeeId") Long employeeId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("excludeId") Long excludeId);
+
+    /**
+     * One calendar page: appointments starting in [start, end) after the (afterStart, afterId) keyset position,
+     * ordered by (startTime, id). Only ids and times are read; details are loaded per page.
+     */
+    @Query("SELECT new com.salonhub.api.appointment.repository.AppointmentSpan(a.id, a.employee.id, a.startTime, a.endTime) "
+            + "FROM Appointment a "
+            + "WHERE a.startTime >= :start AND a.startTime < :end "
+            + "AND (a.startTime > :afterStart OR (a.startTime = :afterStart AND a.id > :afterId)) "
+            + "ORDER BY a.startTime, a.id")
+    List<AppointmentSpan> findCalendarPage(@Param("start") LocalDateTime start,
+                                           @Param("end") LocalDateTime end,
+                                           @Param("afterStart") LocalDateTime afterStart,
+                                           @Param("afterId") Long afterId,
+                                           Limit limit);
+
+    /**
+     * {@link #findCalendarPage} restricted to appointments some employees work on, including split appointments
+     * where they do only some services
+     */
+    @Query("SELECT new com.salonhub.api.appointment.repository.AppointmentSpan(a.id, a.employee.id, a.startTime, a.endTime) "
+            + "FROM Appointment a "
+            + "WHERE (a.employee.id IN :employeeIds OR (a.servicesSplit = true AND EXISTS ("
+            + "SELECT li.id FROM AppointmentLineItem li WHERE li.appointment = a AND li.employeeId IN :employeeIds))) "
+            + "AND a.startTime >= :start AND a.startTime < :end "
+            + "AND (a.startTime > :afterStart OR (a.startTime = :afterStart AND a.id > :afterId)) "
+            + "ORDER BY a.startTime, a.id")
+    List<AppointmentSpan> findCalendarPageForEmployees(@Param("employeeIds") Collection<Long> employeeIds,
+                                                       @Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end,
+                                                       @Param("afterStart") LocalDateTime afterStart,
+                                                       @Param("afterId") Long afterId,
+                                                       Limit limit);
+
+    /** Appointments with customer, employee and services loaded in one statement */
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    List<Appointment> findAllWithDetailsByIdIn(Collection<Long> ids);
+
+    /**
+     * The time an employee is booked for between [start, end), in start order: their non-cancelled appointments,
+     * and their services in split appointments
+     */
+    default List<AppointmentSpan> findEmployeeSpansOverlapping(Long employeeId, LocalDateTime start, LocalDateTime end) {
+        List<AppointmentSpan> assignments = findEmployeeAssignmentsOverlapping(employeeId, start, end);
+        List<AppointmentSpan> spans = findEmployeeOwnSpansOverlapping(employeeId, start, end);
+        if (assignments.isEmpty()) {
+            return spans;
+        }
+        List<AppointmentSpan> busy = new ArrayList<>(spans);
+        busy.addAll(assignments);
+        busy.sort(Comparator.comparing(AppointmentSpan::startTime));
+        return busy;
+    }
+
+    @Query("SELECT new com.salonhub.api.appointment.repository.AppointmentSpan(a.id, a.employee.id, a.startTime, a.endTime) "
+            + "FROM Appointment a "
+            + "WHERE a.employee.id = :employeeId AND a.servicesSplit = false "
+            + "AND a.startTime < :end AND a.endTime > :start "
+            + "AND a.status <> com.salonhub.api.appointment.model.BookingStatus.CANCELLED "
+            + "ORDER BY a.startTime")
+    List<AppointmentSpan> findEmployeeOwnSpansOverlapping(@Param("employeeId") Long employeeId,
+                                                          @Param("start") LocalDateTime start,
+                                                          @Param("end") LocalDateTime end);
+
+    @Query("SELECT new com.salonhub.api.appointment.repository.AppointmentSpan(a.id, li.employeeId, li.startTime, li.endTime) "
+            + "FROM AppointmentLineItem li JOIN li.appointment a "
+            + "WHERE li.employeeId = :employeeId AND a.servicesSplit = true "
+            + "AND li.startTime < :end AND li.endTime > :start "
+            + "AND a.status <> com.salonhub.api.appointment.model.BookingStatus.CANCELLED "
+            + "ORDER BY li.startTime")
+    List<AppointmentSpan> findEmployeeAssignmentsOverlapping(@Param("employeeId") Long employeeId,
+                                                             @Param("start") LocalDateTime start,
+                                                             @Param("end") LocalDateTime end);
+
+    /** A series' occurrences starting at or after {@code from} in one of {@code statuses}, in start order */
+    @Query("SELECT new com.salonhub.api.appointment.repository.AppointmentSpan(a.id, a.employee.id, a.startTime, a.endTime) "
+            + "FROM Appointment a "
+            + "WHERE a.seriesId = :seriesId AND a.startTime >= :from AND a.status IN :statuses "
+            + "ORDER BY a.startTime")
+    List<AppointmentSpan> findSeriesSpans(@Param("seriesId") Long seriesId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("SELECT new com.salonhub.api.appointment.repository.AppointmentTiming(a.id, a.status, a.startTime) "
+            + "FROM Appointment a WHERE a.id IN :ids")
+    List<AppointmentTiming> findTimingsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Cancel a series' occurrences from {@code from} on that are still in one of {@code statuses} */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Appointment a SET a.status = com.salonhub.api.appointment.model.BookingStatus.CANCELLED "
+            + "WHERE a.seriesId = :seriesId AND a.startTime >= :from AND a.status IN :statuses")
+    int cancelSeriesFrom(@Param("seriesId") Long seriesId,
+                         @Param("from") LocalDateTime from,
+                         @Param("statuses") Collection<BookingStatus> statuses);
+
+    /**
+     * An employee's own (not split) appointments in one of {@code statuses} starting in [start, end), in start order
+     */
+    @Query("SELECT new com.salonhub.api.appointment.repository.AppointmentSpan(a.id, a.employee.id, a.startTime, a.endTime) "
+            + "FROM Appointment a "
+            + "WHERE a.employee.id = :employeeId AND a.servicesSplit = false "
+            + "AND a.startTime >= :start AND a.startTime < :end "
+            + "AND a.status IN :statuses "
+            + "ORDER BY a.startTime, a.id")
+    List<AppointmentSpan> findEmployeeSpansStartingBetween(@Param("employeeId") Long employeeId,
+                                                           @Param("start") LocalDateTime start,
+                                                           @Param("end") LocalDateTime end,
+                                                           @Param("statuses") Collection<BookingStatus> statuses);
+
+    /** An employee's services in split appointments in one of {@code statuses} starting in [start, end), in start order */
+    @Query("SELECT new com.salonhub.api.appointment.repository.AppointmentSpan(a.id, li.employeeId, li.startTime, li.endTime) "
+            + "FROM AppointmentLineItem li JOIN li.appointment a "
+            + "WHERE li.employeeId = :employeeId AND a.servicesSplit = true "
+            + "AND a.startTime >= :start AND a.startTime < :end "
+            + "AND a.status IN :statuses "
+            + "ORDER BY li.startTime, a.id")
+    List<AppointmentSpan> findEmployeeAssignmentSpansStartingBetween(@Param("employeeId") Long employeeId,
+                                                                     @Param("start") LocalDateTime start,
+                                                                     @Param("end") LocalDateTime end,
+                                                                     @Param("statuses") Collection<BookingStatus> statuses);
+
+    /**
+     * Non-cancelled appointments starting in [start, end) with a service that takes a station, line items
+     * loaded, for {@link Appointment#stationUses()}.
+     */
+    @Query("SELECT DISTINCT a FROM Appointment a JOIN FETCH a.lineItems "
+            + "WHERE a.startTime >= :start AND a.startTime < :end "
+            + "AND a.status <> com.salonhub.api.appointment.model.BookingStatus.CANCELLED "
+            + "AND EXISTS (SELECT 1 FROM AppointmentLineItem s WHERE s.appointment = a AND s.stationTypeId IS NOT NULL)")
+    List<Appointment> findWithStationsStartingBetween(@Param("start") LocalDateTime start,
+                                                      @Param("end") LocalDateTime end);
+
+    /** Every appointment, whatever its status, of these employees starting in [start, end) */
+    @Query("SELECT a.id FROM Appointment a "
+            + "WHERE a.employee.id IN :employeeIds AND a.startTime >= :start AND a.startTime < :end")
+    List<Long> findIdsForEmployeesStartingBetween(@Param("employeeIds") Collection<Long> employeeIds,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+}
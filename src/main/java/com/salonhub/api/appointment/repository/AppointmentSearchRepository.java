@@ -0,0 +1,75 @@
+package com.salonhub.api.appointment.repository;
+
+import com.salonhub.api.appointment.model.Appointment;
+import com.salonhub.api.appointment.model.AppointmentLineItem;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.employee.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appointment search as Criteria queries projected straight into {@link AppointmentSummary}, so a page of
+ * results is one statement over appointments, customers and employees with no entities loaded.
+ */
+@Repository
+public class AppointmentSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Up to {@code limit} appointments matching {@code spec}, ordered by (startTime, id).
+     */
+    public List<AppointmentSummary> search(Specification<Appointment> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AppointmentSummary> query = cb.createQuery(AppointmentSummary.class);
+        Root<Appointment> root = query.from(Appointment.class);
+        Join<Appointment, Customer> customer = root.join("customer");
+        Join<Appointment, Employee> employee = root.join("employee", JoinType.LEFT);
+        query.select(cb.construct(AppointmentSummary.class,
+            root.get("id"), root.get("startTime"), root.get("endTime"), root.get("status"),
+            customer.get("id"), customer.get("name"), employee.get("id"), employee.get("name"),
+            root.get("totalDurationMinutes"), root.get("totalPrice")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("startTime")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Booked service names per appointment, in booking order; one statement for the whole page.
+     */
+    public Map<Long, List<String>> findServiceNames(Collection<Long> appointmentIds) {
+        if (appointmentIds.isEmpty()) {
+            return Map.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<AppointmentLineItem> item = query.from(AppointmentLineItem.class);
+        query.multiselect(item.get("appointment").get("id"), item.get("serviceName"))
+            .where(item.get("appointment").get("id").in(appointmentIds))
+            .orderBy(cb.asc(item.get("id")));
+        Map<Long, List<String>> names = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            names.computeIfAbsent(row.get(0, Long.class), id -> new ArrayList<>()).add(row.get(1, String.class));
+        }
+        return names;
+    }
+}
@@ -0,0 +1,7 @@
+package com.salonhub.api.appointment.repository;
+
+import com.salonhub.api.appointment.model.AppointmentSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AppointmentSeriesRepository extends JpaRepository<AppointmentSeries, Long> {
+}
@@ -0,0 +1,11 @@
+package com.salonhub.api.appointment.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The time an appointment occupies, without loading the appointment itself.
+ *
+ * @param employeeId null when the appointment has no technician assigned yet
+ */
+public record AppointmentSpan(Long appointmentId, Long employeeId, LocalDateTime startTime, LocalDateTime endTime) {
+}
@@ -0,0 +1,73 @@
+package com.salonhub.api.appointment.repository;
+
+import com.salonhub.api.appointment.model.Appointment;
+import com.salonhub.api.appointment.model.AppointmentLineItem;
+import com.salonhub.api.appointment.model.BookingStatus;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Building blocks for appointment search. Every predicate compares a bare column with parameters
+ * (equality, IN or a range) so it can be answered from an index; none wraps a column in a function.
+ */
+public final class AppointmentSpecifications {
+
+    private AppointmentSpecifications() {
+    }
+
+    public static Specification<Appointment> statusIn(Collection<BookingStatus> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    /** Starting at or after {@code start} */
+    public static Specification<Appointment> startingFrom(LocalDateTime start) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startTime"), start);
+    }
+
+    /** Starting strictly before {@code end} */
+    public static Specification<Appointment> startingBefore(LocalDateTime end) {
+        return (root, query, cb) -> cb.lessThan(root.get("startTime"), end);
+    }
+
+    /** Worked on by one of the employees: their own appointments, or split ones where they do a service */
+    public static Specification<Appointment> employeeIn(Collection<Long> employeeIds) {
+        return (root, query, cb) -> {
+            Subquery<Long> items = query.subquery(Long.class);
+            Root<AppointmentLineItem> item = items.from(AppointmentLineItem.class);
+            items.select(item.get("id"))
+                .where(cb.equal(item.get("appointment"), root), item.get("employeeId").in(employeeIds));
+            return cb.or(
+                root.get("employee").get("id").in(employeeIds),
+                cb.and(cb.isTrue(root.get("servicesSplit")), cb.exists(items)));
+        };
+    }
+
+    public static Specification<Appointment> customerIs(Long customerId) {
+        return (root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId);
+    }
+
+    /**
+     * Booked with at least one of the services, as an EXISTS over the line items so appointments
+     * with several matching services are not repeated.
+     */
+    public static Specification<Appointment> includesAnyService(Collection<Long> serviceIds) {
+        return (root, query, cb) -> {
+            Subquery<Long> items = query.subquery(Long.class);
+            Root<AppointmentLineItem> item = items.from(AppointmentLineItem.class);
+            items.select(item.get("id"))
+                .where(cb.equal(item.get("appointment"), root), item.get("serviceId").in(serviceIds));
+            return cb.exists(items);
+        };
+    }
+
+    /** After the (startTime, id) keyset position, matching an ORDER BY startTime, id */
+    public static Specification<Appointment> after(LocalDateTime afterStart, long afterId) {
+        return (root, query, cb) -> cb.or(
+            cb.greaterThan(root.get("startTime"), afterStart),
+            cb.and(cb.equal(root.get("startTime"), afterStart), cb.greaterThan(root.get("id"), afterId)));
+    }
+}
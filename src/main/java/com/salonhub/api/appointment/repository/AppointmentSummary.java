@@ -0,0 +1,14 @@
+package com.salonhub.api.appointment.repository;
+
+import com.salonhub.api.appointment.model.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One appointment search hit, read as plain columns rather than as an entity.
+ */
+public record AppointmentSummary(Long id, LocalDateTime startTime, LocalDateTime endTime, BookingStatus status,
+                                 Long customerId, String customerName, Long employeeId, String employeeName,
+                                 Integer totalDurationMinutes, BigDecimal totalPrice) {
+}
@@ -0,0 +1,12 @@
+package com.salonhub.api.appointment.repository;
+
+import com.salonhub.api.appointment.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * When an appointment starts and whether it is still on, read as plain columns so bulk JDBC updates earlier in
+ * the transaction are seen even when the appointment is already loaded.
+ */
+public record AppointmentTiming(Long appointmentId, BookingStatus status, LocalDateTime startTime) {
+}
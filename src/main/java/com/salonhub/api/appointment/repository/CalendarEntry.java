@@ -0,0 +1,13 @@
+package com.salonhub.api.appointment.repository;
+
+import com.salonhub.api.appointment.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One appointment as shown in a technician's calendar feed.
+ */
+public record CalendarEntry(Long appointmentId, LocalDateTime startTime, LocalDateTime endTime,
+                            BookingStatus status, String customerName, List<String> serviceNames) {
+}
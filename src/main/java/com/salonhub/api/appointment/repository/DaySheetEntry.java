@@ -0,0 +1,16 @@
+package com.salonhub.api.appointment.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One line of a technician's day sheet: a booked appointment, or a walk-in from the queue.
+ * Walk-ins start when they checked in and have no end time or services.
+ */
+public record DaySheetEntry(Kind kind, Long id, Long employeeId, LocalDateTime startTime, LocalDateTime endTime,
+                            String status, String customerName, List<String> serviceNames, Integer queueNumber) {
+
+    public enum Kind {
+        APPOINTMENT, WALK_IN
+    }
+}
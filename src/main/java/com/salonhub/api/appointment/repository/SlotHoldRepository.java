@@ -0,0 +1,44 @@
+package com.salonhub.api.appointment.repository;
+
+import com.salonhub.api.appointment.model.SlotHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface SlotHoldRepository extends JpaRepository<SlotHold, UUID> {
+
+    /** Whether a hold that hasn't expired at {@code now} covers part of the employee's [start, end) */
+    @Query("SELECT COUNT(h) > 0 FROM SlotHold h "
+            + "WHERE h.employeeId = :employeeId "
+            + "AND h.startTime < :end AND h.endTime > :start "
+            + "AND h.expiresAt > :now")
+    boolean existsActiveOverlapping(@Param("employeeId") Long employeeId,
+                                    @Param("start") LocalDateTime start,
+                                    @Param("end") LocalDateTime end,
+                                    @Param("now") LocalDateTime now);
+
+    /** How many holds taken from {@code clientAddress} haven't expired at {@code now} */
+    @Query("SELECT COUNT(h) FROM SlotHold h WHERE h.clientAddress = :clientAddress AND h.expiresAt > :now")
+    long countActiveForClient(@Param("clientAddress") String clientAddress, @Param("now") LocalDateTime now);
+
+    /** Holds that haven't expired at {@code now} and cover part of [start, end), by technician then start */
+    @Query("SELECT h FROM SlotHold h "
+            + "WHERE h.startTime < :end AND h.endTime > :start "
+            + "AND h.expiresAt > :now "
+            + "ORDER BY h.employeeId, h.startTime")
+    List<SlotHold> findActiveOverlapping(@Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end,
+                                         @Param("now") LocalDateTime now);
+
+    /** Delete holds that expired by {@code now}; a range over the expires_at index */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SlotHold h WHERE h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
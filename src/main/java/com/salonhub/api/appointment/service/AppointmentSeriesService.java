@@ -0,0 +1,358 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AppointmentSeriesResponseDTO;
+import com.salonhub.api.appointment.dto.RecurringAppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.SeriesOccurrenceDTO;
+import com.salonhub.api.appointment.dto.SeriesUpdateRequestDTO;
+import com.salonhub.api.appointment.dto.ServiceTypeDTO;
+import com.salonhub.api.appointment.event.AppointmentChangedEvent;
+import com.salonhub.api.appointment.event.AppointmentsCancelledEvent;
+import com.salonhub.api.appointment.model.Appointment;
+import com.salonhub.api.appointment.model.AppointmentSeries;
+import com.salonhub.api.appointment.model.BookingStatus;
+import com.salonhub.api.appointment.model.RecurrenceFrequency;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.model.StationUse;
+import com.salonhub.api.appointment.repository.AppointmentJdbcRepository;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.AppointmentSeriesRepository;
+import com.salonhub.api.appointment.repository.AppointmentSpan;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.station.service.StationService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring appointments. A series is expanded into ordinary appointments up front, checked against the
+ * technician's existing bookings with one range query and written with one JDBC batch per table.
+ * Edits and cancellations apply to every remaining occurrence at once.
+ */
+@Service
+@Transactional
+public class AppointmentSeriesService {
+    static final int MAX_OCCURRENCES = 104;
+
+    /** Occurrences that haven't started and can still be moved or cancelled */
+    private static final Set<BookingStatus> UPCOMING = Set.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+    private static final Set<BookingStatus> ACTIVE =
+            Set.of(BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.IN_PROGRESS, BookingStatus.COMPLETED);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentJdbcRepository appointmentJdbcRepository;
+    private final AppointmentSeriesRepository seriesRepository;
+    private final CustomerRepository customerRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ServiceTypeRepository serviceTypeRepository;
+    private final BookingCoordinator bookingCoordinator;
+    private final StationService stationService;
+    private final SlotHoldService slotHolds;
+    private final ApplicationEventPublisher events;
+
+    public AppointmentSeriesService(AppointmentRepository appointmentRepository,
+                                    AppointmentJdbcRepository appointmentJdbcRepository,
+                                    AppointmentSeriesRepository seriesRepository,
+                                    CustomerRepository customerRepository,
+                                    EmployeeRepository employeeRepository,
+                                    ServiceTypeRepository serviceTypeRepository,
+                                    BookingCoordinator bookingCoordinator,
+                                    StationService stationService,
+                                    SlotHoldService slotHolds,
+                                    ApplicationEventPublisher events) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentJdbcRepository = appointmentJdbcRepository;
+        this.seriesRepository = seriesRepository;
+        this.customerRepository = customerRepository;
+        this.employeeRepository = employeeRepository;
+        this.serviceTypeRepository = serviceTypeRepository;
+        this.bookingCoordinator = bookingCoordinator;
+        this.stationService = stationService;
+        this.slotHolds = slotHolds;
+        this.events = events;
+    }
+
+    /**
+     * Book every occurrence of a new series, or none of them if any occurrence conflicts.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AppointmentSeriesResponseDTO create(RecurringAppointmentRequestDTO req) {
+        return bookingCoordinator.execute(() -> doCreate(req));
+    }
+
+    private AppointmentSeriesResponseDTO doCreate(RecurringAppointmentRequestDTO req) {
+        List<LocalDateTime> starts = expand(req.getStartTime(), req.getFrequency(), req.getUntil(), req.getCount());
+        Customer customer = customerRepository.findById(req.getCustomerId())
+            .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
+        Employee employee = req.getEmployeeId() == null ? null :
+            employeeRepository.findById(req.getEmployeeId())
+                .orElseThrow(() -> new EntityNotFoundException("Employee not found"));
+        List<ServiceType> services = serviceTypeRepository.findAllById(req.getServiceIds());
+        if (services.size() != req.getServiceIds().size()) {
+            throw new EntityNotFoundException("One or more services not found");
+        }
+
+        List<Appointment> occurrences = new ArrayList<>(starts.size());
+        for (LocalDateTime start : starts) {
+            Appointment appointment = new Appointment();
+            appointment.setCustomer(customer);
+            appointment.setEmployee(employee);
+            appointment.setStartTime(start);
+            appointment.applyServices(services);
+            appointment.setStatus(BookingStatus.PENDING);
+            occurrences.add(appointment);
+        }
+        if (employee != null) {
+            checkConflicts(employee.getId(), occurrences.stream().map(AppointmentSeriesService::span).toList(), Set.of());
+        }
+        stationService.checkFree(occurrences.stream().flatMap(appointment -> appointment.stationUses().stream()).toList(),
+            Set.of());
+
+        AppointmentSeries series = new AppointmentSeries();
+        series.setCustomerId(customer.getId());
+        series.setEmployeeId(employee != null ? employee.getId() : null);
+        series.setFrequency(req.getFrequency());
+        series.setFirstStartTime(req.getStartTime());
+        series.setUntilDate(req.getUntil());
+        series.setOccurrenceCount(starts.size());
+        series = seriesRepository.saveAndFlush(series);
+
+        for (Appointment appointment : occurrences) {
+            appointment.setSeriesId(series.getId());
+        }
+        appointmentJdbcRepository.batchInsert(occurrences);
+        List<AppointmentSpan> booked = occurrences.stream().map(AppointmentSeriesService::span).toList();
+        publishChanged(booked);
+        return toResponse(series, occurrences.get(0), booked);
+    }
+
+    @Transactional(readOnly = true)
+    public AppointmentSeriesResponseDTO get(Long seriesId) {
+        AppointmentSeries series = findSeries(seriesId);
+        List<AppointmentSpan> occurrences =
+            appointmentRepository.findSeriesSpans(seriesId, series.getFirstStartTime(), ACTIVE);
+        Appointment sample = occurrences.isEmpty() ? null :
+            appointmentRepository.findWithDetailsById(occurrences.get(0).appointmentId()).orElse(null);
+        return toResponse(series, sample, occurrences);
+    }
+
+    /**
+     * Move every upcoming occurrence from {@code req.from} on to a new technician and/or time of day.
+     * All moved occurrences must be free; otherwise nothing changes.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AppointmentSeriesResponseDTO update(Long seriesId, SeriesUpdateRequestDTO req) {
+        return bookingCoordinator.execute(() -> doUpdate(seriesId, req));
+    }
+
+    private AppointmentSeriesResponseDTO doUpdate(Long seriesId, SeriesUpdateRequestDTO req) {
+        AppointmentSeries series = findSeries(seriesId);
+        LocalDate from = req.getFrom() != null ? req.getFrom() : LocalDate.now();
+        Long employeeId = req.getEmployeeId() != null ? req.getEmployeeId() : series.getEmployeeId();
+        if (req.getEmployeeId() != null && !employeeRepository.existsById(req.getEmployeeId())) {
+            throw new EntityNotFoundException("Employee not found");
+        }
+
+        List<AppointmentSpan> current = appointmentRepository.findSeriesSpans(seriesId, from.atStartOfDay(), UPCOMING);
+        List<AppointmentSpan> moved = new ArrayList<>(current.size());
+        for (AppointmentSpan span : current) {
+            LocalDateTime start = req.getTime() != null ? span.startTime().toLocalDate().atTime(req.getTime()) : span.startTime();
+            Duration length = Duration.between(span.startTime(), span.endTime());
+            moved.add(new AppointmentSpan(span.appointmentId(), employeeId, start, start.plus(length)));
+        }
+        if (!moved.isEmpty()) {
+            Set<Long> movedIds = moved.stream().map(AppointmentSpan::appointmentId).collect(Collectors.toSet());
+            if (employeeId != null) {
+                checkConflicts(employeeId, moved, movedIds);
+            }
+            if (req.getTime() != null) {
+                stationService.checkFree(movedStationUses(current, moved), movedIds);
+            }
+            appointmentJdbcRepository.batchReschedule(moved);
+
+            List<AppointmentSpan> touched = new ArrayList<>(current);
+            touched.addAll(moved);
+            publishChanged(touched);
+        }
+        if (req.getEmployeeId() != null) {
+            series.setEmployeeId(req.getEmployeeId());
+        }
+        return get(seriesId);
+    }
+
+    /**
+     * The stations the moved occurrences will take: each one's current use, shifted with it.
+     */
+    private List<StationUse> movedStationUses(List<AppointmentSpan> current, List<AppointmentSpan> moved) {
+        Map<Long, Appointment> byId = appointmentRepository.findAllById(
+                current.stream().map(AppointmentSpan::appointmentId).toList()).stream()
+            .collect(Collectors.toMap(Appointment::getId, appointment -> appointment));
+        List<StationUse> uses = new ArrayList<>();
+        for (int i = 0; i < current.size(); i++) {
+            Appointment appointment = byId.get(current.get(i).appointmentId());
+            if (appointment == null) {
+                continue;
+            }
+            Duration shift = Duration.between(current.get(i).startTime(), moved.get(i).startTime());
+            for (StationUse use : appointment.stationUses()) {
+                uses.add(new StationUse(use.stationTypeId(), use.start().plus(shift), use.end().plus(shift)));
+            }
+        }
+        return uses;
+    }
+
+    /**
+     * Cancel every upcoming occurrence from {@code from} (default today) on.
+     *
+     * @return number of appointments cancelled
+     */
+    public int cancel(Long seriesId, LocalDate from) {
+        findSeries(seriesId);
+        LocalDateTime start = (from != null ? from : LocalDate.now()).atStartOfDay();
+        List<AppointmentSpan> upcoming = appointmentRepository.findSeriesSpans(seriesId, start, UPCOMING);
+        int cancelled = appointmentRepository.cancelSeriesFrom(seriesId, start, UPCOMING);
+        publishChanged(upcoming);
+        List<AppointmentSpan> freed = upcoming.stream().filter(span -> span.employeeId() != null).toList();
+        if (!freed.isEmpty()) {
+            events.publishEvent(new AppointmentsCancelledEvent(freed));
+        }
+        return cancelled;
+    }
+
+    /**
+     * Start times of a series' occurrences, ending at {@code until} (inclusive) or after {@code count} occurrences.
+     */
+    static List<LocalDateTime> expand(LocalDateTime first, RecurrenceFrequency frequency, LocalDate until, Integer count) {
+        if (until == null && count == null) {
+            throw new IllegalArgumentException("A series needs an end date or an occurrence count");
+        }
+        if (until != null && until.isBefore(first.toLocalDate())) {
+            throw new IllegalArgumentException("A series can't end before its first occurrence");
+        }
+        if (count != null && count > MAX_OCCURRENCES) {
+            throw new IllegalArgumentException("A series can have at most " + MAX_OCCURRENCES + " occurrences");
+        }
+        int limit = count != null ? count : MAX_OCCURRENCES + 1;
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (int i = 0; i < limit; i++) {
+            LocalDateTime start = frequency.occurrence(first, i);
+            if (until != null && start.toLocalDate().isAfter(until)) {
+                break;
+            }
+            starts.add(start);
+        }
+        if (starts.size() > MAX_OCCURRENCES) {
+            throw new IllegalArgumentException("A series can have at most " + MAX_OCCURRENCES + " occurrences");
+        }
+        return starts;
+    }
+
+    /**
+     * Check all occurrences against the technician's bookings with one query over the whole series' range,
+     * and against holds on the technician's time for other customers' checkouts with another.
+     * Each list is in start order and never overlaps itself, so a single forward sweep finds every conflict.
+     *
+     * @param ignoredIds appointments being moved, which can't conflict with their own old times
+     */
+    private void checkConflicts(Long employeeId, List<AppointmentSpan> occurrences, Collection<Long> ignoredIds) {
+        bookingCoordinator.lockEmployee(employeeId);
+        LocalDateTime rangeStart = occurrences.get(0).startTime();
+        LocalDateTime rangeEnd = occurrences.get(occurrences.size() - 1).endTime();
+        List<AppointmentSpan> busy = appointmentRepository.findEmployeeSpansOverlapping(employeeId, rangeStart, rangeEnd)
+            .stream()
+            .filter(span -> !ignoredIds.contains(span.appointmentId()))
+            .toList();
+        List<LocalDate> conflicts = conflictDates(occurrences, busy);
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException("Time slot is already booked on " + formatDates(conflicts));
+        }
+
+        List<AppointmentSpan> held = slotHolds.heldBetween(rangeStart, rangeEnd).stream()
+            .filter(hold -> hold.getEmployeeId().equals(employeeId))
+            .map(hold -> new AppointmentSpan(null, employeeId, hold.getStartTime(), hold.getEndTime()))
+            .toList();
+        conflicts = conflictDates(occurrences, held);
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException("Time slot is being held for another booking on " + formatDates(conflicts));
+        }
+    }
+
+    private static List<LocalDate> conflictDates(List<AppointmentSpan> occurrences, List<AppointmentSpan> busy) {
+        List<LocalDate> conflicts = new ArrayList<>();
+        int next = 0;
+        for (AppointmentSpan occurrence : occurrences) {
+            while (next < busy.size() && !busy.get(next).endTime().isAfter(occurrence.startTime())) {
+                next++;
+            }
+            if (next < busy.size() && busy.get(next).startTime().isBefore(occurrence.endTime())) {
+                conflicts.add(occurrence.startTime().toLocalDate());
+            }
+        }
+        return conflicts;
+    }
+
+    private static String formatDates(List<LocalDate> dates) {
+        return dates.stream()
+            .map(DateTimeFormatter.ISO_LOCAL_DATE::format)
+            .collect(Collectors.joining(", "));
+    }
+
+    private AppointmentSeries findSeries(Long seriesId) {
+        return seriesRepository.findById(seriesId)
+            .orElseThrow(() -> new EntityNotFoundException("Appointment series not found"));
+    }
+
+    private static AppointmentSpan span(Appointment appointment) {
+        Long employeeId = appointment.getEmployee() != null ? appointment.getEmployee().getId() : null;
+        return new AppointmentSpan(appointment.getId(), employeeId, appointment.getStartTime(), appointment.getEndTime());
+    }
+
+    private void publishChanged(Collection<AppointmentSpan> spans) {
+        Set<Long> employeeIds = new HashSet<>();
+        spans.forEach(span -> {
+            if (span.employeeId() != null) {
+                employeeIds.add(span.employeeId());
+            }
+        });
+        Set<LocalDate> dates = new HashSet<>();
+        spans.forEach(span -> dates.add(span.startTime().toLocalDate()));
+        Set<Long> appointmentIds = spans.stream().map(AppointmentSpan::appointmentId).collect(Collectors.toSet());
+        events.publishEvent(new AppointmentChangedEvent(null, employeeIds, dates, appointmentIds));
+    }
+
+    private static AppointmentSeriesResponseDTO toResponse(AppointmentSeries series, Appointment sample,
+                                                           List<AppointmentSpan> occurrences) {
+        List<ServiceTypeDTO> services = sample == null ? List.of() : sample.getLineItems().stream()
+            .map(item -> new ServiceTypeDTO(item.getServiceId(), item.getServiceName(), item.getDurationMinutes()))
+            .toList();
+        return new AppointmentSeriesResponseDTO(
+            series.getId(),
+            series.getCustomerId(),
+            series.getEmployeeId(),
+            series.getFrequency(),
+            series.getUntilDate(),
+            services,
+            sample != null ? sample.getTotalDurationMinutes() : null,
+            sample != null ? sample.getTotalPrice() : null,
+            occurrences.stream()
+                .map(span -> new SeriesOccurrenceDTO(span.appointmentId(), span.startTime(), span.endTime()))
+                .toList());
+    }
+}
@@ -2,7 +2,13 @@ package com.salonhub.api.appointment.service;
 
 import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
 import com.salonhub.api.appointment.dto.AppointmentResponseDTO;
+import com.salonhub.api.appointment.dto.AppointmentSearchCriteria;
+import com.salonhub.api.appointment.dto.AppointmentSummaryDTO;
 import com.salonhub.api.appointment.dto.BookingRequestDTO;
+import com.salonhub.api.appointment.dto.SplitBookingRequestDTO;
+import com.salonhub.api.common.pagination.KeysetPage;
+
+import java.time.LocalDate;
 import java.util.List;
 
 public interface AppointmentService {
@@ -16,8 +22,33 @@ public interface AppointmentService {
      */
     AppointmentResponseDTO publicBook(BookingRequestDTO request);
     
+    /**
+     * Book services at the earliest time they fit on the requested day, split across technicians where that
+     * finishes sooner. Each service keeps its own technician and time.
+     * @throws IllegalStateException when the services can't all be fitted in that day
+     */
+    AppointmentResponseDTO bookSplit(SplitBookingRequestDTO request);
+    
     List<AppointmentResponseDTO> listByCustomer(Long customerId);
-    List<AppointmentResponseDTO> listByEmployee(Long employeeId);
+    
+    /**
+     * An employee's appointments starting between {@code from} and {@code to} (inclusive), in start order.
+     */
+    List<AppointmentResponseDTO> listByEmployee(Long employeeId, LocalDate from, LocalDate to);
+    
+    /**
+     * One page of the salon calendar between {@code from} and {@code to} (inclusive), ordered by start time.
+     * @param employeeIds only these employees' appointments; null or empty for everyone
+     * @param cursor nextCursor of the previous page, or null for the first page
+     */
+    KeysetPage<AppointmentResponseDTO> calendar(LocalDate from, LocalDate to, List<Long> employeeIds, String cursor, int size);
+    
+    /**
+     * One page of appointments matching every given filter, ordered by start time.
+     * @param cursor nextCursor of the previous page, or null for the first page
+     */
+    KeysetPage<AppointmentSummaryDTO> search(AppointmentSearchCriteria criteria, String cursor, int size);
+    
     AppointmentResponseDTO getById(Long id);
     AppointmentResponseDTO update(Long id, AppointmentRequestDTO request);
     AppointmentResponseDTO updateStatus(Long id, String status);
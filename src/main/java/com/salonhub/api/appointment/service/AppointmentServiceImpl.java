@@ -2,51 +2,109 @@ package com.salonhub.api.appointment.service;
 
 import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
 import com.salonhub.api.appointment.dto.AppointmentResponseDTO;
+import com.salonhub.api.appointment.dto.AppointmentSearchCriteria;
+import com.salonhub.api.appointment.dto.AppointmentSummaryDTO;
 import com.salonhub.api.appointment.dto.BookingRequestDTO;
+import com.salonhub.api.appointment.dto.ServiceAssignmentDTO;
+import com.salonhub.api.appointment.dto.ServicePlanDTO;
+import com.salonhub.api.appointment.dto.SplitBookingRequestDTO;
+import com.salonhub.api.appointment.event.AppointmentChangedEvent;
+import com.salonhub.api.appointment.event.AppointmentsCancelledEvent;
 import com.salonhub.api.appointment.mapper.AppointmentMapper;
 import com.salonhub.api.appointment.model.Appointment;
+import com.salonhub.api.appointment.model.AppointmentLineItem;
 import com.salonhub.api.appointment.model.BookingStatus;
 import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.model.SlotHold;
 import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.AppointmentSearchRepository;
+import com.salonhub.api.appointment.repository.AppointmentSpecifications;
+import com.salonhub.api.appointment.repository.AppointmentSpan;
+import com.salonhub.api.appointment.repository.AppointmentSummary;
 import com.salonhub.api.appointment.repository.ServiceTypeRepository;
 
+import com.salonhub.api.common.pagination.KeysetCursor;
+import com.salonhub.api.common.pagination.KeysetPage;
 import com.salonhub.api.customer.model.Customer;
 import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.station.service.StationService;
 import com.salonhub.api.employee.repository.EmployeeRepository;
 
 import jakarta.persistence.EntityNotFoundException;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class AppointmentServiceImpl implements AppointmentService {
+    static final int MAX_EMPLOYEE_RANGE_DAYS = 92;
+    static final int MAX_CALENDAR_RANGE_DAYS = 366;
+    static final int MAX_CALENDAR_PAGE_SIZE = 500;
+    static final int MAX_SEARCH_PAGE_SIZE = 200;
+
     private final AppointmentRepository repo;
+    private final AppointmentSearchRepository searchRepo;
     private final ServiceTypeRepository serviceTypeRepo;
     private final AppointmentMapper mapper;
     private final CustomerRepository customerRepo;
     private final EmployeeRepository employeeRepo;
+    private final ApplicationEventPublisher events;
+    private final BookingCoordinator bookingCoordinator;
+    private final SlotHoldService slotHolds;
+    private final AvailabilityService availability;
+    private final StationService stations;
 
     public AppointmentServiceImpl(
             AppointmentRepository repo,
+            AppointmentSearchRepository searchRepo,
             ServiceTypeRepository serviceTypeRepo,
             AppointmentMapper mapper,
             CustomerRepository customerRepo,
-            EmployeeRepository employeeRepo) {
+            EmployeeRepository employeeRepo,
+            ApplicationEventPublisher events,
+            BookingCoordinator bookingCoordinator,
+            SlotHoldService slotHolds,
+            AvailabilityService availability,
+            StationService stations) {
         this.repo = repo;
+        this.searchRepo = searchRepo;
         this.serviceTypeRepo = serviceTypeRepo;
         this.mapper = mapper;
         this.customerRepo = customerRepo;
         this.employeeRepo = employeeRepo;
+        this.events = events;
+        this.bookingCoordinator = bookingCoordinator;
+        this.slotHolds = slotHolds;
+        this.availability = availability;
+        this.stations = stations;
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public AppointmentResponseDTO book(AppointmentRequestDTO req) {
+        return bookingCoordinator.execute(() -> doBook(req));
+    }
+
+    private AppointmentResponseDTO doBook(AppointmentRequestDTO req) {
         // Convert DTO → Entity
         Appointment appt = mapper.toEntity(req);
         // Set relations
@@ -59,57 +117,211 @@ public class AppointmentServiceImpl implements AppointmentService {
         if (services.size() != req.getServiceIds().size()) {
             throw new EntityNotFoundException("One or more services not found");
         }
-        appt.setServices(services);
         appt.setStartTime(req.getStartTime());
+        appt.applyServices(services);
         appt.setStatus(BookingStatus.PENDING);
 
         // Conflict check
-        int totalEstimate = services.stream()
-            .mapToInt(ServiceType::getEstimatedDurationMinutes)
-            .sum();
-        if (appt.getEmployee() != null) {
-            List<Appointment> conflicts = repo.findByEmployeeIdAndStartTimeBetween(
-                appt.getEmployee().getId(), appt.getStartTime(), appt.getStartTime().plusMinutes(totalEstimate)
-            );
-            if (!conflicts.isEmpty()) {
-                throw new IllegalStateException("Time slot is already booked");
-            }
-        }
+        schedule(appt, "Time slot is already booked");
 
         // Save and map to response
         Appointment saved = repo.save(appt);
-        AppointmentResponseDTO response = mapper.toResponse(saved);
-        response.setTotalEstimatedDuration(totalEstimate);
-        return response;
+        publishChanged(saved);
+        return mapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AppointmentResponseDTO bookSplit(SplitBookingRequestDTO req) {
+        return bookingCoordinator.execute(() -> doBookSplit(req));
+    }
+
+    private AppointmentResponseDTO doBookSplit(SplitBookingRequestDTO req) {
+        Customer customer = customerRepo.findById(req.getCustomerId())
+            .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
+        ServicePlanDTO plan = availability.plan(req.getDate(), req.getAfter(), req.getServiceIds(), req.isParallel());
+
+        List<ServiceAssignmentDTO> assignments = new ArrayList<>(plan.getAssignments());
+        assignments.sort(Comparator.comparing(ServiceAssignmentDTO::getStartTime));
+        Map<Long, ServiceType> servicesById = serviceTypeRepo.findAllById(
+                assignments.stream().map(ServiceAssignmentDTO::getServiceId).collect(Collectors.toList()))
+            .stream().collect(Collectors.toMap(ServiceType::getId, Function.identity()));
+        Map<Long, Employee> employeesById = employeeRepo.findAllById(
+                assignments.stream().map(ServiceAssignmentDTO::getEmployeeId).collect(Collectors.toSet()))
+            .stream().collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        Appointment appt = new Appointment();
+        appt.setCustomer(customer);
+        appt.setStatus(BookingStatus.PENDING);
+        appt.setStartTime(plan.getStartTime());
+        appt.setEmployee(employeesById.get(assignments.get(0).getEmployeeId()));
+        appt.applyServices(assignments.stream().map(a -> servicesById.get(a.getServiceId())).collect(Collectors.toList()));
+        if (!isOneTechnicianBackToBack(assignments)) {
+            appt.splitServices(
+                assignments.stream().map(a -> employeesById.get(a.getEmployeeId())).collect(Collectors.toList()),
+                assignments.stream().map(ServiceAssignmentDTO::getStartTime).collect(Collectors.toList()));
+        }
+
+        // The plan was made without locks; check again under them
+        schedule(appt, "The selected time was just taken; please search again");
+        Appointment saved = repo.save(appt);
+        publishChanged(saved);
+        return mapper.toResponse(saved);
+    }
+
+    /**
+     * Whether a plan is just one technician doing everything in turn, which needs no split.
+     */
+    private static boolean isOneTechnicianBackToBack(List<ServiceAssignmentDTO> inStartOrder) {
+        for (int i = 1; i < inStartOrder.size(); i++) {
+            ServiceAssignmentDTO previous = inStartOrder.get(i - 1);
+            ServiceAssignmentDTO next = inStartOrder.get(i);
+            if (!next.getEmployeeId().equals(previous.getEmployeeId())
+                    || !next.getStartTime().equals(previous.getEndTime())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentResponseDTO> listByCustomer(Long customerId) {
         return repo.findByCustomerId(customerId).stream()
-            .map(this::enrich)
+            .map(mapper::toResponse)
             .collect(Collectors.toList());
     }
 
     @Override
-    public List<AppointmentResponseDTO> listByEmployee(Long employeeId) {
-        return repo.findByEmployeeIdAndStartTimeBetween(
-            employeeId, LocalDateTime.MIN, LocalDateTime.MAX
-        ).stream()
-         .map(this::enrich)
-         .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<AppointmentResponseDTO> listByEmployee(Long employeeId, LocalDate from, LocalDate to) {
+        checkRange(from, to, MAX_EMPLOYEE_RANGE_DAYS);
+        LocalDateTime start = from.atStartOfDay();
+        List<AppointmentSpan> spans = repo.findCalendarPageForEmployees(
+            List.of(employeeId), start, to.plusDays(1).atStartOfDay(), start, 0L, Limit.unlimited());
+        return loadDetails(spans);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<AppointmentResponseDTO> calendar(LocalDate from, LocalDate to, List<Long> employeeIds,
+                                                       String cursor, int size) {
+        if (size < 1 || size > MAX_CALENDAR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CALENDAR_PAGE_SIZE);
+        }
+        checkRange(from, to, MAX_CALENDAR_RANGE_DAYS);
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        // The first page starts "after" (start, 0), which every appointment in range sorts behind
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        LocalDateTime afterStart = after != null ? after.timestamp() : start;
+        long afterId = after != null ? after.id() : 0L;
+
+        List<AppointmentSpan> spans = employeeIds == null || employeeIds.isEmpty()
+            ? repo.findCalendarPage(start, end, afterStart, afterId, Limit.of(size + 1))
+            : repo.findCalendarPageForEmployees(employeeIds, start, end, afterStart, afterId, Limit.of(size + 1));
+        KeysetPage<AppointmentSpan> page = KeysetPage.of(spans, size,
+            span -> new KeysetCursor(span.startTime(), span.appointmentId()));
+        return new KeysetPage<>(loadDetails(page.getItems()), page.getNextCursor(), page.isHasMore());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<AppointmentSummaryDTO> search(AppointmentSearchCriteria criteria, String cursor, int size) {
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        if (criteria.getFrom() != null && criteria.getTo() != null && !criteria.getTo().isAfter(criteria.getFrom())) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        List<Specification<Appointment>> filters = new ArrayList<>();
+        if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty()) {
+            filters.add(AppointmentSpecifications.statusIn(criteria.getStatuses()));
+        }
+        if (criteria.getFrom() != null) {
+            filters.add(AppointmentSpecifications.startingFrom(criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            filters.add(AppointmentSpecifications.startingBefore(criteria.getTo()));
+        }
+        if (criteria.getEmployeeIds() != null && !criteria.getEmployeeIds().isEmpty()) {
+            filters.add(AppointmentSpecifications.employeeIn(criteria.getEmployeeIds()));
+        }
+        if (criteria.getCustomerId() != null) {
+            filters.add(AppointmentSpecifications.customerIs(criteria.getCustomerId()));
+        }
+        if (criteria.getServiceIds() != null && !criteria.getServiceIds().isEmpty()) {
+            filters.add(AppointmentSpecifications.includesAnyService(criteria.getServiceIds()));
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (after != null) {
+            filters.add(AppointmentSpecifications.after(after.timestamp(), after.id()));
+        }
+
+        List<AppointmentSummary> rows = searchRepo.search(Specification.allOf(filters), size + 1);
+        KeysetPage<AppointmentSummary> page = KeysetPage.of(rows, size,
+            row -> new KeysetCursor(row.startTime(), row.id()));
+        Map<Long, List<String>> serviceNames = searchRepo.findServiceNames(
+            page.getItems().stream().map(AppointmentSummary::id).collect(Collectors.toList()));
+        List<AppointmentSummaryDTO> items = page.getItems().stream()
+            .map(row -> new AppointmentSummaryDTO(row.id(), row.startTime(), row.endTime(), row.status(),
+                row.customerId(), row.customerName(), row.employeeId(), row.employeeName(),
+                serviceNames.getOrDefault(row.id(), List.of()), row.totalDurationMinutes(), row.totalPrice()))
+            .collect(Collectors.toList());
+        return new KeysetPage<>(items, page.getNextCursor(), page.isHasMore());
+    }
+
+    /**
+     * Load a page of appointments with their customer, employee and services in one statement, keeping the page order.
+     */
+    private List<AppointmentResponseDTO> loadDetails(List<AppointmentSpan> spans) {
+        if (spans.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Appointment> byId = repo.findAllWithDetailsByIdIn(
+                spans.stream().map(AppointmentSpan::appointmentId).collect(Collectors.toList()))
+            .stream()
+            .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+        return spans.stream()
+            .map(span -> byId.get(span.appointmentId()))
+            .filter(Objects::nonNull)
+            .map(mapper::toResponse)
+            .collect(Collectors.toList());
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to, int maxDays) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both 'from' and 'to' dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (from.plusDays(maxDays).isBefore(to.plusDays(1))) {
+            throw new IllegalArgumentException("Date range can span at most " + maxDays + " days");
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public AppointmentResponseDTO getById(Long id) {
-        Appointment appt = repo.findById(id)
+        Appointment appt = repo.findWithDetailsById(id)
             .orElseThrow(() -> new EntityNotFoundException("Appointment not found"));
-        return enrich(appt);
+        return mapper.toResponse(appt);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public AppointmentResponseDTO update(Long id, AppointmentRequestDTO req) {
+        return bookingCoordinator.execute(() -> doUpdate(id, req));
+    }
+
+    private AppointmentResponseDTO doUpdate(Long id, AppointmentRequestDTO req) {
         Appointment appt = repo.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Appointment not found"));
+        LocalDateTime previousStart = appt.getStartTime();
+        Set<Long> previousEmployeeIds = employeeIds(appt);
+        boolean wasSplit = appt.isServicesSplit();
+        Long previousEmployeeId = appt.getEmployee() != null ? appt.getEmployee().getId() : null;
         // Update fields
         mapper.updateEntity(req, appt);
         if (req.getEmployeeId() != null) {
@@ -121,36 +333,85 @@ public class AppointmentServiceImpl implements AppointmentService {
             if (services.size() != req.getServiceIds().size()) {
                 throw new EntityNotFoundException("One or more services not found");
             }
-            appt.setServices(services);
+            appt.applyServices(services);
+        } else if (wasSplit && (!appt.getStartTime().equals(previousStart)
+                || (req.getEmployeeId() != null && !req.getEmployeeId().equals(previousEmployeeId)))) {
+            // Moving a split appointment or giving it one technician puts all its services back with that technician
+            appt.applyServices(appt.getServices());
+        }
+        if (appt.getStatus() != BookingStatus.CANCELLED) {
+            schedule(appt, "Time slot is already booked");
         }
         Appointment saved = repo.save(appt);
-        return enrich(saved);
+        publishChanged(saved, previousStart, previousEmployeeIds, wasSplit);
+        return mapper.toResponse(saved);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public AppointmentResponseDTO updateStatus(Long id, String status) {
+        return bookingCoordinator.execute(() -> doUpdateStatus(id, status));
+    }
+
+    private AppointmentResponseDTO doUpdateStatus(Long id, String status) {
         Appointment appt = repo.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Appointment not found"));
+        BookingStatus previous = appt.getStatus();
         appt.setStatus(BookingStatus.valueOf(status));
+        if (previous == BookingStatus.CANCELLED && appt.getStatus() != BookingStatus.CANCELLED) {
+            // Reinstating an appointment needs its time back
+            schedule(appt, "Time slot is already booked");
+        }
         if (appt.getStatus() == BookingStatus.COMPLETED) {
-            appt.setActualEndTime(LocalDateTime.now());
+            LocalDateTime now = LocalDateTime.now();
+            appt.setActualEndTime(now);
+            // Finishing early frees the rest of the slot; overrunning never moves the end into the next booking
+            if (now.isAfter(appt.getStartTime()) && now.isBefore(appt.getEndTime())) {
+                appt.setEndTime(now);
+            }
         }
         Appointment saved = repo.save(appt);
-        return enrich(saved);
+        publishChanged(saved);
+        if (previous != BookingStatus.CANCELLED && saved.getStatus() == BookingStatus.CANCELLED && saved.getEmployee() != null) {
+            events.publishEvent(new AppointmentsCancelledEvent(spans(saved)));
+        }
+        return mapper.toResponse(saved);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void cancel(Long id) {
         updateStatus(id, BookingStatus.CANCELLED.name());
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void complete(Long id) {
         updateStatus(id, BookingStatus.COMPLETED.name());
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public AppointmentResponseDTO publicBook(BookingRequestDTO req) {
+        AppointmentResponseDTO response = bookingCoordinator.execute(() -> doPublicBook(req));
+        if (req.getHoldId() != null) {
+            slotHolds.forget(req.getHoldId());
+        }
+        return response;
+    }
+
+    private AppointmentResponseDTO doPublicBook(BookingRequestDTO req) {
+        // Step 0: A held slot fixes the time and staff member; the hold itself gives way to the booking
+        SlotHold hold = req.getHoldId() != null ? slotHolds.claim(req.getHoldId()) : null;
+        if (hold != null) {
+            if (!hold.getStartTime().equals(req.getScheduledTime())) {
+                throw new IllegalArgumentException("The scheduled time doesn't match the held time");
+            }
+            if (req.getStaffId() != null && !req.getStaffId().equals(hold.getEmployeeId())) {
+                throw new IllegalArgumentException("The staff member doesn't match the hold");
+            }
+        }
+
         // Step 1: Find or create customer
         Customer customer = findOrCreateCustomer(req);
         
@@ -167,47 +428,41 @@ public class AppointmentServiceImpl implements AppointmentService {
         // Step 3: Create appointment
         Appointment appt = new Appointment();
         appt.setCustomer(customer);
-        appt.setServices(services);
         appt.setStartTime(req.getScheduledTime());
+        appt.applyServices(services);
         appt.setStatus(BookingStatus.PENDING);
         
-        // Step 4: Set employee if provided
-        if (req.getStaffId() != null) {
-            appt.setEmployee(employeeRepo.findById(req.getStaffId())
-                .orElseThrow(() -> new EntityNotFoundException("Staff not found with ID: " + req.getStaffId())));
+        // Step 4: Set employee if provided or held
+        Long staffId = hold != null ? hold.getEmployeeId() : req.getStaffId();
+        if (staffId != null) {
+            appt.setEmployee(employeeRepo.findById(staffId)
+                .orElseThrow(() -> new EntityNotFoundException("Staff not found with ID: " + staffId)));
         }
         
         // Step 5: Check for conflicts if employee is assigned
-        int totalEstimate = services.stream()
-            .mapToInt(ServiceType::getEstimatedDurationMinutes)
-            .sum();
-        if (appt.getEmployee() != null) {
-            List<Appointment> conflicts = repo.findByEmployeeIdAndStartTimeBetween(
-                appt.getEmployee().getId(), 
-                appt.getStartTime(), 
-                appt.getStartTime().plusMinutes(totalEstimate)
-            );
-            if (!conflicts.isEmpty()) {
-                throw new IllegalStateException("The selected time slot is already booked for this staff member");
-            }
-        }
+        schedule(appt, "The selected time slot is already booked for this staff member");
         
         // Step 6: Save and return
         Appointment saved = repo.save(appt);
-        AppointmentResponseDTO response = mapper.toResponse(saved);
-        response.setTotalEstimatedDuration(totalEstimate);
-        return response;
+        publishChanged(saved);
+        return mapper.toResponse(saved);
     }
     
     /**
      * Find existing customer by email or phone, or create a new one.
      */
     private Customer findOrCreateCustomer(BookingRequestDTO req) {
-        // Try to find by email first
+        // Try to find by email first, then by phone (normalized unique indexes)
         if (req.getCustomerEmail() != null && !req.getCustomerEmail().isBlank()) {
-            Customer existing = customerRepo.findByEmail(req.getCustomerEmail());
-            if (existing != null) {
-                return existing;
+            Optional<Customer> existing = customerRepo.findByContact(req.getCustomerEmail());
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+        }
+        if (req.getCustomerPhone() != null && !req.getCustomerPhone().isBlank()) {
+            Optional<Customer> existing = customerRepo.findByContact(req.getCustomerPhone());
+            if (existing.isPresent()) {
+                return existing.get();
             }
         }
         
@@ -222,12 +477,92 @@ public class AppointmentServiceImpl implements AppointmentService {
         return customerRepo.save(customer);
     }
 
-    private AppointmentResponseDTO enrich(Appointment appt) {
-        AppointmentResponseDTO response = mapper.toResponse(appt);
-        int totalEstimate = appt.getServices().stream()
-            .mapToInt(ServiceType::getEstimatedDurationMinutes)
-            .sum();
-        response.setTotalEstimatedDuration(totalEstimate);
-        return response;
+    /**
+     * Set the scheduled end from the booked duration and make sure the employee is free for the whole appointment,
+     * neither booked nor held for someone else's checkout.
+     * The employee's booking lock is taken first so concurrent bookings for the same employee are checked one at
+     * a time; on PostgreSQL the appointments_no_overlap exclusion constraint backs this up. Services that need a
+     * station then need one free, checked under the station types' locks.
+     */
+    private void schedule(Appointment appt, String conflictMessage) {
+        if (appt.isServicesSplit()) {
+            // Each service has its own technician and time, fixed when it was split
+            bookingCoordinator.lockEmployees(employeeIds(appt));
+            for (AppointmentLineItem item : appt.getLineItems()) {
+                if (repo.existsOverlapping(item.getEmployeeId(), item.getStartTime(), item.getEndTime(), appt.getId())) {
+                    throw new IllegalStateException(conflictMessage);
+                }
+                if (slotHolds.isHeld(item.getEmployeeId(), item.getStartTime(), item.getEndTime())) {
+                    throw new IllegalStateException("Time slot is being held for another booking");
+                }
+            }
+            stations.checkFree(appt);
+            return;
+        }
+        appt.setEndTime(appt.getStartTime().plusMinutes(appt.getTotalDurationMinutes()));
+        if (appt.getEmployee() != null) {
+            bookingCoordinator.lockEmployee(appt.getEmployee().getId());
+            if (repo.existsOverlapping(appt.getEmployee().getId(), appt.getStartTime(), appt.getEndTime(), appt.getId())) {
+                throw new IllegalStateException(conflictMessage);
+            }
+            if (slotHolds.isHeld(appt.getEmployee().getId(), appt.getStartTime(), appt.getEndTime())) {
+                throw new IllegalStateException("Time slot is being held for another booking");
+            }
+        }
+        stations.checkFree(appt);
+    }
+
+    private void publishChanged(Appointment appt) {
+        publishChanged(appt, null, Set.of(), false);
+    }
+
+    /**
+     * Let listeners (availability cache, calendar feeds) know which days and technicians this appointment affects.
+     * A split appointment is reported as a bulk change, since listeners that patch one appointment in place
+     * assume it has one technician and one time.
+     */
+    private void publishChanged(Appointment appt, LocalDateTime previousStart, Set<Long> previousEmployeeIds,
+                                boolean wasSplit) {
+        Set<Long> employeeIds = employeeIds(appt);
+        employeeIds.addAll(previousEmployeeIds);
+        Set<LocalDate> dates = new HashSet<>();
+        if (appt.getStartTime() != null) {
+            dates.add(appt.getStartTime().toLocalDate());
+        }
+        if (previousStart != null) {
+            dates.add(previousStart.toLocalDate());
+        }
+        Long appointmentId = appt.isServicesSplit() || wasSplit ? null : appt.getId();
+        events.publishEvent(new AppointmentChangedEvent(appointmentId, employeeIds, dates));
+    }
+
+    /**
+     * The appointment's technician and, when it is split, every technician doing one of its services.
+     */
+    private static Set<Long> employeeIds(Appointment appt) {
+        Set<Long> employeeIds = new HashSet<>();
+        if (appt.getEmployee() != null) {
+            employeeIds.add(appt.getEmployee().getId());
+        }
+        if (appt.isServicesSplit()) {
+            for (AppointmentLineItem item : appt.getLineItems()) {
+                employeeIds.add(item.getEmployeeId());
+            }
+        }
+        return employeeIds;
+    }
+
+    /**
+     * The time each technician spends on the appointment: one span, or one per service when it is split.
+     */
+    private static List<AppointmentSpan> spans(Appointment appt) {
+        if (!appt.isServicesSplit()) {
+            return List.of(new AppointmentSpan(appt.getId(), appt.getEmployee().getId(), appt.getStartTime(), appt.getEndTime()));
+        }
+        List<AppointmentSpan> spans = new ArrayList<>();
+        for (AppointmentLineItem item : appt.getLineItems()) {
+            spans.add(new AppointmentSpan(appt.getId(), item.getEmployeeId(), item.getStartTime(), item.getEndTime()));
+        }
+        return spans;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,411 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AvailabilityResponseDTO;
+import com.salonhub.api.appointment.dto.AvailableSlotDTO;
+import com.salonhub.api.appointment.dto.ServiceAssignmentDTO;
+import com.salonhub.api.appointment.dto.ServicePlanDTO;
+import com.salonhub.api.appointment.event.AppointmentChangedEvent;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.model.SlotHold;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.AppointmentSpan;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.employee.event.EmployeesChangedEvent;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.queue.model.Queue;
+import com.salonhub.api.queue.model.QueueStatus;
+import com.salonhub.api.queue.repository.QueueRepository;
+import com.salonhub.api.station.event.StationTypesChangedEvent;
+import com.salonhub.api.station.service.StationCapacity;
+import com.salonhub.api.station.service.StationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Free start times for online booking.
+ *
+ * Each day is turned into a {@link DaySchedule}: per-technician busy intervals built from that day's appointments.
+ * Appointments without a technician are placed on whoever is free at their time, and for today the walk-in queue
+ * is placed on the earliest free technicians as well, so online bookings don't promise time walk-ins will take.
+ * A slot is open when at least one technician (or the requested one) is free for the whole booking
+ * and not held for someone else's checkout.
+ *
+ * Schedules are cached per day and dropped when an appointment on that day changes. Today's schedule also
+ * expires quickly because the walk-in queue moves without appointment writes.
+ *
+ * The same schedules let a set of services be split across technicians ({@link #plan}), searched by a
+ * {@link ServicePlanner}.
+ */
+@Slf4j
+@Service
+public class AvailabilityService {
+
+    /** Services one plan can split; the search grows quickly with each one */
+    static final int MAX_PLAN_SERVICES = 6;
+    private static final int MAX_PLAN_NODES = 50_000;
+
+    private final AppointmentRepository appointmentRepository;
+    private final ServiceTypeRepository serviceTypeRepository;
+    private final EmployeeRepository employeeRepository;
+    private final QueueRepository queueRepository;
+    private final SlotHoldRegistry slotHolds;
+    private final StationService stationService;
+
+    private final LocalTime openingTime;
+    private final LocalTime closingTime;
+    private final int slotMinutes;
+    private final int walkInMinutes;
+    private final int maxDays;
+    private final Duration cacheTtl;
+    private final Duration todayCacheTtl;
+
+    private final Map<LocalDate, DaySchedule> schedules = new ConcurrentHashMap<>();
+    /** Bumped on every invalidation, so a schedule built from data read before a change is not cached */
+    private final AtomicLong generation = new AtomicLong();
+
+    public AvailabilityService(AppointmentRepository appointmentRepository,
+                               ServiceTypeRepository serviceTypeRepository,
+                               EmployeeRepository employeeRepository,
+                               QueueRepository queueRepository,
+                               SlotHoldRegistry slotHolds,
+                               StationService stationService,
+                               @Value("${salonhub.availability.opening-time:09:00}") String openingTime,
+                               @Value("${salonhub.availability.closing-time:19:00}") String closingTime,
+                               @Value("${salonhub.availability.slot-minutes:15}") int slotMinutes,
+                               @Value("${salonhub.availability.walk-in-minutes:30}") int walkInMinutes,
+                               @Value("${salonhub.availability.max-days:31}") int maxDays,
+                               @Value("${salonhub.availability.cache-ttl:10m}") Duration cacheTtl,
+                               @Value("${salonhub.availability.today-cache-ttl:1m}") Duration todayCacheTtl) {
+        this.appointmentRepository = appointmentRepository;
+        this.serviceTypeRepository = serviceTypeRepository;
+        this.employeeRepository = employeeRepository;
+        this.queueRepository = queueRepository;
+        this.slotHolds = slotHolds;
+        this.stationService = stationService;
+        this.openingTime = LocalTime.parse(openingTime);
+        this.closingTime = LocalTime.parse(closingTime);
+        this.slotMinutes = slotMinutes;
+        this.walkInMinutes = walkInMinutes;
+        this.maxDays = maxDays;
+        this.cacheTtl = cacheTtl;
+        this.todayCacheTtl = todayCacheTtl;
+    }
+
+    /**
+     * Open start times between {@code from} and {@code to} (inclusive) for the given services.
+     *
+     * @param staffId only consider this technician; null for anyone
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityResponseDTO findAvailability(LocalDate from, LocalDate to, List<Long> serviceIds, Long staffId) {
+        if (serviceIds == null || serviceIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one service must be selected");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (from.plusDays(maxDays).isBefore(to.plusDays(1))) {
+            throw new IllegalArgumentException("Availability can be searched at most " + maxDays + " days at a time");
+        }
+        List<ServiceType> services = bookableServices(serviceIds);
+        int duration = 0;
+        for (ServiceType service : services) {
+            duration += service.getEstimatedDurationMinutes();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        int open = minuteOfDay(openingTime);
+        int close = minuteOfDay(closingTime);
+
+        List<AvailableSlotDTO> slots = new ArrayList<>();
+        for (LocalDate date = from.isBefore(today) ? today : from; !date.isAfter(to); date = date.plusDays(1)) {
+            DaySchedule schedule = schedule(date, now);
+            int first = open;
+            if (date.equals(today)) {
+                first = Math.max(open, roundUp(minuteOfDay(now.toLocalTime())));
+            }
+            for (int start = first; start + duration <= close; start += slotMinutes) {
+                List<Long> free = schedule.freeTechnicians(start, start + duration, staffId);
+                if (free.isEmpty() || !stationsFree(schedule.stations(), services, start)) {
+                    continue;
+                }
+                // Holds change by the minute, so they are checked per search rather than cached in the schedule
+                LocalDateTime slotStart = date.atStartOfDay().plusMinutes(start);
+                free = slotHolds.withoutHeld(free, slotStart, slotStart.plusMinutes(duration), now);
+                if (!free.isEmpty()) {
+                    slots.add(new AvailableSlotDTO(slotStart, free));
+                }
+            }
+        }
+        return new AvailabilityResponseDTO(from, to, List.copyOf(serviceIds), staffId, duration, slots);
+    }
+
+    /**
+     * The earliest way to do the services on {@code date}, split across technicians: side by side when
+     * {@code parallel} and they are in different categories, otherwise one after another.
+     *
+     * @param after nothing starts before this time; null for opening time (or now, today)
+     * @throws IllegalStateException when they can't all be done before closing
+     */
+    @Transactional(readOnly = true)
+    public ServicePlanDTO plan(LocalDate date, LocalTime after, List<Long> serviceIds, boolean parallel) {
+        if (serviceIds == null || serviceIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one service must be selected");
+        }
+        List<ServiceType> services = bookableServices(serviceIds);
+        if (services.size() > MAX_PLAN_SERVICES) {
+            throw new IllegalArgumentException("At most " + MAX_PLAN_SERVICES + " services can be planned together");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (date.isBefore(now.toLocalDate())) {
+            throw new IllegalArgumentException("Only today or later can be planned");
+        }
+        int from = minuteOfDay(openingTime);
+        if (date.equals(now.toLocalDate())) {
+            from = Math.max(from, roundUp(minuteOfDay(now.toLocalTime())));
+        }
+        if (after != null) {
+            from = Math.max(from, roundUp(minuteOfDay(after)));
+        }
+
+        LocalDateTime dayStart = date.atStartOfDay();
+        DaySchedule schedule = schedule(date, now);
+        Map<Long, BusyIntervals> technicians = new LinkedHashMap<>(schedule.technicians());
+        // Held time is added to copies, leaving the cached schedule as it is
+        for (SlotHold hold : slotHolds.activeBetween(dayStart, dayStart.plusDays(1), now)) {
+            BusyIntervals busy = technicians.get(hold.getEmployeeId());
+            if (busy != null) {
+                busy = busy.copy();
+                busy.add(minutesSince(dayStart, hold.getStartTime()), minutesSince(dayStart, hold.getEndTime()));
+                technicians.put(hold.getEmployeeId(), busy);
+            }
+        }
+
+        List<ServicePlanner.Task> tasks = new ArrayList<>();
+        for (ServiceType service : services) {
+            tasks.add(new ServicePlanner.Task(service.getEstimatedDurationMinutes(), service.getCategory(),
+                    service.getStationTypeId()));
+        }
+        long started = System.nanoTime();
+        List<ServicePlanner.Placement> placements =
+                new ServicePlanner(technicians, schedule.stations(), minuteOfDay(closingTime), slotMinutes, MAX_PLAN_NODES)
+                        .plan(tasks, from, parallel);
+        log.debug("Planned {} service(s) on {} in {} us", tasks.size(), date, (System.nanoTime() - started) / 1_000);
+        if (placements == null) {
+            throw new IllegalStateException("These services can't all be fitted in on " + date);
+        }
+
+        List<ServiceAssignmentDTO> assignments = new ArrayList<>();
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        for (int i = 0; i < services.size(); i++) {
+            ServiceType service = services.get(i);
+            LocalDateTime start = dayStart.plusMinutes(placements.get(i).start());
+            LocalDateTime end = start.plusMinutes(service.getEstimatedDurationMinutes());
+            assignments.add(new ServiceAssignmentDTO(service.getId(), service.getName(),
+                    placements.get(i).technicianId(), start, end));
+            first = first == null || start.isBefore(first) ? start : first;
+            last = last == null || end.isAfter(last) ? end : last;
+        }
+        return new ServicePlanDTO(first, last, parallel, assignments);
+    }
+
+    /**
+     * Drop cached schedules for the days an appointment change touched, once the change is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        generation.incrementAndGet();
+        event.dates().forEach(schedules::remove);
+    }
+
+    /**
+     * Station counts feed every cached day, so any change to them drops them all.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationTypesChanged(StationTypesChangedEvent event) {
+        generation.incrementAndGet();
+        schedules.clear();
+    }
+
+    /**
+     * Who can take bookings feeds every cached day, so any change to the staff drops them all.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeesChangedEvent event) {
+        generation.incrementAndGet();
+        schedules.clear();
+    }
+
+    DaySchedule schedule(LocalDate date, LocalDateTime now) {
+        DaySchedule cached = schedules.get(date);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached;
+        }
+        schedules.keySet().removeIf(day -> day.isBefore(now.toLocalDate()));
+
+        long builtFrom = generation.get();
+        DaySchedule schedule = build(date, now);
+        if (generation.get() == builtFrom) {
+            schedules.put(date, schedule);
+        }
+        return schedule;
+    }
+
+    private DaySchedule build(LocalDate date, LocalDateTime now) {
+        Map<Long, BusyIntervals> technicians = new LinkedHashMap<>();
+        for (Employee employee : employeeRepository.findByRoleOrderByIdAsc(Role.TECHNICIAN)) {
+            if (employee.isAvailable()) {
+                technicians.put(employee.getId(), new BusyIntervals());
+            }
+        }
+
+        LocalDateTime dayStart = date.atStartOfDay();
+        List<AppointmentSpan> unassigned = new ArrayList<>();
+        for (AppointmentSpan span : appointmentRepository.findBusySpansStartingBetween(dayStart, dayStart.plusDays(1))) {
+            BusyIntervals busy = span.employeeId() != null ? technicians.get(span.employeeId()) : null;
+            if (busy != null) {
+                busy.add(minutesSince(dayStart, span.startTime()), minutesSince(dayStart, span.endTime()));
+            } else if (span.employeeId() == null) {
+                unassigned.add(span);
+            }
+        }
+        // Appointments nobody has been assigned to yet still need someone
+        for (AppointmentSpan span : unassigned) {
+            int start = minutesSince(dayStart, span.startTime());
+            int end = minutesSince(dayStart, span.endTime());
+            for (BusyIntervals busy : technicians.values()) {
+                if (busy.isFree(start, end)) {
+                    busy.add(start, end);
+                    break;
+                }
+            }
+        }
+
+        StationCapacity stations = stationService.capacity(date, now);
+        if (date.equals(now.toLocalDate())) {
+            placeWalkIns(technicians, stations, minuteOfDay(now.toLocalTime()), now);
+        }
+
+        Duration ttl = date.equals(now.toLocalDate()) ? todayCacheTtl : cacheTtl;
+        return new DaySchedule(date, technicians, stations, now.plus(ttl));
+    }
+
+    /**
+     * Reserve time for today's walk-ins: customers being served keep their technician for the rest of a
+     * typical service, and waiting customers go to the earliest free technician in queue order, once a station
+     * is free too if they need one. Stations of customers being served are already in {@code stations}.
+     */
+    private void placeWalkIns(Map<Long, BusyIntervals> technicians, StationCapacity stations, int nowMinute,
+                              LocalDateTime now) {
+        LocalDateTime today = now.toLocalDate().atStartOfDay();
+        for (Queue entry : queueRepository.findByStatusAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                QueueStatus.IN_PROGRESS, today)) {
+            BusyIntervals busy = entry.getEmployeeId() != null ? technicians.get(entry.getEmployeeId()) : null;
+            if (busy != null && entry.getAppointmentId() == null) {
+                LocalDateTime started = entry.getServingStartedAt() != null ? entry.getServingStartedAt() : now;
+                int remaining = Math.max(slotMinutes, walkInMinutes - (int) Duration.between(started, now).toMinutes());
+                busy.add(nowMinute, nowMinute + remaining);
+            }
+        }
+
+        int close = minuteOfDay(closingTime);
+        for (Queue entry : queueRepository.findByStatusAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                QueueStatus.WAITING, today)) {
+            if (entry.getAppointmentId() != null) {
+                continue; // Already counted as an appointment
+            }
+            BusyIntervals preferred = entry.getEmployeeId() != null ? technicians.get(entry.getEmployeeId()) : null;
+            Iterable<BusyIntervals> candidates = preferred != null ? List.of(preferred) : technicians.values();
+            BusyIntervals earliest = null;
+            int earliestStart = -1;
+            for (BusyIntervals busy : candidates) {
+                int start = busy.earliestFree(nowMinute, walkInMinutes, close);
+                while (start >= 0 && entry.getStationTypeId() != null
+                        && !stations.fits(entry.getStationTypeId(), start, start + walkInMinutes)) {
+                    start = busy.earliestFree(start + slotMinutes, walkInMinutes, close);
+                }
+                if (start >= 0 && (earliest == null || start < earliestStart)) {
+                    earliest = busy;
+                    earliestStart = start;
+                }
+            }
+            if (earliest != null) {
+                earliest.add(earliestStart, earliestStart + walkInMinutes);
+                if (entry.getStationTypeId() != null) {
+                    stations.add(entry.getStationTypeId(), earliestStart, earliestStart + walkInMinutes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether every service that needs a station has one free in its turn, the services running one after
+     * another from {@code start}.
+     */
+    private static boolean stationsFree(StationCapacity stations, List<ServiceType> services, int start) {
+        int at = start;
+        for (ServiceType service : services) {
+            int end = at + service.getEstimatedDurationMinutes();
+            if (service.getStationTypeId() != null && !stations.fits(service.getStationTypeId(), at, end)) {
+                return false;
+            }
+            at = end;
+        }
+        return true;
+    }
+
+    /**
+     * The requested services, without repeats, in the order requested.
+     */
+    private List<ServiceType> bookableServices(List<Long> serviceIds) {
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(serviceIds));
+        Map<Long, ServiceType> byId = new HashMap<>();
+        for (ServiceType service : serviceTypeRepository.findAllById(distinct)) {
+            byId.put(service.getId(), service);
+        }
+        if (byId.size() != distinct.size()) {
+            throw new IllegalArgumentException("One or more services not found");
+        }
+        List<ServiceType> services = new ArrayList<>(distinct.size());
+        for (Long id : distinct) {
+            ServiceType service = byId.get(id);
+            if (!Boolean.TRUE.equals(service.getActive())) {
+                throw new IllegalArgumentException("Service is not available for booking: " + service.getName());
+            }
+            services.add(service);
+        }
+        return services;
+    }
+
+    private int roundUp(int minute) {
+        return (minute + slotMinutes - 1) / slotMinutes * slotMinutes;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static int minutesSince(LocalDateTime dayStart, LocalDateTime time) {
+        return (int) Duration.between(dayStart, time).toMinutes();
+    }
+}
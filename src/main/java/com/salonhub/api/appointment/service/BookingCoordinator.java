@@ -0,0 +1,312 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.common.exception.ServiceBusyException;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.station.repository.StationTypeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes bookings per technician while letting different technicians book in parallel.
+ *
+ * {@link #lockEmployee} takes two locks for the rest of the current transaction: an in-process lock from a
+ * fixed set of stripes, so threads on this instance queue in memory instead of piling up as database lock
+ * waiters, then a database lock so other instances are serialized too. On PostgreSQL that is a
+ * transaction-level advisory lock, which leaves the employee row itself unlocked; other databases fall back
+ * to locking the employee row.
+ *
+ * {@link #lockStations} does the same for station types, so bookings competing for the last chair of a kind
+ * are checked one at a time. Station locks have stripes and advisory keys of their own and are always taken
+ * after any employee locks, so the two kinds never wait on each other in a cycle.
+ *
+ * {@link #execute} runs a booking in its own transaction and retries it when the database reports a
+ * serialization failure, deadlock or lock timeout. When a transaction is already open the caller owns it
+ * and the action runs once, inside it.
+ *
+ * A transaction holds a pooled connection from its start, so inside one started by {@link #execute} the
+ * in-process stripes are never waited for: a busy stripe rolls the attempt back, the stripe is waited for
+ * with no transaction (and no connection) open, and the attempt is rerun already holding it. A few requests
+ * queued behind one busy technician therefore can't starve the small pool. Stripes waited for this way are
+ * taken in one fixed order, so two waiters can't block each other. Inside a transaction the caller opened,
+ * a busy stripe is waited for in place.
+ */
+@Slf4j
+@Component
+public class BookingCoordinator {
+
+    /** High half of every advisory lock key, so booking locks don't collide with other advisory lock users */
+    private static final long ADVISORY_NAMESPACE = 0x5348_424BL; // "SHBK"
+    private static final long STATION_ADVISORY_NAMESPACE = 0x5348_5354L; // "SHST"
+    private static final int STATION_STRIPES = 16;
+
+    private final EmployeeRepository employeeRepository;
+    private final StationTypeRepository stationTypeRepository;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] stripes;
+    private final ReentrantLock[] stationStripes;
+    /** Stripes this thread took before the transaction {@link #execute} is running, by order; null outside one */
+    private final ThreadLocal<SortedSet<Integer>> preHeld = new ThreadLocal<>();
+    private final Duration lockTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    private final Timer lockWait;
+    private final Counter lockTimeouts;
+    private final Counter retries;
+
+    private volatile Boolean postgres;
+
+    public BookingCoordinator(EmployeeRepository employeeRepository,
+                              StationTypeRepository stationTypeRepository,
+                              DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${salonhub.booking.lock-stripes:64}") int lockStripes,
+                              @Value("${salonhub.booking.lock-timeout:5s}") Duration lockTimeout,
+                              @Value("${salonhub.booking.max-attempts:3}") int maxAttempts,
+                              @Value("${salonhub.booking.retry-backoff:50ms}") Duration retryBackoff) {
+        this.employeeRepository = employeeRepository;
+        this.stationTypeRepository = stationTypeRepository;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Power of two so a stripe is picked with a mask
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, lockStripes) * 2 - 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.stationStripes = new ReentrantLock[STATION_STRIPES];
+        for (int i = 0; i < stationStripes.length; i++) {
+            stationStripes[i] = new ReentrantLock(true);
+        }
+        this.lockTimeout = lockTimeout;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+        this.lockWait = Timer.builder("salonhub.booking.lock.wait")
+                .description("Time spent waiting for a technician's booking lock")
+                .register(meterRegistry);
+        this.lockTimeouts = Counter.builder("salonhub.booking.lock.timeouts")
+                .description("Bookings refused because the technician's lock was not free in time")
+                .register(meterRegistry);
+        this.retries = Counter.builder("salonhub.booking.retries")
+                .description("Booking transactions retried after a serialization failure")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run {@code action} in a transaction, retrying on serialization failures.
+     */
+    public <T> T execute(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        SortedSet<Integer> held = new TreeSet<>();
+        preHeld.set(held);
+        try {
+            for (int attempt = 1; ; ) {
+                try {
+                    return transactionTemplate.execute(status -> action.get());
+                } catch (StripeBusy busy) {
+                    // Rolled back, so the connection is back in the pool while we wait
+                    awaitStripes(held, busy);
+                } catch (ConcurrencyFailureException e) {
+                    if (attempt >= maxAttempts) {
+                        throw e;
+                    }
+                    retries.increment();
+                    log.debug("Booking attempt {} hit {}; retrying", attempt, e.getClass().getSimpleName());
+                    backOff(attempt);
+                    attempt++;
+                }
+            }
+        } finally {
+            preHeld.remove();
+            held.forEach(order -> stripe(order).unlock());
+        }
+    }
+
+    /**
+     * Take the busy stripe along with those already held, all in stripe order, so waiters never wait on each
+     * other in a cycle.
+     */
+    private void awaitStripes(SortedSet<Integer> held, StripeBusy busy) {
+        long started = System.nanoTime();
+        SortedSet<Integer> wanted = new TreeSet<>(held);
+        wanted.add(busy.order);
+        held.forEach(order -> stripe(order).unlock());
+        held.clear();
+        long deadline = started + lockTimeout.toNanos();
+        try {
+            for (int order : wanted) {
+                if (!stripe(order).tryLock(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    lockTimeouts.increment();
+                    throw new ServiceBusyException(busy.getMessage(), Math.max(1, lockTimeout.toSeconds()));
+                }
+                held.add(order);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a booking lock");
+        }
+        lockWait.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Hold the booking lock for {@code employeeId} until the current transaction completes.
+     *
+     * @throws ServiceBusyException when the lock is not free within the configured timeout
+     */
+    public void lockEmployee(Long employeeId) {
+        long started = System.nanoTime();
+        lockStripe(stripeIndex(employeeId), "Bookings for this technician are busy, please try again shortly");
+        if (isPostgres()) {
+            employeeRepository.advisoryLock(ADVISORY_NAMESPACE << 32 | (employeeId & 0xFFFF_FFFFL));
+        } else {
+            employeeRepository.lockById(employeeId);
+        }
+        lockWait.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Hold the booking locks for several employees until the current transaction completes. They are taken in
+     * stripe order, so two callers locking overlapping sets queue behind each other instead of deadlocking.
+     */
+    public void lockEmployees(Collection<Long> employeeIds) {
+        employeeIds.stream()
+                .distinct()
+                .sorted(Comparator.comparingInt(this::stripeIndex).thenComparing(Comparator.naturalOrder()))
+                .forEach(this::lockEmployee);
+    }
+
+    /**
+     * Hold the booking locks for these station types until the current transaction completes. Take them after
+     * any employee locks the booking needs.
+     *
+     * @throws ServiceBusyException when a lock is not free within the configured timeout
+     */
+    public void lockStations(Collection<Long> stationTypeIds) {
+        stationTypeIds.stream().distinct().sorted().forEach(stationTypeId -> {
+            long started = System.nanoTime();
+            lockStripe(stripes.length + (int) (stationTypeId & (STATION_STRIPES - 1)),
+                    "Bookings for this station are busy, please try again shortly");
+            if (isPostgres()) {
+                employeeRepository.advisoryLock(STATION_ADVISORY_NAMESPACE << 32 | (stationTypeId & 0xFFFF_FFFFL));
+            } else {
+                stationTypeRepository.lockById(stationTypeId);
+            }
+            lockWait.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    /**
+     * @param order the stripe's place in the one order stripes are waited for in: employee stripes, then stations
+     */
+    private void lockStripe(int order, String busyMessage) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking locks can only be taken inside a transaction");
+        }
+        ReentrantLock stripe = stripe(order);
+        // Free, or already ours (taken before this attempt's transaction began)
+        if (!stripe.tryLock()) {
+            if (preHeld.get() != null) {
+                throw new StripeBusy(order, busyMessage);
+            }
+            try {
+                if (!stripe.tryLock(lockTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    lockTimeouts.increment();
+                    throw new ServiceBusyException(busyMessage, Math.max(1, lockTimeout.toSeconds()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a booking lock");
+            }
+        }
+        // Completion callbacks run on this thread, so the stripe is released by its owner
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                stripe.unlock();
+            }
+        });
+    }
+
+    private ReentrantLock stripe(int order) {
+        return order < stripes.length ? stripes[order] : stationStripes[order - stripes.length];
+    }
+
+    /**
+     * Threads waiting outside a transaction for this employee's stripe.
+     */
+    int waitingFor(Long employeeId) {
+        return stripes[stripeIndex(employeeId)].getQueueLength();
+    }
+
+    int stripeIndex(Long employeeId) {
+        int h = employeeId.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    private void backOff(int attempt) {
+        long base = retryBackoff.toMillis() * attempt;
+        try {
+            Thread.sleep(base + ThreadLocalRandom.current().nextLong(base + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a booking");
+        }
+    }
+
+    /**
+     * A stripe was busy inside a transaction {@link #execute} started; unwinds it so the wait happens outside.
+     */
+    private static final class StripeBusy extends RuntimeException {
+        private final int order;
+
+        private StripeBusy(int order, String busyMessage) {
+            super(busyMessage, null, false, false);
+            this.order = order;
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+                result = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (MetaDataAccessException e) {
+                log.warn("Could not determine database type; using row locks for bookings", e);
+                result = false;
+            }
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package com.salonhub.api.appointment.service;
+
+import java.util.Arrays;
+
+/**
+ * One technician's busy time for a day, as sorted, non-overlapping [start, end) minute-of-day intervals.
+ * Intervals are kept in two parallel arrays; because they never overlap both arrays are sorted,
+ * so a free-time check is a single binary search.
+ *
+ * Not thread-safe while being built; read-only once published in a {@link DaySchedule}.
+ */
+final class BusyIntervals {
+
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int size;
+
+    /**
+     * Mark [start, end) busy, merging with any intervals it touches.
+     */
+    void add(int start, int end) {
+        if (end <= start) {
+            return;
+        }
+        // First interval that ends at or after start: everything before it stays untouched
+        int from = firstEndingAtOrAfter(start);
+        int to = from;
+        while (to < size && starts[to] <= end) {
+            start = Math.min(start, starts[to]);
+            end = Math.max(end, ends[to]);
+            to++;
+        }
+        int removed = to - from;
+        if (removed == 0) {
+            ensureCapacity(size + 1);
+            System.arraycopy(starts, from, starts, from + 1, size - from);
+            System.arraycopy(ends, from, ends, from + 1, size - from);
+            size++;
+        } else if (removed > 1) {
+            System.arraycopy(starts, to, starts, from + 1, size - to);
+            System.arraycopy(ends, to, ends, from + 1, size - to);
+            size -= removed - 1;
+        }
+        starts[from] = start;
+        ends[from] = end;
+    }
+
+    /**
+     * @return true when nothing overlaps [start, end)
+     */
+    boolean isFree(int start, int end) {
+        int i = firstEndingAfter(start);
+        return i == size || starts[i] >= end;
+    }
+
+    /**
+     * Earliest start at or after {@code from} with {@code duration} free minutes, or -1 if none begins before {@code limit}.
+     */
+    int earliestFree(int from, int duration, int limit) {
+        int candidate = from;
+        for (int i = firstEndingAfter(from); i < size && candidate < limit; i++) {
+            if (starts[i] >= candidate + duration) {
+                break;
+            }
+            candidate = Math.max(candidate, ends[i]);
+        }
+        return candidate < limit ? candidate : -1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * A copy that can be added to without touching this one.
+     */
+    BusyIntervals copy() {
+        BusyIntervals copy = new BusyIntervals();
+        copy.starts = Arrays.copyOf(starts, starts.length);
+        copy.ends = Arrays.copyOf(ends, ends.length);
+        copy.size = size;
+        return copy;
+    }
+
+    private int firstEndingAfter(int minute) {
+        int i = Arrays.binarySearch(ends, 0, size, minute);
+        if (i < 0) {
+            return -i - 1;
+        }
+        return i + 1;
+    }
+
+    private int firstEndingAtOrAfter(int minute) {
+        int i = Arrays.binarySearch(ends, 0, size, minute);
+        return i < 0 ? -i - 1 : i;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > starts.length) {
+            starts = Arrays.copyOf(starts, starts.length * 2);
+            ends = Arrays.copyOf(ends, ends.length * 2);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.event.AppointmentChangedEvent;
+import com.salonhub.api.appointment.model.BookingStatus;
+import com.salonhub.api.appointment.repository.AppointmentJdbcRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-technician iCalendar feeds for phone calendars.
+ *
+ * A feed URL carries an HMAC of the employee id, so checking it needs no lookup. Each technician's feed
+ * version is an in-memory stamp bumped whenever one of their appointments changes, which lets a polling
+ * calendar app be answered with 304 without touching the database. Stamps only see changes made on this
+ * instance, so they are also renewed every {@code revalidate-after} to bound staleness when several
+ * instances serve feeds.
+ *
+ * Feeds cover a rolling window around today and are streamed row by row from a JDBC cursor.
+ */
+@Service
+public class CalendarFeedService {
+
+    private static final String HMAC = "HmacSHA256";
+    private static final int TOKEN_BYTES = 20;
+
+    private final AppointmentJdbcRepository appointmentJdbcRepository;
+    private final EmployeeRepository employeeRepository;
+    private final SecretKeySpec key;
+    private final ZoneId zone;
+    private final int pastDays;
+    private final int futureDays;
+    private final Duration revalidateAfter;
+
+    private final Map<Long, Instant> stamps = new ConcurrentHashMap<>();
+
+    public CalendarFeedService(AppointmentJdbcRepository appointmentJdbcRepository,
+                               EmployeeRepository employeeRepository,
+                               @Value("${salonhub.calendar.feed-secret:${jwt.secret:}}") String secret,
+                               @Value("${salonhub.calendar.time-zone:}") String timeZone,
+                               @Value("${salonhub.calendar.past-days:7}") int pastDays,
+                               @Value("${salonhub.calendar.future-days:60}") int futureDays,
+                               @Value("${salonhub.calendar.revalidate-after:1h}") Duration revalidateAfter) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("salonhub.calendar.feed-secret must be set");
+        }
+        this.appointmentJdbcRepository = appointmentJdbcRepository;
+        this.employeeRepository = employeeRepository;
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC);
+        this.zone = timeZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(timeZone);
+        this.pastDays = pastDays;
+        this.futureDays = futureDays;
+        this.revalidateAfter = revalidateAfter;
+    }
+
+    /**
+     * The secret part of an employee's feed URL.
+     */
+    public String token(Long employeeId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sign(employeeId));
+    }
+
+    public boolean isValidToken(Long employeeId, String token) {
+        if (token == null || token.isBlank()) {
+            return false;
+        }
+        try {
+            return MessageDigest.isEqual(sign(employeeId), Base64.getUrlDecoder().decode(token));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Current version of an employee's feed, for conditional requests.
+     */
+    public FeedVersion version(Long employeeId) {
+        Instant now = Instant.now();
+        Instant stamp = stamps.compute(employeeId, (id, current) ->
+            current == null || current.plus(revalidateAfter).isBefore(now) ? now.truncatedTo(ChronoUnit.MILLIS) : current);
+        // The window moves at midnight, so the day is part of the version too
+        String etag = "\"" + employeeId + "-" + LocalDate.now(zone) + "-" + stamp.toEpochMilli() + "\"";
+        return new FeedVersion(etag, stamp);
+    }
+
+    /**
+     * Write an employee's feed for the current window.
+     */
+    @Transactional(readOnly = true)
+    public void write(Long employeeId, Writer out) {
+        LocalDate today = LocalDate.now(zone);
+        String name = employeeRepository.findById(employeeId).map(Employee::getName).orElse("Appointments");
+        Instant generated = Instant.now();
+
+        ICalendarWriter ics = new ICalendarWriter(out)
+            .line("BEGIN", "VCALENDAR")
+            .line("VERSION", "2.0")
+            .line("PRODID", "-//SalonHub//Appointments//EN")
+            .line("CALSCALE", "GREGORIAN")
+            .line("METHOD", "PUBLISH")
+            .text("X-WR-CALNAME", "SalonHub - " + name)
+            .line("X-PUBLISHED-TTL", "PT15M")
+            .line("REFRESH-INTERVAL;VALUE=DURATION", "PT15M");
+
+        appointmentJdbcRepository.forEachCalendarEntry(employeeId,
+            today.minusDays(pastDays).atStartOfDay(), today.plusDays(futureDays + 1L).atStartOfDay(), entry -> {
+                String services = entry.serviceNames().isEmpty() ? "Appointment" : String.join(", ", entry.serviceNames());
+                ics.line("BEGIN", "VEVENT")
+                    .line("UID", "appointment-" + entry.appointmentId() + "@salonhub")
+                    .time("DTSTAMP", generated)
+                    .time("DTSTART", entry.startTime().atZone(zone).toInstant())
+                    .time("DTEND", entry.endTime().atZone(zone).toInstant())
+                    .text("SUMMARY", services + " - " + entry.customerName())
+                    .line("STATUS", entry.status() == BookingStatus.PENDING ? "TENTATIVE" : "CONFIRMED")
+                    .line("END", "VEVENT");
+            });
+
+        ics.line("END", "VCALENDAR").flush();
+    }
+
+    /**
+     * Bump the feeds of every technician an appointment change touched, once it is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (Long employeeId : event.employeeIds()) {
+            // Strictly newer, so two changes within a millisecond still produce a new version
+            stamps.merge(employeeId, now, (current, next) -> next.isAfter(current) ? next : current.plusMillis(1));
+        }
+    }
+
+    private byte[] sign(Long employeeId) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return Arrays.copyOf(mac.doFinal(("calendar-feed:" + employeeId).getBytes(StandardCharsets.UTF_8)), TOKEN_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign calendar feed token", e);
+        }
+    }
+
+    public record FeedVersion(String etag, Instant lastModified) {
+    }
+}
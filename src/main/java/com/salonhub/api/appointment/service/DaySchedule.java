@@ -0,0 +1,67 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.station.service.StationCapacity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Busy time of every technician and station use on one day, as built by {@link AvailabilityService}.
+ * Immutable once built, so cached instances can be read by any number of requests.
+ */
+final class DaySchedule {
+
+    private final LocalDate date;
+    private final Map<Long, BusyIntervals> technicians;
+    private final StationCapacity stations;
+    private final LocalDateTime expiresAt;
+
+    /**
+     * @param technicians busy intervals per technician id, in the order technicians should be offered
+     */
+    DaySchedule(LocalDate date, Map<Long, BusyIntervals> technicians, StationCapacity stations, LocalDateTime expiresAt) {
+        this.date = date;
+        this.technicians = Collections.unmodifiableMap(technicians);
+        this.stations = stations;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Busy intervals per technician, in offering order; read-only.
+     */
+    Map<Long, BusyIntervals> technicians() {
+        return technicians;
+    }
+
+    /**
+     * Station use through the day; read-only.
+     */
+    StationCapacity stations() {
+        return stations;
+    }
+
+    boolean isExpired(LocalDateTime now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Technicians free for the whole of [start, end), optionally restricted to one.
+     */
+    List<Long> freeTechnicians(int start, int end, Long staffId) {
+        if (staffId != null) {
+            BusyIntervals busy = technicians.get(staffId);
+            return busy != null && busy.isFree(start, end) ? List.of(staffId) : List.of();
+        }
+        List<Long> free = new ArrayList<>();
+        for (Map.Entry<Long, BusyIntervals> technician : technicians.entrySet()) {
+            if (technician.getValue().isFree(start, end)) {
+                free.add(technician.getKey());
+            }
+        }
+        return free;
+    }
+}
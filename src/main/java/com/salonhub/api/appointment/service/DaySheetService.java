@@ -0,0 +1,273 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.DaySheetDTO;
+import com.salonhub.api.appointment.dto.DaySheetEntryDTO;
+import com.salonhub.api.appointment.event.AppointmentChangedEvent;
+import com.salonhub.api.appointment.repository.AppointmentJdbcRepository;
+import com.salonhub.api.appointment.repository.DaySheetEntry;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.queue.event.QueueChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-technician day sheets for the front desk: who is doing what on a given day.
+ *
+ * A sheet is built from one query over appointments, their line items, customers and the walk-in queue, and
+ * kept in memory for days within {@code window-days} of today, least recently used sheets going first once
+ * {@code max-entries} are held. Committed appointment and queue writes patch the cached sheets in place by
+ * re-reading only the rows they touched, so a busy day does not mean rebuilding every sheet on every write.
+ *
+ * The cache is per instance; with several instances a sheet reflects writes made elsewhere only once it is
+ * evicted or its day leaves the window.
+ */
+@Service
+public class DaySheetService {
+
+    private static final Comparator<DaySheetEntry> START_ORDER = Comparator
+            .comparing(DaySheetEntry::startTime)
+            .thenComparing(DaySheetEntry::kind)
+            .thenComparing(DaySheetEntry::id);
+
+    private final AppointmentJdbcRepository appointmentJdbcRepository;
+    private final EmployeeRepository employeeRepository;
+    private final int windowDays;
+
+    /** Access-ordered, so the eldest entry is the least recently read; guarded by itself */
+    private final LinkedHashMap<Key, Sheet> sheets;
+    /** Bumped on every write, so a sheet built from data read before a change is not cached */
+    private final AtomicLong generation = new AtomicLong();
+    /** Patches read and apply one at a time, so an older read can never overwrite a newer one */
+    private final Object patchLock = new Object();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer rebuilds;
+
+    public DaySheetService(AppointmentJdbcRepository appointmentJdbcRepository,
+                           EmployeeRepository employeeRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${salonhub.day-sheet.window-days:7}") int windowDays,
+                           @Value("${salonhub.day-sheet.max-entries:500}") int maxEntries) {
+        this.appointmentJdbcRepository = appointmentJdbcRepository;
+        this.employeeRepository = employeeRepository;
+        this.windowDays = windowDays;
+        this.sheets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Sheet> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("salonhub.daysheet.hits")
+                .description("Day sheets served from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("salonhub.daysheet.misses")
+                .description("Day sheets that had to be built")
+                .register(meterRegistry);
+        this.rebuilds = Timer.builder("salonhub.daysheet.rebuild")
+                .description("Time to build one day sheet from the database")
+                .register(meterRegistry);
+        Gauge.builder("salonhub.daysheet.hit.ratio", this, DaySheetService::hitRatio)
+                .description("Share of day sheet reads served from memory")
+                .register(meterRegistry);
+        Gauge.builder("salonhub.daysheet.size", this, DaySheetService::size)
+                .description("Day sheets held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * One technician's sheet for a day.
+     */
+    public DaySheetDTO getDaySheet(Long employeeId, LocalDate date) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new EntityNotFoundException("Employee not found");
+        }
+        return toDto(sheet(employeeId, date, LocalDate.now()));
+    }
+
+    /**
+     * Sheets for a day, one per technician; every technician when none are given.
+     */
+    public List<DaySheetDTO> getDaySheets(LocalDate date, List<Long> employeeIds) {
+        List<Long> ids = employeeIds;
+        if (ids == null || ids.isEmpty()) {
+            ids = employeeRepository.findByRoleOrderByIdAsc(Role.TECHNICIAN).stream()
+                    .map(Employee::getId)
+                    .toList();
+        }
+        LocalDate today = LocalDate.now();
+        List<DaySheetDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(toDto(sheet(id, date, today)));
+        }
+        return result;
+    }
+
+    /**
+     * Patch the cached sheets an appointment change touched, once the change is committed.
+     * A change to many appointments at once names no single one, so its sheets are dropped instead.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        generation.incrementAndGet();
+        Set<Key> touched = new HashSet<>();
+        for (Long employeeId : event.employeeIds()) {
+            for (LocalDate date : event.dates()) {
+                touched.add(new Key(employeeId, date));
+            }
+        }
+        if (event.appointmentId() == null) {
+            synchronized (sheets) {
+                sheets.keySet().removeAll(touched);
+            }
+            return;
+        }
+        synchronized (patchLock) {
+            synchronized (sheets) {
+                touched.retainAll(sheets.keySet());
+            }
+            if (touched.isEmpty()) {
+                return;
+            }
+            List<DaySheetEntry> current = appointmentJdbcRepository.findDaySheetAppointment(event.appointmentId())
+                    .map(List::of)
+                    .orElse(List.of());
+            Set<Long> ids = Set.of(event.appointmentId());
+            synchronized (sheets) {
+                for (Key key : touched) {
+                    sheets.computeIfPresent(key, (k, sheet) -> sheet.patch(DaySheetEntry.Kind.APPOINTMENT, ids, current));
+                }
+            }
+        }
+    }
+
+    /**
+     * Patch cached sheets for committed queue writes. A walk-in may have moved between technicians,
+     * so every cached sheet drops the written entries and the matching sheet takes them back.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQueueChanged(QueueChangedEvent event) {
+        generation.incrementAndGet();
+        synchronized (patchLock) {
+            synchronized (sheets) {
+                if (sheets.isEmpty()) {
+                    return;
+                }
+            }
+            List<DaySheetEntry> current = appointmentJdbcRepository.findDaySheetWalkIns(event.queueIds());
+            synchronized (sheets) {
+                sheets.replaceAll((key, sheet) -> sheet.patch(DaySheetEntry.Kind.WALK_IN, event.queueIds(), current));
+            }
+        }
+    }
+
+    Sheet sheet(Long employeeId, LocalDate date, LocalDate today) {
+        Key key = new Key(employeeId, date);
+        boolean cacheable = !date.isBefore(today.minusDays(windowDays)) && !date.isAfter(today.plusDays(windowDays));
+        if (cacheable) {
+            synchronized (sheets) {
+                Sheet cached = sheets.get(key);
+                if (cached != null) {
+                    hits.increment();
+                    return cached;
+                }
+            }
+        }
+        misses.increment();
+
+        long builtFrom = generation.get();
+        Sheet sheet = rebuilds.record(() -> build(key));
+        if (cacheable) {
+            synchronized (sheets) {
+                if (generation.get() == builtFrom) {
+                    sheets.put(key, sheet);
+                }
+                sheets.keySet().removeIf(k -> k.date().isBefore(today.minusDays(windowDays)));
+            }
+        }
+        return sheet;
+    }
+
+    private Sheet build(Key key) {
+        LocalDateTime dayStart = key.date().atStartOfDay();
+        List<DaySheetEntry> entries = appointmentJdbcRepository.findDaySheet(key.employeeId(), dayStart, dayStart.plusDays(1));
+        return new Sheet(key, List.copyOf(entries), LocalDateTime.now());
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private int size() {
+        synchronized (sheets) {
+            return sheets.size();
+        }
+    }
+
+    private static DaySheetDTO toDto(Sheet sheet) {
+        List<DaySheetEntryDTO> entries = new ArrayList<>(sheet.entries().size());
+        for (DaySheetEntry entry : sheet.entries()) {
+            entries.add(new DaySheetEntryDTO(entry.kind(), entry.id(), entry.startTime(), entry.endTime(),
+                    entry.status(), entry.customerName(), List.copyOf(entry.serviceNames()), entry.queueNumber()));
+        }
+        return new DaySheetDTO(sheet.key().employeeId(), sheet.key().date(), sheet.asOf(), entries);
+    }
+
+    record Key(Long employeeId, LocalDate date) {
+    }
+
+    /**
+     * An immutable sheet; patches produce a new one.
+     */
+    record Sheet(Key key, List<DaySheetEntry> entries, LocalDateTime asOf) {
+
+        /**
+         * Replace the entries of the given kind and ids with their current state, keeping only those
+         * that still belong on this sheet.
+         */
+        Sheet patch(DaySheetEntry.Kind kind, Set<Long> ids, List<DaySheetEntry> current) {
+            List<DaySheetEntry> patched = new ArrayList<>(entries.size() + current.size());
+            for (DaySheetEntry entry : entries) {
+                if (entry.kind() != kind || !ids.contains(entry.id())) {
+                    patched.add(entry);
+                }
+            }
+            for (DaySheetEntry entry : current) {
+                if (belongsHere(entry)) {
+                    patched.add(entry);
+                }
+            }
+            patched.sort(START_ORDER);
+            if (patched.equals(entries)) {
+                return this;
+            }
+            return new Sheet(key, List.copyOf(patched), LocalDateTime.now());
+        }
+
+        private boolean belongsHere(DaySheetEntry entry) {
+            return key.employeeId().equals(entry.employeeId())
+                    && key.date().equals(entry.startTime().toLocalDate())
+                    && !"CANCELLED".equals(entry.status());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.ReassignedAppointmentDTO;
+import com.salonhub.api.appointment.dto.ReassignmentResultDTO;
+import com.salonhub.api.appointment.event.AppointmentChangedEvent;
+import com.salonhub.api.appointment.model.BookingStatus;
+import com.salonhub.api.appointment.model.SlotHold;
+import com.salonhub.api.appointment.repository.AppointmentJdbcRepository;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.AppointmentSpan;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Hands an absent technician's day to the technicians who are in.
+ *
+ * The absent technician's upcoming appointments for the day are read with one query and everyone else's
+ * bookings and checkout holds with two more, turned into per-technician {@link BusyIntervals}. Appointments
+ * are then placed in start order, each on the free technician with the fewest booked minutes so far, and
+ * every move is written in one batch. Appointments nobody is free for stay with the absent technician and are returned so the
+ * front desk can call those customers, as are services the technician has in appointments split across
+ * technicians, which are timed against the other services and left alone.
+ */
+@Slf4j
+@Service
+@Transactional
+public class ReassignmentService {
+
+    /** Appointments that haven't started and can still be moved */
+    private static final Set<BookingStatus> UPCOMING = Set.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentJdbcRepository appointmentJdbcRepository;
+    private final EmployeeRepository employeeRepository;
+    private final BookingCoordinator bookingCoordinator;
+    private final SlotHoldService slotHolds;
+    private final ApplicationEventPublisher events;
+
+    public ReassignmentService(AppointmentRepository appointmentRepository,
+                               AppointmentJdbcRepository appointmentJdbcRepository,
+                               EmployeeRepository employeeRepository,
+                               BookingCoordinator bookingCoordinator,
+                               SlotHoldService slotHolds,
+                               ApplicationEventPublisher events) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentJdbcRepository = appointmentJdbcRepository;
+        this.employeeRepository = employeeRepository;
+        this.bookingCoordinator = bookingCoordinator;
+        this.slotHolds = slotHolds;
+        this.events = events;
+    }
+
+    /**
+     * Move an employee's upcoming appointments on {@code date} to available technicians who are free
+     * for the whole appointment.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ReassignmentResultDTO reassign(Long employeeId, LocalDate date) {
+        return bookingCoordinator.execute(() -> doReassign(employeeId, date));
+    }
+
+    private ReassignmentResultDTO doReassign(Long employeeId, LocalDate date) {
+        long started = System.nanoTime();
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new EntityNotFoundException("Employee not found");
+        }
+        List<Long> candidates = new ArrayList<>();
+        for (Employee employee : employeeRepository.findByRoleOrderByIdAsc(Role.TECHNICIAN)) {
+            if (employee.isAvailable() && !employee.getId().equals(employeeId)) {
+                candidates.add(employee.getId());
+            }
+        }
+        List<Long> locked = new ArrayList<>(candidates);
+        locked.add(employeeId);
+        bookingCoordinator.lockEmployees(locked);
+
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        List<AppointmentSpan> affected =
+                appointmentRepository.findEmployeeSpansStartingBetween(employeeId, dayStart, dayEnd, UPCOMING);
+        List<ReassignedAppointmentDTO> unplaced = new ArrayList<>();
+        for (AppointmentSpan span : appointmentRepository.findEmployeeAssignmentSpansStartingBetween(
+                employeeId, dayStart, dayEnd, UPCOMING)) {
+            unplaced.add(toDto(span));
+        }
+        if (affected.isEmpty()) {
+            return new ReassignmentResultDTO(employeeId, date, List.of(), unplaced);
+        }
+
+        // Insertion order is id order, which breaks ties between equally loaded technicians
+        Map<Long, BusyIntervals> busy = new LinkedHashMap<>();
+        Map<Long, Integer> bookedMinutes = new HashMap<>();
+        for (Long candidate : candidates) {
+            busy.put(candidate, new BusyIntervals());
+            bookedMinutes.put(candidate, 0);
+        }
+        for (AppointmentSpan span : appointmentRepository.findBusySpansStartingBetween(dayStart, dayEnd)) {
+            BusyIntervals intervals = span.employeeId() != null ? busy.get(span.employeeId()) : null;
+            if (intervals != null) {
+                int start = minutesSince(dayStart, span.startTime());
+                int end = minutesSince(dayStart, span.endTime());
+                intervals.add(start, end);
+                bookedMinutes.merge(span.employeeId(), end - start, Integer::sum);
+            }
+        }
+        // Time held for another customer's checkout is taken, though not yet booked
+        for (SlotHold hold : slotHolds.heldBetween(dayStart, dayEnd)) {
+            BusyIntervals intervals = busy.get(hold.getEmployeeId());
+            if (intervals != null) {
+                intervals.add(minutesSince(dayStart, hold.getStartTime()), minutesSince(dayStart, hold.getEndTime()));
+            }
+        }
+
+        List<AppointmentSpan> moved = new ArrayList<>();
+        for (AppointmentSpan span : affected) {
+            int start = minutesSince(dayStart, span.startTime());
+            int end = minutesSince(dayStart, span.endTime());
+            Long chosen = null;
+            for (Map.Entry<Long, BusyIntervals> entry : busy.entrySet()) {
+                if (entry.getValue().isFree(start, end)
+                        && (chosen == null || bookedMinutes.get(entry.getKey()) < bookedMinutes.get(chosen))) {
+                    chosen = entry.getKey();
+                }
+            }
+            if (chosen == null) {
+                unplaced.add(toDto(span));
+                continue;
+            }
+            busy.get(chosen).add(start, end);
+            bookedMinutes.merge(chosen, end - start, Integer::sum);
+            moved.add(new AppointmentSpan(span.appointmentId(), chosen, span.startTime(), span.endTime()));
+        }
+
+        if (!moved.isEmpty()) {
+            appointmentJdbcRepository.batchReschedule(moved);
+            Set<Long> employeeIds = new HashSet<>();
+            employeeIds.add(employeeId);
+            moved.forEach(span -> employeeIds.add(span.employeeId()));
+            events.publishEvent(new AppointmentChangedEvent(null, Set.copyOf(employeeIds), Set.of(date),
+                    moved.stream().map(AppointmentSpan::appointmentId).collect(Collectors.toSet())));
+        }
+        log.info("Reassigned {} of {} appointment(s) of employee {} on {} in {} ms", moved.size(), affected.size(),
+                employeeId, date, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return new ReassignmentResultDTO(employeeId, date,
+                moved.stream().map(ReassignmentService::toDto).toList(), unplaced);
+    }
+
+    private static ReassignedAppointmentDTO toDto(AppointmentSpan span) {
+        return new ReassignedAppointmentDTO(span.appointmentId(), span.startTime(), span.endTime(), span.employeeId());
+    }
+
+    private static int minutesSince(LocalDateTime dayStart, LocalDateTime time) {
+        return (int) Duration.between(dayStart, time).toMinutes();
+    }
+}
@@ -0,0 +1,258 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.station.service.StationCapacity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Splits one customer's services across technicians for a day: which technician does each service, and when.
+ *
+ * A depth-first search over (service, technician) choices, placing each service at the earliest time its
+ * technician and the customer are both free. The customer can have two services at once only when both have a
+ * category and the categories differ (hands and feet), and never two with the same technician. Plans are
+ * ranked by when the customer is done, then by how few technicians they need. A service that needs a station
+ * also waits for one of that type to be free, counting the customer's own services at the same kind of station.
+ * Branches are cut as soon as they can't beat the best plan so far, technicians with nothing booked all day are
+ * tried once rather than one by one, and the search gives up after {@code maxNodes} steps with the best plan it
+ * has.
+ *
+ * Times are minutes since midnight. Not thread-safe; create one per request.
+ */
+final class ServicePlanner {
+
+    /** One service to place; {@code stationTypeId} is the station it needs, or null */
+    record Task(int duration, String category, Long stationTypeId) {
+
+        Task(int duration, String category) {
+            this(duration, category, null);
+        }
+    }
+
+    /** Where a task went */
+    record Placement(long technicianId, int start) {
+    }
+
+    private final Map<Long, BusyIntervals> technicians;
+    private final StationCapacity stations;
+    private final int close;
+    private final int slotMinutes;
+    private final int maxNodes;
+
+    /**
+     * @param technicians busy time per technician, in the order ties should go
+     * @param close       every service must end by this minute
+     * @param stations    station use that day, read but not changed
+     * @param slotMinutes services start on this grid, or straight after another of the customer's services
+     */
+    ServicePlanner(Map<Long, BusyIntervals> technicians, StationCapacity stations, int close, int slotMinutes,
+                   int maxNodes) {
+        this.technicians = technicians;
+        this.stations = stations;
+        this.close = close;
+        this.slotMinutes = slotMinutes;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * @param from     no service starts before this minute
+     * @param parallel whether services in different categories may run at the same time
+     * @return one placement per task, in task order; null when the services can't all be done before closing
+     */
+    List<Placement> plan(List<Task> tasks, int from, boolean parallel) {
+        Search search = new Search(tasks, alignUp(from), parallel);
+        search.run(0, 0);
+        if (search.bestTechnician == null) {
+            return null;
+        }
+        List<Placement> placements = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            placements.add(new Placement(search.bestTechnician[i], search.bestStart[i]));
+        }
+        return placements;
+    }
+
+    private int alignUp(int minute) {
+        return (minute + slotMinutes - 1) / slotMinutes * slotMinutes;
+    }
+
+    private final class Search {
+        private final List<Task> tasks;
+        private final int from;
+        private final boolean parallel;
+        /** Longest first, so a good plan is found early and prunes the rest */
+        private final int[] order;
+        /** No plan can finish before this */
+        private final int lowerBound;
+
+        private final long[] technician;
+        private final int[] start;
+        private final boolean[] placed;
+        private final Map<Long, Integer> useCount = new HashMap<>();
+
+        private long[] bestTechnician;
+        private int[] bestStart;
+        private int bestFinish = Integer.MAX_VALUE;
+        private int bestTechnicians = Integer.MAX_VALUE;
+        private int nodes;
+
+        private Search(List<Task> tasks, int from, boolean parallel) {
+            this.tasks = tasks;
+            this.from = from;
+            this.parallel = parallel;
+            int n = tasks.size();
+            this.order = IntStream.range(0, n).boxed()
+                    .sorted(Comparator.comparing((Integer i) -> -tasks.get(i).duration()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            this.lowerBound = from + longestChain();
+            this.technician = new long[n];
+            this.start = new int[n];
+            this.placed = new boolean[n];
+        }
+
+        private void run(int depth, int finish) {
+            if (++nodes > maxNodes) {
+                return;
+            }
+            if (depth == tasks.size()) {
+                if (finish < bestFinish || (finish == bestFinish && useCount.size() < bestTechnicians)) {
+                    bestFinish = finish;
+                    bestTechnicians = useCount.size();
+                    bestTechnician = technician.clone();
+                    bestStart = start.clone();
+                }
+                return;
+            }
+            int bound = Math.max(finish, lowerBound);
+            if (bound > bestFinish || (bound == bestFinish && useCount.size() >= bestTechnicians)) {
+                return;
+            }
+            for (int task : order) {
+                if (placed[task]) {
+                    continue;
+                }
+                boolean triedIdle = false;
+                for (Map.Entry<Long, BusyIntervals> entry : technicians.entrySet()) {
+                    long id = entry.getKey();
+                    if (entry.getValue().size() == 0 && !useCount.containsKey(id)) {
+                        // Idle technicians are interchangeable; trying one is enough
+                        if (triedIdle) {
+                            continue;
+                        }
+                        triedIdle = true;
+                    }
+                    int at = earliestStart(task, id, entry.getValue());
+                    if (at < 0) {
+                        continue;
+                    }
+                    placed[task] = true;
+                    technician[task] = id;
+                    start[task] = at;
+                    useCount.merge(id, 1, Integer::sum);
+                    run(depth + 1, Math.max(finish, at + tasks.get(task).duration()));
+                    useCount.computeIfPresent(id, (k, count) -> count == 1 ? null : count - 1);
+                    placed[task] = false;
+                }
+            }
+        }
+
+        /**
+         * Earliest start for the task with this technician, or -1 if it can't end by closing.
+         */
+        private int earliestStart(int task, long id, BusyIntervals busy) {
+            int duration = tasks.get(task).duration();
+            int latest = close - duration;
+            int at = from;
+            while (at <= latest) {
+                int free = busy.earliestFree(at, duration, latest + 1);
+                if (free < 0) {
+                    return -1;
+                }
+                if (free != at) {
+                    at = alignUp(free);
+                    continue;
+                }
+                int blockedUntil = customerBusyUntil(task, id, at, at + duration);
+                if (blockedUntil >= 0) {
+                    at = blockedUntil; // Straight after the customer's other service, off the grid if need be
+                    continue;
+                }
+                if (!stationFree(task, at, at + duration)) {
+                    at = alignUp(at + 1);
+                    continue;
+                }
+                return at;
+            }
+            return -1;
+        }
+
+        private boolean stationFree(int task, int from, int to) {
+            Long stationTypeId = tasks.get(task).stationTypeId();
+            if (stationTypeId == null) {
+                return true;
+            }
+            int alsoNeeded = 0;
+            for (int other = 0; other < tasks.size(); other++) {
+                if (placed[other] && stationTypeId.equals(tasks.get(other).stationTypeId())
+                        && start[other] < to && start[other] + tasks.get(other).duration() > from) {
+                    alsoNeeded++;
+                }
+            }
+            return stations.fits(stationTypeId, from, to, alsoNeeded);
+        }
+
+        /**
+         * The latest end of the customer's placed services that rule out [from, to) for this task and technician,
+         * or -1 when none do.
+         */
+        private int customerBusyUntil(int task, long id, int from, int to) {
+            int until = -1;
+            for (int other = 0; other < tasks.size(); other++) {
+                if (!placed[other] || start[other] >= to || start[other] + tasks.get(other).duration() <= from) {
+                    continue;
+                }
+                if (technician[other] == id || !canOverlap(task, other)) {
+                    until = Math.max(until, start[other] + tasks.get(other).duration());
+                }
+            }
+            return until;
+        }
+
+        private boolean canOverlap(int task, int other) {
+            String category = tasks.get(task).category();
+            String otherCategory = tasks.get(other).category();
+            return parallel && category != null && otherCategory != null && !category.equals(otherCategory);
+        }
+
+        /**
+         * The longest run of services that must follow one another: all of them when nothing may overlap,
+         * otherwise one category's services plus those without a category.
+         */
+        private int longestChain() {
+            int uncategorized = 0;
+            Map<String, Integer> byCategory = new HashMap<>();
+            int total = 0;
+            for (Task task : tasks) {
+                total += task.duration();
+                if (task.category() == null) {
+                    uncategorized += task.duration();
+                } else {
+                    byCategory.merge(task.category(), task.duration(), Integer::sum);
+                }
+            }
+            if (!parallel) {
+                return total;
+            }
+            int longest = 0;
+            for (int minutes : byCategory.values()) {
+                longest = Math.max(longest, minutes);
+            }
+            return longest + uncategorized;
+        }
+    }
+}
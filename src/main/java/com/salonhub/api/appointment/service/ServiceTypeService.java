@@ -5,6 +5,7 @@ import com.salonhub.api.appointment.dto.ServiceTypeResponseDTO;
 import com.salonhub.api.appointment.mapper.ServiceTypeMapper;
 import com.salonhub.api.appointment.model.ServiceType;
 import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.station.repository.StationTypeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +21,7 @@ public class ServiceTypeService {
     
     private final ServiceTypeRepository repository;
     private final ServiceTypeMapper mapper;
+    private final StationTypeRepository stationTypeRepository;
     
     /**
      * Get all service types
@@ -56,6 +58,7 @@ public class ServiceTypeService {
         if (repository.existsByNameIgnoreCase(requestDTO.getName())) {
             throw new IllegalArgumentException("Service type with this name already exists");
         }
+        checkStationType(requestDTO);
         
         ServiceType serviceType = mapper.toEntity(requestDTO);
         ServiceType savedServiceType = repository.save(serviceType);
@@ -75,6 +78,7 @@ public class ServiceTypeService {
         if (conflictingServiceType.isPresent() && !conflictingServiceType.get().getId().equals(id)) {
             throw new IllegalArgumentException("Service type with this name already exists");
         }
+        checkStationType(requestDTO);
         
         mapper.updateEntity(existingServiceType, requestDTO);
         ServiceType updatedServiceType = repository.save(existingServiceType);
@@ -93,6 +97,12 @@ public class ServiceTypeService {
         repository.deleteById(id);
     }
     
+    private void checkStationType(ServiceTypeRequestDTO requestDTO) {
+        if (requestDTO.getStationTypeId() != null && !stationTypeRepository.existsById(requestDTO.getStationTypeId())) {
+            throw new IllegalArgumentException("Station type not found with ID: " + requestDTO.getStationTypeId());
+        }
+    }
+    
     /**
      * Check if service type exists by ID
      */
@@ -0,0 +1,123 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.model.SlotHold;
+import com.salonhub.api.common.timer.HashedTimingWheel;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The holds this instance took, indexed by technician for availability search and by expiry for reaping.
+ * Expiries sit in a {@link HashedTimingWheel}, so reaping touches only the holds that came due.
+ *
+ * Holds taken by other instances are not here; conflict checks that must see them read the slot_holds table.
+ */
+@Component
+public class SlotHoldRegistry {
+
+    private static final Duration TICK = Duration.ofSeconds(1);
+    private static final int WHEEL_SIZE = 512;
+
+    /** All guarded by this */
+    private final Map<UUID, SlotHold> holds = new HashMap<>();
+    private final Map<Long, List<SlotHold>> byEmployee = new HashMap<>();
+    private final HashedTimingWheel<UUID> expiries =
+            new HashedTimingWheel<>(TICK, WHEEL_SIZE, System.currentTimeMillis());
+
+    synchronized void add(SlotHold hold) {
+        remove(hold.getId());
+        holds.put(hold.getId(), hold);
+        byEmployee.computeIfAbsent(hold.getEmployeeId(), id -> new ArrayList<>()).add(hold);
+        expiries.schedule(hold.getId(), millis(hold.getExpiresAt()));
+    }
+
+    synchronized void remove(UUID holdId) {
+        SlotHold hold = holds.remove(holdId);
+        if (hold == null) {
+            return;
+        }
+        expiries.cancel(holdId);
+        List<SlotHold> held = byEmployee.get(hold.getEmployeeId());
+        held.remove(hold);
+        if (held.isEmpty()) {
+            byEmployee.remove(hold.getEmployeeId());
+        }
+    }
+
+    /**
+     * @return true when an unexpired hold covers part of the employee's [start, end)
+     */
+    synchronized boolean isHeld(Long employeeId, LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        List<SlotHold> held = byEmployee.get(employeeId);
+        if (held == null) {
+            return false;
+        }
+        for (SlotHold hold : held) {
+            if (hold.isActive(now) && hold.overlaps(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code employeeIds} without those holding part of [start, end); the same list when none do.
+     */
+    synchronized List<Long> withoutHeld(List<Long> employeeIds, LocalDateTime start, LocalDateTime end,
+                                        LocalDateTime now) {
+        if (byEmployee.isEmpty()) {
+            return employeeIds;
+        }
+        List<Long> free = null;
+        for (int i = 0; i < employeeIds.size(); i++) {
+            boolean held = isHeld(employeeIds.get(i), start, end, now);
+            if (held && free == null) {
+                free = new ArrayList<>(employeeIds.subList(0, i));
+            } else if (!held && free != null) {
+                free.add(employeeIds.get(i));
+            }
+        }
+        return free != null ? free : employeeIds;
+    }
+
+    /**
+     * Unexpired holds covering part of [start, end).
+     */
+    synchronized List<SlotHold> activeBetween(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        List<SlotHold> active = new ArrayList<>();
+        for (SlotHold hold : holds.values()) {
+            if (hold.isActive(now) && hold.overlaps(start, end)) {
+                active.add(hold);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Drop the holds that expired by {@code now}.
+     *
+     * @return how many were dropped
+     */
+    synchronized int expire(LocalDateTime now) {
+        List<UUID> expired = expiries.advance(millis(now));
+        for (UUID holdId : expired) {
+            remove(holdId);
+        }
+        return expired.size();
+    }
+
+    synchronized int size() {
+        return holds.size();
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,228 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.SlotHoldDTO;
+import com.salonhub.api.appointment.dto.SlotHoldRequestDTO;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.model.SlotHold;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.appointment.repository.SlotHoldRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Holds on a technician's time while a customer completes online checkout.
+ *
+ * A hold is written to the slot_holds table, which every instance's booking conflict checks read, and kept in
+ * this instance's {@link SlotHoldRegistry} so availability search can leave held times out without a query per
+ * slot. Booking with the hold's id turns it into the appointment. Unclaimed holds lapse after {@code ttl} and
+ * are reaped from memory by the registry's timing wheel and from the table by a range delete on expires_at.
+ *
+ * Checkout holds are open to anonymous callers, so each client address may hold at most
+ * {@code max-per-client} times at once; otherwise one client could keep every technician's day held.
+ */
+@Slf4j
+@Service
+@Transactional
+public class SlotHoldService {
+
+    private final SlotHoldRepository slotHoldRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ServiceTypeRepository serviceTypeRepository;
+    private final EmployeeRepository employeeRepository;
+    private final BookingCoordinator bookingCoordinator;
+    private final SlotHoldRegistry registry;
+    private final Duration ttl;
+    private final int maxPerClient;
+
+    public SlotHoldService(SlotHoldRepository slotHoldRepository,
+                           AppointmentRepository appointmentRepository,
+                           ServiceTypeRepository serviceTypeRepository,
+                           EmployeeRepository employeeRepository,
+                           BookingCoordinator bookingCoordinator,
+                           SlotHoldRegistry registry,
+                           @Value("${salonhub.booking.holds.ttl:5m}") Duration ttl,
+                           @Value("${salonhub.booking.holds.max-per-client:3}") int maxPerClient) {
+        this.slotHoldRepository = slotHoldRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.serviceTypeRepository = serviceTypeRepository;
+        this.employeeRepository = employeeRepository;
+        this.bookingCoordinator = bookingCoordinator;
+        this.registry = registry;
+        this.ttl = ttl;
+        this.maxPerClient = maxPerClient;
+    }
+
+    /**
+     * Hold the requested time with the requested technician, or with the first free one when none is named.
+     *
+     * @param clientAddress the caller's address, which may hold only a few times at once
+     * @throws IllegalStateException when the time isn't free or the client already holds its limit
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public SlotHoldDTO hold(SlotHoldRequestDTO req, String clientAddress) {
+        SlotHold hold = bookingCoordinator.execute(() -> doHold(req, clientAddress, LocalDateTime.now()));
+        registry.add(hold);
+        return toDto(hold);
+    }
+
+    /**
+     * Hold [start, end) with one technician for {@code holdFor}, e.g. while a waitlisted customer decides.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public SlotHoldDTO hold(Long employeeId, LocalDateTime start, LocalDateTime end, Duration holdFor) {
+        SlotHold hold = bookingCoordinator.execute(
+                () -> reserve(List.of(employeeId), start, end, LocalDateTime.now(), holdFor, true, null));
+        registry.add(hold);
+        return toDto(hold);
+    }
+
+    private SlotHold doHold(SlotHoldRequestDTO req, String clientAddress, LocalDateTime now) {
+        LocalDateTime start = req.getStartTime();
+        if (!start.isAfter(now)) {
+            throw new IllegalArgumentException("Only future times can be held");
+        }
+        if (slotHoldRepository.countActiveForClient(clientAddress, now) >= maxPerClient) {
+            throw new IllegalStateException("Too many times are already held; book or release one first");
+        }
+        LocalDateTime end = start.plusMinutes(totalDuration(req.getServiceIds()));
+
+        List<Long> candidates = new ArrayList<>();
+        if (req.getStaffId() != null) {
+            if (!employeeRepository.existsById(req.getStaffId())) {
+                throw new EntityNotFoundException("Staff not found with ID: " + req.getStaffId());
+            }
+            candidates.add(req.getStaffId());
+        } else {
+            for (Employee employee : employeeRepository.findByRoleOrderByIdAsc(Role.TECHNICIAN)) {
+                if (employee.isAvailable()) {
+                    candidates.add(employee.getId());
+                }
+            }
+        }
+        return reserve(candidates, start, end, now, ttl, req.getStaffId() != null, clientAddress);
+    }
+
+    private SlotHold reserve(List<Long> candidates, LocalDateTime start, LocalDateTime end, LocalDateTime now,
+                             Duration holdFor, boolean staffNamed, String clientAddress) {
+        // Pick without locking, then lock only the chosen technician and check again
+        Long chosen = null;
+        for (Long candidate : candidates) {
+            if (!registry.isHeld(candidate, start, end, now) && isFree(candidate, start, end, now)) {
+                chosen = candidate;
+                break;
+            }
+        }
+        if (chosen == null) {
+            throw new IllegalStateException(staffNamed
+                    ? "The selected time slot is already booked for this staff member"
+                    : "No staff member is free at the selected time");
+        }
+        bookingCoordinator.lockEmployee(chosen);
+        if (!isFree(chosen, start, end, now)) {
+            throw new IllegalStateException("The selected time slot was just taken");
+        }
+        return slotHoldRepository.save(new SlotHold(UUID.randomUUID(), chosen, start, end, now.plus(holdFor),
+                clientAddress));
+    }
+
+    /**
+     * Give up a hold before it expires. Releasing an unknown or already expired hold does nothing.
+     */
+    public void release(UUID holdId) {
+        slotHoldRepository.deleteById(holdId);
+        registry.remove(holdId);
+    }
+
+    /**
+     * Take a hold out of the table so the booking made with it can have its time; part of the booking's
+     * transaction, so a failed booking puts the hold back. Call {@link #forget} once the booking commits.
+     *
+     * @throws IllegalStateException when the hold has expired or was never taken
+     */
+    public SlotHold claim(UUID holdId) {
+        SlotHold hold = slotHoldRepository.findById(holdId)
+                .filter(h -> h.isActive(LocalDateTime.now()))
+                .orElseThrow(() -> new IllegalStateException("The hold on this time has expired; please pick a time again"));
+        slotHoldRepository.delete(hold);
+        slotHoldRepository.flush();
+        return hold;
+    }
+
+    public void forget(UUID holdId) {
+        registry.remove(holdId);
+    }
+
+    /**
+     * Whether any instance holds part of the employee's [start, end); for booking conflict checks.
+     */
+    public boolean isHeld(Long employeeId, LocalDateTime start, LocalDateTime end) {
+        return slotHoldRepository.existsActiveOverlapping(employeeId, start, end, LocalDateTime.now());
+    }
+
+    /**
+     * Every instance's unexpired holds covering part of [start, end), by technician then start; for conflict
+     * checks over many appointments at once.
+     */
+    public List<SlotHold> heldBetween(LocalDateTime start, LocalDateTime end) {
+        return slotHoldRepository.findActiveOverlapping(start, end, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${salonhub.booking.holds.reap-interval-ms:5000}",
+               initialDelayString = "${salonhub.booking.holds.reap-interval-ms:5000}")
+    public void reapExpired() {
+        reap(LocalDateTime.now());
+    }
+
+    /**
+     * Drop holds that expired by {@code now}, from memory and from the table.
+     *
+     * @return how many rows were deleted
+     */
+    int reap(LocalDateTime now) {
+        int forgotten = registry.expire(now);
+        int deleted = slotHoldRepository.deleteExpired(now);
+        if (forgotten > 0 || deleted > 0) {
+            log.debug("Reaped {} expired slot hold(s), {} held here", deleted, forgotten);
+        }
+        return deleted;
+    }
+
+    private boolean isFree(Long employeeId, LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        return !appointmentRepository.existsOverlapping(employeeId, start, end, null)
+                && !slotHoldRepository.existsActiveOverlapping(employeeId, start, end, now);
+    }
+
+    private static SlotHoldDTO toDto(SlotHold hold) {
+        return new SlotHoldDTO(hold.getId(), hold.getEmployeeId(), hold.getStartTime(), hold.getEndTime(),
+                hold.getExpiresAt());
+    }
+
+    private int totalDuration(List<Long> serviceIds) {
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(serviceIds));
+        List<ServiceType> services = serviceTypeRepository.findAllById(distinct);
+        if (services.size() != distinct.size()) {
+            throw new EntityNotFoundException("One or more services not found");
+        }
+        int duration = 0;
+        for (ServiceType service : services) {
+            duration += service.getEstimatedDurationMinutes();
+        }
+        return duration;
+    }
+}
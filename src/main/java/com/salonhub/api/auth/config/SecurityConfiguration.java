@@ -41,6 +41,10 @@ public class SecurityConfiguration {
                                         "/api/checkin",
                                         "/api/checkin/existing",
                                         "/api/checkin/guest",
+                                        "/api/checkin/group",
+                                        "/api/checkin/sync",
+                                        "/api/checkin/async",
+                                        "/api/checkin/tickets/*",
                                         // Queue stats (public for check-in page to show wait times)
                                         "/api/queue/stats",
                                         // Employees list (public for technician selection at check-in)
@@ -73,9 +77,12 @@ public class SecurityConfiguration {
                                 .requestMatchers(HttpMethod.PUT, "/api/employees/**").hasRole("ADMIN")
                                 .requestMatchers(HttpMethod.DELETE, "/api/employees/**").hasRole("ADMIN")
                                 .requestMatchers("/api/employees/**").hasAnyRole("TECHNICIAN", "FRONT_DESK", "MANAGER", "ADMIN")
+                                // Calendar feeds - authorized by the token in the URL, for calendar apps that can't log in
+                                .requestMatchers(HttpMethod.GET, "/api/appointments/feed/*.ics").permitAll()
                                 // Appointment management - FRONT_DESK and above (with method-level security for self-access)
                                 .requestMatchers(HttpMethod.GET, "/api/appointments/customer/**").hasAnyRole("FRONT_DESK", "MANAGER", "ADMIN")
                                 .requestMatchers(HttpMethod.POST, "/api/appointments").hasAnyRole("FRONT_DESK", "MANAGER", "ADMIN")
+                                .requestMatchers(HttpMethod.POST, "/api/appointments/series").hasAnyRole("FRONT_DESK", "MANAGER", "ADMIN")
                                 .requestMatchers(HttpMethod.PUT, "/api/appointments/**").hasAnyRole("FRONT_DESK", "MANAGER", "ADMIN")
                                 .requestMatchers(HttpMethod.DELETE, "/api/appointments/**").hasAnyRole("MANAGER", "ADMIN")
                                 .requestMatchers("/api/appointments/**").hasAnyRole("TECHNICIAN", "FRONT_DESK", "MANAGER", "ADMIN")
@@ -87,7 +94,7 @@ public class SecurityConfiguration {
                                 .requestMatchers(HttpMethod.PATCH, "/api/queue/**").hasAnyRole("FRONT_DESK", "MANAGER", "ADMIN")
                                 .requestMatchers(HttpMethod.POST, "/api/queue/**").hasAnyRole("FRONT_DESK", "MANAGER", "ADMIN")
                                 // Check-in guest data viewing - FRONT_DESK and above
-                                .requestMatchers("/api/checkin/guests/today").hasAnyRole("FRONT_DESK", "MANAGER", "ADMIN")
+                                .requestMatchers("/api/checkin/guests/today/**").hasAnyRole("FRONT_DESK", "MANAGER", "ADMIN")
                                 // All other endpoints require authentication
                                 .anyRequest().authenticated()
                 )
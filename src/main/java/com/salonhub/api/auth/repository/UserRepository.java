@@ -2,9 +2,11 @@ package com.salonhub.api.auth.repository;
 
 import com.salonhub.api.auth.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -18,4 +20,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     
     boolean existsByPhoneNumber(String phoneNumber);
+
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamEmails();
+
+    @Query("SELECT u.phoneNumber FROM User u WHERE u.phoneNumber IS NOT NULL")
+    Stream<String> streamPhoneNumbers();
 }
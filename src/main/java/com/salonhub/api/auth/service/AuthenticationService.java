@@ -21,14 +21,15 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserExistenceFilter userExistenceFilter;
 
     public AuthenticationResponse register(RegisterRequest request) {
-        // Check if user already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
+        // Check if user already exists; the filter answers for emails and phones never registered
+        if (userExistenceFilter.emailExists(request.getEmail())) {
             throw new IllegalArgumentException("Email already registered");
         }
 
-        if (request.getPhoneNumber() != null && userRepository.existsByPhoneNumber(request.getPhoneNumber())) {
+        if (request.getPhoneNumber() != null && userExistenceFilter.phoneNumberExists(request.getPhoneNumber())) {
             throw new IllegalArgumentException("Phone number already registered");
         }
 
@@ -0,0 +1,74 @@
+package com.salonhub.api.auth.service;
+
+import com.salonhub.api.auth.model.User;
+import com.salonhub.api.auth.repository.UserRepository;
+import com.salonhub.api.common.bloom.EntityWriteListener;
+import com.salonhub.api.common.bloom.ExistenceFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Existence filters over registered users' emails and phone numbers.
+ * Keys are stored exactly as the unique columns hold them, matching existsByEmail/existsByPhoneNumber.
+ */
+@Component
+public class UserExistenceFilter {
+
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ExistenceFilter emails;
+    private final ExistenceFilter phoneNumbers;
+
+    public UserExistenceFilter(UserRepository userRepository,
+                               EntityManagerFactory entityManagerFactory,
+                               MeterRegistry meterRegistry,
+                               @Value("${salonhub.bloom.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.userRepository = userRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.emails = new ExistenceFilter("user-email", falsePositiveProbability, meterRegistry);
+        this.phoneNumbers = new ExistenceFilter("user-phone", falsePositiveProbability, meterRegistry);
+    }
+
+    @PostConstruct
+    void registerWriteListener() {
+        EntityWriteListener.register(entityManagerFactory, User.class, this::record);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long users = userRepository.count();
+        emails.rebuild(users, userRepository::streamEmails);
+        phoneNumbers.rebuild(users, userRepository::streamPhoneNumbers);
+    }
+
+    public boolean emailExists(String email) {
+        return exists(emails, email) && confirm(emails, userRepository.existsByEmail(email));
+    }
+
+    public boolean phoneNumberExists(String phoneNumber) {
+        return exists(phoneNumbers, phoneNumber) && confirm(phoneNumbers, userRepository.existsByPhoneNumber(phoneNumber));
+    }
+
+    void record(User user) {
+        emails.put(user.getEmail());
+        phoneNumbers.put(user.getPhoneNumber());
+    }
+
+    private static boolean exists(ExistenceFilter filter, String key) {
+        return key != null && filter.mightContain(key);
+    }
+
+    private static boolean confirm(ExistenceFilter filter, boolean found) {
+        if (!found) {
+            filter.recordFalsePositive();
+        }
+        return found;
+    }
+}
@@ -1,17 +1,35 @@
 package com.salonhub.api.checkin.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.salonhub.api.checkin.dto.CheckInRequestDTO;
 import com.salonhub.api.checkin.dto.CheckInResponseDTO;
+import com.salonhub.api.checkin.dto.CheckInSyncRequestDTO;
+import com.salonhub.api.checkin.dto.CheckInSyncResponseDTO;
+import com.salonhub.api.checkin.dto.CheckInTicketDTO;
+import com.salonhub.api.checkin.dto.CheckInTicketStatusDTO;
+import com.salonhub.api.checkin.dto.GroupCheckInRequestDTO;
+import com.salonhub.api.checkin.dto.GroupCheckInResponseDTO;
+import com.salonhub.api.common.pagination.KeysetPage;
+import com.salonhub.api.customer.dto.GuestSummaryDTO;
 import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.checkin.service.CheckInPipeline;
 import com.salonhub.api.checkin.service.CheckInService;
+import com.salonhub.api.idempotency.service.IdempotencyService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Check-in Controller with role-based permissions:
@@ -22,26 +40,88 @@ import java.util.List;
 @RequestMapping("/api/checkin")
 public class CheckInController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private CheckInService checkInService;
 
+    @Autowired
+    private CheckInPipeline checkInPipeline;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
-     * Unified check-in endpoint that handles both guest and existing customer check-ins
+     * Unified check-in endpoint that handles both guest and existing customer check-ins.
+     * Retries carrying the same Idempotency-Key return the original response instead of checking in twice.
      */
     @PostMapping
-    public ResponseEntity<CheckInResponseDTO> checkIn(@RequestBody @Valid CheckInRequestDTO request) {
+    public ResponseEntity<CheckInResponseDTO> checkIn(
+            @RequestBody @Valid CheckInRequestDTO request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         // Let exceptions propagate to GlobalExceptionHandler for proper error messages
-        CheckInResponseDTO response = checkInService.checkIn(request);
+        CheckInResponseDTO response = idempotencyService.execute("checkin", idempotencyKey, request,
+                CheckInResponseDTO.class, () -> checkInService.checkIn(request));
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Accept-fast check-in for busy periods: returns 202 with a provisional ticket straight away and confirms
+     * the final queue position over WebSocket on the ticket's topic and at /tickets/{ticketId}.
+     * Answers 503 with Retry-After when saturated.
+     */
+    @PostMapping("/async")
+    public ResponseEntity<CheckInTicketDTO> checkInAsync(
+            @RequestBody @Valid CheckInRequestDTO request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        CheckInTicketDTO ticket = idempotencyService.execute("checkin-async", idempotencyKey, request,
+                CheckInTicketDTO.class, () -> checkInPipeline.submit(request));
+        return ResponseEntity.accepted().body(ticket);
+    }
+
+    /**
+     * Where an asynchronous check-in stands: pending, confirmed with its queue position, or rejected.
+     * For clients that missed the confirmation topic; answers 404 once the outcome has expired.
+     */
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<CheckInTicketStatusDTO> getTicketStatus(@PathVariable UUID ticketId) {
+        return ResponseEntity.ok(checkInPipeline.status(ticketId));
+    }
+
+    /**
+     * Check in a party arriving together; members are queued with consecutive numbers under one party id
+     */
+    @PostMapping("/group")
+    public ResponseEntity<GroupCheckInResponseDTO> checkInGroup(
+            @RequestBody @Valid GroupCheckInRequestDTO request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        // Let exceptions propagate to GlobalExceptionHandler for proper error messages
+        GroupCheckInResponseDTO response = idempotencyService.execute("checkin-group", idempotencyKey, request,
+                GroupCheckInResponseDTO.class, () -> checkInService.checkInGroup(request));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Sync check-ins a kiosk captured while offline. Safe to retry: items are de-duplicated by their client reference.
+     */
+    @PostMapping("/sync")
+    public ResponseEntity<CheckInSyncResponseDTO> syncOfflineCheckIns(@RequestBody @Valid CheckInSyncRequestDTO request) {
+        return ResponseEntity.ok(checkInService.syncOfflineCheckIns(request));
+    }
+
     /**
      * Legacy endpoint for existing customer check-in (backward compatibility)
      */
     @PostMapping("/existing")
-    public ResponseEntity<Customer> checkInExisting(@RequestParam String phoneOrEmail) {
+    public ResponseEntity<Customer> checkInExisting(
+            @RequestParam String phoneOrEmail,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         // Let exceptions propagate to GlobalExceptionHandler for proper error messages
-        Customer customer = checkInService.checkInExistingCustomer(phoneOrEmail);
+        Customer customer = idempotencyService.execute("checkin-existing", idempotencyKey, List.of(phoneOrEmail),
+                Customer.class, () -> checkInService.checkInExistingCustomer(phoneOrEmail));
         return ResponseEntity.ok(customer);
     }
 
@@ -49,9 +129,13 @@ public class CheckInController {
      * Legacy endpoint for guest check-in (backward compatibility)
      */
     @PostMapping("/guest")
-    public ResponseEntity<Customer> checkInGuest(@RequestParam String name, @RequestParam String phoneNumber) {
+    public ResponseEntity<Customer> checkInGuest(
+            @RequestParam String name,
+            @RequestParam String phoneNumber,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         // Let exceptions propagate to GlobalExceptionHandler for proper error messages
-        Customer guest = checkInService.checkInGuest(name, phoneNumber);
+        Customer guest = idempotencyService.execute("checkin-guest", idempotencyKey, List.of(name, phoneNumber),
+                Customer.class, () -> checkInService.checkInGuest(name, phoneNumber));
         return ResponseEntity.ok(guest);
     }
 
@@ -60,4 +144,35 @@ public class CheckInController {
     public List<Customer> getTodayCheckedInGuests() {
         return checkInService.getTodayCheckedInGuests();
     }
+
+    /**
+     * Today's guests one page at a time, in check-in order. Pass the returned nextCursor to get the next page.
+     */
+    @GetMapping("/guests/today/page")
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public KeysetPage<GuestSummaryDTO> getTodayCheckedInGuestsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return checkInService.getTodayCheckedInGuests(cursor, size);
+    }
+
+    /**
+     * Export of today's guests as newline-delimited JSON, streamed page by page
+     */
+    @GetMapping(value = "/guests/today/export", produces = NDJSON)
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTodayCheckedInGuests() {
+        StreamingResponseBody body = out -> checkInService.forEachTodayCheckedInGuest(guest -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(guest));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"guests-" + LocalDate.now() + ".ndjson\"")
+                .body(body);
+    }
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.salonhub.api.checkin.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class CheckInResponseDTO {
 
     private Long id;
@@ -0,0 +1,20 @@
+package com.salonhub.api.checkin.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CheckInSyncRequestDTO {
+
+    private String kioskId;
+
+    // In capture order
+    @NotEmpty(message = "At least one check-in is required")
+    @Size(max = 200, message = "At most 200 check-ins can be synced at once")
+    @Valid
+    private List<OfflineCheckInDTO> items;
+}
@@ -0,0 +1,19 @@
+package com.salonhub.api.checkin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInSyncResponseDTO {
+
+    // One result per submitted item, in submission order
+    private List<CheckInSyncResultDTO> results;
+    private int applied;
+    private int duplicates;
+    private int rejected;
+}
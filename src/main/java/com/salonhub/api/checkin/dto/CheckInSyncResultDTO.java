@@ -0,0 +1,36 @@
+package com.salonhub.api.checkin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one synced check-in, for the kiosk to reconcile against its local copy.
+ * Also sent as the confirmation of an asynchronous check-in, with the ticket id as the client reference.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInSyncResultDTO {
+
+    public enum Status {
+        APPLIED,
+        DUPLICATE,
+        REJECTED
+    }
+
+    private UUID clientRef;
+    private Status status;
+    private Long customerId;
+    private Long queueId;
+    private Integer queueNumber;
+    private Integer position;
+    private Integer estimatedWaitTime;
+    private String message;
+
+    public static CheckInSyncResultDTO rejected(UUID clientRef, String message) {
+        return new CheckInSyncResultDTO(clientRef, Status.REJECTED, null, null, null, null, null, message);
+    }
+}
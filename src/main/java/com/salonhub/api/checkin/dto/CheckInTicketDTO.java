@@ -0,0 +1,28 @@
+package com.salonhub.api.checkin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Provisional ticket handed out when an asynchronous check-in is accepted.
+ * The final outcome is published to {@code confirmationTopic} as a {@link CheckInSyncResultDTO}
+ * whose client reference is the ticket id, and can be polled at {@code GET /api/checkin/tickets/{ticketId}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInTicketDTO {
+
+    private UUID ticketId;
+    private LocalDateTime acceptedAt;
+
+    // Estimate only; the confirmation carries the real position
+    private Integer provisionalPosition;
+
+    private String confirmationTopic;
+    private String message;
+}
@@ -0,0 +1,30 @@
+package com.salonhub.api.checkin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Where an asynchronous check-in stands, for clients that poll instead of (or after missing) the confirmation topic.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInTicketStatusDTO {
+
+    public enum Status {
+        PENDING,
+        CONFIRMED,
+        REJECTED
+    }
+
+    private UUID ticketId;
+    private LocalDateTime acceptedAt;
+    private Status status;
+
+    // The confirmation published on the ticket's topic; null while pending
+    private CheckInSyncResultDTO result;
+}
@@ -0,0 +1,20 @@
+package com.salonhub.api.checkin.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class GroupCheckInRequestDTO {
+
+    @NotEmpty(message = "At least one party member is required")
+    @Size(max = 20, message = "A party can have at most 20 members")
+    @Valid
+    private List<CheckInRequestDTO> members;
+
+    // Applied to members that don't carry their own note
+    private String note;
+}
@@ -0,0 +1,18 @@
+package com.salonhub.api.checkin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupCheckInResponseDTO {
+
+    // Shared by the party's queue entries so they can be seated together
+    private String partyId;
+    private List<CheckInResponseDTO> members;
+    private String message;
+}
@@ -0,0 +1,26 @@
+package com.salonhub.api.checkin.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A check-in captured by a kiosk while it was offline.
+ */
+@Data
+public class OfflineCheckInDTO {
+
+    // Generated by the kiosk; re-sending the same id is reported as a duplicate
+    @NotNull(message = "Client reference is required")
+    private UUID clientRef;
+
+    // When the customer checked in at the kiosk (kiosk local time)
+    @NotNull(message = "Capture time is required")
+    private LocalDateTime capturedAt;
+
+    // The request the kiosk would have sent online; validated per item so one bad entry doesn't fail the batch
+    @NotNull(message = "Check-in details are required")
+    private CheckInRequestDTO checkIn;
+}
@@ -0,0 +1,334 @@
+package com.salonhub.api.checkin.service;
+
+import com.salonhub.api.checkin.dto.CheckInRequestDTO;
+import com.salonhub.api.checkin.dto.CheckInSyncResultDTO;
+import com.salonhub.api.checkin.dto.CheckInTicketDTO;
+import com.salonhub.api.checkin.dto.CheckInTicketStatusDTO;
+import com.salonhub.api.checkin.dto.OfflineCheckInDTO;
+import com.salonhub.api.common.exception.ServiceBusyException;
+import com.salonhub.api.queue.service.QueueNotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accept-fast check-in: requests are validated, handed a provisional ticket and queued in memory.
+ * Worker threads drain the queue in batches, apply each batch in one transaction through
+ * {@link CheckInService#applyAcceptedCheckIns} and publish every ticket's outcome to
+ * {@code /topic/checkin/{ticketId}}. Outcomes are also kept for {@code result-ttl} after the ticket was accepted
+ * (at most {@code max-results} of them), so a client that subscribes late or can't subscribe can poll
+ * {@link #status}.
+ *
+ * The queue is bounded; when it is full new check-ins are refused with {@link ServiceBusyException}
+ * rather than piling up. If a batch fails as a whole its tickets are retried one at a time so a single
+ * bad check-in cannot take the others down with it.
+ *
+ * Accepted tickets live only in memory until their batch commits. Shutdown stops after the web server,
+ * so no new tickets arrive, and drains what is left before the connection pool closes.
+ */
+@Slf4j
+@Service
+public class CheckInPipeline implements SmartLifecycle {
+
+    private final CheckInService checkInService;
+    private final QueueNotificationService notificationService;
+    private final BlockingQueue<Ticket> pending;
+    private final int workers;
+    private final int maxBatchSize;
+    private final Duration retryAfter;
+    private final Duration drainTimeout;
+    private final long resultTtlNanos;
+    private final int maxResults;
+
+    /** Recent tickets by id, with their outcome once there is one */
+    private final Map<UUID, Outcome> outcomes = new ConcurrentHashMap<>();
+    /** The same tickets in the order they were accepted, for expiring the oldest first */
+    private final ConcurrentLinkedQueue<Outcome> outcomesByAge = new ConcurrentLinkedQueue<>();
+
+    /** Tickets taken off the queue whose batch has not finished yet */
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /** Highest waiting position seen in the last batch; the base for provisional positions */
+    private final AtomicInteger lastKnownWaiting = new AtomicInteger();
+
+    private final Counter accepted;
+    private final Counter refused;
+    private final DistributionSummary batchSizes;
+
+    private volatile ExecutorService executor;
+    private volatile boolean running;
+    private volatile boolean stopping;
+
+    public CheckInPipeline(CheckInService checkInService,
+                           QueueNotificationService notificationService,
+                           MeterRegistry meterRegistry,
+                           @Value("${salonhub.checkin.async.capacity:500}") int capacity,
+                           @Value("${salonhub.checkin.async.workers:1}") int workers,
+                           @Value("${salonhub.checkin.async.max-batch-size:50}") int maxBatchSize,
+                           @Value("${salonhub.checkin.async.retry-after:5s}") Duration retryAfter,
+                           @Value("${salonhub.checkin.async.drain-timeout:30s}") Duration drainTimeout,
+                           @Value("${salonhub.checkin.async.result-ttl:15m}") Duration resultTtl,
+                           @Value("${salonhub.checkin.async.max-results:10000}") int maxResults) {
+        this.checkInService = checkInService;
+        this.notificationService = notificationService;
+        this.pending = new ArrayBlockingQueue<>(capacity);
+        this.workers = workers;
+        this.maxBatchSize = maxBatchSize;
+        this.retryAfter = retryAfter;
+        this.drainTimeout = drainTimeout;
+        this.resultTtlNanos = resultTtl.toNanos();
+        this.maxResults = maxResults;
+        this.accepted = Counter.builder("salonhub.checkin.async.accepted")
+                .description("Check-ins accepted into the asynchronous pipeline")
+                .register(meterRegistry);
+        this.refused = Counter.builder("salonhub.checkin.async.refused")
+                .description("Check-ins refused because the pipeline was full")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("salonhub.checkin.async.batch.size")
+                .description("Check-ins applied per transaction")
+                .register(meterRegistry);
+        Gauge.builder("salonhub.checkin.async.pending", pending, BlockingQueue::size)
+                .description("Accepted check-ins waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accept a check-in for asynchronous processing.
+     *
+     * @throws IllegalArgumentException when the request is incomplete
+     * @throws ServiceBusyException when the pipeline is full or shutting down
+     */
+    public CheckInTicketDTO submit(CheckInRequestDTO request) {
+        String contact = request.getPhoneOrEmail();
+        if (contact == null || contact.trim().isEmpty()) {
+            throw new IllegalArgumentException("Contact information is required");
+        }
+        if (request.isGuest() && (request.getName() == null || request.getName().trim().isEmpty())) {
+            throw new IllegalArgumentException("Name is required for guest check-in");
+        }
+        if (stopping) {
+            throw new ServiceBusyException("Check-in is restarting, please try again shortly", retryAfter.toSeconds());
+        }
+
+        Ticket ticket = new Ticket(UUID.randomUUID(), LocalDateTime.now(), request);
+        // Remembered before a worker can see it, so its outcome has somewhere to go; aged only once accepted,
+        // so a burst of refusals leaves nothing behind
+        Outcome outcome = new Outcome(ticket.id(), ticket.acceptedAt(), System.nanoTime());
+        outcomes.put(ticket.id(), outcome);
+        if (!pending.offer(ticket)) {
+            outcomes.remove(ticket.id(), outcome);
+            refused.increment();
+            throw new ServiceBusyException("Check-in is busy, please try again shortly", retryAfter.toSeconds());
+        }
+        remember(outcome);
+        accepted.increment();
+
+        int provisionalPosition = lastKnownWaiting.get() + inFlight.get() + pending.size();
+        return new CheckInTicketDTO(ticket.id(), ticket.acceptedAt(), provisionalPosition,
+                QueueNotificationService.checkInTopic(ticket.id()),
+                "Check-in received. Your place in the queue will be confirmed shortly.");
+    }
+
+    /**
+     * Where a recently accepted ticket stands.
+     *
+     * @throws EntityNotFoundException when the ticket is unknown or its outcome has expired
+     */
+    public CheckInTicketStatusDTO status(UUID ticketId) {
+        Outcome outcome = outcomes.get(ticketId);
+        if (outcome == null || outcome.isExpired(System.nanoTime(), resultTtlNanos)) {
+            throw new EntityNotFoundException("Check-in ticket not found or expired: " + ticketId);
+        }
+        CheckInSyncResultDTO result = outcome.result;
+        CheckInTicketStatusDTO.Status status = result == null ? CheckInTicketStatusDTO.Status.PENDING
+                : result.getStatus() == CheckInSyncResultDTO.Status.REJECTED ? CheckInTicketStatusDTO.Status.REJECTED
+                : CheckInTicketStatusDTO.Status.CONFIRMED;
+        return new CheckInTicketStatusDTO(ticketId, outcome.acceptedAt, status, result);
+    }
+
+    /** Outcomes kept for the status endpoint */
+    int rememberedCount() {
+        return outcomesByAge.size();
+    }
+
+    public int getPendingCount() {
+        return pending.size() + inFlight.get();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        stopping = false;
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "checkin-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::drain);
+        }
+        running = true;
+        log.info("Started asynchronous check-in pipeline with {} worker(s), capacity {}",
+                workers, pending.remainingCapacity() + pending.size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        stopping = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Check-in pipeline did not drain within {}; {} check-in(s) not applied",
+                        drainTimeout, getPendingCount());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start before and stop after the web server, so requests are never accepted without workers to serve them.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<Ticket> batch = new ArrayList<>(maxBatchSize);
+        while (!stopping || !pending.isEmpty()) {
+            try {
+                Ticket first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, maxBatchSize - 1);
+                inFlight.addAndGet(batch.size());
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Check-in worker failed to process a batch of {}", batch.size(), e);
+            } finally {
+                inFlight.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    void process(List<Ticket> batch) {
+        List<CheckInSyncResultDTO> results;
+        try {
+            results = checkInService.applyAcceptedCheckIns(toItems(batch));
+            batchSizes.record(batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.warn("Asynchronous check-in {} failed", batch.get(0).id(), e);
+                results = List.of(CheckInSyncResultDTO.rejected(batch.get(0).id(),
+                        "Check-in could not be completed. Please see the front desk."));
+            } else {
+                log.warn("Batch of {} check-ins failed; retrying individually", batch.size(), e);
+                for (Ticket ticket : batch) {
+                    process(List.of(ticket));
+                }
+                return;
+            }
+        }
+
+        int highestPosition = 0;
+        for (CheckInSyncResultDTO result : results) {
+            if (result.getPosition() != null) {
+                highestPosition = Math.max(highestPosition, result.getPosition());
+            }
+            Outcome outcome = outcomes.get(result.getClientRef());
+            if (outcome != null) {
+                outcome.result = result;
+            }
+            notificationService.sendCheckInConfirmation(result.getClientRef(), result);
+        }
+        if (highestPosition > 0) {
+            lastKnownWaiting.set(highestPosition);
+        }
+    }
+
+    private static List<OfflineCheckInDTO> toItems(List<Ticket> batch) {
+        List<OfflineCheckInDTO> items = new ArrayList<>(batch.size());
+        for (Ticket ticket : batch) {
+            OfflineCheckInDTO item = new OfflineCheckInDTO();
+            item.setClientRef(ticket.id());
+            item.setCapturedAt(ticket.acceptedAt());
+            item.setCheckIn(ticket.request());
+            items.add(item);
+        }
+        return items;
+    }
+
+    private void remember(Outcome outcome) {
+        long now = System.nanoTime();
+        outcomesByAge.add(outcome);
+        // Accepted in order, so expired outcomes are always at the head
+        for (Outcome oldest = outcomesByAge.peek();
+             oldest != null && (oldest.isExpired(now, resultTtlNanos) || outcomes.size() > maxResults);
+             oldest = outcomesByAge.peek()) {
+            if (outcomesByAge.remove(oldest)) {
+                outcomes.remove(oldest.ticketId, oldest);
+            }
+        }
+    }
+
+    record Ticket(UUID id, LocalDateTime acceptedAt, CheckInRequestDTO request) {
+    }
+
+    private static final class Outcome {
+        private final UUID ticketId;
+        private final LocalDateTime acceptedAt;
+        private final long acceptedNanos;
+        private volatile CheckInSyncResultDTO result;
+
+        private Outcome(UUID ticketId, LocalDateTime acceptedAt, long acceptedNanos) {
+            this.ticketId = ticketId;
+            this.acceptedAt = acceptedAt;
+            this.acceptedNanos = acceptedNanos;
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return now - acceptedNanos > ttlNanos;
+        }
+    }
+}
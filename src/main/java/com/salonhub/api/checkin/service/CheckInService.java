@@ -2,27 +2,62 @@ package com.salonhub.api.checkin.service;
 
 import com.salonhub.api.checkin.dto.CheckInRequestDTO;
 import com.salonhub.api.checkin.dto.CheckInResponseDTO;
+import com.salonhub.api.checkin.dto.CheckInSyncRequestDTO;
+import com.salonhub.api.checkin.dto.CheckInSyncResponseDTO;
+import com.salonhub.api.checkin.dto.CheckInSyncResultDTO;
+import com.salonhub.api.checkin.dto.GroupCheckInRequestDTO;
+import com.salonhub.api.checkin.dto.GroupCheckInResponseDTO;
+import com.salonhub.api.checkin.dto.OfflineCheckInDTO;
+import com.salonhub.api.common.pagination.KeysetCursor;
+import com.salonhub.api.common.pagination.KeysetPage;
+import com.salonhub.api.common.util.ContactNormalizer;
+import com.salonhub.api.customer.dto.GuestSummaryDTO;
 import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerJdbcRepository;
 import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.customer.service.CustomerContactFilter;
 import com.salonhub.api.queue.model.Queue;
+import com.salonhub.api.queue.repository.QueueRepository;
 import com.salonhub.api.queue.service.QueueService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CheckInService {
 
+    static final int MAX_GUEST_PAGE_SIZE = 200;
+    static final int EXPORT_PAGE_SIZE = 500;
+
     @Autowired
     private CustomerRepository customerRepository;
     
+    @Autowired
+    private CustomerJdbcRepository customerJdbcRepository;
+
+    @Autowired
+    private CustomerContactFilter customerContactFilter;
+    
     @Autowired
     private QueueService queueService;
+    
+    @Autowired
+    private QueueRepository queueRepository;
 
     /**
      * Unified check-in method that handles both guest and existing customer check-ins
@@ -62,6 +97,242 @@ public class CheckInService {
         );
     }
 
+    /**
+     * Check in a party arriving together, in one transaction.
+     * All members are resolved with one customer query per contact type, new guests are created together,
+     * and the queue entries get consecutive numbers and a shared party id so the party can be seated together.
+     */
+    @Transactional
+    public GroupCheckInResponseDTO checkInGroup(GroupCheckInRequestDTO request) {
+        List<CheckInRequestDTO> members = request.getMembers();
+        if (members == null || members.isEmpty()) {
+            throw new IllegalArgumentException("At least one party member is required");
+        }
+        
+        List<String> contacts = new ArrayList<>(members.size());
+        Set<String> seen = new HashSet<>();
+        for (CheckInRequestDTO member : members) {
+            String contact = member.getPhoneOrEmail();
+            if (contact == null || contact.trim().isEmpty()) {
+                throw new IllegalArgumentException("Contact information is required for every party member");
+            }
+            String key = ContactNormalizer.normalizeContact(contact);
+            if (key != null && !seen.add(key)) {
+                throw new IllegalArgumentException("Each party member needs their own contact information");
+            }
+            contacts.add(contact.trim());
+        }
+        
+        Map<String, Customer> known = customerRepository.findAllByContacts(contacts);
+        
+        List<Customer> customers = new ArrayList<>(members.size());
+        List<Customer> newGuests = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            CheckInRequestDTO member = members.get(i);
+            String contact = contacts.get(i);
+            Customer customer = known.get(ContactNormalizer.normalizeContact(contact));
+            
+            if (member.isGuest()) {
+                if (customer != null) {
+                    throw new IllegalArgumentException("A customer with this contact information already exists. Use existing customer check-in instead.");
+                }
+                if (member.getName() == null || member.getName().trim().isEmpty()) {
+                    throw new IllegalArgumentException("Name is required for guest check-in");
+                }
+                customer = newGuest(member, contact);
+                newGuests.add(customer);
+            } else if (customer == null) {
+                throw new IllegalArgumentException("Customer not found with provided contact information");
+            }
+            customers.add(customer);
+        }
+        customerRepository.saveAll(newGuests);
+        
+        String partyId = UUID.randomUUID().toString();
+        List<Queue> entries = new ArrayList<>(customers.size());
+        for (int i = 0; i < customers.size(); i++) {
+            String note = members.get(i).getNote() != null ? members.get(i).getNote()
+                    : request.getNote() != null ? request.getNote() : "Party check-in";
+            Queue entry = new Queue(customers.get(i).getId(), note);
+            entry.setPartyId(partyId);
+            entries.add(entry);
+        }
+        List<Queue> savedEntries = queueService.addAllToQueue(entries);
+        
+        List<CheckInResponseDTO> responses = new ArrayList<>(customers.size());
+        for (int i = 0; i < customers.size(); i++) {
+            Customer customer = customers.get(i);
+            Queue entry = savedEntries.get(i);
+            responses.add(new CheckInResponseDTO(
+                customer.getId(),
+                customer.getName(),
+                customer.getPhoneNumber(),
+                customer.getEmail(),
+                customer.getNote(),
+                customer.isGuest(),
+                entry.getCreatedAt(),
+                "Party check-in successful! You've been added to the queue together.",
+                entry.getEstimatedWaitTime(),
+                entry.getPosition(),
+                entry.getId()
+            ));
+        }
+        
+        return new GroupCheckInResponseDTO(partyId, responses,
+                "Party of " + responses.size() + " checked in successfully");
+    }
+
+    /**
+     * Apply check-ins captured by a kiosk while it was offline, in one transaction.
+     * Items already synced (same client reference) are reported as duplicates, and items that can't be applied
+     * are rejected individually without failing the rest. Applied items join the queue at their original arrival time.
+     */
+    @Transactional
+    public CheckInSyncResponseDTO syncOfflineCheckIns(CheckInSyncRequestDTO request) {
+        List<CheckInSyncResultDTO> results = applyCheckIns(request.getItems(), "Walk-in customer (offline check-in)", true);
+        return new CheckInSyncResponseDTO(results,
+                count(results, CheckInSyncResultDTO.Status.APPLIED),
+                count(results, CheckInSyncResultDTO.Status.DUPLICATE),
+                count(results, CheckInSyncResultDTO.Status.REJECTED));
+    }
+
+    /**
+     * Apply check-ins that were already acknowledged to the customer by {@link CheckInPipeline}, in one transaction.
+     * Each item's client reference is its ticket id. Customers are matched as by {@link #checkIn}: a guest whose
+     * contact is already on file is rejected rather than reused, so the same request behaves the same either way.
+     */
+    @Transactional
+    public List<CheckInSyncResultDTO> applyAcceptedCheckIns(List<OfflineCheckInDTO> items) {
+        return applyCheckIns(items, "Walk-in customer", false);
+    }
+
+    /**
+     * @param reuseKnownGuests whether a guest whose contact is on file joins as that customer; offline kiosks
+     *                         couldn't check, so they get the benefit of the doubt
+     */
+    private List<CheckInSyncResultDTO> applyCheckIns(List<OfflineCheckInDTO> items, String defaultNote,
+                                                     boolean reuseKnownGuests) {
+        CheckInSyncResultDTO[] results = new CheckInSyncResultDTO[items.size()];
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startOfToday = now.toLocalDate().atStartOfDay();
+        
+        // Entries written by an earlier attempt of this sync
+        Set<String> clientRefs = items.stream()
+                .map(item -> item.getClientRef().toString())
+                .collect(Collectors.toSet());
+        Map<String, Queue> alreadySynced = queueRepository.findAllByClientRefIn(clientRefs).stream()
+                .collect(Collectors.toMap(Queue::getClientRef, Function.identity()));
+        
+        // Resolve every contact in the batch with one query per contact type; returning customers may
+        // also be found by email, as in checkIn
+        List<String> contacts = new ArrayList<>();
+        for (OfflineCheckInDTO item : items) {
+            CheckInRequestDTO checkIn = item.getCheckIn();
+            if (checkIn.getPhoneOrEmail() != null && !checkIn.getPhoneOrEmail().trim().isEmpty()) {
+                contacts.add(checkIn.getPhoneOrEmail());
+            }
+            if (!checkIn.isGuest() && checkIn.getEmail() != null && !checkIn.getEmail().trim().isEmpty()) {
+                contacts.add(checkIn.getEmail());
+            }
+        }
+        Map<String, Customer> known = new HashMap<>(customerRepository.findAllByContacts(contacts));
+        
+        Map<String, Integer> firstIndexByRef = new HashMap<>();
+        List<PendingSync> pending = new ArrayList<>();
+        List<Customer> newGuests = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            OfflineCheckInDTO item = items.get(i);
+            String clientRef = item.getClientRef().toString();
+            
+            Queue previous = alreadySynced.get(clientRef);
+            if (previous != null) {
+                results[i] = new CheckInSyncResultDTO(item.getClientRef(), CheckInSyncResultDTO.Status.DUPLICATE,
+                        previous.getCustomerId(), previous.getId(), previous.getQueueNumber(),
+                        previous.getPosition(), previous.getEstimatedWaitTime(), "Already synced");
+                continue;
+            }
+            if (firstIndexByRef.putIfAbsent(clientRef, i) != null) {
+                continue; // Repeated within this batch; resolved from the first occurrence below
+            }
+            
+            CheckInRequestDTO checkIn = item.getCheckIn();
+            String contact = checkIn.getPhoneOrEmail();
+            if (contact == null || contact.trim().isEmpty()) {
+                results[i] = CheckInSyncResultDTO.rejected(item.getClientRef(), "Contact information is required");
+                continue;
+            }
+            if (item.getCapturedAt().isBefore(startOfToday)) {
+                results[i] = CheckInSyncResultDTO.rejected(item.getClientRef(), "Check-in was captured on a previous day");
+                continue;
+            }
+            
+            String key = ContactNormalizer.normalizeContact(contact);
+            Customer customer = key != null ? known.get(key) : null;
+            if (customer == null && !checkIn.isGuest() && checkIn.getEmail() != null) {
+                customer = known.get(ContactNormalizer.normalizeEmail(checkIn.getEmail()));
+            }
+            if (customer != null && checkIn.isGuest() && !reuseKnownGuests) {
+                results[i] = CheckInSyncResultDTO.rejected(item.getClientRef(),
+                        "A customer with this contact information already exists. Use existing customer check-in instead.");
+                continue;
+            }
+            if (customer == null) {
+                if (!checkIn.isGuest()) {
+                    results[i] = CheckInSyncResultDTO.rejected(item.getClientRef(), "Customer not found with provided contact information");
+                    continue;
+                }
+                if (checkIn.getName() == null || checkIn.getName().trim().isEmpty()) {
+                    results[i] = CheckInSyncResultDTO.rejected(item.getClientRef(), "Name is required for guest check-in");
+                    continue;
+                }
+                customer = newGuest(checkIn, contact.trim());
+                newGuests.add(customer);
+                if (key != null) {
+                    known.put(key, customer);
+                }
+            }
+            
+            Queue entry = new Queue(null, checkIn.getNote() != null ? checkIn.getNote() : defaultNote);
+            entry.setClientRef(clientRef);
+            // Kiosk clocks can run ahead; never place anyone later than now
+            entry.setCreatedAt(item.getCapturedAt().isAfter(now) ? now : item.getCapturedAt());
+            pending.add(new PendingSync(i, customer, entry));
+        }
+        
+        customerRepository.saveAll(newGuests);
+        List<Queue> entries = new ArrayList<>(pending.size());
+        for (PendingSync sync : pending) {
+            sync.entry().setCustomerId(sync.customer().getId());
+            entries.add(sync.entry());
+        }
+        queueService.addToQueueByArrivalTime(entries);
+        
+        for (PendingSync sync : pending) {
+            results[sync.index()] = new CheckInSyncResultDTO(items.get(sync.index()).getClientRef(),
+                    CheckInSyncResultDTO.Status.APPLIED, sync.customer().getId(), sync.entry().getId(),
+                    sync.entry().getQueueNumber(), sync.entry().getPosition(), sync.entry().getEstimatedWaitTime(),
+                    "Added to the queue");
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] == null) {
+                CheckInSyncResultDTO first = results[firstIndexByRef.get(items.get(i).getClientRef().toString())];
+                results[i] = first.getStatus() == CheckInSyncResultDTO.Status.REJECTED ? first
+                        : new CheckInSyncResultDTO(first.getClientRef(), CheckInSyncResultDTO.Status.DUPLICATE,
+                                first.getCustomerId(), first.getQueueId(), first.getQueueNumber(),
+                                first.getPosition(), first.getEstimatedWaitTime(), "Duplicate within batch");
+            }
+        }
+        
+        return List.of(results);
+    }
+    
+    private static int count(List<CheckInSyncResultDTO> results, CheckInSyncResultDTO.Status status) {
+        return (int) results.stream().filter(result -> result.getStatus() == status).count();
+    }
+    
+    private record PendingSync(int index, Customer customer, Queue entry) {
+    }
+
     /**
      * Check in an existing customer by phone number or email
      */
@@ -128,17 +399,16 @@ public class CheckInService {
             throw new IllegalArgumentException("Contact information is required");
         }
         
-        // Try to find by phone number and email
-        Optional<Customer> customerOpt = customerRepository.findByPhoneOrEmail(
-            contact != null ? contact.trim() : "", 
-            email != null ? email.trim() : ""
-        );
-        
-        if (customerOpt.isPresent()) {
-            return customerOpt.get();
-        } else {
-            throw new IllegalArgumentException("Customer not found with provided contact information");
+        // Contact first, then email, so a returning customer with a new phone number is still found by email
+        Optional<Customer> customer = Optional.empty();
+        if (contact != null && !contact.trim().isEmpty()) {
+            customer = customerRepository.findByContact(contact.trim());
         }
+        if (customer.isEmpty() && email != null && !email.trim().isEmpty()) {
+            customer = customerRepository.findByContact(email.trim());
+        }
+        return customer.orElseThrow(
+                () -> new IllegalArgumentException("Customer not found with provided contact information"));
     }
     
     private Customer createGuestCustomer(CheckInRequestDTO request) {
@@ -152,13 +422,17 @@ public class CheckInService {
             throw new IllegalArgumentException("Name is required for guest check-in");
         }
 
-        // Check if a customer with this contact info already exists
-        Optional<Customer> existingCustomer = customerRepository.findByPhoneOrEmail(contactInfo, contactInfo);
+        // Check if a customer with this contact info already exists; new contacts skip the query
+        Optional<Customer> existingCustomer = customerContactFilter.findByContact(contactInfo);
 
         if (existingCustomer.isPresent()) {
             throw new IllegalArgumentException("A customer with this contact information already exists. Use existing customer check-in instead.");
         }
 
+        return customerRepository.save(newGuest(request, contactInfo));
+    }
+    
+    private Customer newGuest(CheckInRequestDTO request, String contactInfo) {
         Customer guest = new Customer();
         guest.setName(request.getName().trim());
         
@@ -173,15 +447,14 @@ public class CheckInService {
         
         guest.setNote(request.getNote());
         guest.setGuest(true);
-
-        return customerRepository.save(guest);
+        return guest;
     }
 
     /**
      * Legacy method for backward compatibility
      */
     public Customer checkInExistingCustomer(String phoneOrEmail) {
-        return customerRepository.findByPhoneOrEmail(phoneOrEmail, phoneOrEmail)
+        return customerRepository.findByContact(phoneOrEmail)
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found"));
     }
 
@@ -192,6 +465,9 @@ public class CheckInService {
         if (phoneNumber == null || phoneNumber.isEmpty()) {
             throw new IllegalArgumentException("Phone number is required for guest check-in");
         }
+        if (customerContactFilter.findByContact(phoneNumber).isPresent()) {
+            throw new IllegalArgumentException("A customer with this contact information already exists. Use existing customer check-in instead.");
+        }
         Customer guest = new Customer();
         guest.setName(guestName);
         guest.setPhoneNumber(phoneNumber);
@@ -205,4 +481,52 @@ public class CheckInService {
         LocalDateTime end = today.plusDays(1).atStartOfDay();
         return customerRepository.findAllByGuestTrueAndCreatedAtBetween(start, end);
     }
+
+    /**
+     * One page of today's guests in check-in order. Pages are addressed by the position after the last row
+     * seen, so each page is an index range scan regardless of how deep into the day it is.
+     *
+     * @param cursor {@link KeysetPage#getNextCursor()} of the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<GuestSummaryDTO> getTodayCheckedInGuests(String cursor, int size) {
+        if (size < 1 || size > MAX_GUEST_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_GUEST_PAGE_SIZE);
+        }
+        LocalDate today = LocalDate.now();
+        List<GuestSummaryDTO> rows = findGuestsAfter(today.atStartOfDay(), today.plusDays(1).atStartOfDay(),
+                KeysetCursor.decode(cursor), size + 1);
+        return KeysetPage.of(rows, size, CheckInService::cursorOf);
+    }
+
+    /**
+     * Hand every guest checked in today to {@code consumer}, in check-in order, one page at a time.
+     * Only a single page is held in memory, so exports stay flat however busy the day was. Deliberately not
+     * transactional: each page is its own short query, so no connection is held while the consumer writes to
+     * a client that may be slow.
+     */
+    public void forEachTodayCheckedInGuest(Consumer<GuestSummaryDTO> consumer) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime start = today.atStartOfDay();
+        LocalDateTime end = today.plusDays(1).atStartOfDay();
+        KeysetCursor after = null;
+        List<GuestSummaryDTO> rows;
+        do {
+            rows = customerJdbcRepository.findGuestSummaries(start, end, after, EXPORT_PAGE_SIZE);
+            rows.forEach(consumer);
+            if (!rows.isEmpty()) {
+                after = cursorOf(rows.get(rows.size() - 1));
+            }
+        } while (rows.size() == EXPORT_PAGE_SIZE);
+    }
+
+    private List<GuestSummaryDTO> findGuestsAfter(LocalDateTime start, LocalDateTime end, KeysetCursor after, int limit) {
+        return after == null
+                ? customerRepository.findGuestSummaries(start, end, Limit.of(limit))
+                : customerRepository.findGuestSummariesAfter(start, end, after.timestamp(), after.id(), Limit.of(limit));
+    }
+
+    private static KeysetCursor cursorOf(GuestSummaryDTO guest) {
+        return new KeysetCursor(guest.getCheckedInAt(), guest.getId());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.salonhub.api.common.bloom;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Hibernate listener that hands every inserted or updated entity to the callbacks registered for its type.
+ * Used to keep existence filters current without each write path having to remember to do it.
+ * Runs inside the flush, so a rolled-back write leaves a harmless false positive behind.
+ *
+ * Hibernate rejects two listeners of the same class, so one instance per session factory
+ * carries all callbacks.
+ */
+public final class EntityWriteListener implements PostInsertEventListener, PostUpdateEventListener {
+
+    /** The listener registered with each session factory; guarded by the class lock */
+    private static final Map<SessionFactoryImplementor, EntityWriteListener> LISTENERS = new WeakHashMap<>();
+
+    private final List<Callback<?>> callbacks = new CopyOnWriteArrayList<>();
+
+    private EntityWriteListener() {
+    }
+
+    public static synchronized <T> void register(EntityManagerFactory entityManagerFactory, Class<T> entityType, Consumer<T> onWrite) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EntityWriteListener listener = LISTENERS.get(sessionFactory);
+        if (listener == null) {
+            listener = new EntityWriteListener();
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_INSERT, listener);
+            registry.appendListeners(EventType.POST_UPDATE, listener);
+            LISTENERS.put(sessionFactory, listener);
+        }
+        listener.callbacks.add(new Callback<>(entityType, onWrite));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        accept(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        accept(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void accept(Object entity) {
+        for (Callback<?> callback : callbacks) {
+            callback.accept(entity);
+        }
+    }
+
+    private record Callback<T>(Class<T> entityType, Consumer<T> onWrite) {
+        void accept(Object entity) {
+            if (entityType.isInstance(entity)) {
+                onWrite.accept(entityType.cast(entity));
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.salonhub.api.common.bloom;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter guarding an existence check against the database.
+ * A negative answer means the key was never written and the query can be skipped;
+ * a positive answer still has to be confirmed against the unique index.
+ *
+ * Until the first {@link #rebuild} completes every key is reported as possibly present,
+ * so callers fall back to the database. Keys written before then, or while a rebuild is in progress,
+ * are kept aside and added to the replacement just before it is swapped in, so a write the rebuild's
+ * read missed is never reported as absent.
+ *
+ * Metrics (tagged with the filter name):
+ * salonhub.bloom.checks, salonhub.bloom.db.calls.avoided, salonhub.bloom.false.positives,
+ * salonhub.bloom.false.positive.rate and salonhub.bloom.expected.false.positive.rate.
+ */
+@Slf4j
+public class ExistenceFilter {
+
+    /** Headroom over the current row count so inserts do not saturate the filter before the next rebuild */
+    static final int GROWTH_FACTOR = 2;
+    static final long MIN_CAPACITY = 1_000;
+
+    private final String name;
+    private final double falsePositiveProbability;
+
+    private volatile BloomFilter current;
+    /** Keys written while no filter is known to hold every key, or null; guarded by {@code this} */
+    private Set<String> pendingWrites = new HashSet<>();
+
+    private final Object rebuildLock = new Object();
+
+    private final Counter checks;
+    private final Counter avoided;
+    private final Counter falsePositives;
+
+    public ExistenceFilter(String name, double falsePositiveProbability, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.checks = Counter.builder("salonhub.bloom.checks")
+                .description("Existence checks answered by the filter")
+                .tag("filter", name)
+                .register(meterRegistry);
+        this.avoided = Counter.builder("salonhub.bloom.db.calls.avoided")
+                .description("Existence checks answered without a database query")
+                .tag("filter", name)
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("salonhub.bloom.false.positives")
+                .description("Possible matches that the database did not confirm")
+                .tag("filter", name)
+                .register(meterRegistry);
+        Gauge.builder("salonhub.bloom.false.positive.rate", this, ExistenceFilter::observedFalsePositiveRate)
+                .description("Share of possible matches that turned out to be absent")
+                .tag("filter", name)
+                .register(meterRegistry);
+        Gauge.builder("salonhub.bloom.expected.false.positive.rate", this, ExistenceFilter::expectedFalsePositiveRate)
+                .description("False-positive probability implied by the filter's bit population")
+                .tag("filter", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replace the filter with one sized for {@code rowCount} rows and loaded with {@code keys}.
+     */
+    public void rebuild(long rowCount, Supplier<Stream<String>> keys) {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                if (pendingWrites == null) {
+                    pendingWrites = new HashSet<>();
+                }
+            }
+            long capacity = Math.max(MIN_CAPACITY, rowCount * GROWTH_FACTOR);
+            BloomFilter replacement = BloomFilter.create(capacity, falsePositiveProbability);
+            try (Stream<String> stream = keys.get()) {
+                for (Iterator<String> it = stream.iterator(); it.hasNext(); ) {
+                    String key = it.next();
+                    if (key != null) {
+                        replacement.put(key);
+                    }
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    if (current != null) {
+                        pendingWrites = null; // The old filter took every write and stays in use
+                    }
+                }
+                throw e;
+            }
+            synchronized (this) {
+                pendingWrites.forEach(replacement::put);
+                pendingWrites = null;
+                current = replacement;
+            }
+            log.info("Rebuilt {} existence filter: {} rows, {} bits, {} hashes",
+                    name, rowCount, replacement.getBitCount(), replacement.getHashCount());
+        }
+    }
+
+    public synchronized void put(String key) {
+        if (key == null) {
+            return;
+        }
+        if (pendingWrites != null) {
+            pendingWrites.add(key);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(key);
+        }
+    }
+
+    /**
+     * @return false only when the key is definitely absent
+     */
+    public boolean mightContain(String key) {
+        BloomFilter filter = current;
+        if (filter == null) {
+            return true;
+        }
+        checks.increment();
+        if (key == null || !filter.mightContain(key)) {
+            avoided.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Record that a possible match was not confirmed by the database.
+     */
+    public void recordFalsePositive() {
+        if (current != null) {
+            falsePositives.increment();
+        }
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public double observedFalsePositiveRate() {
+        double positives = checks.count() - avoided.count();
+        return positives <= 0 ? 0.0 : falsePositives.count() / positives;
+    }
+
+    public double expectedFalsePositiveRate() {
+        BloomFilter filter = current;
+        return filter == null ? 0.0 : filter.expectedFalsePositiveProbability();
+    }
+}
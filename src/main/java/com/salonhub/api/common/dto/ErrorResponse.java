@@ -79,4 +79,8 @@ public class ErrorResponse {
     public static ErrorResponse internalError(String message) {
         return of(500, "Internal Server Error", message);
     }
+    
+    public static ErrorResponse serviceUnavailable(String message) {
+        return of(503, "Service Unavailable", message);
+    }
 }
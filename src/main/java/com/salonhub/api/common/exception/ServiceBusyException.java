@@ -0,0 +1,18 @@
+package com.salonhub.api.common.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request is refused because the server is temporarily at capacity.
+ * Mapped to {@code 503 Service Unavailable} with a {@code Retry-After} header.
+ */
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
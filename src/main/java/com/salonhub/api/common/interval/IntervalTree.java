@@ -0,0 +1,177 @@
+package com.salonhub.api.common.interval;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Half-open [start, end) intervals with values, keyed by (start, id).
+ * A treap ordered by key in which every node also records the largest end in its subtree, so an overlap
+ * query skips any subtree that ends before the query starts or begins after it ends. Adding and removing
+ * take O(log n) expected time; finding the k intervals that overlap a range takes O(log n + k).
+ *
+ * Not thread-safe.
+ */
+public final class IntervalTree<V> {
+
+    private Node<V> root;
+    private int size;
+
+    /**
+     * Add an interval; {@code id} tells apart intervals with the same start and must be unique among them.
+     */
+    public void add(long start, long end, long id, V value) {
+        if (end <= start) {
+            throw new IllegalArgumentException("An interval must end after it starts");
+        }
+        root = insert(root, new Node<>(start, end, id, value, ThreadLocalRandom.current().nextInt()));
+        size++;
+    }
+
+    /**
+     * @return true when the interval with this start and id was present
+     */
+    public boolean remove(long start, long id) {
+        int before = size;
+        root = delete(root, start, id);
+        return size < before;
+    }
+
+    /**
+     * Values of every interval overlapping [start, end), in (start, id) order.
+     */
+    public List<V> overlapping(long start, long end) {
+        List<V> found = new ArrayList<>();
+        collect(root, start, end, found);
+        return found;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static <V> void collect(Node<V> node, long start, long end, List<V> found) {
+        if (node == null || node.maxEnd <= start) {
+            return; // Nothing below ends after the query starts
+        }
+        collect(node.left, start, end, found);
+        if (node.start >= end) {
+            return; // This node and everything right of it start too late
+        }
+        if (node.end > start) {
+            found.add(node.value);
+        }
+        collect(node.right, start, end, found);
+    }
+
+    private static <V> Node<V> insert(Node<V> node, Node<V> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<V> delete(Node<V> node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    /** Join two treaps where every key in {@code left} is below every key in {@code right} */
+    private static <V> Node<V> merge(Node<V> left, Node<V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static <V> Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static <V> Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static int compare(long start, long id, Node<?> node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static final class Node<V> {
+        private final long start;
+        private final long end;
+        private final long id;
+        private final V value;
+        private final int priority;
+        private long maxEnd;
+        private Node<V> left;
+        private Node<V> right;
+
+        private Node(long start, long end, long id, V value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > maxEnd) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
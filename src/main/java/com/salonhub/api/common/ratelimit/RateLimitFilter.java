@@ -0,0 +1,121 @@
+package com.salonhub.api.common.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salonhub.api.common.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limiting for the public (unauthenticated) endpoints.
+ *
+ * Clients are keyed by remote address plus the optional device header, so kiosks behind one
+ * salon router get separate budgets. Each address also has an aggregate budget, so rotating
+ * device ids does not buy extra requests. Rejected requests get {@code 429} with {@code Retry-After}.
+ * The remote address is the client's as resolved from {@code X-Forwarded-For} by the server
+ * ({@code server.forward-headers-strategy}), not the proxy's.
+ *
+ * Registered ahead of Spring Security in {@link com.salonhub.api.config.RateLimitConfig}.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<Rule> rules = new ArrayList<>();
+    private final String deviceHeader;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(String deviceHeader, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.deviceHeader = deviceHeader;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Give requests matching {@code method} and one of {@code paths} their own budget.
+     *
+     * @param addressMultiplier how many clients' worth of requests one address may make in total
+     */
+    public RateLimitFilter limit(String name, String method, Set<String> paths,
+                                 long capacity, double tokensPerSecond, int addressMultiplier, int maxClients) {
+        RateLimiter clients = new RateLimiter(name, capacity, tokensPerSecond, maxClients);
+        RateLimiter addresses = new RateLimiter(name, capacity * addressMultiplier,
+                tokensPerSecond * addressMultiplier, maxClients);
+        Counter rejections = Counter.builder("salonhub.ratelimit.rejections")
+                .description("Requests rejected with 429")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        Gauge.builder("salonhub.ratelimit.clients", clients, RateLimiter::size)
+                .description("Clients currently tracked")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        rules.add(new Rule(method, paths, clients, addresses, rejections));
+        return this;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Rule rule = match(request);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String address = request.getRemoteAddr();
+        String device = request.getHeader(deviceHeader);
+        long now = System.nanoTime();
+
+        boolean hasDevice = device != null && !device.isBlank();
+
+        long waitNanos = rule.clients().tryAcquire(hasDevice ? address + "|" + device.trim() : address, now);
+        if (waitNanos == 0 && hasDevice) {
+            waitNanos = rule.addresses().tryAcquire(address, now);
+        }
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rule.rejections().increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.debug("Rate limit exceeded for {} on {} ({})", address, request.getRequestURI(), rule.clients().getName());
+
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(429, "Too Many Requests",
+                "Too many requests, please retry in " + retryAfterSeconds + " seconds", request.getRequestURI()));
+    }
+
+    private Rule match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rule rule : rules) {
+            if (rule.method().equalsIgnoreCase(request.getMethod()) && rule.paths().contains(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private record Rule(String method, Set<String> paths, RateLimiter clients, RateLimiter addresses, Counter rejections) {
+    }
+}
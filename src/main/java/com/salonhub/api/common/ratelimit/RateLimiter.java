@@ -0,0 +1,77 @@
+package com.salonhub.api.common.ratelimit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Token buckets for one class of endpoints, one bucket per client key.
+ *
+ * Memory is bounded: once more than {@code maxBuckets} clients are tracked, buckets that have
+ * refilled completely are dropped (a fresh bucket behaves identically), and if that is not enough
+ * the least recently seen buckets go next.
+ */
+public class RateLimiter {
+
+    private final String name;
+    private final long capacity;
+    private final double tokensPerSecond;
+    private final int maxBuckets;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public RateLimiter(String name, long capacity, double tokensPerSecond, int maxBuckets) {
+        this.name = name;
+        this.capacity = capacity;
+        this.tokensPerSecond = tokensPerSecond;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * @return 0 when the request may proceed, otherwise the nanoseconds until the client may retry
+     */
+    public long tryAcquire(String clientKey, long nowNanos) {
+        TokenBucket bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(clientKey, key -> new TokenBucket(capacity, tokensPerSecond, nowNanos));
+            if (buckets.size() > maxBuckets) {
+                evict(nowNanos);
+            }
+        }
+        return bucket.tryAcquire(nowNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Trim to 90% of the limit so eviction runs once per batch of new clients rather than on every one.
+     * Only one thread evicts at a time; others carry on without waiting.
+     */
+    private void evict(long nowNanos) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = maxBuckets - Math.max(1, maxBuckets / 10);
+            buckets.entrySet().removeIf(entry -> buckets.size() > target && entry.getValue().isFull(nowNanos));
+            if (buckets.size() > target) {
+                List<Map.Entry<String, TokenBucket>> byLastSeen = new ArrayList<>(buckets.entrySet());
+                byLastSeen.sort(Comparator.comparingLong(entry -> entry.getValue().lastSeenNanos()));
+                for (int i = 0; i < byLastSeen.size() && buckets.size() > target; i++) {
+                    buckets.remove(byLastSeen.get(i).getKey(), byLastSeen.get(i).getValue());
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
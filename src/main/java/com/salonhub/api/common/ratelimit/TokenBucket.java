@@ -0,0 +1,69 @@
+package com.salonhub.api.common.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket. Tokens refill continuously at a fixed rate up to the capacity;
+ * each request takes one. State is swapped atomically, so concurrent callers never block.
+ *
+ * Times are {@link System#nanoTime()} readings passed in by the caller.
+ */
+public final class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+    private volatile long lastSeenNanos;
+
+    private record State(double tokens, long lastRefillNanos) {
+    }
+
+    public TokenBucket(long capacity, double tokensPerSecond, long nowNanos) {
+        if (capacity <= 0 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+        this.lastSeenNanos = nowNanos;
+    }
+
+    /**
+     * Take one token if available.
+     *
+     * @return 0 when the token was taken, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire(long nowNanos) {
+        lastSeenNanos = nowNanos;
+        while (true) {
+            State current = state.get();
+            double tokens = refill(current, nowNanos);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            State next = new State(tokens - 1, Math.max(current.lastRefillNanos(), nowNanos));
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Last time a token was requested, granted or not; used to pick the least recently used bucket.
+     */
+    public long lastSeenNanos() {
+        return lastSeenNanos;
+    }
+
+    /**
+     * True once the bucket has refilled completely, i.e. dropping it loses nothing.
+     */
+    public boolean isFull(long nowNanos) {
+        return refill(state.get(), nowNanos) >= capacity;
+    }
+
+    private double refill(State current, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.lastRefillNanos());
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+}
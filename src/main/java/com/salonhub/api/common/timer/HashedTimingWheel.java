@@ -0,0 +1,144 @@
+package com.salonhub.api.common.timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel of keyed deadlines.
+ * Time is cut into ticks; a deadline lands in bucket {@code tick % wheelSize}, a doubly linked list,
+ * and the key's node is also indexed by key. Scheduling, rescheduling and cancelling are O(1);
+ * advancing visits only the buckets of the ticks that passed (at most one full turn) and
+ * expires the nodes in them that are due, leaving those a later turn of the wheel is meant for.
+ *
+ * Deadlines are milliseconds on any clock, as long as {@link #advance} is fed the same clock.
+ * Not thread-safe.
+ */
+public final class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final Node<K>[] buckets;
+    private final int mask;
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+    /** The next tick to be expired; deadlines before it fire on the next advance */
+    private long currentTick;
+
+    /**
+     * @param tick length of one tick; deadlines fire up to one tick late
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param startMillis current time on the caller's clock
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(Duration tick, int wheelSize, long startMillis) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Tick must be at least one millisecond");
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and 2^30");
+        }
+        this.tickMillis = tick.toMillis();
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.buckets = (Node<K>[]) new Node[size];
+        this.mask = size - 1;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Fire {@code key} at {@code deadlineMillis}, replacing any deadline it already had.
+     */
+    public void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long tick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick);
+        Node<K> node = new Node<>(key, tick);
+        link(node);
+        nodes.put(key, node);
+    }
+
+    /**
+     * @return true when the key was scheduled
+     */
+    public boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    public boolean isScheduled(K key) {
+        return nodes.containsKey(key);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Move the wheel to {@code nowMillis} and remove every key whose deadline has passed.
+     *
+     * @return the expired keys, in no particular order
+     */
+    public List<K> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (targetTick < currentTick) {
+            return List.of();
+        }
+        List<K> expired = new ArrayList<>();
+        long ticks = Math.min(targetTick - currentTick + 1, buckets.length);
+        for (long i = 0; i < ticks; i++) {
+            Node<K> node = buckets[(int) ((currentTick + i) & mask)];
+            while (node != null) {
+                Node<K> next = node.next;
+                if (node.tick <= targetTick) {
+                    unlink(node);
+                    nodes.remove(node.key);
+                    expired.add(node.key);
+                }
+                node = next;
+            }
+        }
+        currentTick = targetTick + 1;
+        return expired;
+    }
+
+    private void link(Node<K> node) {
+        int bucket = (int) (node.tick & mask);
+        node.next = buckets[bucket];
+        if (node.next != null) {
+            node.next.previous = node;
+        }
+        buckets[bucket] = node;
+    }
+
+    private void unlink(Node<K> node) {
+        if (node.previous != null) {
+            node.previous.next = node.next;
+        } else {
+            buckets[(int) (node.tick & mask)] = node.next;
+        }
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        }
+        node.previous = null;
+        node.next = null;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private static final class Node<K> {
+        private final K key;
+        private final long tick;
+        private Node<K> previous;
+        private Node<K> next;
+
+        private Node(K key, long tick) {
+            this.key = key;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.salonhub.api.common.util;
+
+import java.util.Locale;
+
+/**
+ * Canonical forms for customer contact details.
+ *
+ * Lookups go through the normalized columns so that "(555) 123-4567",
+ * "555.123.4567" and "+1 555 123 4567" all resolve to the same customer.
+ * The rules here must stay in sync with the backfill in
+ * V5__normalize_customer_contacts.sql.
+ */
+public final class ContactNormalizer {
+
+    private ContactNormalizer() {
+    }
+
+    /**
+     * True when the value should be treated as an email address rather than a phone number.
+     */
+    public static boolean isEmail(String contact) {
+        return contact != null && contact.contains("@");
+    }
+
+    /**
+     * Normalized email or phone number, depending on the format of the value.
+     */
+    public static String normalizeContact(String contact) {
+        return isEmail(contact) ? normalizeEmail(contact) : normalizePhone(contact);
+    }
+
+    /**
+     * Lower-cased, trimmed email, or null when blank.
+     */
+    public static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * E.164-style phone number: "+" followed by digits when the country code is known
+     * (explicit "+" prefix or a 10/11 digit North American number), otherwise digits only.
+     * Returns null when the value contains no digits.
+     */
+    public static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String trimmed = phone.trim();
+        StringBuilder digits = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() == 0) {
+            return null;
+        }
+        if (trimmed.startsWith("+")) {
+            return "+" + digits;
+        }
+        if (digits.length() == 10) {
+            return "+1" + digits;
+        }
+        if (digits.length() == 11 && digits.charAt(0) == '1') {
+            return "+" + digits;
+        }
+        return digits.toString();
+    }
+}
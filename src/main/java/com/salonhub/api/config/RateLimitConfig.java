@@ -0,0 +1,83 @@
+package com.salonhub.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salonhub.api.common.ratelimit.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Rate limits for the endpoints that are open to unauthenticated callers.
+ *
+ * Budgets (burst capacity, sustained requests per minute):
+ * - check-in: POST /api/checkin, /existing, /guest, /group, /sync, /async
+ * - customer-create: POST /api/customers
+ * - queue-stats: GET /api/queue/stats (polled by check-in screens)
+ * - holds: POST /api/bookings/holds (online checkout)
+ *
+ * The filter runs before Spring Security so rejected requests never reach authentication
+ * or the connection pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "salonhub.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Value("${salonhub.rate-limit.device-header:X-Device-Id}")
+    private String deviceHeader;
+
+    @Value("${salonhub.rate-limit.max-clients:10000}")
+    private int maxClients;
+
+    @Value("${salonhub.rate-limit.address-multiplier:5}")
+    private int addressMultiplier;
+
+    @Value("${salonhub.rate-limit.check-in.capacity:10}")
+    private long checkInCapacity;
+
+    @Value("${salonhub.rate-limit.check-in.per-minute:20}")
+    private double checkInPerMinute;
+
+    @Value("${salonhub.rate-limit.customer-create.capacity:5}")
+    private long customerCreateCapacity;
+
+    @Value("${salonhub.rate-limit.customer-create.per-minute:10}")
+    private double customerCreatePerMinute;
+
+    @Value("${salonhub.rate-limit.queue-stats.capacity:30}")
+    private long queueStatsCapacity;
+
+    @Value("${salonhub.rate-limit.queue-stats.per-minute:120}")
+    private double queueStatsPerMinute;
+
+    @Value("${salonhub.rate-limit.holds.capacity:5}")
+    private long holdsCapacity;
+
+    @Value("${salonhub.rate-limit.holds.per-minute:10}")
+    private double holdsPerMinute;
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        RateLimitFilter filter = new RateLimitFilter(deviceHeader, objectMapper, meterRegistry)
+                .limit("check-in", "POST",
+                        Set.of("/api/checkin", "/api/checkin/existing", "/api/checkin/guest",
+                                "/api/checkin/group", "/api/checkin/sync", "/api/checkin/async"),
+                        checkInCapacity, checkInPerMinute / 60, addressMultiplier, maxClients)
+                .limit("customer-create", "POST", Set.of("/api/customers"),
+                        customerCreateCapacity, customerCreatePerMinute / 60, addressMultiplier, maxClients)
+                .limit("queue-stats", "GET", Set.of("/api/queue/stats"),
+                        queueStatsCapacity, queueStatsPerMinute / 60, addressMultiplier, maxClients)
+                .limit("holds", "POST", Set.of("/api/bookings/holds"),
+                        holdsCapacity, holdsPerMinute / 60, addressMultiplier, maxClients);
+
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,12 @@
+package com.salonhub.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} housekeeping jobs (e.g. purging expired idempotency keys).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,23 @@
+package com.salonhub.api.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Guest row for the front-desk list of today's check-ins.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuestSummaryDTO {
+
+    private Long id;
+    private String name;
+    private String phoneNumber;
+    private String email;
+    private String note;
+    private LocalDateTime checkedInAt;
+}
@@ -1,10 +1,14 @@
 package com.salonhub.api.customer.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.salonhub.api.common.util.ContactNormalizer;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -38,6 +42,16 @@ public class Customer {
     @Column(columnDefinition = "TEXT")
     private String note;
 
+    /** Canonical phone used for lookups; maintained from phoneNumber on every write */
+    @JsonIgnore
+    @Column(name = "phone_normalized", length = 32, unique = true)
+    private String phoneNormalized;
+
+    /** Lower-cased email used for lookups; maintained from email on every write */
+    @JsonIgnore
+    @Column(name = "email_normalized", unique = true)
+    private String emailNormalized;
+
     @Column(nullable = false)
     private boolean guest = false;
 
@@ -63,4 +77,21 @@ public class Customer {
         this.guest = guest;
         this.email = guest ? null : email;
     }
-}
\ No newline at end of file
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+        this.phoneNormalized = ContactNormalizer.normalizePhone(phoneNumber);
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = ContactNormalizer.normalizeEmail(email);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeContacts() {
+        this.phoneNormalized = ContactNormalizer.normalizePhone(phoneNumber);
+        this.emailNormalized = ContactNormalizer.normalizeEmail(email);
+    }
+}
@@ -0,0 +1,50 @@
+package com.salonhub.api.customer.repository;
+
+import com.salonhub.api.common.pagination.KeysetCursor;
+import com.salonhub.api.customer.dto.GuestSummaryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC reads of customers for long-running exports. Each call borrows a pooled connection for one query and
+ * returns it, even when the request's entity manager is kept open for the whole response (open-in-view).
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomerJdbcRepository {
+
+    private static final String GUESTS_SQL =
+            "SELECT id, name, phone_number, email, note, created_at FROM customers "
+            + "WHERE guest = TRUE AND created_at >= ? AND created_at < ? ";
+    private static final String AFTER_SQL = "AND (created_at > ? OR (created_at = ? AND id > ?)) ";
+    private static final String ORDER_SQL = "ORDER BY created_at, id LIMIT ?";
+
+    private static final RowMapper<GuestSummaryDTO> GUEST_SUMMARY = (rs, rowNum) -> new GuestSummaryDTO(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("phone_number"),
+            rs.getString("email"),
+            rs.getString("note"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * One page of guests created in [start, end), ordered by (createdAt, id), after {@code after} when given.
+     */
+    public List<GuestSummaryDTO> findGuestSummaries(LocalDateTime start, LocalDateTime end, KeysetCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(GUESTS_SQL + ORDER_SQL, GUEST_SUMMARY,
+                    Timestamp.valueOf(start), Timestamp.valueOf(end), limit);
+        }
+        Timestamp afterCreatedAt = Timestamp.valueOf(after.timestamp());
+        return jdbcTemplate.query(GUESTS_SQL + AFTER_SQL + ORDER_SQL, GUEST_SUMMARY,
+                Timestamp.valueOf(start), Timestamp.valueOf(end), afterCreatedAt, afterCreatedAt, after.id(), limit);
+    }
+}
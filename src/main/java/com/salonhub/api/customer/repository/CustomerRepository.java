@@ -1,11 +1,20 @@
 package com.salonhub.api.customer.repository;
 
+import com.salonhub.api.common.util.ContactNormalizer;
+import com.salonhub.api.customer.dto.GuestSummaryDTO;
 import com.salonhub.api.customer.model.Customer;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,8 +23,74 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Customer findByEmail(String email);
-    @Query("SELECT c FROM Customer c WHERE c.phoneNumber = :value OR c.email = :value")
-    Optional<Customer> findByPhoneOrEmail(@Param("value") String phone, @Param("value") String email);
+
+    Optional<Customer> findByPhoneNormalized(String phoneNormalized);
+
+    Optional<Customer> findByEmailNormalized(String emailNormalized);
+
+    /**
+     * Look up a customer by phone or email, probing only the unique index that matches
+     * the format of the input.
+     */
+    default Optional<Customer> findByContact(String contact) {
+        if (ContactNormalizer.isEmail(contact)) {
+            return findByEmailNormalized(ContactNormalizer.normalizeEmail(contact));
+        }
+        String phone = ContactNormalizer.normalizePhone(contact);
+        return phone == null ? Optional.empty() : findByPhoneNormalized(phone);
+    }
+
+    List<Customer> findAllByPhoneNormalizedIn(Collection<String> phoneNormalized);
+
+    List<Customer> findAllByEmailNormalizedIn(Collection<String> emailNormalized);
+
+    /**
+     * Batch form of {@link #findByContact}: at most one query per contact type.
+     *
+     * @return the customers found, keyed by the normalized phone or email they matched
+     */
+    default Map<String, Customer> findAllByContacts(Collection<String> contacts) {
+        Set<String> phones = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (String contact : contacts) {
+            String key = ContactNormalizer.normalizeContact(contact);
+            if (key != null) {
+                (ContactNormalizer.isEmail(contact) ? emails : phones).add(key);
+            }
+        }
+        Map<String, Customer> customers = new HashMap<>();
+        if (!phones.isEmpty()) {
+            findAllByPhoneNormalizedIn(phones).forEach(c -> customers.put(c.getPhoneNormalized(), c));
+        }
+        if (!emails.isEmpty()) {
+            findAllByEmailNormalizedIn(emails).forEach(c -> customers.put(c.getEmailNormalized(), c));
+        }
+        return customers;
+    }
+
+    /** Every normalized phone and email, for loading the contact existence filter */
+    @Query("SELECT c.phoneNormalized FROM Customer c WHERE c.phoneNormalized IS NOT NULL "
+            + "UNION ALL SELECT c.emailNormalized FROM Customer c WHERE c.emailNormalized IS NOT NULL")
+    Stream<String> streamNormalizedContacts();
 
     List<Customer> findAllByGuestTrueAndCreatedAtBetween(LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+
+    /** First page of guests created in [start, end), ordered by (createdAt, id) */
+    @Query("SELECT new com.salonhub.api.customer.dto.GuestSummaryDTO(c.id, c.name, c.phoneNumber, c.email, c.note, c.createdAt) "
+            + "FROM Customer c WHERE c.guest = true AND c.createdAt >= :start AND c.createdAt < :end "
+            + "ORDER BY c.createdAt, c.id")
+    List<GuestSummaryDTO> findGuestSummaries(@Param("start") LocalDateTime start,
+                                             @Param("end") LocalDateTime end,
+                                             Limit limit);
+
+    /** Guests created in [start, end) that sort after (afterCreatedAt, afterId) */
+    @Query("SELECT new com.salonhub.api.customer.dto.GuestSummaryDTO(c.id, c.name, c.phoneNumber, c.email, c.note, c.createdAt) "
+            + "FROM Customer c WHERE c.guest = true AND c.createdAt >= :start AND c.createdAt < :end "
+            + "AND (c.createdAt > :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id > :afterId)) "
+            + "ORDER BY c.createdAt, c.id")
+    List<GuestSummaryDTO> findGuestSummariesAfter(@Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end,
+                                                  @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                  @Param("afterId") Long afterId,
+                                                  Limit limit);
+}
@@ -0,0 +1,74 @@
+package com.salonhub.api.customer.service;
+
+import com.salonhub.api.common.bloom.EntityWriteListener;
+import com.salonhub.api.common.bloom.ExistenceFilter;
+import com.salonhub.api.common.util.ContactNormalizer;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Existence filter over customers' normalized phone numbers and emails.
+ * Lets check-in skip the customer lookup for contacts that have never been seen.
+ */
+@Component
+public class CustomerContactFilter {
+
+    private final CustomerRepository customerRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ExistenceFilter filter;
+
+    public CustomerContactFilter(CustomerRepository customerRepository,
+                                 EntityManagerFactory entityManagerFactory,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${salonhub.bloom.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.customerRepository = customerRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.filter = new ExistenceFilter("customer-contact", falsePositiveProbability, meterRegistry);
+    }
+
+    @PostConstruct
+    void registerWriteListener() {
+        EntityWriteListener.register(entityManagerFactory, Customer.class, this::record);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        // Each row contributes up to two keys: phone and email
+        filter.rebuild(customerRepository.count() * 2, customerRepository::streamNormalizedContacts);
+    }
+
+    /**
+     * Same as {@link CustomerRepository#findByContact}, but answers definite misses without a query.
+     */
+    public Optional<Customer> findByContact(String contact) {
+        if (!mightExist(contact)) {
+            return Optional.empty();
+        }
+        Optional<Customer> customer = customerRepository.findByContact(contact);
+        if (customer.isEmpty()) {
+            filter.recordFalsePositive();
+        }
+        return customer;
+    }
+
+    private boolean mightExist(String contact) {
+        String key = ContactNormalizer.normalizeContact(contact);
+        return key != null && filter.mightContain(key);
+    }
+
+    void record(Customer customer) {
+        filter.put(customer.getPhoneNormalized());
+        filter.put(customer.getEmailNormalized());
+    }
+}
@@ -36,6 +36,9 @@ import java.util.List;
  * - UPDATE employee: ADMIN only
  * - DELETE employee: ADMIN only
  * - UPDATE availability: Self or MANAGER, ADMIN
+ *
+ * Setting a technician unavailable leaves their booked appointments with them; moving those to colleagues
+ * is a separate call, POST /api/appointments/reassignments/{employeeId}, which reports who couldn't be placed.
  */
 @RestController
 @RequestMapping("/api/employees")
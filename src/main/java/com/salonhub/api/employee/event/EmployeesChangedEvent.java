@@ -0,0 +1,8 @@
+package com.salonhub.api.employee.event;
+
+/**
+ * Published when an employee is added, removed, changes role or is marked (un)available, so anything that
+ * cached who can take bookings rebuilds it.
+ */
+public record EmployeesChangedEvent(Long employeeId) {
+}
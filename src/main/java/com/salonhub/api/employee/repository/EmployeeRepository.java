@@ -1,12 +1,32 @@
 package com.salonhub.api.employee.repository;
 
 import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByName(String name);
+
+    List<Employee> findByRoleOrderByIdAsc(Role role);
+
+    /**
+     * Row-lock an employee, serializing bookings for them until the transaction ends.
+     * Native so the same FOR UPDATE runs on PostgreSQL and H2.
+     */
+    @Query(value = "SELECT id FROM employees WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    /**
+     * PostgreSQL transaction-level advisory lock on {@code key}, released at commit or rollback.
+     * Wrapped in a select so the result is an ordinary integer rather than void.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:key)) l", nativeQuery = true)
+    Integer advisoryLock(@Param("key") long key);
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.salonhub.api.employee.service;
 
+import com.salonhub.api.employee.event.EmployeesChangedEvent;
 import com.salonhub.api.employee.model.Employee;
 import com.salonhub.api.employee.repository.EmployeeRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -10,9 +12,11 @@ import java.util.Optional;
 @Service
 public class EmployeeService {
     private final EmployeeRepository repo;
+    private final ApplicationEventPublisher events;
 
-    public EmployeeService(EmployeeRepository repo) {
+    public EmployeeService(EmployeeRepository repo, ApplicationEventPublisher events) {
         this.repo = repo;
+        this.events = events;
     }
 
     public List<Employee> findAll() {
@@ -24,7 +28,9 @@ public class EmployeeService {
     }
 
     public Employee create(Employee e) {
-        return repo.save(e);
+        Employee saved = repo.save(e);
+        events.publishEvent(new EmployeesChangedEvent(saved.getId()));
+        return saved;
     }
 
     public Optional<Employee> update(Long id, Employee e) {
@@ -32,20 +38,28 @@ public class EmployeeService {
             .map(existing -> {
                 existing.setName(e.getName());
                 existing.setRole(e.getRole());
-                return repo.save(existing);
+                Employee saved = repo.save(existing);
+                events.publishEvent(new EmployeesChangedEvent(id));
+                return saved;
             });
     }
 
-    /** Toggle availability (e.g. call off sick or clock in/out) */
+    /**
+     * Toggle availability (e.g. call off sick or clock in/out). Booked appointments stay with the employee;
+     * {@code ReassignmentService.reassign} moves them when they are out for the day.
+     */
     public Optional<Employee> setAvailability(Long id, boolean available) {
         return repo.findById(id)
             .map(emp -> {
                 emp.setAvailable(available);
-                return repo.save(emp);
+                Employee saved = repo.save(emp);
+                events.publishEvent(new EmployeesChangedEvent(id));
+                return saved;
             });
     }
 
     public void delete(Long id) {
         repo.deleteById(id);
+        events.publishEvent(new EmployeesChangedEvent(id));
     }
 }
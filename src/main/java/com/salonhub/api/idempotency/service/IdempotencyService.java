@@ -0,0 +1,264 @@
+package com.salonhub.api.idempotency.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salonhub.api.idempotency.model.IdempotencyRecord;
+import com.salonhub.api.idempotency.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per {@value #HEADER} value.
+ *
+ * A bounded in-memory map holds the outcome of recent keys; a caller that arrives while the
+ * first request with the same key is still running waits for it and receives the same response.
+ * The idempotency_keys table backs the map so replays are still recognised after eviction,
+ * a restart, or on another instance. The completed response is written in the same transaction
+ * as the request's own changes, so a replay can never see a response whose writes were rolled back.
+ *
+ * Failed requests are not remembered: the key is released and the client may retry.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 200;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final int maxEntries;
+
+    /** Insertion-ordered so the oldest finished keys are evicted first; guarded by itself */
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${salonhub.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${salonhub.idempotency.wait-timeout:30s}") Duration waitTimeout,
+                              @Value("${salonhub.idempotency.max-entries:10000}") int maxEntries) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Run {@code action} unless a request with the same key already ran, in which case its response is returned.
+     *
+     * @param scope        namespace for the key, typically the endpoint
+     * @param key          client-supplied idempotency key; when blank the action simply runs
+     * @param request      request payload, used to reject a key reused for a different request
+     * @param responseType type to deserialize a stored response into
+     */
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = scope + ":" + key.trim();
+        String requestHash = hash(request);
+        LocalDateTime now = LocalDateTime.now();
+
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            entry = entries.get(scopedKey);
+            if (entry != null && entry.isExpired(now)) {
+                entries.remove(scopedKey);
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry(requestHash, now.plus(ttl));
+                entries.put(scopedKey, entry);
+                owner = true;
+                evictIfFull();
+            }
+        }
+
+        if (!entry.requestHash.equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+        }
+        if (!owner) {
+            return responseType.cast(await(entry));
+        }
+
+        try {
+            T result = executeOnce(scopedKey, requestHash, responseType, action);
+            entry.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(scopedKey, entry);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <T> T executeOnce(String key, String requestHash, Class<T> responseType, Supplier<T> action) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<IdempotencyRecord> existing = repository.findById(key);
+
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (record.getExpiresAt().isBefore(now)) {
+                newTransactionTemplate.executeWithoutResult(status -> repository.deleteById(key));
+            } else if (!record.getRequestHash().equals(requestHash)) {
+                throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+            } else if (record.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                return readResponse(record.getResponseBody(), responseType);
+            } else {
+                throw new IllegalStateException("A request with this Idempotency-Key is still being processed");
+            }
+        }
+
+        claim(key, requestHash, now);
+        try {
+            return transactionTemplate.execute(status -> {
+                T result = action.get();
+                repository.markCompleted(key, writeResponse(result), LocalDateTime.now().plus(ttl));
+                return result;
+            });
+        } catch (RuntimeException e) {
+            newTransactionTemplate.executeWithoutResult(status -> repository.deleteById(key));
+            throw e;
+        }
+    }
+
+    /**
+     * Insert the in-progress marker in its own transaction so other instances see it immediately.
+     * A marker left behind by a crash expires after the wait timeout.
+     */
+    private void claim(String key, String requestHash, LocalDateTime now) {
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> repository.insertInProgress(
+                    key, requestHash, now, now.plus(waitTimeout)));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("A request with this Idempotency-Key is still being processed");
+        }
+    }
+
+    private Object await(Entry entry) {
+        try {
+            return entry.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Original request failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request");
+        }
+    }
+
+    /**
+     * Drop the oldest finished keys once the map is over capacity; in-flight keys are never evicted.
+     */
+    private void evictIfFull() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            if (it.next().result.isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${salonhub.idempotency.purge-interval-ms:900000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.result.isDone() && entry.isExpired(now));
+        }
+        Integer deleted = newTransactionTemplate.execute(status -> repository.deleteExpired(now));
+        if (deleted != null && deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Forget everything held in memory, leaving only the database records.
+     */
+    void clearLocalCache() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to fingerprint request", e);
+        }
+    }
+
+    private String writeResponse(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to store idempotent response", e);
+        }
+    }
+
+    private <T> T readResponse(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read stored idempotent response", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String requestHash;
+        private final LocalDateTime expiresAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(String requestHash, LocalDateTime expiresAt) {
+            this.requestHash = requestHash;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(LocalDateTime now) {
+            return expiresAt.isBefore(now);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.salonhub.api.notification.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * One reminder for one appointment, and its delivery state.
+ * {@code remindAt} is when it is meant to go out; {@code dueAt} is when the next attempt may run,
+ * which moves forward after a failed attempt.
+ */
+@Entity
+@Table(name = "reminders",
+       uniqueConstraints = @UniqueConstraint(name = "uk_reminders_appointment_kind", columnNames = {"appointment_id", "kind"}),
+       indexes = @Index(name = "idx_reminders_status_due", columnList = "status, due_at"))
+@Data
+@NoArgsConstructor
+public class Reminder {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "appointment_id", nullable = false)
+    private Long appointmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReminderKind kind;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReminderStatus status;
+
+    @Column(name = "remind_at", nullable = false)
+    private LocalDateTime remindAt;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    public static Reminder schedule(Long appointmentId, ReminderKind kind, LocalDateTime remindAt) {
+        Reminder reminder = new Reminder();
+        reminder.setAppointmentId(appointmentId);
+        reminder.setKind(kind);
+        reminder.reschedule(remindAt);
+        return reminder;
+    }
+
+    /**
+     * Start over for a new time, whatever happened to the previous one.
+     */
+    public void reschedule(LocalDateTime remindAt) {
+        this.remindAt = remindAt;
+        this.dueAt = remindAt;
+        this.status = ReminderStatus.PENDING;
+        this.attempts = 0;
+        this.sentAt = null;
+        this.lastError = null;
+    }
+
+    public void markSent(LocalDateTime now) {
+        attempts++;
+        status = ReminderStatus.SENT;
+        sentAt = now;
+        lastError = null;
+    }
+
+    /**
+     * Record a failed attempt; retry after {@code retryDelay} unless the failure is permanent
+     * or {@code maxAttempts} have been used.
+     */
+    public void markFailed(String error, boolean retryable, LocalDateTime now, Duration retryDelay, int maxAttempts) {
+        attempts++;
+        lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (retryable && attempts < maxAttempts) {
+            dueAt = now.plus(retryDelay);
+        } else {
+            status = ReminderStatus.FAILED;
+        }
+    }
+
+    public void cancel(String reason) {
+        status = ReminderStatus.CANCELLED;
+        lastError = reason;
+    }
+}
@@ -0,0 +1,21 @@
+package com.salonhub.api.notification.model;
+
+import java.time.Duration;
+
+/**
+ * When, relative to the appointment's start, a reminder goes out.
+ */
+public enum ReminderKind {
+    DAY_BEFORE(Duration.ofHours(24)),
+    TWO_HOURS_BEFORE(Duration.ofHours(2));
+
+    private final Duration lead;
+
+    ReminderKind(Duration lead) {
+        this.lead = lead;
+    }
+
+    public Duration getLead() {
+        return lead;
+    }
+}
@@ -0,0 +1,8 @@
+package com.salonhub.api.notification.model;
+
+public enum ReminderStatus {
+    PENDING,    // Waiting for its due time, or for a retry
+    SENT,       // Accepted by the sender
+    FAILED,     // Gave up after a permanent failure or too many attempts
+    CANCELLED   // The appointment was cancelled or moved too close to send it
+}
@@ -0,0 +1,25 @@
+package com.salonhub.api.notification.repository;
+
+import com.salonhub.api.notification.model.Reminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReminderRepository extends JpaRepository<Reminder, Long> {
+
+    List<Reminder> findByAppointmentIdIn(Collection<Long> appointmentIds);
+
+    /**
+     * Lock the earliest pending reminders that are due, skipping any another dispatcher already holds.
+     * A range scan of the (status, due_at) index; native so the same locking clause runs on PostgreSQL and H2.
+     */
+    @Query(value = "SELECT * FROM reminders WHERE status = 'PENDING' AND due_at <= :now "
+            + "ORDER BY due_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Reminder> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,26 @@
+package com.salonhub.api.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes reminders to the log instead of delivering them; the default until a real channel is configured.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "salonhub.reminders.sender", havingValue = "log", matchIfMissing = true)
+public class LogReminderSender implements ReminderSender {
+
+    @Override
+    public Map<Long, Failure> send(List<ReminderMessage> messages) {
+        for (ReminderMessage message : messages) {
+            log.info("Reminder {} ({}) for {} at {}", message.reminderId(), message.kind(),
+                    message.customerName(), message.startTime());
+        }
+        return Map.of();
+    }
+}
@@ -0,0 +1,163 @@
+package com.salonhub.api.notification.service;
+
+import com.salonhub.api.appointment.model.Appointment;
+import com.salonhub.api.appointment.model.AppointmentLineItem;
+import com.salonhub.api.appointment.model.BookingStatus;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.notification.model.Reminder;
+import com.salonhub.api.notification.repository.ReminderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends reminders as they come due.
+ *
+ * Each poll locks up to {@code batch-size} due reminders through an index range scan, hands them to the
+ * {@link ReminderSender} as one batch and records the outcome, repeating until fewer than a full batch
+ * is due. Locked rows are skipped by other instances, so several can poll at once without sending twice.
+ * Because reminders live in the database, a restart simply picks up whatever came due while it was down.
+ */
+@Slf4j
+@Service
+public class ReminderDispatcher {
+
+    private static final Set<BookingStatus> REMINDABLE = Set.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private final ReminderRepository reminderRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ReminderSender sender;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Counter sent;
+    private final Counter failed;
+
+    public ReminderDispatcher(ReminderRepository reminderRepository,
+                              AppointmentRepository appointmentRepository,
+                              ReminderSender sender,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${salonhub.reminders.enabled:true}") boolean enabled,
+                              @Value("${salonhub.reminders.batch-size:50}") int batchSize,
+                              @Value("${salonhub.reminders.max-attempts:3}") int maxAttempts,
+                              @Value("${salonhub.reminders.retry-delay:10m}") Duration retryDelay) {
+        this.reminderRepository = reminderRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.sender = sender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.sent = Counter.builder("salonhub.reminders.sent")
+                .description("Reminders accepted by the sender")
+                .register(meterRegistry);
+        this.failed = Counter.builder("salonhub.reminders.failed")
+                .description("Reminder delivery attempts that failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${salonhub.reminders.poll-interval-ms:60000}",
+               initialDelayString = "${salonhub.reminders.poll-interval-ms:60000}")
+    public void dispatchDue() {
+        if (enabled) {
+            dispatch(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Send everything due at {@code now}, one batch per transaction.
+     *
+     * @return how many reminders were handled, whatever their outcome
+     */
+    int dispatch(LocalDateTime now) {
+        int total = 0;
+        int handled;
+        do {
+            Integer batch = transactionTemplate.execute(status -> dispatchBatch(now));
+            handled = batch != null ? batch : 0;
+            total += handled;
+        } while (handled == batchSize);
+        if (total > 0) {
+            log.debug("Handled {} due reminder(s)", total);
+        }
+        return total;
+    }
+
+    private int dispatchBatch(LocalDateTime now) {
+        List<Reminder> due = reminderRepository.lockDue(now, batchSize);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Appointment> appointments = appointmentRepository.findAllWithDetailsByIdIn(
+                        due.stream().map(Reminder::getAppointmentId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+
+        List<Reminder> sending = new ArrayList<>(due.size());
+        List<ReminderMessage> messages = new ArrayList<>(due.size());
+        for (Reminder reminder : due) {
+            Appointment appointment = appointments.get(reminder.getAppointmentId());
+            if (appointment == null || !REMINDABLE.contains(appointment.getStatus())) {
+                reminder.cancel("Appointment is no longer booked");
+            } else if (!appointment.getStartTime().isAfter(now)) {
+                reminder.cancel("Appointment has already started");
+            } else {
+                sending.add(reminder);
+                messages.add(toMessage(reminder, appointment));
+            }
+        }
+
+        Map<Long, ReminderSender.Failure> failures;
+        try {
+            failures = messages.isEmpty() ? Map.of() : sender.send(messages);
+        } catch (RuntimeException e) {
+            log.warn("Reminder sender failed for a batch of {}", messages.size(), e);
+            ReminderSender.Failure failure = new ReminderSender.Failure(e.getMessage(), true);
+            failures = sending.stream().collect(Collectors.toMap(Reminder::getId, reminder -> failure));
+        }
+
+        for (Reminder reminder : sending) {
+            ReminderSender.Failure failure = failures.get(reminder.getId());
+            if (failure == null) {
+                reminder.markSent(now);
+                sent.increment();
+            } else {
+                reminder.markFailed(failure.reason(), failure.retryable(), now, retryDelay, maxAttempts);
+                failed.increment();
+            }
+        }
+        reminderRepository.saveAll(due);
+        return due.size();
+    }
+
+    private static ReminderMessage toMessage(Reminder reminder, Appointment appointment) {
+        List<String> services = appointment.getLineItems().stream()
+                .map(AppointmentLineItem::getServiceName)
+                .toList();
+        return new ReminderMessage(reminder.getId(), reminder.getKind(),
+                appointment.getCustomer().getName(),
+                appointment.getCustomer().getEmail(),
+                appointment.getCustomer().getPhoneNumber(),
+                appointment.getEmployee() != null ? appointment.getEmployee().getName() : null,
+                appointment.getStartTime(),
+                services);
+    }
+}
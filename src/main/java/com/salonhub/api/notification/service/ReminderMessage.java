@@ -0,0 +1,17 @@
+package com.salonhub.api.notification.service;
+
+import com.salonhub.api.notification.model.ReminderKind;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything a sender needs to remind one customer of one appointment.
+ *
+ * @param email null when the customer gave none
+ * @param employeeName null when no technician is assigned yet
+ */
+public record ReminderMessage(Long reminderId, ReminderKind kind, String customerName, String email,
+                              String phoneNumber, String employeeName, LocalDateTime startTime,
+                              List<String> serviceNames) {
+}
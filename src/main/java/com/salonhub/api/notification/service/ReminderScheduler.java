@@ -0,0 +1,116 @@
+package com.salonhub.api.notification.service;
+
+import com.salonhub.api.appointment.event.AppointmentChangedEvent;
+import com.salonhub.api.appointment.model.BookingStatus;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.AppointmentTiming;
+import com.salonhub.api.notification.model.Reminder;
+import com.salonhub.api.notification.model.ReminderKind;
+import com.salonhub.api.notification.model.ReminderStatus;
+import com.salonhub.api.notification.repository.ReminderRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps each appointment's reminders in step with the appointment: one per {@link ReminderKind} while the
+ * appointment is pending or confirmed and the reminder's time is still ahead, moved when the appointment
+ * moves and cancelled when it is cancelled.
+ *
+ * Runs just before the appointment change commits, in the same transaction, so an appointment and its
+ * reminders are never out of step in the database.
+ */
+@Service
+public class ReminderScheduler {
+
+    private static final Set<BookingStatus> REMINDABLE = Set.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private final ReminderRepository reminderRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReminderScheduler(ReminderRepository reminderRepository,
+                             AppointmentRepository appointmentRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.reminderRepository = reminderRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!event.appointmentIds().isEmpty()) {
+                sync(event.appointmentIds(), LocalDateTime.now());
+            } else if (!event.employeeIds().isEmpty() && !event.dates().isEmpty()) {
+                // Many appointments changed at once: revisit every appointment of the technicians on those days
+                LocalDate first = Collections.min(event.dates());
+                LocalDate last = Collections.max(event.dates());
+                List<Long> ids = appointmentRepository.findIdsForEmployeesStartingBetween(
+                        event.employeeIds(), first.atStartOfDay(), last.plusDays(1).atStartOfDay());
+                sync(ids, LocalDateTime.now());
+            }
+        });
+    }
+
+    /**
+     * Create, move or cancel the reminders of these appointments to match their current state.
+     */
+    void sync(Collection<Long> appointmentIds, LocalDateTime now) {
+        if (appointmentIds.isEmpty()) {
+            return;
+        }
+        Map<Long, AppointmentTiming> appointments = appointmentRepository.findTimingsByIdIn(appointmentIds).stream()
+                .collect(Collectors.toMap(AppointmentTiming::appointmentId, Function.identity()));
+        Map<Long, Map<ReminderKind, Reminder>> existing = new HashMap<>();
+        for (Reminder reminder : reminderRepository.findByAppointmentIdIn(appointmentIds)) {
+            existing.computeIfAbsent(reminder.getAppointmentId(), id -> new HashMap<>()).put(reminder.getKind(), reminder);
+        }
+
+        List<Reminder> changed = new ArrayList<>();
+        for (Long appointmentId : appointmentIds) {
+            AppointmentTiming appointment = appointments.get(appointmentId);
+            Map<ReminderKind, Reminder> reminders = existing.getOrDefault(appointmentId, Map.of());
+            for (ReminderKind kind : ReminderKind.values()) {
+                Reminder reminder = reminders.get(kind);
+                LocalDateTime remindAt = remindAt(appointment, kind);
+                if (remindAt != null && remindAt.isAfter(now)) {
+                    if (reminder == null) {
+                        changed.add(Reminder.schedule(appointmentId, kind, remindAt));
+                    } else if (!remindAt.equals(reminder.getRemindAt())
+                            || reminder.getStatus() == ReminderStatus.CANCELLED) {
+                        reminder.reschedule(remindAt);
+                        changed.add(reminder);
+                    }
+                } else if (reminder != null && reminder.getStatus() == ReminderStatus.PENDING) {
+                    reminder.cancel(appointment == null || !REMINDABLE.contains(appointment.status())
+                            ? "Appointment is no longer booked"
+                            : "Appointment is too soon for this reminder");
+                    changed.add(reminder);
+                }
+            }
+        }
+        reminderRepository.saveAll(changed);
+    }
+
+    private static LocalDateTime remindAt(AppointmentTiming appointment, ReminderKind kind) {
+        if (appointment == null || appointment.startTime() == null || !REMINDABLE.contains(appointment.status())) {
+            return null;
+        }
+        return appointment.startTime().minus(kind.getLead());
+    }
+}
@@ -0,0 +1,22 @@
+package com.salonhub.api.notification.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers reminders. Picked with {@code salonhub.reminders.sender}; implementations receive a whole
+ * batch at a time so they can reuse one connection for it.
+ */
+public interface ReminderSender {
+
+    /**
+     * @return failures by reminder id; reminders not in the map were delivered
+     */
+    Map<Long, Failure> send(List<ReminderMessage> messages);
+
+    /**
+     * @param retryable false when another attempt cannot succeed, e.g. the customer has no address
+     */
+    record Failure(String reason, boolean retryable) {
+    }
+}
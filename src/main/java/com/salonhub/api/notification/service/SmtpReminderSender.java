@@ -0,0 +1,103 @@
+package com.salonhub.api.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Emails reminders through the server configured under {@code spring.mail.*}. A batch goes out over one
+ * SMTP connection; a recipient the server refuses fails on its own without failing the rest.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "salonhub.reminders.sender", havingValue = "smtp")
+public class SmtpReminderSender implements ReminderSender {
+
+    private static final DateTimeFormatter WHEN = DateTimeFormatter.ofPattern("EEEE, MMMM d 'at' h:mm a", Locale.ENGLISH);
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpReminderSender(JavaMailSender mailSender,
+                              @Value("${salonhub.reminders.from:no-reply@salonhub.local}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public Map<Long, Failure> send(List<ReminderMessage> messages) {
+        Map<Long, Failure> failures = new HashMap<>();
+        // Keyed by identity: two reminders can produce equal mails
+        Map<SimpleMailMessage, Long> reminderIds = new IdentityHashMap<>();
+        List<SimpleMailMessage> mails = new ArrayList<>(messages.size());
+        for (ReminderMessage message : messages) {
+            if (message.email() == null || message.email().isBlank()) {
+                failures.put(message.reminderId(), new Failure("Customer has no email address", false));
+                continue;
+            }
+            SimpleMailMessage mail = toMail(message);
+            reminderIds.put(mail, message.reminderId());
+            mails.add(mail);
+        }
+        if (mails.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(mails.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                failAll(reminderIds, e, failures);
+            }
+            e.getFailedMessages().forEach((mail, cause) -> {
+                Long reminderId = reminderIds.get(mail);
+                if (reminderId != null) {
+                    failures.put(reminderId, new Failure(cause.getMessage(), true));
+                }
+            });
+        } catch (MailException e) {
+            log.warn("Could not send {} reminder email(s)", mails.size(), e);
+            failAll(reminderIds, e, failures);
+        }
+        return failures;
+    }
+
+    private SimpleMailMessage toMail(ReminderMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.email());
+        mail.setSubject("Reminder: your appointment " + WHEN.format(message.startTime()));
+        StringBuilder body = new StringBuilder()
+                .append("Hi ").append(message.customerName()).append(",\n\n")
+                .append("This is a reminder of your appointment on ").append(WHEN.format(message.startTime()));
+        if (message.employeeName() != null) {
+            body.append(" with ").append(message.employeeName());
+        }
+        body.append(".\n");
+        if (!message.serviceNames().isEmpty()) {
+            body.append("Services: ").append(String.join(", ", message.serviceNames())).append("\n");
+        }
+        body.append("\nIf you can't make it, please let us know so we can offer the time to someone else.\n");
+        mail.setText(body.toString());
+        return mail;
+    }
+
+    private static void failAll(Map<SimpleMailMessage, Long> reminderIds, Exception cause, Map<Long, Failure> failures) {
+        for (Long reminderId : reminderIds.values()) {
+            failures.put(reminderId, new Failure(cause.getMessage(), true));
+        }
+    }
+}
@@ -49,6 +49,19 @@ public class QueueController {
         }
     }
     
+    /**
+     * Get the entries of a party that checked in together, in queue order
+     */
+    @GetMapping("/party/{partyId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<QueueEntryDTO>> getParty(@PathVariable String partyId) {
+        List<QueueEntryDTO> party = queueService.getParty(partyId);
+        if (party.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(party);
+    }
+    
     /**
      * Update queue entry
      */
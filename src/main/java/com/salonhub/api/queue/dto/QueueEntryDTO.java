@@ -16,6 +16,8 @@ public class QueueEntryDTO {
     private QueueStatus status;
     private Integer position;
     private String notes;
+    private String partyId;
+    private Long stationTypeId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
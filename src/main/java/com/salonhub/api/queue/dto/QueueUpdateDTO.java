@@ -8,4 +8,6 @@ public class QueueUpdateDTO {
     private Integer estimatedWaitTime;
     private String notes;
     private String status;
+    /** The station type the walk-in is seated at, e.g. a pedicure chair */
+    private Long stationTypeId;
 }
@@ -0,0 +1,11 @@
+package com.salonhub.api.queue.event;
+
+import java.util.Set;
+
+/**
+ * Published whenever queue entries are added, changed or removed.
+ *
+ * @param queueIds the entries written; a removed entry's id no longer resolves to a row
+ */
+public record QueueChangedEvent(Set<Long> queueIds) {
+}
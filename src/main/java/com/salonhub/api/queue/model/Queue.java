@@ -45,6 +45,22 @@ public class Queue {
     @Column(columnDefinition = "TEXT")
     private String notes;
     
+    /** Shared by entries of a party that checked in together, so they can be seated together */
+    @Column(name = "party_id", length = 36)
+    private String partyId;
+    
+    /** The station type the walk-in is seated at while being served, e.g. a pedicure chair; null for none */
+    @Column(name = "station_type_id")
+    private Long stationTypeId;
+    
+    /** Id assigned by the kiosk to a check-in captured offline; unique so a re-sync is detected */
+    @Column(name = "client_ref", length = 36, unique = true)
+    private String clientRef;
+    
+    /** When the entry went IN_PROGRESS; unlike updatedAt, later edits to the entry leave it alone */
+    @Column(name = "serving_started_at")
+    private LocalDateTime servingStartedAt;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,83 @@
+package com.salonhub.api.queue.repository;
+
+import com.salonhub.api.queue.model.Queue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the queue table for bulk writes that would otherwise cost one round trip per row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class QueueJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO queue (customer_id, employee_id, appointment_id, queue_number, status, "
+            + "estimated_wait_time, position, notes, party_id, client_ref, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert all entries in a single JDBC batch. Generated ids and timestamps are written back
+     * onto the given entries; an entry that already carries a creation time keeps it.
+     */
+    public List<Queue> batchInsert(List<Queue> entries) {
+        if (entries.isEmpty()) {
+            return entries;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Queue entry = entries.get(i);
+                        ps.setLong(1, entry.getCustomerId());
+                        ps.setObject(2, entry.getEmployeeId(), Types.BIGINT);
+                        ps.setObject(3, entry.getAppointmentId(), Types.BIGINT);
+                        ps.setInt(4, entry.getQueueNumber());
+                        ps.setString(5, entry.getStatus().name());
+                        ps.setObject(6, entry.getEstimatedWaitTime(), Types.INTEGER);
+                        ps.setObject(7, entry.getPosition(), Types.INTEGER);
+                        ps.setString(8, entry.getNotes());
+                        ps.setString(9, entry.getPartyId());
+                        ps.setString(10, entry.getClientRef());
+                        ps.setTimestamp(11, entry.getCreatedAt() != null ? Timestamp.valueOf(entry.getCreatedAt()) : timestamp);
+                        ps.setTimestamp(12, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return entries.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < entries.size(); i++) {
+            Queue entry = entries.get(i);
+            entry.setId(((Number) keys.get(i).get("id")).longValue());
+            if (entry.getCreatedAt() == null) {
+                entry.setCreatedAt(now);
+            }
+            entry.setUpdatedAt(now);
+        }
+        return entries;
+    }
+}
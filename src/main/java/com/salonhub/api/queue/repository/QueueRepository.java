@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,9 @@ public interface QueueRepository extends JpaRepository<Queue, Long> {
     
     // Find all entries by status ordered by created time
     List<Queue> findByStatusOrderByCreatedAtAsc(QueueStatus status);
+
+    // Entries in a status created since a time (e.g. today's), oldest first; rows left over from earlier days are skipped
+    List<Queue> findByStatusAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(QueueStatus status, LocalDateTime createdAt);
     
     // Find queue entries for today by created time
     @Query("SELECT q FROM Queue q WHERE DATE(q.createdAt) = DATE(:date) ORDER BY q.createdAt ASC")
@@ -37,6 +41,16 @@ public interface QueueRepository extends JpaRepository<Queue, Long> {
     @Query("SELECT MAX(q.queueNumber) FROM Queue q WHERE CAST(q.createdAt AS DATE) = CAST(CURRENT_DATE AS DATE)")
     Optional<Integer> findMaxQueueNumber();
     
+    // Find the entries of a party that checked in together
+    List<Queue> findByPartyIdOrderByQueueNumberAsc(String partyId);
+    
+    // Find entries already synced from offline kiosks
+    List<Queue> findAllByClientRefIn(Collection<String> clientRefs);
+    
+    // Find which of these appointments already have a queue entry
+    @Query("SELECT q.appointmentId FROM Queue q WHERE q.appointmentId IN :appointmentIds")
+    List<Long> findAppointmentIdsIn(@Param("appointmentIds") Collection<Long> appointmentIds);
+    
     // Find queue entries by employee ID
     @Query("SELECT q FROM Queue q WHERE q.employeeId = :employeeId")
     List<Queue> findByEmployeeId(@Param("employeeId") Long employeeId);
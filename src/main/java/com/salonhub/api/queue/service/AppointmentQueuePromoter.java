@@ -0,0 +1,192 @@
+package com.salonhub.api.queue.service;
+
+import com.salonhub.api.appointment.event.AppointmentChangedEvent;
+import com.salonhub.api.appointment.model.Appointment;
+import com.salonhub.api.appointment.model.BookingStatus;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.AppointmentSpan;
+import com.salonhub.api.common.timer.HashedTimingWheel;
+import com.salonhub.api.queue.model.Queue;
+import com.salonhub.api.queue.model.QueueStatus;
+import com.salonhub.api.queue.repository.QueueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Puts booked customers on the queue board shortly before their appointment, so the board shows known
+ * upcoming work without anyone checking them in by hand.
+ *
+ * Today's pending and confirmed appointments sit in a {@link HashedTimingWheel}, each due {@code lead-time}
+ * before it starts. Every tick the wheel is advanced and whatever came due joins the queue in one batch
+ * insert with a single broadcast. Committed appointment changes move or drop that appointment's deadline;
+ * the wheel is rebuilt from the database when the day changes or many appointments change at once.
+ *
+ * An appointment that already has a queue entry (checked in early, or promoted by another instance)
+ * is skipped, as is one that is no longer pending or confirmed by the time it comes due.
+ */
+@Slf4j
+@Service
+public class AppointmentQueuePromoter {
+
+    private static final Set<BookingStatus> PROMOTABLE = Set.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final AppointmentRepository appointmentRepository;
+    private final QueueRepository queueRepository;
+    private final QueueService queueService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration leadTime;
+    private final Duration tick;
+    private final int wheelSize;
+    private final Counter promoted;
+
+    /** Guarded by this */
+    private HashedTimingWheel<Long> wheel;
+    /** The day the wheel holds; null until the first tick. Guarded by this */
+    private LocalDate loadedFor;
+
+    public AppointmentQueuePromoter(AppointmentRepository appointmentRepository,
+                                    QueueRepository queueRepository,
+                                    QueueService queueService,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${salonhub.queue.promotion.enabled:true}") boolean enabled,
+                                    @Value("${salonhub.queue.promotion.lead-time:15m}") Duration leadTime,
+                                    @Value("${salonhub.queue.promotion.tick-ms:30000}") long tickMillis,
+                                    @Value("${salonhub.queue.promotion.wheel-size:512}") int wheelSize) {
+        this.appointmentRepository = appointmentRepository;
+        this.queueRepository = queueRepository;
+        this.queueService = queueService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.leadTime = leadTime;
+        this.tick = Duration.ofMillis(tickMillis);
+        this.wheelSize = wheelSize;
+        this.promoted = Counter.builder("salonhub.queue.promoted")
+                .description("Appointments put on the queue ahead of their start time")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${salonhub.queue.promotion.tick-ms:30000}",
+               initialDelayString = "${salonhub.queue.promotion.tick-ms:30000}")
+    public void promoteDue() {
+        if (enabled) {
+            tick(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Advance the wheel to {@code now} and queue the appointments that came due.
+     *
+     * @return how many appointments joined the queue
+     */
+    int tick(LocalDateTime now) {
+        List<Long> due;
+        synchronized (this) {
+            if (!now.toLocalDate().equals(loadedFor)) {
+                load(now);
+            }
+            due = wheel.advance(millis(now));
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+        Integer count = transactionTemplate.execute(status -> promote(due, now.toLocalDate()));
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Move or drop the changed appointment's deadline once the change is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        LocalDate day;
+        synchronized (this) {
+            day = loadedFor;
+            if (day == null || !event.dates().contains(day)) {
+                return;
+            }
+            if (event.appointmentId() == null) {
+                loadedFor = null; // The next tick reloads the day
+                return;
+            }
+        }
+        Optional<Appointment> appointment = appointmentRepository.findById(event.appointmentId());
+        synchronized (this) {
+            if (!day.equals(loadedFor)) {
+                return;
+            }
+            if (appointment.isPresent() && isPromotable(appointment.get(), day)) {
+                wheel.schedule(event.appointmentId(), millis(appointment.get().getStartTime().minus(leadTime)));
+            } else {
+                wheel.cancel(event.appointmentId());
+            }
+        }
+    }
+
+    private void load(LocalDateTime now) {
+        wheel = new HashedTimingWheel<>(tick, wheelSize, millis(now));
+        List<AppointmentSpan> spans = appointmentRepository.findSpansStartingBetween(
+                now, now.toLocalDate().plusDays(1).atStartOfDay());
+        for (AppointmentSpan span : spans) {
+            wheel.schedule(span.appointmentId(), millis(span.startTime().minus(leadTime)));
+        }
+        loadedFor = now.toLocalDate();
+        log.debug("Scheduled {} appointment(s) for queue promotion on {}", spans.size(), loadedFor);
+    }
+
+    private int promote(List<Long> due, LocalDate day) {
+        Set<Long> queued = new HashSet<>(queueRepository.findAppointmentIdsIn(due));
+        List<Appointment> appointments = new ArrayList<>();
+        for (Appointment appointment : appointmentRepository.findAllById(due)) {
+            if (!queued.contains(appointment.getId()) && isPromotable(appointment, day)) {
+                appointments.add(appointment);
+            }
+        }
+        if (appointments.isEmpty()) {
+            return 0;
+        }
+        appointments.sort(Comparator.comparing(Appointment::getStartTime).thenComparing(Appointment::getId));
+
+        List<Queue> entries = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            entries.add(new Queue(appointment.getCustomer().getId(),
+                    appointment.getEmployee() != null ? appointment.getEmployee().getId() : null,
+                    appointment.getId(), null, QueueStatus.WAITING, null,
+                    "Appointment at " + appointment.getStartTime().format(TIME)));
+        }
+        queueService.addAllToQueue(entries);
+        promoted.increment(entries.size());
+        return entries.size();
+    }
+
+    private static boolean isPromotable(Appointment appointment, LocalDate day) {
+        return PROMOTABLE.contains(appointment.getStatus())
+                && appointment.getStartTime() != null
+                && appointment.getStartTime().toLocalDate().equals(day);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Service for broadcasting real-time queue updates via WebSocket.
@@ -16,6 +17,7 @@ import java.util.List;
  * - /topic/queue - Full queue list updates
  * - /topic/queue/stats - Queue statistics updates
  * - /topic/queue/entry/{id} - Individual entry updates
+ * - /topic/checkin/{ticketId} - Outcome of an asynchronous check-in
  */
 @Slf4j
 @Service
@@ -59,6 +61,18 @@ public class QueueNotificationService {
         messagingTemplate.convertAndSend("/topic/queue/removed", entryId);
     }
 
+    /**
+     * Publish the outcome of an asynchronous check-in to the kiosk waiting on its ticket.
+     */
+    public void sendCheckInConfirmation(UUID ticketId, Object payload) {
+        log.debug("Sending check-in confirmation for ticket {}", ticketId);
+        messagingTemplate.convertAndSend(checkInTopic(ticketId), payload);
+    }
+
+    public static String checkInTopic(UUID ticketId) {
+        return "/topic/checkin/" + ticketId;
+    }
+
     /**
      * Send notification to a specific user (authenticated WebSocket sessions).
      */
@@ -14,6 +14,16 @@ public interface QueueService {
      */
     Queue addToQueue(Queue queueEntry);
     
+    /**
+     * Add several customers to the queue at once, with consecutive queue numbers and a single broadcast
+     */
+    List<Queue> addAllToQueue(List<Queue> queueEntries);
+    
+    /**
+     * Add customers who arrived earlier (creation time already set), ranking them in the queue by arrival time
+     */
+    List<Queue> addToQueueByArrivalTime(List<Queue> queueEntries);
+    
     /**
      * Get current queue (waiting customers)
      */
@@ -24,6 +34,11 @@ public interface QueueService {
      */
     QueueEntryDTO getQueueEntry(Long id);
     
+    /**
+     * Get the queue entries of a party that checked in together
+     */
+    List<QueueEntryDTO> getParty(String partyId);
+    
     /**
      * Update queue entry
      */
@@ -1,21 +1,31 @@
 package com.salonhub.api.queue.service;
 
 import com.salonhub.api.queue.dto.QueueEntryDTO;
+import com.salonhub.api.queue.event.QueueChangedEvent;
 import com.salonhub.api.queue.dto.QueueUpdateDTO;
 import com.salonhub.api.queue.model.Queue;
 import com.salonhub.api.queue.model.QueueStatus;
+import com.salonhub.api.queue.repository.QueueJdbcRepository;
 import com.salonhub.api.queue.repository.QueueRepository;
 import com.salonhub.api.customer.model.Customer;
 import com.salonhub.api.customer.repository.CustomerRepository;
 import com.salonhub.api.employee.model.Employee;
 import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.station.repository.StationTypeRepository;
+import com.salonhub.api.station.service.StationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,9 +33,13 @@ import java.util.stream.Collectors;
 public class QueueServiceImpl implements QueueService {
     
     private final QueueRepository queueRepository;
+    private final QueueJdbcRepository queueJdbcRepository;
     private final CustomerRepository customerRepository;
     private final EmployeeRepository employeeRepository;
     private final QueueNotificationService notificationService;
+    private final ApplicationEventPublisher events;
+    private final StationService stationService;
+    private final StationTypeRepository stationTypeRepository;
     
     @Override
     @Transactional
@@ -43,6 +57,7 @@ public class QueueServiceImpl implements QueueService {
         }
         
         Queue saved = queueRepository.save(queueEntry);
+        events.publishEvent(new QueueChangedEvent(Set.of(saved.getId())));
         
         // Broadcast queue update via WebSocket
         broadcastQueueUpdate();
@@ -50,6 +65,73 @@ public class QueueServiceImpl implements QueueService {
         return saved;
     }
     
+    @Override
+    @Transactional
+    public List<Queue> addAllToQueue(List<Queue> queueEntries) {
+        if (queueEntries.isEmpty()) {
+            return queueEntries;
+        }
+        
+        // Read the counters once; entries are numbered as if added one after another
+        int nextQueueNumber = getNextQueueNumber();
+        int waiting = getCurrentQueueSize();
+        
+        for (int i = 0; i < queueEntries.size(); i++) {
+            Queue entry = queueEntries.get(i);
+            entry.setQueueNumber(nextQueueNumber + i);
+            entry.setPosition(waiting + i + 1);
+            if (entry.getEstimatedWaitTime() == null) {
+                entry.setEstimatedWaitTime(estimatedWaitTime(waiting + i));
+            }
+        }
+        
+        List<Queue> saved = queueJdbcRepository.batchInsert(queueEntries);
+        events.publishEvent(new QueueChangedEvent(ids(saved)));
+        
+        // One broadcast for the whole batch
+        broadcastQueueUpdate();
+        
+        return saved;
+    }
+    
+    @Override
+    @Transactional
+    public List<Queue> addToQueueByArrivalTime(List<Queue> queueEntries) {
+        if (queueEntries.isEmpty()) {
+            return queueEntries;
+        }
+        
+        // Tickets are handed out in arrival order, after today's existing numbers
+        List<Queue> byArrival = queueEntries.stream()
+                .sorted(Comparator.comparing(Queue::getCreatedAt))
+                .collect(Collectors.toList());
+        int nextQueueNumber = getNextQueueNumber();
+        for (int i = 0; i < byArrival.size(); i++) {
+            byArrival.get(i).setQueueNumber(nextQueueNumber + i);
+        }
+        queueJdbcRepository.batchInsert(byArrival);
+        events.publishEvent(new QueueChangedEvent(ids(byArrival)));
+        
+        // Waiting positions follow creation time, so re-rank everyone and copy the result back
+        updateQueuePositions();
+        Map<Long, Queue> ranked = queueRepository.findAllById(
+                        queueEntries.stream().map(Queue::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Queue::getId, Function.identity()));
+        for (Queue entry : queueEntries) {
+            Queue current = ranked.get(entry.getId());
+            if (current != null) {
+                entry.setPosition(current.getPosition());
+                entry.setEstimatedWaitTime(current.getEstimatedWaitTime());
+            }
+        }
+        
+        // One broadcast for the whole batch
+        broadcastQueueUpdate();
+        
+        return queueEntries;
+    }
+    
     @Override
     public List<QueueEntryDTO> getCurrentQueue() {
         List<Queue> queueEntries = queueRepository.findCurrentQueue();
@@ -65,6 +147,13 @@ public class QueueServiceImpl implements QueueService {
         return convertToDTO(queue);
     }
     
+    @Override
+    public List<QueueEntryDTO> getParty(String partyId) {
+        return queueRepository.findByPartyIdOrderByQueueNumberAsc(partyId).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
     @Override
     @Transactional
     public QueueEntryDTO updateQueueEntry(Long id, QueueUpdateDTO updateDTO) {
@@ -83,11 +172,28 @@ public class QueueServiceImpl implements QueueService {
             queue.setNotes(updateDTO.getNotes());
         }
         
+        QueueStatus previousStatus = queue.getStatus();
+        Long previousStationTypeId = queue.getStationTypeId();
+        if (updateDTO.getStationTypeId() != null) {
+            if (!stationTypeRepository.existsById(updateDTO.getStationTypeId())) {
+                throw new IllegalArgumentException("Station type not found with ID: " + updateDTO.getStationTypeId());
+            }
+            queue.setStationTypeId(updateDTO.getStationTypeId());
+        }
+        
         if (updateDTO.getStatus() != null) {
             queue.setStatus(QueueStatus.valueOf(updateDTO.getStatus()));
         }
+        if (queue.getStatus() == QueueStatus.IN_PROGRESS && (previousStatus != QueueStatus.IN_PROGRESS
+                || !Objects.equals(previousStationTypeId, queue.getStationTypeId()))) {
+            checkStationFree(queue);
+        }
+        if (queue.getStatus() == QueueStatus.IN_PROGRESS && previousStatus != QueueStatus.IN_PROGRESS) {
+            queue.setServingStartedAt(LocalDateTime.now());
+        }
         
         Queue saved = queueRepository.save(queue);
+        events.publishEvent(new QueueChangedEvent(Set.of(id)));
         
         // Update positions if status changed
         if (updateDTO.getStatus() != null) {
@@ -104,6 +210,7 @@ public class QueueServiceImpl implements QueueService {
     @Transactional
     public void removeFromQueue(Long id) {
         queueRepository.deleteById(id);
+        events.publishEvent(new QueueChangedEvent(Set.of(id)));
         updateQueuePositions();
         
         // Broadcast queue update via WebSocket
@@ -117,8 +224,13 @@ public class QueueServiceImpl implements QueueService {
         Queue queue = queueRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Queue entry not found with id: " + id));
         
+        if (status == QueueStatus.IN_PROGRESS && queue.getStatus() != QueueStatus.IN_PROGRESS) {
+            checkStationFree(queue);
+            queue.setServingStartedAt(LocalDateTime.now());
+        }
         queue.setStatus(status);
         Queue saved = queueRepository.save(queue);
+        events.publishEvent(new QueueChangedEvent(Set.of(id)));
         
         updateQueuePositions();
         
@@ -131,14 +243,18 @@ public class QueueServiceImpl implements QueueService {
     @Override
     public Integer calculateEstimatedWaitTime() {
         List<Queue> waitingCustomers = queueRepository.findByStatusOrderByCreatedAtAsc(QueueStatus.WAITING);
-        
-        if (waitingCustomers.isEmpty()) {
+        return estimatedWaitTime(waitingCustomers.size());
+    }
+
+    /**
+     * Estimated wait for a customer joining behind {@code waitingAhead} others.
+     */
+    static int estimatedWaitTime(int waitingAhead) {
+        if (waitingAhead == 0) {
             return 15; // Base wait time
         }
-        
-        // Average 30 minutes per customer + current queue
-        int baseTimePerCustomer = 30;
-        return baseTimePerCustomer * waitingCustomers.size();
+        // Average 30 minutes per customer ahead
+        return 30 * waitingAhead;
     }
     
     @Override
@@ -183,12 +299,26 @@ public class QueueServiceImpl implements QueueService {
         return queueRepository.findByStatusOrderByCreatedAtAsc(QueueStatus.WAITING).size();
     }
     
+    private static Set<Long> ids(List<Queue> entries) {
+        return entries.stream().map(Queue::getId).collect(Collectors.toSet());
+    }
+    
     private Integer getNextQueueNumber() {
         return queueRepository.findMaxQueueNumber()
                 .map(max -> max + 1)
                 .orElse(1);
     }
     
+    /**
+     * A walk-in about to be served at a station needs one free; booked customers' stations were checked when
+     * they booked.
+     */
+    private void checkStationFree(Queue queue) {
+        if (queue.getAppointmentId() == null) {
+            stationService.checkFree(queue, LocalDateTime.now());
+        }
+    }
+    
     private QueueEntryDTO convertToDTO(Queue queue) {
         QueueEntryDTO dto = new QueueEntryDTO();
         dto.setId(queue.getId());
@@ -200,6 +330,8 @@ public class QueueServiceImpl implements QueueService {
         dto.setStatus(queue.getStatus());
         dto.setPosition(queue.getPosition());
         dto.setNotes(queue.getNotes());
+        dto.setPartyId(queue.getPartyId());
+        dto.setStationTypeId(queue.getStationTypeId());
         dto.setCreatedAt(queue.getCreatedAt());
         dto.setUpdatedAt(queue.getUpdatedAt());
         
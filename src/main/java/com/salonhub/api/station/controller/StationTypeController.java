@@ -0,0 +1,62 @@
+package com.salonhub.api.station.controller;
+
+import com.salonhub.api.station.dto.StationTypeDTO;
+import com.salonhub.api.station.service.StationService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Station types and how many of each the salon has:
+ * - GET: FRONT_DESK, MANAGER, ADMIN
+ * - POST, PUT, DELETE: MANAGER, ADMIN
+ */
+@RestController
+@RequestMapping("/api/stations")
+public class StationTypeController {
+
+    private final StationService stationService;
+
+    public StationTypeController(StationService stationService) {
+        this.stationService = stationService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<List<StationTypeDTO>> list() {
+        return ResponseEntity.ok(stationService.findAll());
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<StationTypeDTO> create(@Valid @RequestBody StationTypeDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(stationService.create(request));
+    }
+
+    /**
+     * Rename or resize a station type; bookings already made are kept
+     */
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<StationTypeDTO> update(@PathVariable Long id, @Valid @RequestBody StationTypeDTO request) {
+        return ResponseEntity.ok(stationService.update(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        stationService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
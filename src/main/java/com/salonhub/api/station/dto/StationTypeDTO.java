@@ -0,0 +1,26 @@
+package com.salonhub.api.station.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationTypeDTO {
+    /** Ignored on create and update */
+    private Long id;
+
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+
+    /** How many there are; 0 takes the type out of service */
+    @NotNull
+    @PositiveOrZero
+    private Integer capacity;
+}
@@ -0,0 +1,8 @@
+package com.salonhub.api.station.event;
+
+/**
+ * Published when a station type is added, resized or removed, so anything that cached station capacity
+ * rebuilds it.
+ */
+public record StationTypesChangedEvent(Long stationTypeId) {
+}
@@ -0,0 +1,34 @@
+package com.salonhub.api.station.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A kind of station or equipment that services need, e.g. pedicure chairs, and how many the salon has.
+ * A service needing one takes one of them for its whole duration.
+ */
+@Entity
+@Table(name = "station_types")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationType {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+
+    /** How many there are; 0 takes the type out of service */
+    @Column(nullable = false)
+    private int capacity;
+}
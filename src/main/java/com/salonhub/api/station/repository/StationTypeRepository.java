@@ -0,0 +1,22 @@
+package com.salonhub.api.station.repository;
+
+import com.salonhub.api.station.model.StationType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface StationTypeRepository extends JpaRepository<StationType, Long> {
+
+    boolean existsByNameIgnoreCase(String name);
+
+    Optional<StationType> findByNameIgnoreCase(String name);
+
+    /**
+     * Lock a station type's row until the end of the current transaction; the booking lock where advisory
+     * locks are unavailable. Native so the same FOR UPDATE runs on PostgreSQL and H2.
+     */
+    @Query(value = "SELECT id FROM station_types WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+}
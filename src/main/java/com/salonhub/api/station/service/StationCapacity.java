@@ -0,0 +1,124 @@
+package com.salonhub.api.station.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How many of each station type are in use through one day, as bitmaps of fixed-size slots.
+ *
+ * A station type with {@code n} stations has {@code n} bitmaps, one bit per slot: bit {@code s} of bitmap
+ * {@code k} is set when more than {@code k} stations are in use in slot {@code s}. Whether one more fits in an
+ * interval is then whether the top bitmap has any bit set across it, and taking a station is an OR of each
+ * bitmap into the one above; a day of 5-minute slots is five words per bitmap. Times are minutes since
+ * midnight; an interval takes every slot it touches.
+ *
+ * Not thread-safe while being filled; read-only once handed out, or use {@link #copy()}.
+ */
+public final class StationCapacity {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final int slotMinutes;
+    private final int words;
+    /** Per station type id: bitmaps[k] marks the slots where more than k stations are in use */
+    private final Map<Long, long[][]> bitmaps;
+
+    /**
+     * @param capacities how many stations of each type there are
+     */
+    public StationCapacity(Map<Long, Integer> capacities, int slotMinutes) {
+        if (slotMinutes <= 0 || MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalArgumentException("Slot length must divide a day, got " + slotMinutes + " minutes");
+        }
+        this.slotMinutes = slotMinutes;
+        this.words = (MINUTES_PER_DAY / slotMinutes + 63) / 64;
+        this.bitmaps = new HashMap<>();
+        capacities.forEach((stationTypeId, capacity) ->
+                bitmaps.put(stationTypeId, new long[Math.max(0, capacity)][words]));
+    }
+
+    private StationCapacity(StationCapacity other) {
+        this.slotMinutes = other.slotMinutes;
+        this.words = other.words;
+        this.bitmaps = new HashMap<>();
+        other.bitmaps.forEach((stationTypeId, layers) -> {
+            long[][] copy = new long[layers.length][];
+            for (int k = 0; k < layers.length; k++) {
+                copy[k] = layers[k].clone();
+            }
+            bitmaps.put(stationTypeId, copy);
+        });
+    }
+
+    /**
+     * Whether a station of this type is free for the whole of [start, end). Unknown types are not limited.
+     */
+    public boolean fits(long stationTypeId, int start, int end) {
+        return fits(stationTypeId, start, end, 0);
+    }
+
+    /**
+     * Whether {@code 1 + alsoNeeded} stations of this type are free for the whole of [start, end).
+     */
+    public boolean fits(long stationTypeId, int start, int end, int alsoNeeded) {
+        long[][] layers = bitmaps.get(stationTypeId);
+        if (layers == null) {
+            return true;
+        }
+        int layer = layers.length - 1 - alsoNeeded;
+        if (layer < 0) {
+            return false;
+        }
+        int from = firstSlot(start);
+        int to = endSlot(end);
+        long[] full = layers[layer];
+        for (int word = from >>> 6; word < words && word << 6 < to; word++) {
+            if ((full[word] & mask(word, from, to)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Take one station of this type for [start, end). Taking more than there are leaves the type full.
+     */
+    public void add(long stationTypeId, int start, int end) {
+        long[][] layers = bitmaps.get(stationTypeId);
+        if (layers == null || layers.length == 0) {
+            return;
+        }
+        int from = firstSlot(start);
+        int to = endSlot(end);
+        for (int word = from >>> 6; word < words && word << 6 < to; word++) {
+            long mask = mask(word, from, to);
+            // Top down, so each bitmap is raised from the one below before that one changes
+            for (int k = layers.length - 1; k > 0; k--) {
+                layers[k][word] |= layers[k - 1][word] & mask;
+            }
+            layers[0][word] |= mask;
+        }
+    }
+
+    public StationCapacity copy() {
+        return new StationCapacity(this);
+    }
+
+    private int firstSlot(int minute) {
+        return Math.max(0, Math.min(MINUTES_PER_DAY, minute)) / slotMinutes;
+    }
+
+    private int endSlot(int minute) {
+        return (Math.max(0, Math.min(MINUTES_PER_DAY, minute)) + slotMinutes - 1) / slotMinutes;
+    }
+
+    /**
+     * The bits of {@code word} that fall in slots [from, to).
+     */
+    private static long mask(int word, int from, int to) {
+        int low = Math.max(from - (word << 6), 0);
+        int high = Math.min(to - (word << 6), 64);
+        long upTo = high == 64 ? -1L : (1L << high) - 1;
+        return upTo & (-1L << low);
+    }
+}
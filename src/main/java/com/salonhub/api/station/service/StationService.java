@@ -0,0 +1,223 @@
+package com.salonhub.api.station.service;
+
+import com.salonhub.api.appointment.model.Appointment;
+import com.salonhub.api.appointment.model.StationUse;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.service.BookingCoordinator;
+import com.salonhub.api.queue.model.Queue;
+import com.salonhub.api.queue.model.QueueStatus;
+import com.salonhub.api.queue.repository.QueueRepository;
+import com.salonhub.api.station.dto.StationTypeDTO;
+import com.salonhub.api.station.event.StationTypesChangedEvent;
+import com.salonhub.api.station.model.StationType;
+import com.salonhub.api.station.repository.StationTypeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Station types and how many of each the salon has, and the capacity checks built on them.
+ *
+ * A day's use of every station type is read from the appointments that day whose services need one, plus
+ * (today) the walk-ins being served at one, into a {@link StationCapacity}. Bookings check it under the
+ * station types' booking locks; availability search keeps one per cached day.
+ */
+@Service
+@Transactional
+public class StationService {
+
+    private final StationTypeRepository stationTypeRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final QueueRepository queueRepository;
+    private final BookingCoordinator bookingCoordinator;
+    private final ApplicationEventPublisher events;
+    private final int slotMinutes;
+    private final int walkInMinutes;
+
+    public StationService(StationTypeRepository stationTypeRepository,
+                          AppointmentRepository appointmentRepository,
+                          QueueRepository queueRepository,
+                          BookingCoordinator bookingCoordinator,
+                          ApplicationEventPublisher events,
+                          @Value("${salonhub.stations.slot-minutes:5}") int slotMinutes,
+                          @Value("${salonhub.availability.walk-in-minutes:30}") int walkInMinutes) {
+        this.stationTypeRepository = stationTypeRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.queueRepository = queueRepository;
+        this.bookingCoordinator = bookingCoordinator;
+        this.events = events;
+        this.slotMinutes = slotMinutes;
+        this.walkInMinutes = walkInMinutes;
+    }
+
+    @Transactional(readOnly = true)
+    public List<StationTypeDTO> findAll() {
+        return stationTypeRepository.findAll().stream().map(StationService::toDto).toList();
+    }
+
+    public StationTypeDTO create(StationTypeDTO request) {
+        if (stationTypeRepository.existsByNameIgnoreCase(request.getName().trim())) {
+            throw new IllegalArgumentException("Station type with this name already exists");
+        }
+        StationType saved = stationTypeRepository.save(
+                new StationType(null, request.getName().trim(), request.getCapacity()));
+        events.publishEvent(new StationTypesChangedEvent(saved.getId()));
+        return toDto(saved);
+    }
+
+    /**
+     * Rename or resize a station type. Shrinking it doesn't touch bookings already made.
+     */
+    public StationTypeDTO update(Long id, StationTypeDTO request) {
+        StationType stationType = stationTypeRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Station type not found with ID: " + id));
+        Optional<StationType> sameName = stationTypeRepository.findByNameIgnoreCase(request.getName().trim());
+        if (sameName.isPresent() && !sameName.get().getId().equals(id)) {
+            throw new IllegalArgumentException("Station type with this name already exists");
+        }
+        stationType.setName(request.getName().trim());
+        stationType.setCapacity(request.getCapacity());
+        events.publishEvent(new StationTypesChangedEvent(id));
+        return toDto(stationTypeRepository.save(stationType));
+    }
+
+    /**
+     * Remove a station type; services that needed it no longer need a station.
+     */
+    public void delete(Long id) {
+        if (!stationTypeRepository.existsById(id)) {
+            throw new EntityNotFoundException("Station type not found with ID: " + id);
+        }
+        stationTypeRepository.deleteById(id);
+        events.publishEvent(new StationTypesChangedEvent(id));
+    }
+
+    /**
+     * Every station type's use on {@code date}.
+     */
+    @Transactional(readOnly = true)
+    public StationCapacity capacity(LocalDate date, LocalDateTime now) {
+        return build(date, now, Set.of(), null);
+    }
+
+    /**
+     * Make sure a station is free for each of an appointment's services that needs one, taking the station
+     * types' booking locks first. Call with the appointment's technicians already locked.
+     *
+     * @throws IllegalStateException when a station type is fully in use for part of a service
+     */
+    public void checkFree(Appointment appt) {
+        checkFree(appt.stationUses(), appt.getId() != null ? Set.of(appt.getId()) : Set.of());
+    }
+
+    /**
+     * Make sure a station is free for every use, as {@link #checkFree(Appointment)}, reading each day once.
+     *
+     * @param skipAppointmentIds appointments whose current station use is being replaced by {@code uses}
+     */
+    public void checkFree(List<StationUse> uses, Collection<Long> skipAppointmentIds) {
+        if (uses.isEmpty()) {
+            return;
+        }
+        bookingCoordinator.lockStations(uses.stream().map(StationUse::stationTypeId).toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<LocalDate, StationCapacity> days = new HashMap<>();
+        for (int i = 0; i < uses.size(); i++) {
+            StationUse use = uses.get(i);
+            LocalDate date = use.start().toLocalDate();
+            StationCapacity capacity = days.computeIfAbsent(date, day -> build(day, now, skipAppointmentIds, null));
+            // Services running side by side can need more than one station of a type at once
+            int alsoNeeded = 0;
+            for (int j = 0; j < i; j++) {
+                StationUse other = uses.get(j);
+                if (other.stationTypeId() == use.stationTypeId()
+                        && other.start().isBefore(use.end()) && use.start().isBefore(other.end())) {
+                    alsoNeeded++;
+                }
+            }
+            LocalDateTime dayStart = date.atStartOfDay();
+            if (!capacity.fits(use.stationTypeId(), minutesSince(dayStart, use.start()),
+                    minutesSince(dayStart, use.end()), alsoNeeded)) {
+                throw new IllegalStateException("No " + stationName(use.stationTypeId()) + " is free at "
+                        + use.start().toLocalDate() + " " + use.start().toLocalTime());
+            }
+        }
+    }
+
+    /**
+     * Make sure a station is free for a walk-in about to be served at one, for a typical service from now.
+     *
+     * @throws IllegalStateException when every station of the type is in use
+     */
+    public void checkFree(Queue walkIn, LocalDateTime now) {
+        if (walkIn.getStationTypeId() == null) {
+            return;
+        }
+        bookingCoordinator.lockStations(List.of(walkIn.getStationTypeId()));
+        LocalDateTime dayStart = now.toLocalDate().atStartOfDay();
+        int start = minutesSince(dayStart, now);
+        if (!build(now.toLocalDate(), now, Set.of(), walkIn.getId()).fits(walkIn.getStationTypeId(), start, start + walkInMinutes)) {
+            throw new IllegalStateException("No " + stationName(walkIn.getStationTypeId()) + " is free right now");
+        }
+    }
+
+    private StationCapacity build(LocalDate date, LocalDateTime now, Collection<Long> skipAppointmentIds, Long skipQueueId) {
+        Map<Long, Integer> capacities = new HashMap<>();
+        for (StationType stationType : stationTypeRepository.findAll()) {
+            capacities.put(stationType.getId(), stationType.getCapacity());
+        }
+        StationCapacity capacity = new StationCapacity(capacities, slotMinutes);
+        if (capacities.isEmpty()) {
+            return capacity;
+        }
+
+        LocalDateTime dayStart = date.atStartOfDay();
+        for (Appointment appt : appointmentRepository.findWithStationsStartingBetween(dayStart, dayStart.plusDays(1))) {
+            if (skipAppointmentIds.contains(appt.getId())) {
+                continue;
+            }
+            for (StationUse use : appt.stationUses()) {
+                capacity.add(use.stationTypeId(), minutesSince(dayStart, use.start()), minutesSince(dayStart, use.end()));
+            }
+        }
+        if (date.equals(now.toLocalDate())) {
+            for (Queue entry : queueRepository.findByStatusAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                    QueueStatus.IN_PROGRESS, dayStart)) {
+                if (entry.getStationTypeId() == null || entry.getAppointmentId() != null
+                        || Objects.equals(entry.getId(), skipQueueId)) {
+                    continue; // Booked customers' stations come from their appointment
+                }
+                LocalDateTime started = entry.getServingStartedAt() != null ? entry.getServingStartedAt() : now;
+                int start = minutesSince(dayStart, started);
+                int end = Math.max(start + walkInMinutes, minutesSince(dayStart, now) + slotMinutes);
+                capacity.add(entry.getStationTypeId(), start, end);
+            }
+        }
+        return capacity;
+    }
+
+    private String stationName(long stationTypeId) {
+        return stationTypeRepository.findById(stationTypeId).map(StationType::getName).orElse("station");
+    }
+
+    private static StationTypeDTO toDto(StationType stationType) {
+        return new StationTypeDTO(stationType.getId(), stationType.getName(), stationType.getCapacity());
+    }
+
+    private static int minutesSince(LocalDateTime dayStart, LocalDateTime time) {
+        return (int) Duration.between(dayStart, time).toMinutes();
+    }
+}
@@ -0,0 +1,61 @@
+package com.salonhub.api.waitlist.controller;
+
+import com.salonhub.api.waitlist.dto.WaitlistEntryDTO;
+import com.salonhub.api.waitlist.dto.WaitlistRequestDTO;
+import com.salonhub.api.waitlist.service.WaitlistService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Waitlist for a technician's time; offers are pushed to /topic/waitlist/{id}:
+ * - POST, GET, DELETE, POST accept: FRONT_DESK, MANAGER, ADMIN
+ */
+@RestController
+@RequestMapping("/api/waitlist")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<WaitlistEntryDTO> join(@Valid @RequestBody WaitlistRequestDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.join(request));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<WaitlistEntryDTO> get(@PathVariable Long id) {
+        return ResponseEntity.ok(waitlistService.get(id));
+    }
+
+    /**
+     * Leave the waitlist, giving up any open offer
+     */
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<WaitlistEntryDTO> cancel(@PathVariable Long id) {
+        return ResponseEntity.ok(waitlistService.cancel(id));
+    }
+
+    /**
+     * Book the offered time; 409 when the offer has lapsed
+     */
+    @PostMapping("/{id}/accept")
+    @PreAuthorize("hasAnyRole('FRONT_DESK', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<WaitlistEntryDTO> accept(@PathVariable Long id) {
+        return ResponseEntity.ok(waitlistService.accept(id));
+    }
+}
@@ -0,0 +1,28 @@
+package com.salonhub.api.waitlist.dto;
+
+import com.salonhub.api.waitlist.model.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryDTO {
+    private Long id;
+    private Long customerId;
+    private Long employeeId;
+    private List<Long> serviceIds;
+    private Integer durationMinutes;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private WaitlistStatus status;
+    /** Set while an offer is open: the held start time and when the hold lapses */
+    private LocalDateTime offeredStart;
+    private LocalDateTime offerExpiresAt;
+    /** Set once the offer was booked */
+    private Long appointmentId;
+}
@@ -0,0 +1,32 @@
+package com.salonhub.api.waitlist.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistRequestDTO {
+    @NotNull(message = "Customer is required")
+    private Long customerId;
+
+    @NotNull(message = "Staff is required")
+    private Long employeeId;
+
+    @NotEmpty(message = "At least one service must be selected")
+    private List<@NotNull Long> serviceIds;
+
+    /** Earliest acceptable start */
+    @NotNull(message = "Window start is required")
+    private LocalDateTime windowStart;
+
+    /** Latest acceptable end, on the same day as windowStart */
+    @NotNull(message = "Window end is required")
+    private LocalDateTime windowEnd;
+}
@@ -0,0 +1,14 @@
+package com.salonhub.api.waitlist.model;
+
+public enum WaitlistStatus {
+    /** Waiting for time to free up in the requested window */
+    WAITING,
+    /** Freed time is held for the customer until the offer expires */
+    OFFERED,
+    /** The offer was taken and booked */
+    BOOKED,
+    /** The offer lapsed without being taken */
+    EXPIRED,
+    /** Withdrawn before being booked */
+    CANCELLED
+}
@@ -0,0 +1,70 @@
+package com.salonhub.api.waitlist.repository;
+
+import com.salonhub.api.waitlist.model.WaitlistEntry;
+import com.salonhub.api.waitlist.model.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /** An employee's entries in {@code status} whose window starts in [start, end) */
+    @Query("SELECT e FROM WaitlistEntry e "
+            + "WHERE e.employeeId = :employeeId AND e.windowStart >= :start AND e.windowStart < :end "
+            + "AND e.status = :status "
+            + "ORDER BY e.windowStart, e.id")
+    List<WaitlistEntry> findForEmployeeWindowStartingBetween(@Param("employeeId") Long employeeId,
+                                                             @Param("start") LocalDateTime start,
+                                                             @Param("end") LocalDateTime end,
+                                                             @Param("status") WaitlistStatus status);
+
+    /** Open offers that lapsed by {@code now}; a range over the (status, offer_expires_at) index */
+    @Query("SELECT e FROM WaitlistEntry e "
+            + "WHERE e.status = com.salonhub.api.waitlist.model.WaitlistStatus.OFFERED AND e.offerExpiresAt <= :now "
+            + "ORDER BY e.offerExpiresAt")
+    List<WaitlistEntry> findLapsedOffers(@Param("now") LocalDateTime now);
+
+    /**
+     * Turn a waiting entry into an open offer. Conditional on it still waiting, so two instances
+     * can't both make it an offer.
+     *
+     * @return 1 when the entry was waiting and now holds the offer
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE WaitlistEntry e SET e.status = com.salonhub.api.waitlist.model.WaitlistStatus.OFFERED, "
+            + "e.holdId = :holdId, e.offeredStart = :offeredStart, e.offerExpiresAt = :expiresAt "
+            + "WHERE e.id = :id AND e.status = com.salonhub.api.waitlist.model.WaitlistStatus.WAITING")
+    int markOffered(@Param("id") Long id,
+                    @Param("holdId") UUID holdId,
+                    @Param("offeredStart") LocalDateTime offeredStart,
+                    @Param("expiresAt") LocalDateTime expiresAt);
+
+    /** Close a lapsed offer, unless it was taken or withdrawn meanwhile */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE WaitlistEntry e SET e.status = com.salonhub.api.waitlist.model.WaitlistStatus.EXPIRED "
+            + "WHERE e.id = :id AND e.status = com.salonhub.api.waitlist.model.WaitlistStatus.OFFERED")
+    int markExpired(@Param("id") Long id);
+
+    /** Record the booking made from an open offer; 0 when the offer lapsed or was withdrawn first */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE WaitlistEntry e SET e.status = com.salonhub.api.waitlist.model.WaitlistStatus.BOOKED, "
+            + "e.appointmentId = :appointmentId "
+            + "WHERE e.id = :id AND e.status = com.salonhub.api.waitlist.model.WaitlistStatus.OFFERED")
+    int markBooked(@Param("id") Long id, @Param("appointmentId") Long appointmentId);
+
+    /** Withdraw an entry that is still in {@code status}; 0 when it moved on meanwhile */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE WaitlistEntry e SET e.status = com.salonhub.api.waitlist.model.WaitlistStatus.CANCELLED "
+            + "WHERE e.id = :id AND e.status = :status")
+    int markCancelled(@Param("id") Long id, @Param("status") WaitlistStatus status);
+}
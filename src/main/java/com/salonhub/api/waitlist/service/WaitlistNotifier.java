@@ -0,0 +1,36 @@
+package com.salonhub.api.waitlist.service;
+
+import com.salonhub.api.waitlist.dto.WaitlistEntryDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Tells waitlisted customers about their entry over WebSocket.
+ *
+ * Broadcast Channels:
+ * - /topic/waitlist/{id} - The entry after an offer is made or lapses
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistNotifier {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public void offered(WaitlistEntryDTO entry) {
+        log.info("Offered waitlist entry id={} {} with employee id={} until {}",
+                entry.getId(), entry.getOfferedStart(), entry.getEmployeeId(), entry.getOfferExpiresAt());
+        messagingTemplate.convertAndSend(topic(entry.getId()), entry);
+    }
+
+    public void expired(WaitlistEntryDTO entry) {
+        log.debug("Offer to waitlist entry id={} lapsed", entry.getId());
+        messagingTemplate.convertAndSend(topic(entry.getId()), entry);
+    }
+
+    public static String topic(Long entryId) {
+        return "/topic/waitlist/" + entryId;
+    }
+}
@@ -0,0 +1,492 @@
+package com.salonhub.api.waitlist.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.AppointmentResponseDTO;
+import com.salonhub.api.appointment.dto.SlotHoldDTO;
+import com.salonhub.api.appointment.event.AppointmentsCancelledEvent;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.model.SlotHold;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.AppointmentSpan;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.appointment.service.AppointmentService;
+import com.salonhub.api.appointment.service.BookingCoordinator;
+import com.salonhub.api.appointment.service.SlotHoldService;
+import com.salonhub.api.common.interval.IntervalTree;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.waitlist.dto.WaitlistEntryDTO;
+import com.salonhub.api.waitlist.dto.WaitlistRequestDTO;
+import com.salonhub.api.waitlist.model.WaitlistEntry;
+import com.salonhub.api.waitlist.model.WaitlistStatus;
+import com.salonhub.api.waitlist.repository.WaitlistEntryRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Customers waiting for a technician's time, offered it automatically when a booking with that technician
+ * is cancelled.
+ *
+ * Waiting entries are indexed per technician and day in an {@link IntervalTree} over their windows, in
+ * minutes since midnight, loaded from the database the first time that day's time frees up. Freed time is
+ * matched on a single background thread, so cancelling costs the same however long the waitlist is: the
+ * index yields the windows overlapping the freed time, the oldest entry whose services fit is offered the
+ * earliest time it can have, and whatever is left of the freed time goes to the next entry. Freed time that
+ * was partly booked or held again before matching is worked out afresh, and what is still free is offered
+ * on. An offer is a {@link SlotHoldService} hold for {@code offer-ttl}; one that lapses is expired on a
+ * timer and its time offered on down the list.
+ */
+@Slf4j
+@Service
+public class WaitlistService {
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final CustomerRepository customerRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ServiceTypeRepository serviceTypeRepository;
+    private final AppointmentService appointmentService;
+    private final AppointmentRepository appointmentRepository;
+    private final SlotHoldService slotHoldService;
+    private final BookingCoordinator bookingCoordinator;
+    private final WaitlistNotifier notifier;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration offerTtl;
+    private final ExecutorService matcher;
+
+    /** Waiting entries by technician and day; a day is absent until first needed. Guarded by this */
+    private final Map<DayKey, IntervalTree<Waiting>> index = new HashMap<>();
+
+    public WaitlistService(WaitlistEntryRepository waitlistRepository,
+                           CustomerRepository customerRepository,
+                           EmployeeRepository employeeRepository,
+                           ServiceTypeRepository serviceTypeRepository,
+                           AppointmentService appointmentService,
+                           AppointmentRepository appointmentRepository,
+                           SlotHoldService slotHoldService,
+                           BookingCoordinator bookingCoordinator,
+                           WaitlistNotifier notifier,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${salonhub.waitlist.enabled:true}") boolean enabled,
+                           @Value("${salonhub.waitlist.offer-ttl:30m}") Duration offerTtl) {
+        this.waitlistRepository = waitlistRepository;
+        this.customerRepository = customerRepository;
+        this.employeeRepository = employeeRepository;
+        this.serviceTypeRepository = serviceTypeRepository;
+        this.appointmentService = appointmentService;
+        this.appointmentRepository = appointmentRepository;
+        this.slotHoldService = slotHoldService;
+        this.bookingCoordinator = bookingCoordinator;
+        this.notifier = notifier;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.offerTtl = offerTtl;
+        this.matcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "waitlist-matcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        matcher.shutdownNow();
+    }
+
+    /**
+     * Wait for time with the technician anywhere inside the requested window.
+     *
+     * @throws IllegalArgumentException when the window is empty, spans days, has passed or is too short
+     */
+    public WaitlistEntryDTO join(WaitlistRequestDTO req) {
+        LocalDateTime start = req.getWindowStart();
+        LocalDateTime end = req.getWindowEnd();
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("The window must end after it starts");
+        }
+        if (end.isAfter(start.toLocalDate().plusDays(1).atStartOfDay())) {
+            throw new IllegalArgumentException("The window must fall within one day");
+        }
+        if (!end.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("The window has already passed");
+        }
+        if (!customerRepository.existsById(req.getCustomerId())) {
+            throw new EntityNotFoundException("Customer not found with ID: " + req.getCustomerId());
+        }
+        if (!employeeRepository.existsById(req.getEmployeeId())) {
+            throw new EntityNotFoundException("Staff not found with ID: " + req.getEmployeeId());
+        }
+        List<Long> serviceIds = List.copyOf(new LinkedHashSet<>(req.getServiceIds()));
+        int duration = totalDuration(serviceIds);
+        if (start.plusMinutes(duration).isAfter(end)) {
+            throw new IllegalArgumentException("The window is shorter than the selected services");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setCustomerId(req.getCustomerId());
+        entry.setEmployeeId(req.getEmployeeId());
+        entry.setServiceIds(new ArrayList<>(serviceIds));
+        entry.setDurationMinutes(duration);
+        entry.setWindowStart(start);
+        entry.setWindowEnd(end);
+        entry.setStatus(WaitlistStatus.WAITING);
+        WaitlistEntry saved = waitlistRepository.save(entry);
+        synchronized (this) {
+            IntervalTree<Waiting> tree = index.get(new DayKey(saved.getEmployeeId(), start.toLocalDate()));
+            if (tree != null) {
+                put(tree, saved);
+            }
+        }
+        return toDto(saved);
+    }
+
+    public WaitlistEntryDTO get(Long id) {
+        return toDto(find(id));
+    }
+
+    /**
+     * Leave the waitlist; an open offer is given up and its time offered to the next entry.
+     *
+     * @throws IllegalStateException when the entry was already booked, expired or cancelled
+     */
+    public WaitlistEntryDTO cancel(Long id) {
+        WaitlistEntry entry = find(id);
+        WaitlistStatus was = entry.getStatus();
+        if ((was != WaitlistStatus.WAITING && was != WaitlistStatus.OFFERED)
+                || waitlistRepository.markCancelled(id, was) == 0) {
+            throw new IllegalStateException("Waitlist entry is no longer waiting");
+        }
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        unindex(entry);
+        if (was == WaitlistStatus.OFFERED) {
+            slotHoldService.release(entry.getHoldId());
+            submit(List.of(offeredSpan(entry)));
+        }
+        return toDto(entry);
+    }
+
+    /**
+     * Book the time an entry was offered, turning its hold into the appointment.
+     *
+     * @throws IllegalStateException when there is no open offer or it has lapsed
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public WaitlistEntryDTO accept(Long id) {
+        WaitlistEntry entry = bookingCoordinator.execute(() -> doAccept(id));
+        slotHoldService.forget(entry.getHoldId());
+        return toDto(entry);
+    }
+
+    private WaitlistEntry doAccept(Long id) {
+        WaitlistEntry entry = find(id);
+        if (entry.getStatus() != WaitlistStatus.OFFERED) {
+            throw new IllegalStateException("Waitlist entry has no open offer");
+        }
+        slotHoldService.claim(entry.getHoldId());
+        AppointmentResponseDTO appointment = appointmentService.book(new AppointmentRequestDTO(
+                entry.getCustomerId(), entry.getEmployeeId(), List.copyOf(entry.getServiceIds()),
+                entry.getOfferedStart()));
+        if (waitlistRepository.markBooked(id, appointment.getId()) == 0) {
+            throw new IllegalStateException("The offer was withdrawn");
+        }
+        entry.setStatus(WaitlistStatus.BOOKED);
+        entry.setAppointmentId(appointment.getId());
+        return entry;
+    }
+
+    /**
+     * Hand time freed by committed cancellations to the matcher thread.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentsCancelled(AppointmentsCancelledEvent event) {
+        if (enabled) {
+            submit(event.spans());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${salonhub.waitlist.expiry-interval-ms:15000}",
+               initialDelayString = "${salonhub.waitlist.expiry-interval-ms:15000}")
+    public void expireLapsedOffers() {
+        if (enabled) {
+            expireOffers(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Expire the offers that lapsed by {@code now} and offer their time to the next entries.
+     *
+     * @return how many offers expired
+     */
+    int expireOffers(LocalDateTime now) {
+        synchronized (this) {
+            index.keySet().removeIf(key -> key.day().isBefore(now.toLocalDate()));
+        }
+        int expired = 0;
+        for (WaitlistEntry entry : waitlistRepository.findLapsedOffers(now)) {
+            if (waitlistRepository.markExpired(entry.getId()) == 0) {
+                continue; // Accepted or withdrawn meanwhile
+            }
+            expired++;
+            entry.setStatus(WaitlistStatus.EXPIRED);
+            slotHoldService.release(entry.getHoldId());
+            notifier.expired(toDto(entry));
+            fill(offeredSpan(entry), now);
+        }
+        return expired;
+    }
+
+    private void submit(List<AppointmentSpan> spans) {
+        try {
+            matcher.execute(() -> {
+                LocalDateTime now = LocalDateTime.now();
+                for (AppointmentSpan span : spans) {
+                    try {
+                        fill(span, now);
+                    } catch (RuntimeException e) {
+                        log.warn("Could not offer freed time {} - {} with employee id={} to the waitlist",
+                                span.startTime(), span.endTime(), span.employeeId(), e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Waitlist matcher is shut down; {} freed slot(s) not offered", spans.size());
+        }
+    }
+
+    /**
+     * Offer the freed span, less anything already past, to as many waiting entries as it fits.
+     */
+    private void fill(AppointmentSpan span, LocalDateTime now) {
+        LocalDate day = span.startTime().toLocalDate();
+        LocalDateTime midnight = day.atStartOfDay();
+        long from = Math.max(minutes(midnight, span.startTime()), minutesRoundedUp(midnight, now));
+        long to = Math.min(minutes(midnight, span.endTime()), MINUTES_PER_DAY);
+        Deque<long[]> free = new ArrayDeque<>();
+        if (from < to) {
+            free.push(new long[] {from, to});
+        }
+        // Entries whose offer hit time taken again; once more and they sit out the rest of this freed time
+        Set<Long> conflicted = new HashSet<>();
+        Set<Long> skipped = new HashSet<>();
+        while (!free.isEmpty()) {
+            long[] gap = free.pop();
+            Waiting next = first(span.employeeId(), day, gap[0], gap[1], skipped);
+            if (next == null) {
+                continue;
+            }
+            long offerStart = Math.max(gap[0], next.windowStart());
+            long offerEnd = offerStart + next.durationMinutes();
+            boolean offered;
+            try {
+                offered = offer(next, span.employeeId(), midnight.plusMinutes(offerStart), midnight.plusMinutes(offerEnd));
+            } catch (IllegalStateException e) {
+                // Part of the gap was booked or held again before we got to it; the rest still goes out
+                log.debug("Freed time {} - {} with employee id={} is no longer all free: {}",
+                        midnight.plusMinutes(gap[0]), midnight.plusMinutes(gap[1]), span.employeeId(), e.getMessage());
+                if (!conflicted.add(next.id())) {
+                    skipped.add(next.id());
+                }
+                List<long[]> stillFree = stillFree(span.employeeId(), midnight, gap);
+                for (int i = stillFree.size() - 1; i >= 0; i--) {
+                    free.push(stillFree.get(i));
+                }
+                continue;
+            }
+            synchronized (this) {
+                IntervalTree<Waiting> tree = index.get(new DayKey(span.employeeId(), day));
+                if (tree != null) {
+                    tree.remove(next.windowStart(), next.id());
+                }
+            }
+            if (!offered) {
+                free.push(gap); // The entry had already moved on; try the next one
+                continue;
+            }
+            if (offerEnd < gap[1]) {
+                free.push(new long[] {offerEnd, gap[1]});
+            }
+            if (gap[0] < offerStart) {
+                free.push(new long[] {gap[0], offerStart});
+            }
+        }
+    }
+
+    /**
+     * The parts of [gap[0], gap[1]) the technician is neither booked nor held for, in start order.
+     */
+    private List<long[]> stillFree(Long employeeId, LocalDateTime midnight, long[] gap) {
+        LocalDateTime start = midnight.plusMinutes(gap[0]);
+        LocalDateTime end = midnight.plusMinutes(gap[1]);
+        List<long[]> taken = new ArrayList<>();
+        for (AppointmentSpan booked : appointmentRepository.findEmployeeSpansOverlapping(employeeId, start, end)) {
+            taken.add(new long[] {minutes(midnight, booked.startTime()), minutes(midnight, booked.endTime())});
+        }
+        for (SlotHold hold : slotHoldService.heldBetween(start, end)) {
+            if (hold.getEmployeeId().equals(employeeId)) {
+                taken.add(new long[] {minutes(midnight, hold.getStartTime()), minutes(midnight, hold.getEndTime())});
+            }
+        }
+        taken.sort(Comparator.comparingLong(interval -> interval[0]));
+
+        List<long[]> free = new ArrayList<>();
+        long cursor = gap[0];
+        for (long[] interval : taken) {
+            if (interval[0] > cursor) {
+                free.add(new long[] {cursor, Math.min(interval[0], gap[1])});
+            }
+            cursor = Math.max(cursor, interval[1]);
+        }
+        if (cursor < gap[1]) {
+            free.add(new long[] {cursor, gap[1]});
+        }
+        return free;
+    }
+
+    /**
+     * The oldest waiting entry, other than those {@code skipped}, whose services fit in [from, to) inside its window.
+     */
+    private synchronized Waiting first(Long employeeId, LocalDate day, long from, long to, Set<Long> skipped) {
+        IntervalTree<Waiting> tree = index.computeIfAbsent(new DayKey(employeeId, day), key -> load(key));
+        Waiting first = null;
+        for (Waiting waiting : tree.overlapping(from, to)) {
+            if (skipped.contains(waiting.id())) {
+                continue;
+            }
+            long start = Math.max(from, waiting.windowStart());
+            if (start + waiting.durationMinutes() <= Math.min(to, waiting.windowEnd())
+                    && (first == null || waiting.id() < first.id())) {
+                first = waiting;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Hold [start, end) for the entry and record the offer, together.
+     *
+     * @return false when the entry was no longer waiting
+     * @throws IllegalStateException when the time is no longer free
+     */
+    private boolean offer(Waiting waiting, Long employeeId, LocalDateTime start, LocalDateTime end) {
+        UUID[] held = new UUID[1];
+        Boolean recorded = transactionTemplate.execute(status -> {
+            SlotHoldDTO hold = slotHoldService.hold(employeeId, start, end, offerTtl);
+            held[0] = hold.getHoldId();
+            if (waitlistRepository.markOffered(waiting.id(), hold.getHoldId(), start, hold.getExpiresAt()) == 0) {
+                status.setRollbackOnly();
+                return false;
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(recorded)) {
+            if (held[0] != null) {
+                slotHoldService.forget(held[0]);
+            }
+            return false;
+        }
+        waitlistRepository.findById(waiting.id()).map(WaitlistService::toDto).ifPresent(notifier::offered);
+        return true;
+    }
+
+    private IntervalTree<Waiting> load(DayKey key) {
+        LocalDateTime midnight = key.day().atStartOfDay();
+        IntervalTree<Waiting> tree = new IntervalTree<>();
+        for (WaitlistEntry entry : waitlistRepository.findForEmployeeWindowStartingBetween(
+                key.employeeId(), midnight, midnight.plusDays(1), WaitlistStatus.WAITING)) {
+            put(tree, entry);
+        }
+        log.debug("Loaded {} waitlist entr(ies) for employee id={} on {}", tree.size(), key.employeeId(), key.day());
+        return tree;
+    }
+
+    private synchronized void unindex(WaitlistEntry entry) {
+        LocalDateTime midnight = entry.getWindowStart().toLocalDate().atStartOfDay();
+        IntervalTree<Waiting> tree = index.get(new DayKey(entry.getEmployeeId(), midnight.toLocalDate()));
+        if (tree != null) {
+            tree.remove(minutes(midnight, entry.getWindowStart()), entry.getId());
+        }
+    }
+
+    private static void put(IntervalTree<Waiting> tree, WaitlistEntry entry) {
+        LocalDateTime midnight = entry.getWindowStart().toLocalDate().atStartOfDay();
+        Waiting waiting = new Waiting(entry.getId(), minutes(midnight, entry.getWindowStart()),
+                minutes(midnight, entry.getWindowEnd()), entry.getDurationMinutes());
+        tree.remove(waiting.windowStart(), waiting.id()); // Loaded from the table after it was saved
+        tree.add(waiting.windowStart(), waiting.windowEnd(), waiting.id(), waiting);
+    }
+
+    private static AppointmentSpan offeredSpan(WaitlistEntry entry) {
+        return new AppointmentSpan(null, entry.getEmployeeId(), entry.getOfferedStart(),
+                entry.getOfferedStart().plusMinutes(entry.getDurationMinutes()));
+    }
+
+    private WaitlistEntry find(Long id) {
+        return waitlistRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Waitlist entry not found with ID: " + id));
+    }
+
+    private int totalDuration(List<Long> serviceIds) {
+        List<ServiceType> services = serviceTypeRepository.findAllById(serviceIds);
+        if (services.size() != serviceIds.size()) {
+            throw new EntityNotFoundException("One or more services not found");
+        }
+        int duration = 0;
+        for (ServiceType service : services) {
+            duration += service.getEstimatedDurationMinutes();
+        }
+        return duration;
+    }
+
+    private static long minutes(LocalDateTime midnight, LocalDateTime time) {
+        return Duration.between(midnight, time).toMinutes();
+    }
+
+    private static long minutesRoundedUp(LocalDateTime midnight, LocalDateTime time) {
+        Duration elapsed = Duration.between(midnight, time);
+        long minutes = elapsed.toMinutes();
+        return elapsed.equals(Duration.ofMinutes(minutes)) ? minutes : minutes + 1;
+    }
+
+    private static WaitlistEntryDTO toDto(WaitlistEntry entry) {
+        return new WaitlistEntryDTO(entry.getId(), entry.getCustomerId(), entry.getEmployeeId(),
+                List.copyOf(entry.getServiceIds()), entry.getDurationMinutes(), entry.getWindowStart(),
+                entry.getWindowEnd(), entry.getStatus(), entry.getOfferedStart(), entry.getOfferExpiresAt(),
+                entry.getAppointmentId());
+    }
+
+    private record DayKey(Long employeeId, LocalDate day) {
+    }
+
+    /** A waiting entry's window and duration, in minutes since midnight */
+    private record Waiting(long id, long windowStart, long windowEnd, long durationMinutes) {
+    }
+}
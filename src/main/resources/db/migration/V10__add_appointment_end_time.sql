@@ -0,0 +1,28 @@
+-- V10: Appointments store their scheduled end so conflicts are checked as intervals
+-- end_time = start_time + the booked services' durations (or the actual end if it finished early)
+
+ALTER TABLE appointments ADD COLUMN end_time TIMESTAMP;
+
+UPDATE appointments a
+SET end_time = a.start_time + make_interval(mins => COALESCE((
+        SELECT SUM(st.estimated_duration_minutes)::int
+        FROM appointment_services aps
+        JOIN service_types st ON st.id = aps.service_id
+        WHERE aps.appointment_id = a.id), 0));
+
+UPDATE appointments
+SET end_time = actual_end_time
+WHERE actual_end_time > start_time AND actual_end_time < end_time;
+
+ALTER TABLE appointments ALTER COLUMN end_time SET NOT NULL;
+
+-- Overlap check: employee_id = ? AND start_time < :end AND end_time > :start
+CREATE INDEX idx_appointments_employee_start ON appointments(employee_id, start_time);
+
+-- A technician can't be in two appointments at once, even when bookings race.
+-- Fails if existing rows already overlap; cancel or move one of each pair before migrating.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE appointments ADD CONSTRAINT appointments_no_overlap
+    EXCLUDE USING gist (employee_id WITH =, tsrange(start_time, end_time) WITH &&)
+    WHERE (status <> 'CANCELLED');
@@ -0,0 +1,4 @@
+-- V11: Calendar pages over all employees walk appointments by (start_time, id)
+-- Per-employee ranges use idx_appointments_employee_start from V10.
+
+CREATE INDEX idx_appointments_start_id ON appointments(start_time, id);
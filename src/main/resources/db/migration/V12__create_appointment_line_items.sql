@@ -0,0 +1,32 @@
+-- V12: Appointments keep a snapshot of what was booked, so totals and reports read one row per appointment
+-- and later service changes (renames, price or duration edits) don't rewrite past bookings.
+
+CREATE TABLE appointment_line_items (
+    id               BIGSERIAL PRIMARY KEY,
+    appointment_id   BIGINT NOT NULL REFERENCES appointments(id) ON DELETE CASCADE,
+    service_id       BIGINT NOT NULL,
+    service_name     VARCHAR(255) NOT NULL,
+    duration_minutes INTEGER NOT NULL,
+    price            NUMERIC(10, 2) NOT NULL
+);
+
+CREATE INDEX idx_appointment_line_items_appointment ON appointment_line_items(appointment_id);
+
+-- Existing appointments are snapshotted at today's service values
+INSERT INTO appointment_line_items (appointment_id, service_id, service_name, duration_minutes, price)
+SELECT aps.appointment_id, st.id, st.name, st.estimated_duration_minutes, COALESCE(st.price, 0)
+FROM appointment_services aps
+JOIN service_types st ON st.id = aps.service_id
+ORDER BY aps.appointment_id, st.id;
+
+ALTER TABLE appointments ADD COLUMN total_duration_minutes INTEGER;
+ALTER TABLE appointments ADD COLUMN total_price NUMERIC(10, 2);
+
+UPDATE appointments a
+SET total_duration_minutes = COALESCE((
+        SELECT SUM(li.duration_minutes)::int FROM appointment_line_items li WHERE li.appointment_id = a.id), 0),
+    total_price = COALESCE((
+        SELECT SUM(li.price) FROM appointment_line_items li WHERE li.appointment_id = a.id), 0);
+
+ALTER TABLE appointments ALTER COLUMN total_duration_minutes SET NOT NULL;
+ALTER TABLE appointments ALTER COLUMN total_price SET NOT NULL;
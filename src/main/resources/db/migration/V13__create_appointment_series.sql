@@ -0,0 +1,17 @@
+-- V13: Recurring appointment series; each occurrence is a normal appointment pointing at its series
+
+CREATE TABLE appointment_series (
+    id               BIGSERIAL PRIMARY KEY,
+    customer_id      BIGINT NOT NULL REFERENCES customers(id),
+    employee_id      BIGINT REFERENCES employees(id),
+    frequency        VARCHAR(20) NOT NULL,
+    first_start_time TIMESTAMP NOT NULL,
+    until_date       DATE,
+    occurrence_count INTEGER NOT NULL,
+    created_at       TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE appointments ADD COLUMN series_id BIGINT REFERENCES appointment_series(id);
+
+-- Series-wide edits and cancellations: series_id = ? AND start_time >= ?
+CREATE INDEX idx_appointments_series_start ON appointments(series_id, start_time) WHERE series_id IS NOT NULL;
@@ -0,0 +1,17 @@
+-- V14: Appointment reminders and their delivery state
+
+CREATE TABLE reminders (
+    id             BIGSERIAL PRIMARY KEY,
+    appointment_id BIGINT NOT NULL REFERENCES appointments(id) ON DELETE CASCADE,
+    kind           VARCHAR(20) NOT NULL,
+    status         VARCHAR(20) NOT NULL,
+    remind_at      TIMESTAMP NOT NULL,
+    due_at         TIMESTAMP NOT NULL,
+    attempts       INTEGER NOT NULL DEFAULT 0,
+    sent_at        TIMESTAMP,
+    last_error     VARCHAR(500),
+    CONSTRAINT uk_reminders_appointment_kind UNIQUE (appointment_id, kind)
+);
+
+-- The dispatcher's only read: status = 'PENDING' AND due_at <= now ORDER BY due_at
+CREATE INDEX idx_reminders_status_due ON reminders(status, due_at) WHERE status = 'PENDING';
@@ -0,0 +1,11 @@
+-- V15: Indexes for appointment search, which filters by status, customer and booked service
+-- and pages by (start_time, id). Employee filters use idx_appointments_employee_start from V10.
+
+CREATE INDEX idx_appointments_status_start ON appointments(status, start_time, id);
+
+-- Leads with customer_id, so it also serves every lookup the single-column index did
+CREATE INDEX idx_appointments_customer_start ON appointments(customer_id, start_time, id);
+DROP INDEX IF EXISTS idx_appointments_customer_id;
+
+-- Service filters probe line items by service, then join back on appointment_id
+CREATE INDEX idx_appointment_line_items_service ON appointment_line_items(service_id, appointment_id);
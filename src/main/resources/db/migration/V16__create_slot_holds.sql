@@ -0,0 +1,15 @@
+-- V16: Short-lived holds on a technician's time during online booking checkout.
+-- Rows are written by whichever instance took the hold, so every instance's conflict checks see them.
+
+CREATE TABLE slot_holds (
+    id          UUID PRIMARY KEY,
+    employee_id BIGINT NOT NULL REFERENCES employees(id) ON DELETE CASCADE,
+    start_time  TIMESTAMP NOT NULL,
+    end_time    TIMESTAMP NOT NULL,
+    expires_at  TIMESTAMP NOT NULL
+);
+
+-- Conflict checks: one employee's holds overlapping a time range
+CREATE INDEX idx_slot_holds_employee_start ON slot_holds(employee_id, start_time);
+-- Reaping: expires_at <= now
+CREATE INDEX idx_slot_holds_expires_at ON slot_holds(expires_at);
@@ -0,0 +1,28 @@
+-- V17: Waitlist for a technician's time; cancellations are offered to waiting customers
+
+CREATE TABLE waitlist_entries (
+    id               BIGSERIAL PRIMARY KEY,
+    customer_id      BIGINT NOT NULL REFERENCES customers(id) ON DELETE CASCADE,
+    employee_id      BIGINT NOT NULL REFERENCES employees(id) ON DELETE CASCADE,
+    duration_minutes INTEGER NOT NULL,
+    window_start     TIMESTAMP NOT NULL,
+    window_end       TIMESTAMP NOT NULL,
+    status           VARCHAR(20) NOT NULL,
+    created_at       TIMESTAMP NOT NULL,
+    hold_id          UUID,
+    offered_start    TIMESTAMP,
+    offer_expires_at TIMESTAMP,
+    appointment_id   BIGINT REFERENCES appointments(id) ON DELETE SET NULL
+);
+
+CREATE TABLE waitlist_entry_services (
+    entry_id   BIGINT NOT NULL REFERENCES waitlist_entries(id) ON DELETE CASCADE,
+    position   INTEGER NOT NULL,
+    service_id BIGINT NOT NULL,
+    PRIMARY KEY (entry_id, position)
+);
+
+-- Loading one technician's day of waiting entries into memory
+CREATE INDEX idx_waitlist_entries_employee_window ON waitlist_entries(employee_id, window_start);
+-- Lapsed offers: status = 'OFFERED' AND offer_expires_at <= now
+CREATE INDEX idx_waitlist_entries_status_offer_expires ON waitlist_entries(status, offer_expires_at);
@@ -0,0 +1,21 @@
+-- V18: An appointment's services can be split across technicians and run side by side (a manicure and a
+-- pedicure at once). A split appointment keeps its first technician in employee_id and its overall start and
+-- end; each line item records the technician and time of that service.
+
+ALTER TABLE appointments ADD COLUMN services_split BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE appointment_line_items ADD COLUMN employee_id BIGINT REFERENCES employees(id) ON DELETE SET NULL;
+ALTER TABLE appointment_line_items ADD COLUMN start_time TIMESTAMP;
+ALTER TABLE appointment_line_items ADD COLUMN end_time TIMESTAMP;
+
+-- The first technician of a split appointment is only busy for their own services, not the whole appointment,
+-- so the constraint now covers single-technician appointments. Split ones are checked per service under the
+-- booking lock.
+ALTER TABLE appointments DROP CONSTRAINT appointments_no_overlap;
+ALTER TABLE appointments ADD CONSTRAINT appointments_no_overlap
+    EXCLUDE USING gist (employee_id WITH =, tsrange(start_time, end_time) WITH &&)
+    WHERE (status <> 'CANCELLED' AND NOT services_split);
+
+-- A technician's share of split appointments, for conflict checks and calendars
+CREATE INDEX idx_appointment_line_items_employee_start ON appointment_line_items(employee_id, start_time)
+    WHERE employee_id IS NOT NULL;
@@ -0,0 +1,13 @@
+-- V19: Stations and equipment (pedicure chairs, a wax room) that services need, and how many there are.
+-- Each line item snapshots the station its service needed when booked, like its name and duration.
+
+CREATE TABLE station_types (
+    id       BIGSERIAL PRIMARY KEY,
+    name     VARCHAR(100) NOT NULL UNIQUE,
+    capacity INTEGER NOT NULL CHECK (capacity >= 0)
+);
+
+ALTER TABLE service_types ADD COLUMN station_type_id BIGINT REFERENCES station_types(id) ON DELETE SET NULL;
+ALTER TABLE appointment_line_items ADD COLUMN station_type_id BIGINT REFERENCES station_types(id) ON DELETE SET NULL;
+-- The station a walk-in is being seated at, e.g. a pedicure chair
+ALTER TABLE queue ADD COLUMN station_type_id BIGINT REFERENCES station_types(id) ON DELETE SET NULL;
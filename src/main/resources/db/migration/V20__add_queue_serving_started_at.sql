@@ -0,0 +1,6 @@
+-- V20: When a walk-in's service began, so later edits to the entry don't move it
+-- Entries already being served count from their last update, the best time on record.
+
+ALTER TABLE queue ADD COLUMN serving_started_at TIMESTAMP;
+
+UPDATE queue SET serving_started_at = updated_at WHERE status = 'IN_PROGRESS';
@@ -0,0 +1,7 @@
+-- V21: The address a checkout hold was taken from, so one client can only hold a few times at once.
+-- Null for holds the salon takes itself, e.g. waitlist offers.
+
+ALTER TABLE slot_holds ADD COLUMN client_address VARCHAR(45);
+
+-- Per-client cap: one address's unexpired holds
+CREATE INDEX idx_slot_holds_client_expires ON slot_holds(client_address, expires_at);
@@ -0,0 +1,46 @@
+-- V5: Normalized contact columns for customer lookup at check-in
+-- Lookups by phone/email probe these columns instead of OR-ing the raw values.
+-- Normalization rules mirror com.salonhub.api.common.util.ContactNormalizer.
+
+ALTER TABLE customers ADD COLUMN phone_normalized VARCHAR(32);
+ALTER TABLE customers ADD COLUMN email_normalized VARCHAR(255);
+
+-- Backfill email: trimmed and lower-cased
+UPDATE customers
+SET email_normalized = LOWER(TRIM(email))
+WHERE email IS NOT NULL AND TRIM(email) <> '';
+
+-- Backfill phone: "+" and digits when the country code is known, digits only otherwise
+UPDATE customers c
+SET phone_normalized = CASE
+        WHEN d.digits = '' THEN NULL
+        WHEN TRIM(c.phone_number) LIKE '+%' THEN '+' || d.digits
+        WHEN LENGTH(d.digits) = 10 THEN '+1' || d.digits
+        WHEN LENGTH(d.digits) = 11 AND d.digits LIKE '1%' THEN '+' || d.digits
+        ELSE d.digits
+    END
+FROM (
+    SELECT id, REGEXP_REPLACE(phone_number, '[^0-9]', '', 'g') AS digits
+    FROM customers
+    WHERE phone_number IS NOT NULL
+) d
+WHERE c.id = d.id;
+
+-- Existing duplicates (same person entered twice with different formatting) keep the
+-- normalized value on the oldest record only, so the unique indexes can be created.
+UPDATE customers
+SET phone_normalized = NULL
+WHERE phone_normalized IS NOT NULL
+  AND id NOT IN (
+      SELECT MIN(id) FROM customers WHERE phone_normalized IS NOT NULL GROUP BY phone_normalized
+  );
+
+UPDATE customers
+SET email_normalized = NULL
+WHERE email_normalized IS NOT NULL
+  AND id NOT IN (
+      SELECT MIN(id) FROM customers WHERE email_normalized IS NOT NULL GROUP BY email_normalized
+  );
+
+CREATE UNIQUE INDEX ux_customers_phone_normalized ON customers(phone_normalized);
+CREATE UNIQUE INDEX ux_customers_email_normalized ON customers(email_normalized);
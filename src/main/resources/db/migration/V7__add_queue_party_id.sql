@@ -0,0 +1,6 @@
+-- V7: Link queue entries of a party that checked in together
+-- Members of a group check-in share a party_id and hold consecutive queue numbers.
+
+ALTER TABLE queue ADD COLUMN party_id VARCHAR(36);
+
+CREATE INDEX idx_queue_party_id ON queue(party_id) WHERE party_id IS NOT NULL;
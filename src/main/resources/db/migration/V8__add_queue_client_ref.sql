@@ -0,0 +1,6 @@
+-- V8: Client-generated id for check-ins captured offline by a kiosk
+-- The unique index makes re-syncing the same check-in a no-op.
+
+ALTER TABLE queue ADD COLUMN client_ref VARCHAR(36);
+
+CREATE UNIQUE INDEX ux_queue_client_ref ON queue(client_ref);
@@ -0,0 +1,4 @@
+-- V9: Today's guest list pages through guests by (created_at, id)
+-- Partial index: registered customers are never listed this way.
+
+CREATE INDEX idx_customers_guest_created_at ON customers(created_at, id) WHERE guest = true;
@@ -0,0 +1,142 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrent bookings against a real database: the overlap check must hold when requests race.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:bookingrace;LOCK_TIMEOUT=30000",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class AppointmentBookingRaceTest {
+
+    private static final int BOOKINGS = 50;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    @Test
+    void concurrentBookingsForTheSameSlot_onlyOneSucceeds() throws Exception {
+        // Given - 50 customers want the same technician at overlapping times
+        Employee technician = employeeRepository.save(new Employee("Race Tech", Role.TECHNICIAN, true));
+        ServiceType pedicure = serviceTypeRepository.save(new ServiceType(null, "Race Pedicure", 60, new BigDecimal("45.00")));
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+        List<Callable<Boolean>> bookings = new ArrayList<>();
+        CountDownLatch ready = new CountDownLatch(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Customer customer = new Customer();
+            customer.setName("Racer " + i);
+            customer.setPhoneNumber("558" + String.format("%07d", i));
+            Long customerId = customerRepository.save(customer).getId();
+
+            AppointmentRequestDTO request = new AppointmentRequestDTO();
+            request.setCustomerId(customerId);
+            request.setEmployeeId(technician.getId());
+            request.setServiceIds(List.of(pedicure.getId()));
+            // Half start on the hour, half 30 minutes in: they overlap without being identical
+            request.setStartTime(start.plusMinutes(i % 2 == 0 ? 0 : 30));
+            bookings.add(() -> {
+                ready.countDown();
+                ready.await();
+                appointmentService.book(request);
+                return true;
+            });
+        }
+
+        // When
+        ExecutorService pool = Executors.newFixedThreadPool(BOOKINGS);
+        int succeeded = 0;
+        int conflicts = 0;
+        try {
+            for (Future<Boolean> result : pool.invokeAll(bookings)) {
+                try {
+                    result.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(IllegalStateException.class)
+                        .hasMessage("Time slot is already booked");
+                    conflicts++;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Then
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(conflicts).isEqualTo(BOOKINGS - 1);
+        assertThat(appointmentRepository.findSpansStartingBetween(start.minusHours(1), start.plusHours(2)))
+            .hasSize(1);
+    }
+
+    @Test
+    void bookingDuringAnEarlierAppointmentStillRunning_isAConflict() {
+        // Given - 09:00-10:00 is taken
+        Employee technician = employeeRepository.save(new Employee("Overlap Tech", Role.TECHNICIAN, true));
+        ServiceType color = serviceTypeRepository.save(new ServiceType(null, "Overlap Color", 60, new BigDecimal("80.00")));
+        Customer customer = new Customer();
+        customer.setName("Overlap Customer");
+        customer.setPhoneNumber("5589999999");
+        Long customerId = customerRepository.save(customer).getId();
+        LocalDateTime nine = LocalDateTime.now().plusDays(4).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        appointmentService.book(request(customerId, technician.getId(), color.getId(), nine));
+
+        // When / Then - 09:30 starts inside it, 10:00 is back-to-back
+        assertThatThrownBy(() -> appointmentService.book(request(customerId, technician.getId(), color.getId(), nine.plusMinutes(30))))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(appointmentService.book(request(customerId, technician.getId(), color.getId(), nine.plusHours(1))).getEndTime())
+            .isEqualTo(nine.plusHours(2));
+    }
+
+    private static AppointmentRequestDTO request(Long customerId, Long employeeId, Long serviceId, LocalDateTime start) {
+        AppointmentRequestDTO request = new AppointmentRequestDTO();
+        request.setCustomerId(customerId);
+        request.setEmployeeId(employeeId);
+        request.setServiceIds(List.of(serviceId));
+        request.setStartTime(start);
+        return request;
+    }
+}
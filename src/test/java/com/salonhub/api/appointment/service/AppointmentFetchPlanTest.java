@@ -0,0 +1,150 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AppointmentResponseDTO;
+import com.salonhub.api.appointment.dto.AppointmentSearchCriteria;
+import com.salonhub.api.appointment.model.Appointment;
+import com.salonhub.api.appointment.model.BookingStatus;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Locks in how many SQL statements each appointment read issues, so a list never turns into one query per row.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:fetchplan",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class AppointmentFetchPlanTest {
+
+    private static final int APPOINTMENTS = 20;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Customer customer;
+    private List<Employee> technicians;
+    private LocalDate day;
+    private Long firstId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Given - 20 appointments for one customer, spread over two technicians and two services each
+        customer = new Customer();
+        customer.setName("Fetch Plan Customer");
+        customer.setPhoneNumber("5570000001");
+        customer = customerRepository.save(customer);
+        technicians = List.of(
+            employeeRepository.save(new Employee("Fetch Tech A", Role.TECHNICIAN, true)),
+            employeeRepository.save(new Employee("Fetch Tech B", Role.TECHNICIAN, true)));
+        List<ServiceType> services = List.of(
+            serviceTypeRepository.save(new ServiceType(null, "Fetch Manicure", 30, new BigDecimal("35.00"))),
+            serviceTypeRepository.save(new ServiceType(null, "Fetch Pedicure", 45, new BigDecimal("45.00"))));
+        day = LocalDate.now().plusDays(7);
+
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            LocalDateTime start = day.atTime(9, 0).plusMinutes(75L * (i / 2));
+            Appointment appointment = new Appointment();
+            appointment.setCustomer(customer);
+            appointment.setEmployee(technicians.get(i % 2));
+            appointment.setStartTime(start);
+            appointment.applyServices(new ArrayList<>(services));
+            appointment.setStatus(BookingStatus.PENDING);
+            appointments.add(appointment);
+        }
+        firstId = appointmentRepository.saveAll(appointments).get(0).getId();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        serviceTypeRepository.deleteAll();
+        employeeRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void listByCustomer_isOneStatement() {
+        assertThat(appointmentService.listByCustomer(customer.getId()))
+            .hasSize(APPOINTMENTS)
+            .allSatisfy(appointment -> assertThat(appointment.getServices()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getById_isOneStatement() {
+        AppointmentResponseDTO appointment = appointmentService.getById(firstId);
+        assertThat(appointment.getTotalEstimatedDuration()).isEqualTo(75);
+        assertThat(appointment.getTotalPrice()).isEqualByComparingTo("80.00");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listByEmployee_isTwoStatements() {
+        assertThat(appointmentService.listByEmployee(technicians.get(0).getId(), day, day))
+            .hasSize(APPOINTMENTS / 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void calendarPage_isTwoStatements() {
+        assertThat(appointmentService.calendar(day, day, null, null, 15).getItems()).hasSize(15);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void searchPage_isTwoStatements() {
+        AppointmentSearchCriteria criteria = new AppointmentSearchCriteria(List.of(BookingStatus.PENDING),
+            day.atStartOfDay(), day.plusDays(1).atStartOfDay(), null, customer.getId(), null);
+        assertThat(appointmentService.search(criteria, null, 15).getItems())
+            .hasSize(15)
+            .allSatisfy(appointment -> assertThat(appointment.getServiceNames()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
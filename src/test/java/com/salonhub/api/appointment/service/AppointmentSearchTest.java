@@ -0,0 +1,125 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.AppointmentSearchCriteria;
+import com.salonhub.api.appointment.dto.AppointmentSummaryDTO;
+import com.salonhub.api.appointment.model.BookingStatus;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.common.pagination.KeysetPage;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:appointmentsearch",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class AppointmentSearchTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    private Long technicianId;
+    private Long otherTechnicianId;
+    private Long customerId;
+    private Long gelId;
+    private Long pedicureId;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        technicianId = employeeRepository.save(new Employee("Search Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        otherTechnicianId = employeeRepository.save(new Employee("Search Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        Customer customer = new Customer();
+        customer.setName("Sam Search");
+        customer.setPhoneNumber("552" + String.format("%07d", technicianId));
+        customerId = customerRepository.save(customer).getId();
+        gelId = serviceTypeRepository.save(new ServiceType(null, "Search Gel " + technicianId, 30, new BigDecimal("40.00"))).getId();
+        pedicureId = serviceTypeRepository.save(new ServiceType(null, "Search Pedicure " + technicianId, 30, new BigDecimal("45.00"))).getId();
+        day = LocalDate.now().plusDays(10);
+    }
+
+    @Test
+    void search_combinesStatusTimeRangeAndServiceFilters() {
+        book(technicianId, List.of(gelId), day.atTime(10, 0));
+        Long afternoonGel = book(technicianId, List.of(gelId, pedicureId), day.atTime(14, 0));
+        book(otherTechnicianId, List.of(pedicureId), day.atTime(14, 0));
+        Long confirmedGel = book(otherTechnicianId, List.of(gelId), day.atTime(15, 0));
+        appointmentService.updateStatus(confirmedGel, "CONFIRMED");
+
+        AppointmentSearchCriteria criteria = new AppointmentSearchCriteria(List.of(BookingStatus.PENDING),
+            day.atTime(12, 0), day.atTime(18, 0), null, null, List.of(gelId));
+        List<AppointmentSummaryDTO> items = appointmentService.search(criteria, null, 50).getItems();
+
+        assertThat(items).extracting(AppointmentSummaryDTO::getId).containsExactly(afternoonGel);
+        AppointmentSummaryDTO hit = items.get(0);
+        assertThat(hit.getCustomerName()).isEqualTo("Sam Search");
+        assertThat(hit.getEmployeeId()).isEqualTo(technicianId);
+        assertThat(hit.getServiceNames()).containsExactly("Search Gel " + technicianId, "Search Pedicure " + technicianId);
+        assertThat(hit.getTotalPrice()).isEqualByComparingTo("85.00");
+    }
+
+    @Test
+    void search_pagesThroughResultsInStartOrder() {
+        List<Long> booked = new ArrayList<>();
+        for (int i = 4; i >= 0; i--) {
+            booked.add(0, book(technicianId, List.of(gelId), day.atTime(9, 0).plusHours(i)));
+        }
+        AppointmentSearchCriteria criteria = new AppointmentSearchCriteria(null,
+            day.atStartOfDay(), day.plusDays(1).atStartOfDay(), List.of(technicianId), customerId, null);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage<AppointmentSummaryDTO> page = appointmentService.search(criteria, cursor, 2);
+            page.getItems().forEach(item -> seen.add(item.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(booked);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void search_rejectsEmptyTimeRange() {
+        AppointmentSearchCriteria criteria = new AppointmentSearchCriteria(null, day.atTime(12, 0), day.atTime(12, 0),
+            null, null, null);
+        assertThatThrownBy(() -> appointmentService.search(criteria, null, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Long book(Long employeeId, List<Long> serviceIds, LocalDateTime start) {
+        return appointmentService.book(new AppointmentRequestDTO(customerId, employeeId, serviceIds, start)).getId();
+    }
+}
@@ -0,0 +1,181 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.AppointmentSeriesResponseDTO;
+import com.salonhub.api.appointment.dto.RecurringAppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.SeriesOccurrenceDTO;
+import com.salonhub.api.appointment.dto.SeriesUpdateRequestDTO;
+import com.salonhub.api.appointment.model.BookingStatus;
+import com.salonhub.api.appointment.model.RecurrenceFrequency;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:appointmentseries",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class AppointmentSeriesServiceTest {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private AppointmentSeriesService seriesService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    private Long customerId;
+    private Long technicianId;
+    private Long fillId;
+    private LocalDateTime first;
+
+    @BeforeEach
+    void setUp() {
+        int n = sequence.incrementAndGet();
+        Customer customer = new Customer();
+        customer.setName("Series Customer " + n);
+        customer.setPhoneNumber("554" + String.format("%07d", n));
+        customerId = customerRepository.save(customer).getId();
+        technicianId = employeeRepository.save(new Employee("Series Tech " + n, Role.TECHNICIAN, true)).getId();
+        fillId = serviceTypeRepository.save(new ServiceType(null, "Series Fill " + n, 60, new BigDecimal("40.00"))).getId();
+        // Each test gets its own stretch of calendar
+        first = LocalDate.now().plusDays(7 + 400L * n).atTime(10, 0);
+    }
+
+    @Test
+    void create_expandsEveryOccurrenceWithSnapshots() {
+        // When
+        AppointmentSeriesResponseDTO series = seriesService.create(request(RecurrenceFrequency.BIWEEKLY, null, 6));
+
+        // Then
+        assertThat(series.getOccurrences()).extracting(SeriesOccurrenceDTO::getStartTime)
+            .containsExactly(first, first.plusWeeks(2), first.plusWeeks(4), first.plusWeeks(6), first.plusWeeks(8), first.plusWeeks(10));
+        assertThat(series.getTotalPrice()).isEqualByComparingTo("40.00");
+        var lastOccurrence = appointmentService.getById(series.getOccurrences().get(5).getAppointmentId());
+        assertThat(lastOccurrence.getEndTime()).isEqualTo(first.plusWeeks(10).plusHours(1));
+        assertThat(lastOccurrence.getServices()).hasSize(1);
+        assertThat(seriesService.get(series.getId()).getOccurrences()).hasSize(6);
+    }
+
+    @Test
+    void create_conflictOnAnyOccurrence_booksNothing() {
+        // Given - the third occurrence's slot is already taken
+        appointmentService.book(single(first.plusWeeks(2).plusMinutes(30)));
+
+        // When / Then
+        assertThatThrownBy(() -> seriesService.create(request(RecurrenceFrequency.WEEKLY, null, 4)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining(first.plusWeeks(2).toLocalDate().toString());
+        assertThat(appointmentRepository.findEmployeeSpansOverlapping(technicianId, first, first.plusWeeks(4)))
+            .hasSize(1);
+    }
+
+    @Test
+    void createAndMove_overTimeHeldForAnotherCheckout_areRefused() {
+        // Given - the second week's slot is held while another customer checks out
+        slotHoldService.hold(technicianId, first.plusWeeks(1), first.plusWeeks(1).plusHours(1), Duration.ofMinutes(5));
+
+        // When / Then - a new series can't take it
+        assertThatThrownBy(() -> seriesService.create(request(RecurrenceFrequency.WEEKLY, null, 3)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("held")
+            .hasMessageContaining(first.plusWeeks(1).toLocalDate().toString());
+
+        // Given - a series at 14:00 that doesn't touch the hold
+        AppointmentSeriesResponseDTO series = seriesService.create(new RecurringAppointmentRequestDTO(
+            customerId, technicianId, List.of(fillId), first.withHour(14), RecurrenceFrequency.WEEKLY, null, 3));
+
+        // When / Then - nor can an existing one be moved onto it
+        SeriesUpdateRequestDTO move = new SeriesUpdateRequestDTO(first.toLocalDate(), null, first.toLocalTime());
+        assertThatThrownBy(() -> seriesService.update(series.getId(), move))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("held");
+        assertThat(seriesService.get(series.getId()).getOccurrences()).extracting(SeriesOccurrenceDTO::getStartTime)
+            .allMatch(start -> start.getHour() == 14);
+    }
+
+    @Test
+    void update_movesRemainingOccurrences_andCancelStopsThem() {
+        AppointmentSeriesResponseDTO series = seriesService.create(request(RecurrenceFrequency.WEEKLY, first.toLocalDate().plusWeeks(3), null));
+        assertThat(series.getOccurrences()).hasSize(4);
+
+        // When - from the second occurrence on, move to 14:00
+        SeriesUpdateRequestDTO move = new SeriesUpdateRequestDTO(first.toLocalDate().plusWeeks(1), null, LocalTime.of(14, 0));
+        AppointmentSeriesResponseDTO moved = seriesService.update(series.getId(), move);
+
+        // Then
+        assertThat(moved.getOccurrences()).extracting(SeriesOccurrenceDTO::getStartTime)
+            .containsExactly(first, first.plusWeeks(1).withHour(14), first.plusWeeks(2).withHour(14), first.plusWeeks(3).withHour(14));
+        assertThat(moved.getOccurrences().get(1).getEndTime()).isEqualTo(first.plusWeeks(1).withHour(15));
+
+        // When - cancel the last two
+        int cancelled = seriesService.cancel(series.getId(), first.toLocalDate().plusWeeks(2));
+
+        // Then
+        assertThat(cancelled).isEqualTo(2);
+        assertThat(seriesService.get(series.getId()).getOccurrences()).hasSize(2);
+        assertThat(appointmentService.getById(moved.getOccurrences().get(3).getAppointmentId()).getStatus())
+            .isEqualTo(BookingStatus.CANCELLED);
+    }
+
+    @Test
+    void expand_monthlyKeepsDayOfMonthAndHonoursUntil() {
+        LocalDateTime jan31 = LocalDateTime.of(2027, 1, 31, 9, 0);
+
+        assertThat(AppointmentSeriesService.expand(jan31, RecurrenceFrequency.MONTHLY, LocalDate.of(2027, 4, 30), null))
+            .containsExactly(jan31, LocalDateTime.of(2027, 2, 28, 9, 0), LocalDateTime.of(2027, 3, 31, 9, 0),
+                LocalDateTime.of(2027, 4, 30, 9, 0));
+        assertThatThrownBy(() -> AppointmentSeriesService.expand(jan31, RecurrenceFrequency.WEEKLY, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AppointmentSeriesService.expand(jan31, RecurrenceFrequency.WEEKLY, jan31.toLocalDate().plusYears(5), null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private RecurringAppointmentRequestDTO request(RecurrenceFrequency frequency, LocalDate until, Integer count) {
+        return new RecurringAppointmentRequestDTO(customerId, technicianId, List.of(fillId), first, frequency, until, count);
+    }
+
+    private AppointmentRequestDTO single(LocalDateTime start) {
+        return new AppointmentRequestDTO(customerId, technicianId, List.of(fillId), start);
+    }
+}
@@ -0,0 +1,215 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AvailabilityResponseDTO;
+import com.salonhub.api.appointment.dto.AvailableSlotDTO;
+import com.salonhub.api.appointment.event.AppointmentChangedEvent;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.model.SlotHold;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.AppointmentSpan;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.employee.event.EmployeesChangedEvent;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.queue.model.QueueStatus;
+import com.salonhub.api.queue.repository.QueueRepository;
+import com.salonhub.api.station.service.StationCapacity;
+import com.salonhub.api.station.service.StationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private ServiceTypeRepository serviceTypeRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private QueueRepository queueRepository;
+
+    @Mock
+    private StationService stationService;
+
+    private SlotHoldRegistry slotHolds;
+    private AvailabilityService availabilityService;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        slotHolds = new SlotHoldRegistry();
+        availabilityService = new AvailabilityService(appointmentRepository, serviceTypeRepository,
+                employeeRepository, queueRepository, slotHolds, stationService, "09:00", "12:00", 30, 30, 31,
+                Duration.ofMinutes(10), Duration.ofMinutes(1));
+        tomorrow = LocalDate.now().plusDays(1);
+
+        lenient().when(serviceTypeRepository.findAllById(List.of(1L)))
+            .thenReturn(List.of(new ServiceType(1L, "Manicure", 30, new BigDecimal("35.00"))));
+        lenient().when(stationService.capacity(any(), any())).thenReturn(new StationCapacity(Map.of(), 5));
+        lenient().when(employeeRepository.findByRoleOrderByIdAsc(Role.TECHNICIAN))
+            .thenReturn(List.of(technician(10L), technician(20L)));
+    }
+
+    @Test
+    void findAvailability_excludesTimesWhenEveryTechnicianIsBusy() {
+        // Given - technician 10 is booked 10:00-11:00 and an unassigned booking needs someone at 10:00-10:30
+        when(appointmentRepository.findBusySpansStartingBetween(any(), any())).thenReturn(List.of(
+            new AppointmentSpan(1L, 10L, tomorrow.atTime(10, 0), tomorrow.atTime(11, 0)),
+            new AppointmentSpan(2L, null, tomorrow.atTime(10, 0), tomorrow.atTime(10, 30))));
+
+        // When
+        AvailabilityResponseDTO response = availabilityService.findAvailability(tomorrow, tomorrow, List.of(1L), null);
+
+        // Then
+        Map<LocalDateTime, List<Long>> slots = bySlot(response);
+        assertThat(response.getDurationMinutes()).isEqualTo(30);
+        assertThat(slots).doesNotContainKey(tomorrow.atTime(10, 0));
+        assertThat(slots.get(tomorrow.atTime(9, 0))).containsExactly(10L, 20L);
+        assertThat(slots.get(tomorrow.atTime(10, 30))).containsExactly(20L);
+        assertThat(slots.get(tomorrow.atTime(11, 30))).containsExactly(10L, 20L);
+    }
+
+    @Test
+    void findAvailability_forOneTechnician_onlyOffersTheirFreeTime() {
+        // Given
+        when(appointmentRepository.findBusySpansStartingBetween(any(), any())).thenReturn(List.of(
+            new AppointmentSpan(1L, 20L, tomorrow.atTime(9, 0), tomorrow.atTime(11, 0))));
+
+        // When
+        AvailabilityResponseDTO response = availabilityService.findAvailability(tomorrow, tomorrow, List.of(1L), 20L);
+
+        // Then
+        assertThat(response.getSlots()).extracting(AvailableSlotDTO::getStartTime)
+            .containsExactly(tomorrow.atTime(11, 0), tomorrow.atTime(11, 30));
+    }
+
+    @Test
+    void findAvailability_leavesOutHeldTechnicians() {
+        // Given - technician 10 is held 09:30-10:30 for someone else's checkout
+        when(appointmentRepository.findBusySpansStartingBetween(any(), any())).thenReturn(List.of());
+        slotHolds.add(new SlotHold(UUID.randomUUID(), 10L, tomorrow.atTime(9, 30), tomorrow.atTime(10, 30),
+            LocalDateTime.now().plusMinutes(5), null));
+
+        // When
+        AvailabilityResponseDTO response = availabilityService.findAvailability(tomorrow, tomorrow, List.of(1L), null);
+
+        // Then
+        Map<LocalDateTime, List<Long>> slots = bySlot(response);
+        assertThat(slots.get(tomorrow.atTime(9, 0))).containsExactly(10L, 20L);
+        assertThat(slots.get(tomorrow.atTime(9, 30))).containsExactly(20L);
+        assertThat(slots.get(tomorrow.atTime(10, 0))).containsExactly(20L);
+        assertThat(slots.get(tomorrow.atTime(10, 30))).containsExactly(10L, 20L);
+    }
+
+    @Test
+    void schedules_areCachedUntilAnAppointmentOnThatDayChanges() {
+        // Given
+        when(appointmentRepository.findBusySpansStartingBetween(any(), any())).thenReturn(List.of());
+        availabilityService.findAvailability(tomorrow, tomorrow, List.of(1L), null);
+        availabilityService.findAvailability(tomorrow, tomorrow, List.of(1L), null);
+        verify(appointmentRepository, times(1)).findBusySpansStartingBetween(any(), any());
+
+        // When
+        availabilityService.onAppointmentChanged(new AppointmentChangedEvent(1L, Set.of(), Set.of(tomorrow)));
+        availabilityService.findAvailability(tomorrow, tomorrow, List.of(1L), null);
+
+        // Then
+        verify(appointmentRepository, times(2)).findBusySpansStartingBetween(any(), any());
+    }
+
+    @Test
+    void findAvailability_leavesOutUnavailableTechnicians() {
+        // Given - technician 20 has called off
+        Employee away = technician(20L);
+        away.setAvailable(false);
+        when(employeeRepository.findByRoleOrderByIdAsc(Role.TECHNICIAN)).thenReturn(List.of(technician(10L), away));
+        when(appointmentRepository.findBusySpansStartingBetween(any(), any())).thenReturn(List.of());
+
+        // When
+        AvailabilityResponseDTO response = availabilityService.findAvailability(tomorrow, tomorrow, List.of(1L), null);
+
+        // Then
+        assertThat(response.getSlots()).extracting(AvailableSlotDTO::getStaffIds).containsOnly(List.of(10L));
+        assertThat(availabilityService.findAvailability(tomorrow, tomorrow, List.of(1L), 20L).getSlots()).isEmpty();
+    }
+
+    @Test
+    void schedules_areDroppedWhenStaffChange() {
+        // Given
+        when(appointmentRepository.findBusySpansStartingBetween(any(), any())).thenReturn(List.of());
+        availabilityService.findAvailability(tomorrow, tomorrow, List.of(1L), null);
+
+        // When
+        availabilityService.onEmployeesChanged(new EmployeesChangedEvent(20L));
+        availabilityService.findAvailability(tomorrow, tomorrow, List.of(1L), null);
+
+        // Then
+        verify(employeeRepository, times(2)).findByRoleOrderByIdAsc(Role.TECHNICIAN);
+    }
+
+    @Test
+    void findAvailability_today_onlyReservesTimeForTodaysWalkIns() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(appointmentRepository.findBusySpansStartingBetween(any(), any())).thenReturn(List.of());
+
+        // When
+        availabilityService.findAvailability(today, today, List.of(1L), null);
+
+        // Then - rows left over from earlier days are never read
+        verify(queueRepository).findByStatusAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+            QueueStatus.IN_PROGRESS, today.atStartOfDay());
+        verify(queueRepository).findByStatusAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+            QueueStatus.WAITING, today.atStartOfDay());
+        verify(queueRepository, never()).findByStatusOrderByCreatedAtAsc(any());
+    }
+
+    @Test
+    void findAvailability_rejectsUnknownServices() {
+        when(serviceTypeRepository.findAllById(List.of(1L, 2L)))
+            .thenReturn(List.of(new ServiceType(1L, "Manicure", 30, new BigDecimal("35.00"))));
+
+        assertThatThrownBy(() -> availabilityService.findAvailability(tomorrow, tomorrow, List.of(1L, 2L), null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("One or more services not found");
+    }
+
+    private static Map<LocalDateTime, List<Long>> bySlot(AvailabilityResponseDTO response) {
+        return response.getSlots().stream()
+            .collect(Collectors.toMap(AvailableSlotDTO::getStartTime, AvailableSlotDTO::getStaffIds));
+    }
+
+    private static Employee technician(Long id) {
+        Employee employee = new Employee("Tech " + id, Role.TECHNICIAN, true);
+        employee.setId(id);
+        return employee;
+    }
+}
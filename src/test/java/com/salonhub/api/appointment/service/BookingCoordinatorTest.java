@@ -0,0 +1,111 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.station.repository.StationTypeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCoordinatorTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private StationTypeRepository stationTypeRepository;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        coordinator = new BookingCoordinator(employeeRepository, stationTypeRepository, dataSource, transactionManager, meterRegistry,
+                64, Duration.ofSeconds(1), 3, Duration.ZERO);
+    }
+
+    @Test
+    void execute_retriesSerializationFailures() {
+        // Given - the first two attempts lose a lock race
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = coordinator.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("deadlock detected");
+            }
+            return "booked";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("booked");
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.counter("salonhub.booking.retries").count()).isEqualTo(2);
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void execute_givesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> coordinator.execute(() -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("could not serialize access");
+        })).isInstanceOf(CannotAcquireLockException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void execute_doesNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> coordinator.execute(() -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("appointments_no_overlap");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void lockEmployee_requiresATransaction() {
+        assertThatThrownBy(() -> coordinator.lockEmployee(1L)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void stripes_spreadConsecutiveEmployeeIds() {
+        Set<Integer> used = new HashSet<>();
+        for (long id = 1; id <= coordinator.stripeCount(); id++) {
+            used.add(coordinator.stripeIndex(id));
+        }
+        assertThat(used).hasSize(coordinator.stripeCount());
+    }
+}
@@ -0,0 +1,97 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requests queued behind one busy technician must not hold pooled connections while they wait.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:bookinglockpool;LOCK_TIMEOUT=30000",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    // The production pool size, and a short wait so a starved pool fails the test instead of hanging it
+    "spring.datasource.hikari.maximum-pool-size=5",
+    "spring.datasource.hikari.connection-timeout=2000",
+    "salonhub.booking.lock-timeout=30s"
+})
+class BookingLockPoolTest {
+
+    private static final int WAITERS = 5;
+
+    @Autowired
+    private BookingCoordinator bookingCoordinator;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void waitingForABusyTechnician_leavesTheConnectionPoolFree() throws Exception {
+        // Given - one booking holds the technician's lock while five more queue behind it
+        Long technicianId = employeeRepository.save(new Employee("Busy Tech", Role.TECHNICIAN, true)).getId();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WAITERS + 1);
+        try {
+            Future<?> holder = executor.submit(() -> bookingCoordinator.execute(() -> {
+                bookingCoordinator.lockEmployee(technicianId);
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Boolean>> waiters = new ArrayList<>();
+            for (int i = 0; i < WAITERS; i++) {
+                waiters.add(executor.submit(() -> bookingCoordinator.execute(() -> {
+                    bookingCoordinator.lockEmployee(technicianId);
+                    return true;
+                })));
+            }
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (bookingCoordinator.waitingFor(technicianId) < WAITERS && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(bookingCoordinator.waitingFor(technicianId)).isEqualTo(WAITERS);
+
+            // When - unrelated work needs a connection
+            long count = customerRepository.count();
+
+            // Then - it gets one, and the queued bookings all go through once the lock is free
+            assertThat(count).isGreaterThanOrEqualTo(0);
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            for (Future<Boolean> waiter : waiters) {
+                assertThat(waiter.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
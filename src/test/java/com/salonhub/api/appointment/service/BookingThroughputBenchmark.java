@@ -0,0 +1,118 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Booking throughput from many clients when the load is spread over 1, 10 and 50 technicians.
+ * Bookings for one technician are serialized; bookings for different technicians should scale.
+ *
+ * Not part of the regular build; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:bookingbenchmark;LOCK_TIMEOUT=30000",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "salonhub.booking.lock-timeout=30s"
+})
+class BookingThroughputBenchmark {
+
+    private static final int CLIENTS = 16;
+    private static final int BOOKINGS = 600;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    private int round;
+
+    @Test
+    void throughputByTechnicianCount() throws Exception {
+        ServiceType manicure = serviceTypeRepository.save(new ServiceType(null, "Benchmark Manicure", 30, new BigDecimal("35.00")));
+        Customer customer = new Customer();
+        customer.setName("Benchmark Customer");
+        customer.setPhoneNumber("5560000000");
+        Long customerId = customerRepository.save(customer).getId();
+
+        // Warm up
+        run(10, 100, customerId, manicure.getId());
+
+        System.out.printf("%nBooking throughput, %d bookings from %d clients:%n", BOOKINGS, CLIENTS);
+        for (int technicians : new int[] {1, 10, 50}) {
+            long nanos = run(technicians, BOOKINGS, customerId, manicure.getId());
+            System.out.printf("  %2d technician(s)  %8.0f/s%n", technicians, BOOKINGS / (nanos / 1_000_000_000.0));
+        }
+        System.out.println();
+    }
+
+    /**
+     * Book {@code count} back-to-back, non-conflicting slots spread round-robin over new technicians.
+     */
+    private long run(int technicianCount, int count, Long customerId, Long serviceId) throws Exception {
+        round++;
+        List<Long> technicians = new ArrayList<>();
+        for (int i = 0; i < technicianCount; i++) {
+            technicians.add(employeeRepository.save(
+                new Employee("Benchmark Tech " + round + "-" + i, Role.TECHNICIAN, true)).getId());
+        }
+        LocalDateTime base = LocalDateTime.now().plusYears(1).plusDays(round).withHour(0).withMinute(0).withSecond(0).withNano(0);
+
+        List<Callable<Long>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AppointmentRequestDTO request = new AppointmentRequestDTO();
+            request.setCustomerId(customerId);
+            request.setEmployeeId(technicians.get(i % technicianCount));
+            request.setServiceIds(List.of(serviceId));
+            request.setStartTime(base.plusMinutes(30L * (i / technicianCount)));
+            tasks.add(() -> appointmentService.book(request).getId());
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            long started = System.nanoTime();
+            int booked = 0;
+            for (Future<Long> future : clients.invokeAll(tasks)) {
+                assertThat(future.get()).isNotNull();
+                booked++;
+            }
+            long elapsed = System.nanoTime() - started;
+            assertThat(booked).isEqualTo(count);
+            return elapsed;
+        } finally {
+            clients.shutdown();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.salonhub.api.appointment.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BusyIntervalsTest {
+
+    @Test
+    void add_mergesOverlappingAndTouchingIntervals() {
+        BusyIntervals busy = new BusyIntervals();
+        busy.add(600, 630);
+        busy.add(700, 730);
+        busy.add(800, 830);
+        busy.add(625, 700);   // bridges the first two
+        busy.add(830, 845);   // touches the third
+
+        assertThat(busy.size()).isEqualTo(2);
+        assertThat(busy.isFree(730, 800)).isTrue();
+        assertThat(busy.isFree(599, 601)).isFalse();
+        assertThat(busy.isFree(844, 900)).isFalse();
+        assertThat(busy.isFree(845, 900)).isTrue();
+    }
+
+    @Test
+    void isFree_treatsIntervalsAsHalfOpen() {
+        BusyIntervals busy = new BusyIntervals();
+        busy.add(600, 660);
+
+        assertThat(busy.isFree(540, 600)).isTrue();
+        assertThat(busy.isFree(660, 720)).isTrue();
+        assertThat(busy.isFree(659, 661)).isFalse();
+    }
+
+    @Test
+    void earliestFree_skipsGapsThatAreTooShort() {
+        BusyIntervals busy = new BusyIntervals();
+        busy.add(600, 630);
+        busy.add(640, 700);   // 10-minute gap before this one
+
+        assertThat(busy.earliestFree(600, 30, 1140)).isEqualTo(700);
+        assertThat(busy.earliestFree(540, 30, 1140)).isEqualTo(540);
+        assertThat(busy.earliestFree(630, 10, 1140)).isEqualTo(630);
+        assertThat(busy.earliestFree(600, 30, 650)).isEqualTo(-1);
+    }
+
+    @Test
+    void add_keepsManyIntervalsSorted() {
+        BusyIntervals busy = new BusyIntervals();
+        for (int start = 1000; start >= 0; start -= 20) {
+            busy.add(start, start + 10);
+        }
+
+        assertThat(busy.size()).isEqualTo(51);
+        for (int start = 0; start <= 1000; start += 20) {
+            assertThat(busy.isFree(start, start + 10)).isFalse();
+            assertThat(busy.isFree(start + 10, start + 20)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:calendarfeed",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "salonhub.calendar.time-zone=UTC"
+})
+class CalendarFeedServiceTest {
+
+    @Autowired
+    private CalendarFeedService feedService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    private Long technicianId;
+    private Long customerId;
+    private List<Long> serviceIds;
+    private LocalDateTime tomorrowTen;
+
+    @BeforeEach
+    void setUp() {
+        technicianId = employeeRepository.save(new Employee("Feed Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        Customer customer = new Customer();
+        customer.setName("Jane; Doe");
+        customer.setPhoneNumber("553" + String.format("%07d", technicianId));
+        customerId = customerRepository.save(customer).getId();
+        serviceIds = List.of(
+            serviceTypeRepository.save(new ServiceType(null, "Feed Gel " + technicianId, 45, new BigDecimal("40.00"))).getId(),
+            serviceTypeRepository.save(new ServiceType(null, "Feed Art " + technicianId, 15, new BigDecimal("10.00"))).getId());
+        tomorrowTen = LocalDate.now().plusDays(1).atTime(10, 0);
+    }
+
+    @Test
+    void write_streamsOneEventPerAppointmentInUtc() {
+        Long appointmentId = appointmentService.book(request(tomorrowTen)).getId();
+        appointmentService.book(request(tomorrowTen.plusYears(1))); // outside the window
+
+        String feed = render();
+
+        assertThat(feed).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(feed.split("BEGIN:VEVENT", -1)).hasSize(2);
+        assertThat(feed).contains("UID:appointment-" + appointmentId + "@salonhub\r\n");
+        assertThat(feed).contains("DTSTART:" + tomorrowTen.toLocalDate().toString().replace("-", "") + "T100000Z");
+        assertThat(feed).contains("DTEND:" + tomorrowTen.toLocalDate().toString().replace("-", "") + "T110000Z");
+        assertThat(unfold(feed)).contains("SUMMARY:Feed Gel " + technicianId + "\\, Feed Art " + technicianId + " - Jane\\; Doe");
+        assertThat(feed).contains("STATUS:TENTATIVE");
+    }
+
+    @Test
+    void version_isStableUntilTheTechniciansAppointmentsChange() {
+        CalendarFeedService.FeedVersion first = feedService.version(technicianId);
+        assertThat(feedService.version(technicianId)).isEqualTo(first);
+
+        appointmentService.book(request(tomorrowTen.plusHours(3)));
+
+        CalendarFeedService.FeedVersion second = feedService.version(technicianId);
+        assertThat(second.etag()).isNotEqualTo(first.etag());
+        assertThat(second.lastModified()).isAfter(first.lastModified());
+    }
+
+    @Test
+    void token_isBoundToTheEmployee() {
+        String token = feedService.token(technicianId);
+
+        assertThat(feedService.isValidToken(technicianId, token)).isTrue();
+        assertThat(feedService.isValidToken(technicianId + 1, token)).isFalse();
+        assertThat(feedService.isValidToken(technicianId, "not-a-token!")).isFalse();
+        assertThat(feedService.isValidToken(technicianId, null)).isFalse();
+    }
+
+    @Test
+    void longLines_areFoldedAt75Octets() {
+        StringWriter out = new StringWriter();
+        new ICalendarWriter(out).text("SUMMARY", "Ombré ".repeat(30)).flush();
+
+        for (String line : out.toString().split("\r\n")) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+        }
+        assertThat(unfold(out.toString())).isEqualTo("SUMMARY:" + "Ombré ".repeat(30) + "\r\n");
+    }
+
+    private String render() {
+        StringWriter out = new StringWriter();
+        feedService.write(technicianId, out);
+        return out.toString();
+    }
+
+    private static String unfold(String ics) {
+        return ics.replace("\r\n ", "");
+    }
+
+    private AppointmentRequestDTO request(LocalDateTime start) {
+        return new AppointmentRequestDTO(customerId, technicianId, serviceIds, start);
+    }
+}
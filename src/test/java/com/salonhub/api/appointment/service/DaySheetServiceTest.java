@@ -0,0 +1,159 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.DaySheetDTO;
+import com.salonhub.api.appointment.dto.DaySheetEntryDTO;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.DaySheetEntry;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.queue.model.Queue;
+import com.salonhub.api.queue.model.QueueStatus;
+import com.salonhub.api.queue.service.QueueService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:daysheet",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class DaySheetServiceTest {
+
+    @Autowired
+    private DaySheetService daySheetService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private QueueService queueService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long technicianId;
+    private Long otherTechnicianId;
+    private Long customerId;
+    private List<Long> serviceIds;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        technicianId = employeeRepository.save(new Employee("Sheet Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        otherTechnicianId = employeeRepository.save(new Employee("Sheet Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        Customer customer = new Customer();
+        customer.setName("Dana Sheet");
+        customer.setPhoneNumber("554" + String.format("%07d", technicianId));
+        customerId = customerRepository.save(customer).getId();
+        serviceIds = List.of(
+            serviceTypeRepository.save(new ServiceType(null, "Sheet Gel " + technicianId, 45, new BigDecimal("40.00"))).getId(),
+            serviceTypeRepository.save(new ServiceType(null, "Sheet Art " + technicianId, 15, new BigDecimal("10.00"))).getId());
+        tomorrow = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    void getDaySheet_buildsOnceThenServesFromMemory() {
+        appointmentService.book(request(technicianId, tomorrow.atTime(14, 0)));
+        appointmentService.book(request(technicianId, tomorrow.atTime(10, 0)));
+        double hits = hits();
+
+        DaySheetDTO first = daySheetService.getDaySheet(technicianId, tomorrow);
+        DaySheetDTO second = daySheetService.getDaySheet(technicianId, tomorrow);
+
+        assertThat(first.getEntries()).extracting(DaySheetEntryDTO::getStartTime)
+            .containsExactly(tomorrow.atTime(10, 0), tomorrow.atTime(14, 0));
+        assertThat(first.getEntries().get(0).getServiceNames())
+            .containsExactly("Sheet Gel " + technicianId, "Sheet Art " + technicianId);
+        assertThat(first.getEntries().get(0).getCustomerName()).isEqualTo("Dana Sheet");
+        assertThat(second).isEqualTo(first);
+        assertThat(hits()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void appointmentWrites_patchCachedSheetsWithoutRebuilding() {
+        Long appointmentId = appointmentService.book(request(technicianId, tomorrow.atTime(10, 0))).getId();
+        daySheetService.getDaySheet(technicianId, tomorrow);
+        daySheetService.getDaySheet(otherTechnicianId, tomorrow);
+        double misses = misses();
+
+        appointmentService.update(appointmentId, request(otherTechnicianId, tomorrow.atTime(11, 0)));
+
+        assertThat(daySheetService.getDaySheet(technicianId, tomorrow).getEntries()).isEmpty();
+        assertThat(daySheetService.getDaySheet(otherTechnicianId, tomorrow).getEntries())
+            .extracting(DaySheetEntryDTO::getId, DaySheetEntryDTO::getStartTime)
+            .containsExactly(tuple(appointmentId, tomorrow.atTime(11, 0)));
+
+        appointmentService.cancel(appointmentId);
+
+        assertThat(daySheetService.getDaySheet(otherTechnicianId, tomorrow).getEntries()).isEmpty();
+        assertThat(misses()).isEqualTo(misses);
+    }
+
+    @Test
+    void queueWrites_patchTodaysSheet() {
+        LocalDate today = LocalDate.now();
+        assertThat(daySheetService.getDaySheet(technicianId, today).getEntries()).isEmpty();
+
+        Queue walkIn = queueService.addToQueue(new Queue(customerId, technicianId, null, null, QueueStatus.WAITING, null, null));
+
+        List<DaySheetEntryDTO> entries = daySheetService.getDaySheet(technicianId, today).getEntries();
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getKind()).isEqualTo(DaySheetEntry.Kind.WALK_IN);
+        assertThat(entries.get(0).getQueueNumber()).isEqualTo(walkIn.getQueueNumber());
+
+        queueService.updateQueueStatus(walkIn.getId(), QueueStatus.CANCELLED);
+
+        assertThat(daySheetService.getDaySheet(technicianId, today).getEntries()).isEmpty();
+    }
+
+    @Test
+    void daysOutsideTheWindow_areNotCached() {
+        LocalDate farAway = LocalDate.now().plusDays(60);
+        double misses = misses();
+
+        daySheetService.getDaySheet(technicianId, farAway);
+        daySheetService.getDaySheet(technicianId, farAway);
+
+        assertThat(misses()).isEqualTo(misses + 2);
+    }
+
+    private double hits() {
+        return meterRegistry.counter("salonhub.daysheet.hits").count();
+    }
+
+    private double misses() {
+        return meterRegistry.counter("salonhub.daysheet.misses").count();
+    }
+
+    private AppointmentRequestDTO request(Long employeeId, LocalDateTime start) {
+        return new AppointmentRequestDTO(customerId, employeeId, serviceIds, start);
+    }
+}
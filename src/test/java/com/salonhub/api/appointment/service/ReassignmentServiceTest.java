@@ -0,0 +1,169 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.ReassignedAppointmentDTO;
+import com.salonhub.api.appointment.dto.ReassignmentResultDTO;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:reassignment",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class ReassignmentServiceTest {
+
+    @Autowired
+    private ReassignmentService reassignmentService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    private Long absentId;
+    private Long customerId;
+    private List<Long> hourLong;
+    private List<Long> quarterHour;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        // Technicians from earlier tests are off, so only this test's technicians can take work
+        List<Employee> existing = employeeRepository.findAll();
+        existing.forEach(employee -> employee.setAvailable(false));
+        employeeRepository.saveAll(existing);
+
+        absentId = technician(false);
+        Customer customer = new Customer();
+        customer.setName("Riley Reassign");
+        customer.setPhoneNumber("553" + String.format("%07d", absentId));
+        customerId = customerRepository.save(customer).getId();
+        hourLong = List.of(serviceTypeRepository.save(
+            new ServiceType(null, "Reassign Pedicure " + absentId, 60, new BigDecimal("45.00"))).getId());
+        quarterHour = List.of(serviceTypeRepository.save(
+            new ServiceType(null, "Reassign Polish " + absentId, 15, new BigDecimal("15.00"))).getId());
+        tomorrow = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    void reassign_movesEachAppointmentToAFreeTechnician_preferringTheLeastBooked() {
+        Long busyId = technician(true);
+        Long idleId = technician(true);
+        book(busyId, hourLong, tomorrow.atTime(9, 0));
+        Long morning = book(absentId, hourLong, tomorrow.atTime(9, 0));
+        Long noon = book(absentId, hourLong, tomorrow.atTime(12, 0));
+
+        ReassignmentResultDTO result = reassignmentService.reassign(absentId, tomorrow);
+
+        assertThat(result.getUnplaced()).isEmpty();
+        assertThat(result.getReassigned())
+            .extracting(ReassignedAppointmentDTO::getAppointmentId, ReassignedAppointmentDTO::getEmployeeId)
+            .containsExactly(tuple(morning, idleId), tuple(noon, busyId));
+        assertThat(appointmentService.getById(morning).getEmployeeId()).isEqualTo(idleId);
+        assertThat(appointmentService.getById(noon).getEmployeeId()).isEqualTo(busyId);
+    }
+
+    @Test
+    void reassign_leavesAppointmentsNobodyIsFreeFor() {
+        Long helperId = technician(true);
+        book(helperId, hourLong, tomorrow.atTime(10, 0));
+        Long clashing = book(absentId, hourLong, tomorrow.atTime(10, 30));
+        Long placed = book(absentId, hourLong, tomorrow.atTime(14, 0));
+
+        ReassignmentResultDTO result = reassignmentService.reassign(absentId, tomorrow);
+
+        assertThat(result.getReassigned()).extracting(ReassignedAppointmentDTO::getAppointmentId).containsExactly(placed);
+        assertThat(result.getUnplaced()).extracting(ReassignedAppointmentDTO::getAppointmentId).containsExactly(clashing);
+        assertThat(appointmentService.getById(clashing).getEmployeeId()).isEqualTo(absentId);
+    }
+
+    @Test
+    void reassign_skipsTimeHeldForAnotherCheckout() {
+        Long heldId = technician(true);
+        Long otherId = technician(true);
+        book(otherId, hourLong, tomorrow.atTime(8, 0));
+        slotHoldService.hold(heldId, tomorrow.atTime(11, 0), tomorrow.atTime(12, 0), Duration.ofMinutes(5));
+        Long appointment = book(absentId, hourLong, tomorrow.atTime(11, 0));
+
+        ReassignmentResultDTO result = reassignmentService.reassign(absentId, tomorrow);
+
+        // The held technician has the lighter day but is spoken for at 11:00
+        assertThat(result.getReassigned())
+            .extracting(ReassignedAppointmentDTO::getAppointmentId, ReassignedAppointmentDTO::getEmployeeId)
+            .containsExactly(tuple(appointment, otherId));
+        assertThat(appointmentService.getById(appointment).getEmployeeId()).isEqualTo(otherId);
+    }
+
+    @Test
+    void reassign_fullDay_isPlacedInOneGo() {
+        List<Long> helpers = List.of(technician(true), technician(true), technician(true), technician(true));
+        List<Long> booked = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            booked.add(book(absentId, quarterHour, tomorrow.atTime(8, 0).plusMinutes(15L * i)));
+        }
+
+        long started = System.nanoTime();
+        ReassignmentResultDTO result = reassignmentService.reassign(absentId, tomorrow);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(result.getUnplaced()).isEmpty();
+        assertThat(result.getReassigned()).hasSize(40);
+        assertThat(result.getReassigned()).extracting(ReassignedAppointmentDTO::getEmployeeId).allMatch(helpers::contains);
+        assertThat(appointmentRepository.findAllById(booked))
+            .allMatch(appointment -> helpers.contains(appointment.getEmployee().getId()));
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void reassign_unknownEmployee_throws() {
+        assertThatThrownBy(() -> reassignmentService.reassign(-1L, tomorrow))
+            .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private Long technician(boolean available) {
+        return employeeRepository.save(new Employee("Reassign Tech " + System.nanoTime(), Role.TECHNICIAN, available)).getId();
+    }
+
+    private Long book(Long employeeId, List<Long> serviceIds, LocalDateTime start) {
+        return appointmentService.book(new AppointmentRequestDTO(customerId, employeeId, serviceIds, start)).getId();
+    }
+}
@@ -0,0 +1,119 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.station.service.StationCapacity;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServicePlannerTest {
+
+    private static final int NINE = 9 * 60;
+    private static final int SEVEN_PM = 19 * 60;
+    private static final StationCapacity NO_STATIONS = new StationCapacity(Map.of(), 5);
+
+    @Test
+    void parallel_runsDifferentCategoriesSideBySide() {
+        ServicePlanner planner = new ServicePlanner(technicians(3), NO_STATIONS, SEVEN_PM, 15, 50_000);
+        List<ServicePlanner.Task> tasks = List.of(
+            new ServicePlanner.Task(60, "Hands"), new ServicePlanner.Task(45, "Feet"));
+
+        List<ServicePlanner.Placement> together = planner.plan(tasks, NINE, true);
+        List<ServicePlanner.Placement> inTurn = planner.plan(tasks, NINE, false);
+
+        assertThat(together).extracting(ServicePlanner.Placement::start).containsExactly(NINE, NINE);
+        assertThat(together.get(0).technicianId()).isNotEqualTo(together.get(1).technicianId());
+        assertThat(finish(tasks, inTurn)).isEqualTo(NINE + 105);
+        // One after another needs only one technician
+        assertThat(inTurn.get(0).technicianId()).isEqualTo(inTurn.get(1).technicianId());
+    }
+
+    @Test
+    void sameCategory_neverOverlaps() {
+        ServicePlanner planner = new ServicePlanner(technicians(4), NO_STATIONS, SEVEN_PM, 15, 50_000);
+        List<ServicePlanner.Task> tasks = List.of(
+            new ServicePlanner.Task(30, "Hands"), new ServicePlanner.Task(30, "Hands"), new ServicePlanner.Task(60, "Feet"));
+
+        List<ServicePlanner.Placement> plan = planner.plan(tasks, NINE, true);
+
+        int firstEnd = plan.get(0).start() + 30;
+        int secondEnd = plan.get(1).start() + 30;
+        assertThat(plan.get(0).start() >= secondEnd || plan.get(1).start() >= firstEnd).isTrue();
+        assertThat(finish(tasks, plan)).isEqualTo(NINE + 60);
+    }
+
+    @Test
+    void busyTechnician_isWorkedAround() {
+        Map<Long, BusyIntervals> technicians = technicians(2);
+        technicians.get(1L).add(NINE, NINE + 120);
+        ServicePlanner planner = new ServicePlanner(technicians, NO_STATIONS, SEVEN_PM, 15, 50_000);
+
+        List<ServicePlanner.Placement> plan = planner.plan(List.of(
+            new ServicePlanner.Task(60, "Hands"), new ServicePlanner.Task(60, "Feet")), NINE, true);
+
+        // Only technician 2 is free at nine, so one service waits for technician 1 or follows on technician 2
+        assertThat(finish(List.of(new ServicePlanner.Task(60, "Hands"), new ServicePlanner.Task(60, "Feet")), plan))
+            .isEqualTo(NINE + 120);
+        assertThat(plan).allSatisfy(p -> assertThat(p.technicianId() != 1L || p.start() >= NINE + 120).isTrue());
+    }
+
+    @Test
+    void stationNeeds_waitForAFreeStation() {
+        // One pedicure chair, taken until ten
+        StationCapacity chairs = new StationCapacity(Map.of(7L, 1), 5);
+        chairs.add(7L, NINE, NINE + 60);
+        ServicePlanner planner = new ServicePlanner(technicians(3), chairs, SEVEN_PM, 15, 50_000);
+
+        List<ServicePlanner.Placement> plan = planner.plan(List.of(
+            new ServicePlanner.Task(60, "Feet", 7L), new ServicePlanner.Task(30, "Hands")), NINE, true);
+
+        assertThat(plan.get(0).start()).isEqualTo(NINE + 60);
+        assertThat(plan.get(1).start()).isEqualTo(NINE);
+    }
+
+    @Test
+    void tooLate_returnsNull() {
+        ServicePlanner planner = new ServicePlanner(technicians(2), NO_STATIONS, SEVEN_PM, 15, 50_000);
+
+        assertThat(planner.plan(List.of(new ServicePlanner.Task(90, null)), SEVEN_PM - 60, true)).isNull();
+    }
+
+    @Test
+    void busyDay_plansInMilliseconds() {
+        Map<Long, BusyIntervals> technicians = technicians(12);
+        for (long id = 1; id <= 12; id++) {
+            // Staggered bookings so no two technicians look alike
+            for (int start = NINE + (int) id * 10; start + 45 < SEVEN_PM; start += 90 + (int) id * 5) {
+                technicians.get(id).add(start, start + 45);
+            }
+        }
+        List<ServicePlanner.Task> tasks = List.of(new ServicePlanner.Task(60, "Hands"), new ServicePlanner.Task(45, "Feet"),
+            new ServicePlanner.Task(30, "Hands"), new ServicePlanner.Task(30, "Face"), new ServicePlanner.Task(15, null));
+
+        long started = System.nanoTime();
+        List<ServicePlanner.Placement> plan = new ServicePlanner(technicians, NO_STATIONS, SEVEN_PM, 15, 50_000).plan(tasks, NINE, true);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(plan).hasSize(5);
+        assertThat(millis).isLessThan(500);
+    }
+
+    private static Map<Long, BusyIntervals> technicians(int count) {
+        Map<Long, BusyIntervals> technicians = new LinkedHashMap<>();
+        for (long id = 1; id <= count; id++) {
+            technicians.put(id, new BusyIntervals());
+        }
+        return technicians;
+    }
+
+    private static int finish(List<ServicePlanner.Task> tasks, List<ServicePlanner.Placement> plan) {
+        int finish = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            finish = Math.max(finish, plan.get(i).start() + tasks.get(i).duration());
+        }
+        return finish;
+    }
+}
@@ -6,6 +6,7 @@ import com.salonhub.api.appointment.dto.ServiceTypeResponseDTO;
 import com.salonhub.api.appointment.mapper.ServiceTypeMapper;
 import com.salonhub.api.appointment.model.ServiceType;
 import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.station.repository.StationTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +33,9 @@ class ServiceTypeServiceTest {
     @Mock
     private ServiceTypeMapper mapper;
     
+    @Mock
+    private StationTypeRepository stationTypeRepository;
+    
     @InjectMocks
     private ServiceTypeService service;
     
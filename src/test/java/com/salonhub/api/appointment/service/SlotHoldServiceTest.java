@@ -0,0 +1,157 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.AppointmentResponseDTO;
+import com.salonhub.api.appointment.dto.BookingRequestDTO;
+import com.salonhub.api.appointment.dto.SlotHoldDTO;
+import com.salonhub.api.appointment.dto.SlotHoldRequestDTO;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.appointment.repository.SlotHoldRepository;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:slotholds",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "salonhub.booking.holds.ttl=5m",
+    "salonhub.booking.holds.reap-interval-ms=3600000",
+    "salonhub.booking.holds.max-per-client=3"
+})
+class SlotHoldServiceTest {
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+
+    @Autowired
+    private SlotHoldRegistry slotHoldRegistry;
+
+    @Autowired
+    private SlotHoldRepository slotHoldRepository;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    private Long technicianId;
+    private Long customerId;
+    private List<Long> serviceIds;
+    private LocalDateTime start;
+    private String client;
+
+    @BeforeEach
+    void setUp() {
+        // Technicians from earlier tests are off, so a hold without a named technician picks this test's
+        List<Employee> existing = employeeRepository.findAll();
+        existing.forEach(employee -> employee.setAvailable(false));
+        employeeRepository.saveAll(existing);
+
+        technicianId = employeeRepository.save(new Employee("Hold Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        Customer customer = new Customer();
+        customer.setName("Hana Hold");
+        customer.setPhoneNumber("551" + String.format("%07d", technicianId));
+        customerId = customerRepository.save(customer).getId();
+        serviceIds = List.of(serviceTypeRepository.save(
+            new ServiceType(null, "Hold Gel " + technicianId, 60, new BigDecimal("40.00"))).getId());
+        start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        client = "client-" + technicianId;
+    }
+
+    @Test
+    void hold_blocksOtherBookingsOfThatTime() {
+        SlotHoldDTO hold = slotHoldService.hold(new SlotHoldRequestDTO(serviceIds, technicianId, start), client);
+
+        assertThat(hold.getEndTime()).isEqualTo(start.plusMinutes(60));
+        assertThatThrownBy(() -> appointmentService.book(
+                new AppointmentRequestDTO(customerId, technicianId, serviceIds, start.plusMinutes(30))))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> slotHoldService.hold(new SlotHoldRequestDTO(serviceIds, technicianId, start), client))
+            .isInstanceOf(IllegalStateException.class);
+        // Back to back is fine
+        appointmentService.book(new AppointmentRequestDTO(customerId, technicianId, serviceIds, start.plusMinutes(60)));
+    }
+
+    @Test
+    void booking_withTheHold_takesTheHeldStaffAndTime() {
+        SlotHoldDTO hold = slotHoldService.hold(new SlotHoldRequestDTO(serviceIds, null, start), client);
+        assertThat(hold.getStaffId()).isEqualTo(technicianId);
+
+        BookingRequestDTO booking = new BookingRequestDTO();
+        booking.setCustomerName("Hana Hold");
+        booking.setCustomerPhone("551" + String.format("%07d", technicianId));
+        booking.setServiceIds(serviceIds);
+        booking.setScheduledTime(start);
+        booking.setHoldId(hold.getHoldId());
+        AppointmentResponseDTO appointment = appointmentService.publicBook(booking);
+
+        assertThat(appointment.getEmployeeId()).isEqualTo(technicianId);
+        assertThat(slotHoldRepository.existsById(hold.getHoldId())).isFalse();
+        assertThat(slotHoldRegistry.isHeld(technicianId, start, start.plusMinutes(60), LocalDateTime.now())).isFalse();
+        // The hold is used up
+        assertThatThrownBy(() -> appointmentService.publicBook(booking)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void expiredHolds_areReapedAndNoLongerBlock() {
+        SlotHoldDTO hold = slotHoldService.hold(new SlotHoldRequestDTO(serviceIds, technicianId, start), client);
+
+        slotHoldService.reap(hold.getExpiresAt().plusSeconds(1));
+
+        assertThat(slotHoldRepository.existsById(hold.getHoldId())).isFalse();
+        assertThat(slotHoldRegistry.isHeld(technicianId, start, start.plusMinutes(60), LocalDateTime.now())).isFalse();
+        appointmentService.book(new AppointmentRequestDTO(customerId, technicianId, serviceIds, start));
+    }
+
+    @Test
+    void release_givesTheTimeBack() {
+        SlotHoldDTO hold = slotHoldService.hold(new SlotHoldRequestDTO(serviceIds, technicianId, start), client);
+
+        slotHoldService.release(hold.getHoldId());
+
+        appointmentService.book(new AppointmentRequestDTO(customerId, technicianId, serviceIds, start));
+    }
+
+    @Test
+    void hold_limitsHowManyTimesOneClientHoldsAtOnce() {
+        // Given - the client already holds the most times allowed
+        SlotHoldDTO first = slotHoldService.hold(new SlotHoldRequestDTO(serviceIds, null, start), client);
+        slotHoldService.hold(new SlotHoldRequestDTO(serviceIds, null, start.plusHours(1)), client);
+        slotHoldService.hold(new SlotHoldRequestDTO(serviceIds, null, start.plusHours(2)), client);
+
+        // When / Then - a fourth is refused, while another client can still hold
+        assertThatThrownBy(() -> slotHoldService.hold(new SlotHoldRequestDTO(serviceIds, null, start.plusHours(3)), client))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Too many");
+        slotHoldService.hold(new SlotHoldRequestDTO(serviceIds, null, start.plusHours(4)), client + "-other");
+
+        // Releasing one makes room again
+        slotHoldService.release(first.getHoldId());
+        slotHoldService.hold(new SlotHoldRequestDTO(serviceIds, null, start.plusHours(3)), client);
+    }
+}
@@ -0,0 +1,134 @@
+package com.salonhub.api.appointment.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.AppointmentResponseDTO;
+import com.salonhub.api.appointment.dto.ServiceAssignmentDTO;
+import com.salonhub.api.appointment.dto.SplitBookingRequestDTO;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:splitbooking",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class SplitBookingTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Long manicure;
+    private Long pedicure;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.save(new Employee("Split Tech " + System.nanoTime(), Role.TECHNICIAN, true));
+        employeeRepository.save(new Employee("Split Tech " + System.nanoTime(), Role.TECHNICIAN, true));
+        manicure = service("Split Manicure", 30, "Hands");
+        pedicure = service("Split Pedicure", 60, "Feet");
+        tomorrow = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    void bookSplit_givesEachServiceItsOwnTechnicianAndTime() {
+        AppointmentResponseDTO booked = bookSplit(LocalTime.of(10, 0));
+
+        List<ServiceAssignmentDTO> assignments = appointmentService.getById(booked.getId()).getAssignments();
+        assertThat(assignments).hasSize(2);
+        assertThat(assignments).extracting(ServiceAssignmentDTO::getStartTime)
+            .containsOnly(tomorrow.atTime(10, 0));
+        assertThat(assignments.get(0).getEmployeeId()).isNotEqualTo(assignments.get(1).getEmployeeId());
+        assertThat(booked.getStartTime()).isEqualTo(tomorrow.atTime(10, 0));
+        assertThat(booked.getEndTime()).isEqualTo(tomorrow.atTime(11, 0));
+
+        // Both technicians see it on their calendar
+        for (ServiceAssignmentDTO assignment : assignments) {
+            assertThat(appointmentService.listByEmployee(assignment.getEmployeeId(), tomorrow, tomorrow))
+                .extracting(AppointmentResponseDTO::getId).contains(booked.getId());
+        }
+    }
+
+    @Test
+    void conflicts_followEachServicesTimeNotTheWholeAppointment() {
+        AppointmentResponseDTO booked = bookSplit(LocalTime.of(14, 0));
+        ServiceAssignmentDTO hands = assignment(booked, manicure);
+        ServiceAssignmentDTO feet = assignment(booked, pedicure);
+        Long customerId = customer();
+
+        // The manicurist is done at 14:30 though the appointment runs to 15:00
+        AppointmentResponseDTO next = appointmentService.book(new AppointmentRequestDTO(
+            customerId, hands.getEmployeeId(), List.of(manicure), tomorrow.atTime(14, 30)));
+        assertThat(next.getStartTime()).isEqualTo(tomorrow.atTime(14, 30));
+
+        assertThatThrownBy(() -> appointmentService.book(new AppointmentRequestDTO(
+            customerId, feet.getEmployeeId(), List.of(manicure), tomorrow.atTime(14, 30))))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void plan_inTurnTakesOneTechnicianAndTheSumOfTheDurations() {
+        var plan = availabilityService.plan(tomorrow, LocalTime.of(16, 0), List.of(manicure, pedicure), false);
+
+        assertThat(plan.getStartTime()).isEqualTo(tomorrow.atTime(16, 0));
+        assertThat(plan.getEndTime()).isEqualTo(tomorrow.atTime(17, 30));
+        assertThat(plan.getAssignments()).extracting(ServiceAssignmentDTO::getEmployeeId).containsOnly(
+            plan.getAssignments().get(0).getEmployeeId());
+    }
+
+    private AppointmentResponseDTO bookSplit(LocalTime after) {
+        return appointmentService.bookSplit(
+            new SplitBookingRequestDTO(customer(), List.of(manicure, pedicure), tomorrow, after, true));
+    }
+
+    private static ServiceAssignmentDTO assignment(AppointmentResponseDTO appointment, Long serviceId) {
+        return appointment.getAssignments().stream()
+            .filter(a -> a.getServiceId().equals(serviceId))
+            .findFirst().orElseThrow();
+    }
+
+    private Long service(String name, int minutes, String category) {
+        ServiceType service = new ServiceType(null, name + " " + System.nanoTime(), minutes, new BigDecimal("30.00"));
+        service.setCategory(category);
+        return serviceTypeRepository.save(service).getId();
+    }
+
+    private Long customer() {
+        Customer customer = new Customer();
+        customer.setName("Sam Split");
+        customer.setPhoneNumber("553" + String.format("%07d", System.nanoTime() % 10_000_000));
+        return customerRepository.save(customer).getId();
+    }
+}
@@ -3,13 +3,22 @@ package com.salonhub.api.appointment.service.impl;
 import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
 import com.salonhub.api.appointment.dto.AppointmentResponseDTO;
 import com.salonhub.api.appointment.dto.ServiceTypeDTO;
+import com.salonhub.api.appointment.event.AppointmentChangedEvent;
 import com.salonhub.api.appointment.model.Appointment;
 import com.salonhub.api.appointment.model.BookingStatus;
 import com.salonhub.api.appointment.model.ServiceType;
 import com.salonhub.api.appointment.repository.AppointmentRepository;
+import com.salonhub.api.appointment.repository.AppointmentSearchRepository;
+import com.salonhub.api.appointment.repository.AppointmentSpan;
 import com.salonhub.api.appointment.repository.ServiceTypeRepository;
 import com.salonhub.api.appointment.service.AppointmentServiceImpl;
+import com.salonhub.api.appointment.service.BookingCoordinator;
+import com.salonhub.api.appointment.service.AvailabilityService;
+import com.salonhub.api.appointment.service.SlotHoldService;
+import com.salonhub.api.station.service.StationService;
 import com.salonhub.api.appointment.mapper.AppointmentMapper;
+import com.salonhub.api.common.pagination.KeysetCursor;
+import com.salonhub.api.common.pagination.KeysetPage;
 import com.salonhub.api.customer.model.Customer;
 import com.salonhub.api.customer.repository.CustomerRepository;
 import com.salonhub.api.employee.model.Employee;
@@ -22,14 +31,19 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
@@ -40,6 +54,8 @@ class AppointmentServiceImplTest {
     @Mock
     private AppointmentRepository repo;
     @Mock
+    private AppointmentSearchRepository searchRepo;
+    @Mock
     private ServiceTypeRepository serviceTypeRepo;
     @Mock
     private AppointmentMapper mapper;
@@ -47,6 +63,16 @@ class AppointmentServiceImplTest {
     private CustomerRepository customerRepo;
     @Mock
     private EmployeeRepository employeeRepo;
+    @Mock
+    private ApplicationEventPublisher events;
+    @Mock
+    private BookingCoordinator bookingCoordinator;
+    @Mock
+    private SlotHoldService slotHolds;
+    @Mock
+    private AvailabilityService availability;
+    @Mock
+    private StationService stations;
 
     @InjectMocks
     private AppointmentServiceImpl service;
@@ -62,6 +88,7 @@ class AppointmentServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(bookingCoordinator.execute(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
         customer = new Customer();
         customer.setId(1L);
         employee = new Employee();
@@ -81,8 +108,8 @@ class AppointmentServiceImplTest {
         savedEntity.setId(99L);
         savedEntity.setCustomer(customer);
         savedEntity.setEmployee(employee);
-        savedEntity.setServices(List.of(serviceType));
         savedEntity.setStartTime(request.getStartTime());
+        savedEntity.applyServices(List.of(serviceType));
         savedEntity.setStatus(BookingStatus.PENDING);
 
         responseDTO = new AppointmentResponseDTO();
@@ -102,7 +129,7 @@ class AppointmentServiceImplTest {
         when(customerRepo.findById(1L)).thenReturn(Optional.of(customer));
         when(employeeRepo.findById(2L)).thenReturn(Optional.of(employee));
         when(serviceTypeRepo.findAllById(request.getServiceIds())).thenReturn(List.of(serviceType));
-        when(repo.findByEmployeeIdAndStartTimeBetween(eq(2L), any(), any())).thenReturn(List.of());
+        when(repo.existsOverlapping(eq(2L), any(), any(), any())).thenReturn(false);
         when(repo.save(appointmentEntity)).thenReturn(savedEntity);
         when(mapper.toResponse(savedEntity)).thenReturn(responseDTO);
 
@@ -112,11 +139,12 @@ class AppointmentServiceImplTest {
         assertEquals(99L, result.getId());
         assertEquals(30, result.getTotalEstimatedDuration());
         verify(repo).save(appointmentEntity);
+        verify(events).publishEvent(any(AppointmentChangedEvent.class));
     }
 
     @Test
     void getById_notFound_throws() {
-        when(repo.findById(100L)).thenReturn(Optional.empty());
+        when(repo.findWithDetailsById(100L)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> service.getById(100L));
     }
 
@@ -146,9 +174,9 @@ class AppointmentServiceImplTest {
         when(customerRepo.findById(1L)).thenReturn(Optional.of(customer));
         when(employeeRepo.findById(2L)).thenReturn(Optional.of(employee));
         when(serviceTypeRepo.findAllById(request.getServiceIds())).thenReturn(List.of(serviceType));
-        // simulate conflict
-        when(repo.findByEmployeeIdAndStartTimeBetween(eq(2L), any(), any()))
-            .thenReturn(List.of(new Appointment()));
+        // simulate an appointment that started earlier and is still running
+        when(repo.existsOverlapping(eq(2L), eq(request.getStartTime()), eq(request.getStartTime().plusMinutes(30)), any()))
+            .thenReturn(true);
 
         assertThrows(IllegalStateException.class, () -> service.book(request));
     }
@@ -166,4 +194,54 @@ class AppointmentServiceImplTest {
         assertEquals(99L, result.getId());
         verify(repo).save(any(Appointment.class));
     }
+
+    @Test
+    void calendar_returnsPageInStartOrderWithCursor() {
+        LocalDate day = LocalDate.of(2025, 5, 4);
+        Appointment second = new Appointment();
+        second.setId(100L);
+        second.setStartTime(day.atTime(11, 0));
+        AppointmentResponseDTO secondDto = new AppointmentResponseDTO();
+        secondDto.setId(100L);
+
+        when(repo.findCalendarPage(eq(day.atStartOfDay()), eq(day.plusDays(1).atStartOfDay()),
+                eq(day.atStartOfDay()), eq(0L), eq(Limit.of(2))))
+            .thenReturn(List.of(
+                new AppointmentSpan(99L, 2L, day.atTime(10, 0), day.atTime(10, 30)),
+                new AppointmentSpan(100L, 2L, day.atTime(11, 0), day.atTime(11, 30))));
+        when(repo.findAllWithDetailsByIdIn(List.of(99L))).thenReturn(List.of(savedEntity));
+        when(mapper.toResponse(savedEntity)).thenReturn(responseDTO);
+
+        KeysetPage<AppointmentResponseDTO> page = service.calendar(day, day, null, null, 1);
+
+        assertEquals(List.of(99L), page.getItems().stream().map(AppointmentResponseDTO::getId).toList());
+        assertTrue(page.isHasMore());
+        assertEquals(new KeysetCursor(day.atTime(10, 0), 99L), KeysetCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void calendar_rejectsOversizedRange() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        assertThrows(IllegalArgumentException.class,
+            () -> service.calendar(from, from.plusYears(2), null, null, 50));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.listByEmployee(2L, from, from.minusDays(1)));
+    }
+
+    @Test
+    void update_newServices_resnapshotsTotalsAndEndTime() {
+        ServiceType pedicure = new ServiceType(4L, "Pedicure", 45, new java.math.BigDecimal("45.00"));
+        request.setServiceIds(List.of(3L, 4L));
+        when(repo.findById(99L)).thenReturn(Optional.of(savedEntity));
+        when(employeeRepo.findById(2L)).thenReturn(Optional.of(employee));
+        when(serviceTypeRepo.findAllById(request.getServiceIds())).thenReturn(List.of(serviceType, pedicure));
+        when(repo.save(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.update(99L, request);
+
+        assertEquals(2, savedEntity.getLineItems().size());
+        assertEquals(75, savedEntity.getTotalDurationMinutes());
+        assertEquals(0, new java.math.BigDecimal("80.00").compareTo(savedEntity.getTotalPrice()));
+        assertEquals(request.getStartTime().plusMinutes(75), savedEntity.getEndTime());
+    }
 }
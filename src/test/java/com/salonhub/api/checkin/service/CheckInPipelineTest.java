@@ -0,0 +1,182 @@
+package com.salonhub.api.checkin.service;
+
+import com.salonhub.api.checkin.dto.CheckInRequestDTO;
+import com.salonhub.api.checkin.dto.CheckInSyncResultDTO;
+import com.salonhub.api.checkin.dto.CheckInTicketDTO;
+import com.salonhub.api.checkin.dto.CheckInTicketStatusDTO;
+import com.salonhub.api.checkin.dto.OfflineCheckInDTO;
+import com.salonhub.api.common.exception.ServiceBusyException;
+import com.salonhub.api.queue.service.QueueNotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CheckInPipelineTest {
+
+    @Mock
+    private CheckInService checkInService;
+
+    @Mock
+    private QueueNotificationService notificationService;
+
+    private CheckInPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new CheckInPipeline(checkInService, notificationService, new SimpleMeterRegistry(),
+                2, 1, 10, Duration.ofSeconds(3), Duration.ofSeconds(5), Duration.ofMinutes(15), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void submit_whenQueueIsFull_refusesWithRetryAfter() {
+        // Given - workers not started, so nothing drains the queue
+        pipeline.submit(guest("First"));
+        pipeline.submit(guest("Second"));
+
+        // When / Then
+        assertThatThrownBy(() -> pipeline.submit(guest("Third")))
+            .isInstanceOf(ServiceBusyException.class)
+            .extracting("retryAfterSeconds").isEqualTo(3L);
+        assertThat(pipeline.getPendingCount()).isEqualTo(2);
+    }
+
+    @Test
+    void refusedTickets_leaveNoOutcomeBehind() {
+        // Given - the queue is full
+        pipeline.submit(guest("First"));
+        pipeline.submit(guest("Second"));
+
+        // When - a burst is refused
+        for (int i = 0; i < 50; i++) {
+            assertThatThrownBy(() -> pipeline.submit(guest("Burst"))).isInstanceOf(ServiceBusyException.class);
+        }
+
+        // Then - only the accepted tickets are kept
+        assertThat(pipeline.rememberedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void submit_withoutContact_isRejectedUpFront() {
+        CheckInRequestDTO request = guest("No Contact");
+        request.setContact(null);
+
+        assertThatThrownBy(() -> pipeline.submit(request))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Contact information is required");
+        assertThat(pipeline.getPendingCount()).isZero();
+    }
+
+    @Test
+    void acceptedTickets_areAppliedTogetherAndConfirmed() {
+        // Given
+        when(checkInService.applyAcceptedCheckIns(anyList())).thenAnswer(invocation -> {
+            List<OfflineCheckInDTO> items = invocation.getArgument(0);
+            return items.stream().map(item -> applied(item.getClientRef())).collect(Collectors.toList());
+        });
+        CheckInTicketDTO first = pipeline.submit(guest("First"));
+        CheckInTicketDTO second = pipeline.submit(guest("Second"));
+        assertThat(first.getConfirmationTopic()).isEqualTo("/topic/checkin/" + first.getTicketId());
+
+        // When
+        pipeline.start();
+
+        // Then - both tickets were waiting, so they share one transaction
+        verify(notificationService, timeout(2000)).sendCheckInConfirmation(eq(first.getTicketId()), any());
+        verify(notificationService, timeout(2000)).sendCheckInConfirmation(eq(second.getTicketId()), any());
+        verify(checkInService, times(1)).applyAcceptedCheckIns(anyList());
+    }
+
+    @Test
+    void status_keepsTheOutcomeForClientsThatMissedTheTopic() {
+        // Given
+        when(checkInService.applyAcceptedCheckIns(anyList())).thenAnswer(invocation -> {
+            List<OfflineCheckInDTO> items = invocation.getArgument(0);
+            return items.stream().map(item -> applied(item.getClientRef())).collect(Collectors.toList());
+        });
+        CheckInTicketDTO ticket = pipeline.submit(guest("Late Subscriber"));
+        assertThat(pipeline.status(ticket.getTicketId()).getStatus()).isEqualTo(CheckInTicketStatusDTO.Status.PENDING);
+
+        // When
+        pipeline.start();
+        verify(notificationService, timeout(2000)).sendCheckInConfirmation(eq(ticket.getTicketId()), any());
+
+        // Then
+        CheckInTicketStatusDTO status = pipeline.status(ticket.getTicketId());
+        assertThat(status.getStatus()).isEqualTo(CheckInTicketStatusDTO.Status.CONFIRMED);
+        assertThat(status.getResult().getPosition()).isEqualTo(1);
+        assertThatThrownBy(() -> pipeline.status(UUID.randomUUID())).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void status_expiresAfterTheResultTtl() {
+        CheckInPipeline shortLived = new CheckInPipeline(checkInService, notificationService, new SimpleMeterRegistry(),
+                2, 1, 10, Duration.ofSeconds(3), Duration.ofSeconds(5), Duration.ZERO, 100);
+        CheckInTicketDTO ticket = shortLived.submit(guest("Expired"));
+
+        assertThatThrownBy(() -> shortLived.status(ticket.getTicketId())).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void failedBatch_isRetriedOneTicketAtATime() {
+        // Given - the batch fails as a whole, then only the bad ticket fails on its own
+        CheckInTicketDTO good = pipeline.submit(guest("Good"));
+        CheckInTicketDTO bad = pipeline.submit(guest("Bad"));
+        when(checkInService.applyAcceptedCheckIns(anyList())).thenAnswer(invocation -> {
+            List<OfflineCheckInDTO> items = invocation.getArgument(0);
+            if (items.stream().anyMatch(item -> item.getClientRef().equals(bad.getTicketId()))) {
+                throw new IllegalStateException("boom");
+            }
+            return items.stream().map(item -> applied(item.getClientRef())).collect(Collectors.toList());
+        });
+
+        // When
+        pipeline.start();
+
+        // Then
+        ArgumentCaptor<Object> goodResult = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<Object> badResult = ArgumentCaptor.forClass(Object.class);
+        verify(notificationService, timeout(2000)).sendCheckInConfirmation(eq(good.getTicketId()), goodResult.capture());
+        verify(notificationService, timeout(2000)).sendCheckInConfirmation(eq(bad.getTicketId()), badResult.capture());
+        assertThat(((CheckInSyncResultDTO) goodResult.getValue()).getStatus()).isEqualTo(CheckInSyncResultDTO.Status.APPLIED);
+        assertThat(((CheckInSyncResultDTO) badResult.getValue()).getStatus()).isEqualTo(CheckInSyncResultDTO.Status.REJECTED);
+    }
+
+    private static CheckInSyncResultDTO applied(UUID ticketId) {
+        return new CheckInSyncResultDTO(ticketId, CheckInSyncResultDTO.Status.APPLIED, 1L, 1L, 1, 1, 15, "Added to the queue");
+    }
+
+    private static CheckInRequestDTO guest(String name) {
+        CheckInRequestDTO request = new CheckInRequestDTO();
+        request.setName(name);
+        request.setContact("555" + String.format("%07d", (int) (Math.random() * 10_000_000)));
+        request.setGuest(true);
+        return request;
+    }
+}
@@ -4,6 +4,7 @@ import com.salonhub.api.checkin.dto.CheckInRequestDTO;
 import com.salonhub.api.checkin.dto.CheckInResponseDTO;
 import com.salonhub.api.customer.model.Customer;
 import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.customer.service.CustomerContactFilter;
 import com.salonhub.api.queue.model.Queue;
 import com.salonhub.api.queue.model.QueueStatus;
 import com.salonhub.api.queue.service.QueueService;
@@ -31,6 +32,9 @@ class CheckInQueueServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerContactFilter customerContactFilter;
+
     @Mock
     private QueueService queueService;
 
@@ -115,7 +119,7 @@ class CheckInQueueServiceTest {
     @Test
     void checkInExistingCustomer_shouldFindCustomerAndAddToQueue() {
         // Given
-        when(customerRepository.findByPhoneOrEmail(anyString(), anyString()))
+        when(customerRepository.findByContact(anyString()))
             .thenReturn(Optional.of(mockCustomer));
         when(queueService.addToQueue(any(Queue.class))).thenReturn(mockQueueEntry);
 
@@ -134,15 +138,15 @@ class CheckInQueueServiceTest {
         assertEquals(15, response.getEstimatedWaitTime());
         assertEquals("Check-in successful! You've been added to the queue.", response.getMessage());
 
-        // Verify interactions - the service should pass contact info and empty string for email field
-        verify(customerRepository).findByPhoneOrEmail("test@example.com", "");
+        // Verify interactions - the service should probe by the contact field only
+        verify(customerRepository).findByContact("test@example.com");
         verify(queueService).addToQueue(any(Queue.class));
     }
 
     @Test
     void checkInCustomer_shouldPassCorrectQueueEntry() {
         // Given
-        when(customerRepository.findByPhoneOrEmail(anyString(), anyString()))
+        when(customerRepository.findByContact(anyString()))
             .thenReturn(Optional.of(mockCustomer));
         when(queueService.addToQueue(any(Queue.class))).thenReturn(mockQueueEntry);
 
@@ -160,7 +164,7 @@ class CheckInQueueServiceTest {
     @Test
     void checkInNonExistentCustomer_shouldThrowException() {
         // Given
-        when(customerRepository.findByPhoneOrEmail(anyString(), anyString()))
+        when(customerRepository.findByContact(anyString()))
             .thenReturn(Optional.empty());
 
         // When & Then
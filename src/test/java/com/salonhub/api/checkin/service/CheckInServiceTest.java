@@ -2,8 +2,14 @@ package com.salonhub.api.checkin.service;
 
 import com.salonhub.api.checkin.dto.CheckInRequestDTO;
 import com.salonhub.api.checkin.dto.CheckInResponseDTO;
+import com.salonhub.api.checkin.dto.GroupCheckInRequestDTO;
+import com.salonhub.api.checkin.dto.GroupCheckInResponseDTO;
+import com.salonhub.api.common.pagination.KeysetCursor;
+import com.salonhub.api.common.pagination.KeysetPage;
+import com.salonhub.api.customer.dto.GuestSummaryDTO;
 import com.salonhub.api.customer.model.Customer;
 import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.customer.service.CustomerContactFilter;
 import com.salonhub.api.queue.model.Queue;
 import com.salonhub.api.queue.service.QueueService;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,13 +18,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +37,9 @@ class CheckInServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerContactFilter customerContactFilter;
+
     @Mock
     private QueueService queueService;
 
@@ -62,7 +75,7 @@ class CheckInServiceTest {
     @Test
     void testCheckInGuest_Success() {
         // Arrange
-        when(customerRepository.findByPhoneOrEmail(anyString(), anyString()))
+        when(customerContactFilter.findByContact(anyString()))
             .thenReturn(Optional.empty());
         
         Customer savedGuest = new Customer();
@@ -95,7 +108,7 @@ class CheckInServiceTest {
         assertEquals(15, response.getEstimatedWaitTime());
         assertEquals(1L, response.getQueueId());
         
-        verify(customerRepository).findByPhoneOrEmail("555-5678", "555-5678");
+        verify(customerContactFilter).findByContact("555-5678");
         verify(customerRepository).save(any(Customer.class));
         verify(queueService).addToQueue(any(Queue.class));
     }
@@ -103,7 +116,7 @@ class CheckInServiceTest {
     @Test
     void testCheckInExistingCustomer_Success() {
         // Arrange
-        when(customerRepository.findByPhoneOrEmail(anyString(), anyString()))
+        when(customerRepository.findByContact(anyString()))
             .thenReturn(Optional.of(existingCustomer));
 
         // Mock queue service
@@ -128,15 +141,33 @@ class CheckInServiceTest {
         assertEquals(30, response.getEstimatedWaitTime());
         assertEquals(2L, response.getQueueId());
         
-        verify(customerRepository).findByPhoneOrEmail("555-1234", "john@example.com");
+        verify(customerRepository).findByContact("555-1234");
         verify(customerRepository, never()).save(any(Customer.class));
         verify(queueService).addToQueue(any(Queue.class));
     }
 
+    @Test
+    void testCheckInExistingCustomer_NewPhoneFoundByEmail() {
+        // Arrange
+        existingCustomerRequest.setContact("555-9999");
+        when(customerRepository.findByContact("555-9999")).thenReturn(Optional.empty());
+        when(customerRepository.findByContact("john@example.com")).thenReturn(Optional.of(existingCustomer));
+        Queue mockQueue = new Queue(1L, "Existing customer check-in");
+        mockQueue.setId(3L);
+        when(queueService.addToQueue(any(Queue.class))).thenReturn(mockQueue);
+
+        // Act
+        CheckInResponseDTO response = checkInService.checkIn(existingCustomerRequest);
+
+        // Assert
+        assertEquals(1L, response.getId());
+        verify(customerRepository, never()).save(any(Customer.class));
+    }
+
     @Test
     void testCheckInGuest_PhoneNumberAlreadyExists() {
         // Arrange
-        when(customerRepository.findByPhoneOrEmail(anyString(), anyString()))
+        when(customerContactFilter.findByContact(anyString()))
             .thenReturn(Optional.of(existingCustomer));
 
         // Act & Assert
@@ -148,14 +179,14 @@ class CheckInServiceTest {
         assertEquals("A customer with this contact information already exists. Use existing customer check-in instead.", 
                     exception.getMessage());
         
-        verify(customerRepository).findByPhoneOrEmail("555-5678", "555-5678");
+        verify(customerContactFilter).findByContact("555-5678");
         verify(customerRepository, never()).save(any(Customer.class));
     }
 
     @Test
     void testCheckInExistingCustomer_NotFound() {
         // Arrange
-        when(customerRepository.findByPhoneOrEmail(anyString(), anyString()))
+        when(customerRepository.findByContact(anyString()))
             .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -166,7 +197,7 @@ class CheckInServiceTest {
         
         assertEquals("Customer not found with provided contact information", exception.getMessage());
         
-        verify(customerRepository).findByPhoneOrEmail("555-1234", "john@example.com");
+        verify(customerRepository).findByContact("555-1234");
         verify(customerRepository, never()).save(any(Customer.class));
     }
 
@@ -183,7 +214,7 @@ class CheckInServiceTest {
         
         assertEquals("Contact information is required for guest check-in", exception.getMessage());
         
-        verify(customerRepository, never()).findByPhoneOrEmail(anyString(), anyString());
+        verify(customerContactFilter, never()).findByContact(anyString());
         verify(customerRepository, never()).save(any(Customer.class));
     }
 
@@ -200,7 +231,94 @@ class CheckInServiceTest {
         
         assertEquals("Name is required for guest check-in", exception.getMessage());
         
-        verify(customerRepository, never()).findByPhoneOrEmail(anyString(), anyString());
+        verify(customerContactFilter, never()).findByContact(anyString());
         verify(customerRepository, never()).save(any(Customer.class));
     }
+
+    @Test
+    void testCheckInGroup_ResolvesMembersInOneQueryAndSharesPartyId() {
+        // Arrange
+        GroupCheckInRequestDTO request = new GroupCheckInRequestDTO();
+        request.setMembers(List.of(existingCustomerRequest, guestRequest));
+
+        when(customerRepository.findAllByContacts(List.of("555-1234", "555-5678")))
+            .thenReturn(Map.of("5551234", existingCustomer));
+        when(customerRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Customer> guests = invocation.getArgument(0);
+            guests.forEach(guest -> guest.setId(2L));
+            return guests;
+        });
+        when(queueService.addAllToQueue(any())).thenAnswer(invocation -> {
+            List<Queue> entries = invocation.getArgument(0);
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).setId(10L + i);
+                entries.get(i).setQueueNumber(5 + i);
+            }
+            return entries;
+        });
+
+        // Act
+        GroupCheckInResponseDTO response = checkInService.checkInGroup(request);
+
+        // Assert
+        assertNotNull(response.getPartyId());
+        assertEquals(2, response.getMembers().size());
+        assertEquals(1L, response.getMembers().get(0).getId());
+        assertEquals(2L, response.getMembers().get(1).getId());
+        assertTrue(response.getMembers().get(1).isGuest());
+
+        verify(customerRepository).findAllByContacts(any());
+        verify(customerContactFilter, never()).findByContact(anyString());
+        verify(queueService).addAllToQueue(argThat(entries ->
+            entries.stream().allMatch(entry -> response.getPartyId().equals(entry.getPartyId()))));
+        verify(queueService, never()).addToQueue(any(Queue.class));
+    }
+
+    @Test
+    void testCheckInGroup_DuplicateContactRejected() {
+        // Arrange
+        CheckInRequestDTO sameContact = new CheckInRequestDTO();
+        sameContact.setName("Jane Twin");
+        sameContact.setContact("(555) 5678");
+        sameContact.setGuest(true);
+        GroupCheckInRequestDTO request = new GroupCheckInRequestDTO();
+        request.setMembers(List.of(guestRequest, sameContact));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> checkInService.checkInGroup(request)
+        );
+
+        assertEquals("Each party member needs their own contact information", exception.getMessage());
+        verify(customerRepository, never()).saveAll(any());
+        verify(queueService, never()).addAllToQueue(any());
+    }
+
+    @Test
+    void getTodayCheckedInGuests_page_returnsCursorWhenMoreRowsExist() {
+        // Arrange - the query asks for one extra row to detect a further page
+        LocalDateTime checkedInAt = LocalDateTime.now();
+        List<GuestSummaryDTO> rows = List.of(
+            new GuestSummaryDTO(1L, "A", "5550000001", null, null, checkedInAt),
+            new GuestSummaryDTO(2L, "B", "5550000002", null, null, checkedInAt),
+            new GuestSummaryDTO(3L, "C", "5550000003", null, null, checkedInAt));
+        when(customerRepository.findGuestSummaries(any(), any(), eq(Limit.of(3)))).thenReturn(rows);
+
+        // Act
+        KeysetPage<GuestSummaryDTO> page = checkInService.getTodayCheckedInGuests(null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(checkedInAt, cursor.timestamp());
+        assertEquals(2L, cursor.id());
+    }
+
+    @Test
+    void getTodayCheckedInGuests_page_rejectsTamperedCursor() {
+        assertThrows(IllegalArgumentException.class,
+            () -> checkInService.getTodayCheckedInGuests("not-a-cursor", 10));
+    }
 }
@@ -0,0 +1,160 @@
+package com.salonhub.api.checkin.service;
+
+import com.salonhub.api.checkin.dto.CheckInRequestDTO;
+import com.salonhub.api.checkin.dto.CheckInResponseDTO;
+import com.salonhub.api.checkin.dto.CheckInSyncRequestDTO;
+import com.salonhub.api.checkin.dto.CheckInSyncResponseDTO;
+import com.salonhub.api.checkin.dto.CheckInSyncResultDTO;
+import com.salonhub.api.checkin.dto.OfflineCheckInDTO;
+import com.salonhub.api.queue.model.Queue;
+import com.salonhub.api.queue.repository.QueueRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offline kiosk sync against a real database: batch insert, arrival-time ranking and de-duplication.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class CheckInSyncServiceTest {
+
+    @Autowired
+    private CheckInService checkInService;
+
+    @Autowired
+    private QueueRepository queueRepository;
+
+    @Test
+    void syncOfflineCheckIns_placesItemsByArrivalTimeAndDeduplicates() {
+        // Given - someone checked in online just now
+        CheckInResponseDTO online = checkInService.checkIn(guest("Online Guest", uniquePhone()));
+
+        LocalDateTime now = LocalDateTime.now();
+        OfflineCheckInDTO earlier = offline(guest("Offline First", uniquePhone()), now.minusMinutes(10));
+        OfflineCheckInDTO later = offline(guest("Offline Second", uniquePhone()), now.minusMinutes(5));
+        CheckInSyncRequestDTO request = new CheckInSyncRequestDTO();
+        request.setItems(List.of(later, earlier, later));
+
+        // When
+        CheckInSyncResponseDTO response = checkInService.syncOfflineCheckIns(request);
+
+        // Then
+        assertThat(response.getResults()).extracting(CheckInSyncResultDTO::getStatus).containsExactly(
+            CheckInSyncResultDTO.Status.APPLIED, CheckInSyncResultDTO.Status.APPLIED, CheckInSyncResultDTO.Status.DUPLICATE);
+        assertThat(response.getApplied()).isEqualTo(2);
+        assertThat(response.getDuplicates()).isEqualTo(1);
+
+        Queue first = queueRepository.findById(response.getResults().get(1).getQueueId()).orElseThrow();
+        Queue second = queueRepository.findById(response.getResults().get(0).getQueueId()).orElseThrow();
+        Queue onlineEntry = queueRepository.findById(online.getQueueId()).orElseThrow();
+        assertThat(first.getQueueNumber()).isLessThan(second.getQueueNumber());
+        assertThat(first.getPosition()).isLessThan(second.getPosition());
+        assertThat(second.getPosition()).isLessThan(onlineEntry.getPosition());
+    }
+
+    @Test
+    void syncOfflineCheckIns_resentBatch_isReportedAsDuplicate() {
+        // Given
+        CheckInSyncRequestDTO request = new CheckInSyncRequestDTO();
+        request.setItems(List.of(offline(guest("Retry Guest", uniquePhone()), LocalDateTime.now().minusMinutes(2))));
+        CheckInSyncResultDTO original = checkInService.syncOfflineCheckIns(request).getResults().get(0);
+
+        // When
+        CheckInSyncResultDTO resent = checkInService.syncOfflineCheckIns(request).getResults().get(0);
+
+        // Then
+        assertThat(resent.getStatus()).isEqualTo(CheckInSyncResultDTO.Status.DUPLICATE);
+        assertThat(resent.getQueueId()).isEqualTo(original.getQueueId());
+    }
+
+    @Test
+    void syncOfflineCheckIns_rejectsItemsIndividually() {
+        // Given
+        CheckInRequestDTO unknownCustomer = guest("Unknown", uniquePhone());
+        unknownCustomer.setGuest(false);
+        CheckInSyncRequestDTO request = new CheckInSyncRequestDTO();
+        request.setItems(List.of(
+            offline(unknownCustomer, LocalDateTime.now().minusMinutes(1)),
+            offline(guest("Yesterday", uniquePhone()), LocalDateTime.now().minusDays(1)),
+            offline(guest("Valid", uniquePhone()), LocalDateTime.now().minusMinutes(1))));
+
+        // When
+        CheckInSyncResponseDTO response = checkInService.syncOfflineCheckIns(request);
+
+        // Then
+        assertThat(response.getResults()).extracting(CheckInSyncResultDTO::getStatus).containsExactly(
+            CheckInSyncResultDTO.Status.REJECTED, CheckInSyncResultDTO.Status.REJECTED, CheckInSyncResultDTO.Status.APPLIED);
+        assertThat(response.getResults().get(1).getMessage()).isEqualTo("Check-in was captured on a previous day");
+    }
+
+    @Test
+    void applyAcceptedCheckIns_followsTheSameCustomerRulesAsCheckIn() {
+        // Given - a customer on file, then the same contact sent as a guest and as a returning customer
+        String phone = uniquePhone();
+        CheckInResponseDTO onFile = checkInService.checkIn(guest("On File", phone));
+        CheckInRequestDTO returning = guest("On File", phone);
+        returning.setGuest(false);
+
+        // When
+        List<CheckInSyncResultDTO> results = checkInService.applyAcceptedCheckIns(List.of(
+            offline(guest("Same Contact", phone), LocalDateTime.now()),
+            offline(returning, LocalDateTime.now())));
+
+        // Then
+        assertThat(results.get(0).getStatus()).isEqualTo(CheckInSyncResultDTO.Status.REJECTED);
+        assertThat(results.get(0).getMessage()).startsWith("A customer with this contact information already exists");
+        assertThat(results.get(1).getStatus()).isEqualTo(CheckInSyncResultDTO.Status.APPLIED);
+        assertThat(results.get(1).getCustomerId()).isEqualTo(onFile.getId());
+    }
+
+    @Test
+    void forEachTodayCheckedInGuest_readsOutsideAnyTransaction() {
+        // Given
+        CheckInResponseDTO guest = checkInService.checkIn(guest("Exported Guest", uniquePhone()));
+        List<Long> exported = new ArrayList<>();
+
+        // When - the consumer stands in for a slow client; no transaction (or connection) spans it
+        checkInService.forEachTodayCheckedInGuest(row -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            exported.add(row.getId());
+        });
+
+        // Then
+        assertThat(exported).contains(guest.getId());
+    }
+
+    private static OfflineCheckInDTO offline(CheckInRequestDTO checkIn, LocalDateTime capturedAt) {
+        OfflineCheckInDTO item = new OfflineCheckInDTO();
+        item.setClientRef(UUID.randomUUID());
+        item.setCapturedAt(capturedAt);
+        item.setCheckIn(checkIn);
+        return item;
+    }
+
+    private static CheckInRequestDTO guest(String name, String phone) {
+        CheckInRequestDTO request = new CheckInRequestDTO();
+        request.setName(name);
+        request.setContact(phone);
+        request.setGuest(true);
+        return request;
+    }
+
+    private static String uniquePhone() {
+        return "556" + String.format("%07d", (int) (Math.random() * 10_000_000));
+    }
+}
@@ -0,0 +1,115 @@
+package com.salonhub.api.checkin.service;
+
+import com.salonhub.api.checkin.dto.CheckInRequestDTO;
+import com.salonhub.api.queue.repository.QueueRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Opening-time burst: many kiosks checking in at once, synchronous path vs. the asynchronous pipeline.
+ * Reports acceptance throughput (what the kiosk waits for) and end-to-end throughput (until the queue is written).
+ *
+ * Not part of the regular build; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:benchmarkdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "salonhub.checkin.async.capacity=5000"
+})
+class CheckInThroughputBenchmark {
+
+    private static final int CLIENTS = 16;
+    private static final int CHECK_INS = 1_000;
+    private static final AtomicInteger phoneSequence = new AtomicInteger();
+
+    @Autowired
+    private CheckInService checkInService;
+
+    @Autowired
+    private CheckInPipeline checkInPipeline;
+
+    @Autowired
+    private QueueRepository queueRepository;
+
+    @Test
+    void compareSynchronousAndAsynchronousCheckIn() throws Exception {
+        // Warm up both paths
+        run(100, request -> checkInService.checkIn(request));
+        awaitApplied(run(100, request -> checkInPipeline.submit(request).getTicketId().toString()));
+
+        long syncStart = System.nanoTime();
+        run(CHECK_INS, request -> checkInService.checkIn(request));
+        long syncNanos = System.nanoTime() - syncStart;
+
+        long asyncStart = System.nanoTime();
+        List<String> tickets = run(CHECK_INS, request -> checkInPipeline.submit(request).getTicketId().toString());
+        long acceptNanos = System.nanoTime() - asyncStart;
+        awaitApplied(tickets);
+        long asyncNanos = System.nanoTime() - asyncStart;
+
+        System.out.printf("%nCheck-in throughput, %d check-ins from %d clients:%n", CHECK_INS, CLIENTS);
+        System.out.printf("  synchronous            %8.0f/s%n", perSecond(syncNanos));
+        System.out.printf("  asynchronous accepted  %8.0f/s%n", perSecond(acceptNanos));
+        System.out.printf("  asynchronous applied   %8.0f/s%n%n", perSecond(asyncNanos));
+
+        assertThat(tickets).hasSize(CHECK_INS);
+    }
+
+    private <T> List<T> run(int count, Function<CheckInRequestDTO, T> checkIn) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Callable<T>> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tasks.add(() -> checkIn.apply(guest()));
+            }
+            List<T> results = new ArrayList<>(count);
+            for (Future<T> future : clients.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    private void awaitApplied(List<String> ticketIds) throws InterruptedException {
+        Set<String> refs = Set.copyOf(ticketIds);
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (checkInPipeline.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(queueRepository.findAllByClientRefIn(refs)).hasSize(refs.size());
+    }
+
+    private static double perSecond(long nanos) {
+        return CHECK_INS / (nanos / 1_000_000_000.0);
+    }
+
+    private static CheckInRequestDTO guest() {
+        int n = phoneSequence.incrementAndGet();
+        CheckInRequestDTO request = new CheckInRequestDTO();
+        request.setName("Benchmark Guest " + n);
+        request.setContact("557" + String.format("%07d", n));
+        request.setGuest(true);
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+package com.salonhub.api.common.bloom;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExistenceFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ExistenceFilter("test", 0.01, meterRegistry);
+    }
+
+    @Test
+    void mightContain_beforeRebuild_fallsBackToDatabase() {
+        assertThat(filter.isReady()).isFalse();
+        assertThat(filter.mightContain("anything")).isTrue();
+    }
+
+    @Test
+    void mightContain_afterRebuild_answersFromLoadedAndInsertedKeys() {
+        filter.rebuild(2, () -> Stream.of("+15551234567", "jane@example.com", null));
+        filter.put("+15559876543");
+
+        assertThat(filter.mightContain("+15551234567")).isTrue();
+        assertThat(filter.mightContain("jane@example.com")).isTrue();
+        assertThat(filter.mightContain("+15559876543")).isTrue();
+        assertThat(filter.mightContain("new@example.com")).isFalse();
+    }
+
+    @Test
+    void put_duringRebuild_survivesTheSwap() {
+        filter.rebuild(1, () -> Stream.of("old@example.com"));
+
+        filter.rebuild(1, () -> Stream.of("loaded@example.com").peek(key -> filter.put("racing@example.com")));
+
+        assertThat(filter.mightContain("racing@example.com")).isTrue();
+        assertThat(filter.mightContain("loaded@example.com")).isTrue();
+    }
+
+    @Test
+    void put_beforeFirstRebuild_survivesARebuildThatMissedIt() {
+        // Written and flushed before the rebuild's read, committed after it
+        filter.put("uncommitted@example.com");
+
+        filter.rebuild(1, () -> Stream.of("loaded@example.com"));
+
+        assertThat(filter.mightContain("uncommitted@example.com")).isTrue();
+    }
+
+    @Test
+    void put_afterRebuild_isNotKeptForTheNextOne() {
+        filter.rebuild(1, () -> Stream.of("loaded@example.com"));
+        filter.put("deleted@example.com");
+
+        filter.rebuild(1, () -> Stream.of("loaded@example.com"));
+
+        assertThat(filter.mightContain("deleted@example.com")).isFalse();
+    }
+
+    @Test
+    void metrics_reportAvoidedCallsAndFalsePositiveRate() {
+        filter.rebuild(1, () -> Stream.of("known@example.com"));
+
+        filter.mightContain("unknown@example.com");
+        filter.mightContain("known@example.com");
+        filter.mightContain("known@example.com");
+        filter.recordFalsePositive();
+
+        assertThat(meterRegistry.get("salonhub.bloom.checks").tag("filter", "test").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("salonhub.bloom.db.calls.avoided").tag("filter", "test").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("salonhub.bloom.false.positive.rate").tag("filter", "test").gauge().value()).isEqualTo(0.5);
+    }
+}
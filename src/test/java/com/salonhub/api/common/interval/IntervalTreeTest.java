@@ -0,0 +1,73 @@
+package com.salonhub.api.common.interval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntervalTreeTest {
+
+    @Test
+    void overlapping_findsIntervalsThatShareTime_inStartOrder() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add(60, 120, 1, "a");
+        tree.add(0, 30, 2, "b");
+        tree.add(90, 240, 3, "c");
+        tree.add(30, 60, 4, "d");
+
+        assertThat(tree.overlapping(45, 100)).containsExactly("d", "a", "c");
+        // Half-open: touching at an end is not an overlap
+        assertThat(tree.overlapping(30, 60)).containsExactly("d");
+        assertThat(tree.overlapping(240, 300)).isEmpty();
+    }
+
+    @Test
+    void remove_dropsOnlyTheMatchingInterval() {
+        IntervalTree<Long> tree = new IntervalTree<>();
+        tree.add(10, 20, 1, 1L);
+        tree.add(10, 30, 2, 2L);
+
+        assertThat(tree.remove(10, 1)).isTrue();
+        assertThat(tree.remove(10, 1)).isFalse();
+        assertThat(tree.overlapping(0, 100)).containsExactly(2L);
+        assertThat(tree.size()).isEqualTo(1);
+    }
+
+    @Test
+    void add_rejectsEmptyIntervals() {
+        assertThatThrownBy(() -> new IntervalTree<Long>().add(10, 10, 1, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void overlapping_matchesABruteForceScan() {
+        Random random = new Random(42);
+        IntervalTree<long[]> tree = new IntervalTree<>();
+        List<long[]> intervals = new ArrayList<>();
+        for (long id = 0; id < 2_000; id++) {
+            long start = random.nextInt(1_440);
+            long[] interval = {start, start + 1 + random.nextInt(180), id};
+            intervals.add(interval);
+            tree.add(interval[0], interval[1], id, interval);
+        }
+        for (int i = 0; i < 500; i++) {
+            long[] removed = intervals.remove(random.nextInt(intervals.size()));
+            assertThat(tree.remove(removed[0], removed[2])).isTrue();
+        }
+
+        for (int i = 0; i < 200; i++) {
+            long start = random.nextInt(1_440);
+            long end = start + 1 + random.nextInt(120);
+            List<long[]> expected = intervals.stream()
+                .filter(interval -> interval[0] < end && interval[1] > start)
+                .sorted((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[2], b[2]))
+                .toList();
+            assertThat(tree.overlapping(start, end)).containsExactlyElementsOf(expected);
+        }
+        assertThat(tree.size()).isEqualTo(1_500);
+    }
+}
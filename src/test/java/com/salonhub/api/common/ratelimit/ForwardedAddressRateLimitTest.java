@@ -0,0 +1,74 @@
+package com.salonhub.api.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Through the real server, so the forwarded-header handling in front of the filter is exercised too.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:forwardedratelimit",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "salonhub.rate-limit.queue-stats.capacity=2",
+    "salonhub.rate-limit.queue-stats.per-minute=1",
+    "salonhub.rate-limit.holds.capacity=1",
+    "salonhub.rate-limit.holds.per-minute=1"
+})
+class ForwardedAddressRateLimitTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void clientsBehindTheProxy_getTheirOwnBudgets() {
+        assertThat(stats("203.0.113.10")).isNotEqualTo(429);
+        assertThat(stats("203.0.113.10")).isNotEqualTo(429);
+        assertThat(stats("203.0.113.10")).isEqualTo(429);
+
+        // Same proxy peer (loopback), different client
+        assertThat(stats("203.0.113.20")).isNotEqualTo(429);
+    }
+
+    @Test
+    void spoofedLeftmostHop_isIgnored() {
+        assertThat(stats("198.51.100.1, 203.0.113.30")).isNotEqualTo(429);
+        assertThat(stats("198.51.100.2, 203.0.113.30")).isNotEqualTo(429);
+        assertThat(stats("198.51.100.3, 203.0.113.30")).isEqualTo(429);
+    }
+
+    @Test
+    void checkoutHolds_haveTheirOwnBudget() {
+        assertThat(hold("203.0.113.40")).isNotEqualTo(429);
+        assertThat(hold("203.0.113.40")).isEqualTo(429);
+
+        // The check-in screens' budget is untouched
+        assertThat(stats("203.0.113.40")).isNotEqualTo(429);
+    }
+
+    private int hold(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", forwardedFor);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.exchange("/api/bookings/holds", HttpMethod.POST, new HttpEntity<>("{}", headers), String.class)
+            .getStatusCode().value();
+    }
+
+    private int stats(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", forwardedFor);
+        return restTemplate.exchange("/api/queue/stats", HttpMethod.GET, new HttpEntity<>(headers), String.class)
+            .getStatusCode().value();
+    }
+}
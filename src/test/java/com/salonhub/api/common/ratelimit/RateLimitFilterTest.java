@@ -0,0 +1,71 @@
+package com.salonhub.api.common.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter("X-Device-Id", new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry)
+            .limit("check-in", "POST", Set.of("/api/checkin"), 2, 1.0 / 60, 2, 100);
+    }
+
+    @Test
+    void exceedingBudget_returns429WithRetryAfter() throws Exception {
+        assertThat(send("POST", "/api/checkin", "10.0.0.1", null).getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/checkin", "10.0.0.1", null).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = send("POST", "/api/checkin", "10.0.0.1", null);
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("60");
+        assertThat(rejected.getContentAsString()).contains("Too Many Requests");
+        assertThat(meterRegistry.get("salonhub.ratelimit.rejections").tag("endpoint", "check-in").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void devicesBehindOneAddress_shareAnAggregateBudget() throws Exception {
+        // Each device gets its own budget of 2, the address as a whole 4
+        assertThat(send("POST", "/api/checkin", "10.0.0.2", "kiosk-a").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/checkin", "10.0.0.2", "kiosk-a").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/checkin", "10.0.0.2", "kiosk-a").getStatus()).isEqualTo(429);
+        assertThat(send("POST", "/api/checkin", "10.0.0.2", "kiosk-b").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/checkin", "10.0.0.2", "kiosk-b").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/checkin", "10.0.0.2", "kiosk-c").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void unlimitedEndpoints_passThrough() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(send("GET", "/api/checkin", "10.0.0.3", null).getStatus()).isEqualTo(200);
+            assertThat(send("POST", "/api/appointments", "10.0.0.3", null).getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse send(String method, String path, String address, String device) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(address);
+        if (device != null) {
+            request.addHeader("X-Device-Id", device);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,38 @@
+package com.salonhub.api.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void tryAcquire_keepsSeparateBudgetsPerClient() {
+        RateLimiter limiter = new RateLimiter("test", 1, 1, 100);
+
+        assertThat(limiter.tryAcquire("kiosk-1", 0)).isZero();
+        assertThat(limiter.tryAcquire("kiosk-1", 0)).isPositive();
+        assertThat(limiter.tryAcquire("kiosk-2", 0)).isZero();
+    }
+
+    @Test
+    void tryAcquire_overCapacity_evictsRefilledBucketsBeforeThrottledOnes() {
+        RateLimiter limiter = new RateLimiter("test", 1, 1, 10);
+        limiter.tryAcquire("throttled", 0);
+        for (int i = 0; i < 9; i++) {
+            limiter.tryAcquire("idle-" + i, 0);
+        }
+
+        // A minute later the idle buckets are full again; the throttled client keeps retrying
+        assertThat(limiter.tryAcquire("throttled", MINUTE)).isZero();
+        limiter.tryAcquire("throttled", MINUTE);
+        limiter.tryAcquire("newcomer", MINUTE);
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(10);
+        assertThat(limiter.tryAcquire("throttled", MINUTE)).isPositive();
+    }
+}
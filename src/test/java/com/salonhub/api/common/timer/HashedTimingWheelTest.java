@@ -0,0 +1,75 @@
+package com.salonhub.api.common.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedTimingWheelTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+    @Test
+    void advance_firesKeysOnceTheirDeadlinePasses() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofMinutes(1), 8, 0);
+        wheel.schedule("a", 3 * MINUTE);
+        wheel.schedule("b", 5 * MINUTE + 1);
+
+        assertThat(wheel.advance(2 * MINUTE)).isEmpty();
+        assertThat(wheel.advance(3 * MINUTE)).containsExactly("a");
+        assertThat(wheel.advance(5 * MINUTE)).isEmpty();
+        assertThat(wheel.advance(6 * MINUTE)).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_leavesDeadlinesMeantForALaterTurn() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofMinutes(1), 4, 0);
+        wheel.schedule("soon", 2 * MINUTE);
+        wheel.schedule("later", 6 * MINUTE); // same bucket, next turn
+
+        assertThat(wheel.advance(2 * MINUTE)).containsExactly("soon");
+        assertThat(wheel.isScheduled("later")).isTrue();
+        assertThat(wheel.advance(100 * MINUTE)).containsExactly("later");
+    }
+
+    @Test
+    void schedule_replacesAnEarlierDeadline() {
+        HashedTimingWheel<Long> wheel = new HashedTimingWheel<>(Duration.ofMinutes(1), 8, 0);
+        wheel.schedule(1L, 2 * MINUTE);
+        wheel.schedule(1L, 4 * MINUTE);
+
+        assertThat(wheel.advance(3 * MINUTE)).isEmpty();
+        assertThat(wheel.advance(4 * MINUTE)).containsExactly(1L);
+    }
+
+    @Test
+    void cancel_removesTheKey() {
+        HashedTimingWheel<Long> wheel = new HashedTimingWheel<>(Duration.ofMinutes(1), 8, 0);
+        wheel.schedule(1L, 2 * MINUTE);
+        wheel.schedule(2L, 2 * MINUTE);
+
+        assertThat(wheel.cancel(1L)).isTrue();
+        assertThat(wheel.cancel(1L)).isFalse();
+        assertThat(wheel.advance(2 * MINUTE)).containsExactly(2L);
+    }
+
+    @Test
+    void schedule_pastDeadlineFiresOnTheNextAdvance() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofMinutes(1), 8, 10 * MINUTE);
+        wheel.advance(10 * MINUTE);
+        wheel.schedule("late", MINUTE);
+
+        assertThat(wheel.advance(11 * MINUTE)).containsExactly("late");
+    }
+
+    @Test
+    void constructor_rejectsInvalidSizes() {
+        assertThatThrownBy(() -> new HashedTimingWheel<>(Duration.ZERO, 8, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HashedTimingWheel<>(Duration.ofMinutes(1), 0, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
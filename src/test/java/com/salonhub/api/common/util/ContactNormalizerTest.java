@@ -0,0 +1,38 @@
+package com.salonhub.api.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContactNormalizerTest {
+
+    @Test
+    void normalizePhone_northAmericanFormats_shareCanonicalForm() {
+        assertThat(ContactNormalizer.normalizePhone("(555) 123-4567")).isEqualTo("+15551234567");
+        assertThat(ContactNormalizer.normalizePhone("555.123.4567")).isEqualTo("+15551234567");
+        assertThat(ContactNormalizer.normalizePhone("1-555-123-4567")).isEqualTo("+15551234567");
+        assertThat(ContactNormalizer.normalizePhone("+1 555 123 4567")).isEqualTo("+15551234567");
+    }
+
+    @Test
+    void normalizePhone_keepsExplicitCountryCode() {
+        assertThat(ContactNormalizer.normalizePhone("+44 20 7946 0958")).isEqualTo("+442079460958");
+    }
+
+    @Test
+    void normalizePhone_unknownLengthFallsBackToDigits() {
+        assertThat(ContactNormalizer.normalizePhone("555-0101")).isEqualTo("5550101");
+    }
+
+    @Test
+    void normalizePhone_withoutDigits_returnsNull() {
+        assertThat(ContactNormalizer.normalizePhone(null)).isNull();
+        assertThat(ContactNormalizer.normalizePhone(" - ")).isNull();
+    }
+
+    @Test
+    void normalizeEmail_trimsAndLowerCases() {
+        assertThat(ContactNormalizer.normalizeEmail("  Jane.Doe@Example.COM ")).isEqualTo("jane.doe@example.com");
+        assertThat(ContactNormalizer.normalizeEmail("   ")).isNull();
+    }
+}
@@ -0,0 +1,109 @@
+package com.salonhub.api.customer.repository;
+
+import com.salonhub.api.customer.dto.GuestSummaryDTO;
+import com.salonhub.api.customer.model.Customer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class CustomerRepositoryTest {
+
+    @Autowired
+    private CustomerRepository repository;
+
+    @Test
+    void findByContact_matchesPhoneRegardlessOfFormatting() {
+        // Given
+        Customer customer = new Customer();
+        customer.setName("Jane Doe");
+        customer.setPhoneNumber("(555) 123-4567");
+        repository.saveAndFlush(customer);
+
+        // When
+        Optional<Customer> plainDigits = repository.findByContact("5551234567");
+        Optional<Customer> international = repository.findByContact("+1 555 123 4567");
+
+        // Then
+        assertThat(plainDigits).isPresent();
+        assertThat(international).isPresent();
+        assertThat(plainDigits.get().getPhoneNormalized()).isEqualTo("+15551234567");
+    }
+
+    @Test
+    void findByContact_matchesEmailCaseInsensitively() {
+        // Given
+        Customer customer = new Customer();
+        customer.setName("John Smith");
+        customer.setEmail("John.Smith@Example.com");
+        repository.saveAndFlush(customer);
+
+        // When
+        Optional<Customer> result = repository.findByContact("  john.smith@example.COM ");
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getName()).isEqualTo("John Smith");
+    }
+
+    @Test
+    void findByContact_withoutDigits_returnsEmpty() {
+        assertThat(repository.findByContact("not-a-phone")).isEmpty();
+    }
+
+    @Test
+    void save_duplicateNormalizedPhone_isRejected() {
+        // Given
+        Customer first = new Customer();
+        first.setName("First");
+        first.setPhoneNumber("555-123-4567");
+        repository.saveAndFlush(first);
+
+        Customer second = new Customer();
+        second.setName("Second");
+        second.setPhoneNumber("(555) 1234567");
+
+        // When / Then
+        assertThatThrownBy(() -> repository.saveAndFlush(second))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void guestSummaries_pageThroughTodaysGuestsInOrder() {
+        // Given
+        List<Long> guestIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Customer guest = new Customer("Guest " + i, "555-200-000" + i, true);
+            guestIds.add(repository.saveAndFlush(guest).getId());
+        }
+        repository.saveAndFlush(new Customer("Registered", "555-300-0000", false));
+        LocalDateTime start = LocalDate.now().atStartOfDay();
+        LocalDateTime end = start.plusDays(1);
+
+        // When - pages of two, each continuing after the last row of the previous one
+        List<Long> seen = new ArrayList<>();
+        List<GuestSummaryDTO> page = repository.findGuestSummaries(start, end, Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(guest -> seen.add(guest.getId()));
+            GuestSummaryDTO last = page.get(page.size() - 1);
+            page = repository.findGuestSummariesAfter(start, end, last.getCheckedInAt(), last.getId(), Limit.of(2));
+        }
+
+        // Then
+        assertThat(seen).containsExactlyElementsOf(guestIds);
+    }
+}
@@ -0,0 +1,153 @@
+package com.salonhub.api.idempotency.service;
+
+import com.salonhub.api.checkin.dto.CheckInRequestDTO;
+import com.salonhub.api.checkin.dto.CheckInResponseDTO;
+import com.salonhub.api.checkin.service.CheckInService;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.idempotency.model.IdempotencyRecord;
+import com.salonhub.api.idempotency.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private CheckInService checkInService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Test
+    void execute_sameKeyFromTenThreads_checksInOnce() throws Exception {
+        // Given
+        String phone = uniquePhone();
+        CheckInRequestDTO request = guestRequest(phone);
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(10);
+
+        // When
+        List<Future<CheckInResponseDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return idempotencyService.execute("checkin", key, request, CheckInResponseDTO.class, () -> {
+                    executions.incrementAndGet();
+                    sleep(200);
+                    return checkInService.checkIn(request);
+                });
+            }));
+        }
+        start.countDown();
+        List<CheckInResponseDTO> responses = new ArrayList<>();
+        for (Future<CheckInResponseDTO> future : futures) {
+            responses.add(future.get(30, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        // Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(responses).extracting(CheckInResponseDTO::getQueueId).containsOnly(responses.get(0).getQueueId());
+        assertThat(customerRepository.findByContact(phone)).isPresent();
+        assertThat(recordRepository.findById("checkin:" + key))
+            .hasValueSatisfying(record -> assertThat(record.getStatus()).isEqualTo(IdempotencyRecord.Status.COMPLETED));
+    }
+
+    @Test
+    void execute_replayAfterLocalCacheLoss_returnsStoredResponse() {
+        // Given
+        CheckInRequestDTO request = guestRequest(uniquePhone());
+        String key = UUID.randomUUID().toString();
+        CheckInResponseDTO first = idempotencyService.execute("checkin", key, request, CheckInResponseDTO.class,
+                () -> checkInService.checkIn(request));
+        idempotencyService.clearLocalCache();
+
+        // When
+        CheckInResponseDTO replay = idempotencyService.execute("checkin", key, request, CheckInResponseDTO.class,
+                () -> { throw new AssertionError("Replay must not run the check-in again"); });
+
+        // Then
+        assertThat(replay.getQueueId()).isEqualTo(first.getQueueId());
+        assertThat(replay.getId()).isEqualTo(first.getId());
+    }
+
+    @Test
+    void execute_sameKeyForDifferentRequest_isRejected() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        CheckInRequestDTO request = guestRequest(uniquePhone());
+        idempotencyService.execute("checkin", key, request, CheckInResponseDTO.class, () -> checkInService.checkIn(request));
+
+        // When / Then
+        CheckInRequestDTO other = guestRequest(uniquePhone());
+        assertThatThrownBy(() -> idempotencyService.execute("checkin", key, other, CheckInResponseDTO.class,
+                () -> checkInService.checkIn(other)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void execute_failedRequest_releasesKey() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        CheckInRequestDTO request = guestRequest(uniquePhone());
+        assertThatThrownBy(() -> idempotencyService.execute("checkin", key, request, CheckInResponseDTO.class,
+                () -> { throw new IllegalArgumentException("boom"); }))
+            .hasMessage("boom");
+
+        // When
+        CheckInResponseDTO retry = idempotencyService.execute("checkin", key, request, CheckInResponseDTO.class,
+                () -> checkInService.checkIn(request));
+
+        // Then
+        assertThat(retry.getQueueId()).isNotNull();
+    }
+
+    private static CheckInRequestDTO guestRequest(String phone) {
+        CheckInRequestDTO request = new CheckInRequestDTO();
+        request.setName("Kiosk Guest");
+        request.setContact(phone);
+        request.setGuest(true);
+        return request;
+    }
+
+    private static String uniquePhone() {
+        return "555" + String.format("%07d", (int) (Math.random() * 10_000_000));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
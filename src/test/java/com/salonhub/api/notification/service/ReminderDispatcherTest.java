@@ -0,0 +1,237 @@
+package com.salonhub.api.notification.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.AppointmentSeriesResponseDTO;
+import com.salonhub.api.appointment.dto.RecurringAppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.SeriesOccurrenceDTO;
+import com.salonhub.api.appointment.dto.SeriesUpdateRequestDTO;
+import com.salonhub.api.appointment.model.RecurrenceFrequency;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.appointment.service.AppointmentSeriesService;
+import com.salonhub.api.appointment.service.AppointmentService;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.notification.model.Reminder;
+import com.salonhub.api.notification.model.ReminderKind;
+import com.salonhub.api.notification.model.ReminderStatus;
+import com.salonhub.api.notification.repository.ReminderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:reminders",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "salonhub.reminders.enabled=false",
+    "salonhub.reminders.batch-size=2",
+    "salonhub.reminders.max-attempts=2",
+    "salonhub.reminders.retry-delay=10m"
+})
+class ReminderDispatcherTest {
+
+    @Autowired
+    private ReminderDispatcher dispatcher;
+
+    @Autowired
+    private RecordingSender sender;
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentSeriesService seriesService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    private Long technicianId;
+    private Long customerId;
+    private List<Long> serviceIds;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        technicianId = employeeRepository.save(new Employee("Remind Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        Customer customer = new Customer();
+        customer.setName("Robin Remind");
+        customer.setEmail("robin" + technicianId + "@example.com");
+        customer.setPhoneNumber("556" + String.format("%07d", technicianId));
+        customerId = customerRepository.save(customer).getId();
+        serviceIds = List.of(serviceTypeRepository.save(
+            new ServiceType(null, "Remind Cut " + technicianId, 30, new BigDecimal("25.00"))).getId());
+        start = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reminderRepository.deleteAll();
+        sender.reset();
+    }
+
+    @Test
+    void booking_schedulesBothReminders() {
+        Long appointmentId = book(start);
+
+        assertThat(reminders(appointmentId))
+            .extracting(Reminder::getKind, Reminder::getRemindAt, Reminder::getStatus)
+            .containsExactlyInAnyOrder(
+                tuple(ReminderKind.DAY_BEFORE, start.minusHours(24), ReminderStatus.PENDING),
+                tuple(ReminderKind.TWO_HOURS_BEFORE, start.minusHours(2), ReminderStatus.PENDING));
+    }
+
+    @Test
+    void reschedulingAndCancelling_keepRemindersInStep() {
+        Long appointmentId = book(start);
+
+        appointmentService.update(appointmentId, request(start.plusHours(3)));
+        assertThat(reminders(appointmentId)).extracting(Reminder::getRemindAt)
+            .containsExactlyInAnyOrder(start.plusHours(3).minusHours(24), start.plusHours(3).minusHours(2));
+
+        appointmentService.cancel(appointmentId);
+        assertThat(reminders(appointmentId)).extracting(Reminder::getStatus)
+            .containsOnly(ReminderStatus.CANCELLED);
+    }
+
+    @Test
+    void seriesWithoutATechnician_getsRemindersThatFollowIt() {
+        AppointmentSeriesResponseDTO series = seriesService.create(new RecurringAppointmentRequestDTO(
+            customerId, null, serviceIds, start, RecurrenceFrequency.WEEKLY, null, 2));
+        List<Long> occurrenceIds = series.getOccurrences().stream().map(SeriesOccurrenceDTO::getAppointmentId).toList();
+
+        assertThat(reminderRepository.findByAppointmentIdIn(occurrenceIds))
+            .extracting(Reminder::getAppointmentId, Reminder::getRemindAt)
+            .containsExactlyInAnyOrder(
+                tuple(occurrenceIds.get(0), start.minusHours(24)),
+                tuple(occurrenceIds.get(0), start.minusHours(2)),
+                tuple(occurrenceIds.get(1), start.plusWeeks(1).minusHours(24)),
+                tuple(occurrenceIds.get(1), start.plusWeeks(1).minusHours(2)));
+
+        seriesService.update(series.getId(), new SeriesUpdateRequestDTO(start.toLocalDate(), null, LocalTime.of(15, 0)));
+        assertThat(reminders(occurrenceIds.get(1))).extracting(Reminder::getRemindAt)
+            .containsExactlyInAnyOrder(start.plusWeeks(1).withHour(15).minusHours(24), start.plusWeeks(1).withHour(15).minusHours(2));
+
+        seriesService.cancel(series.getId(), start.toLocalDate());
+        assertThat(reminderRepository.findByAppointmentIdIn(occurrenceIds)).extracting(Reminder::getStatus)
+            .containsOnly(ReminderStatus.CANCELLED);
+    }
+
+    @Test
+    void dispatch_sendsOnlyDueRemindersInBatches() {
+        Long first = book(start);
+        Long second = book(start.plusHours(1));
+        Long third = book(start.plusHours(2));
+
+        int handled = dispatcher.dispatch(start.plusHours(2).minusHours(24));
+
+        assertThat(handled).isEqualTo(3);
+        assertThat(sender.batchSizes).containsExactly(2, 1);
+        assertThat(sender.messages).extracting(ReminderMessage::kind).containsOnly(ReminderKind.DAY_BEFORE);
+        assertThat(sender.messages.get(0).email()).isEqualTo("robin" + technicianId + "@example.com");
+        assertThat(sender.messages.get(0).serviceNames()).containsExactly("Remind Cut " + technicianId);
+        for (Long appointmentId : List.of(first, second, third)) {
+            assertThat(reminder(appointmentId, ReminderKind.DAY_BEFORE).getStatus()).isEqualTo(ReminderStatus.SENT);
+            assertThat(reminder(appointmentId, ReminderKind.TWO_HOURS_BEFORE).getStatus()).isEqualTo(ReminderStatus.PENDING);
+        }
+        assertThat(dispatcher.dispatch(start.plusHours(2).minusHours(24))).isZero();
+    }
+
+    @Test
+    void dispatch_retriesFailuresThenGivesUp() {
+        Long appointmentId = book(start);
+        LocalDateTime due = start.minusHours(24);
+        sender.failing = true;
+
+        dispatcher.dispatch(due);
+        Reminder retrying = reminder(appointmentId, ReminderKind.DAY_BEFORE);
+        assertThat(retrying.getStatus()).isEqualTo(ReminderStatus.PENDING);
+        assertThat(retrying.getAttempts()).isEqualTo(1);
+        assertThat(retrying.getDueAt()).isEqualTo(due.plusMinutes(10));
+
+        assertThat(dispatcher.dispatch(due.plusMinutes(5))).isZero();
+        dispatcher.dispatch(due.plusMinutes(10));
+        Reminder failed = reminder(appointmentId, ReminderKind.DAY_BEFORE);
+        assertThat(failed.getStatus()).isEqualTo(ReminderStatus.FAILED);
+        assertThat(failed.getLastError()).isEqualTo("Mailbox unavailable");
+    }
+
+    private List<Reminder> reminders(Long appointmentId) {
+        return reminderRepository.findByAppointmentIdIn(List.of(appointmentId));
+    }
+
+    private Reminder reminder(Long appointmentId, ReminderKind kind) {
+        return reminders(appointmentId).stream().filter(r -> r.getKind() == kind).findFirst().orElseThrow();
+    }
+
+    private Long book(LocalDateTime at) {
+        return appointmentService.book(request(at)).getId();
+    }
+
+    private AppointmentRequestDTO request(LocalDateTime at) {
+        return new AppointmentRequestDTO(customerId, technicianId, serviceIds, at);
+    }
+
+    @TestConfiguration
+    static class SenderConfig {
+        @Bean
+        @Primary
+        RecordingSender recordingSender() {
+            return new RecordingSender();
+        }
+    }
+
+    static class RecordingSender implements ReminderSender {
+        final List<ReminderMessage> messages = new CopyOnWriteArrayList<>();
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        volatile boolean failing;
+
+        @Override
+        public Map<Long, Failure> send(List<ReminderMessage> batch) {
+            batchSizes.add(batch.size());
+            messages.addAll(batch);
+            Map<Long, Failure> failures = new HashMap<>();
+            if (failing) {
+                batch.forEach(message -> failures.put(message.reminderId(), new Failure("Mailbox unavailable", true)));
+            }
+            return failures;
+        }
+
+        void reset() {
+            messages.clear();
+            batchSizes.clear();
+            failing = false;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.salonhub.api.notification.service;
+
+import com.salonhub.api.notification.model.ReminderKind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmtpReminderSenderTest {
+
+    private FakeSmtpServer server;
+    private SmtpReminderSender sender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeSmtpServer("refused@example.com");
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(server.port());
+        sender = new SmtpReminderSender(mailSender, "salon@example.com");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void send_deliversTheBatchOverOneConnection() {
+        Map<Long, ReminderSender.Failure> failures = sender.send(List.of(
+            message(1L, "ana@example.com"),
+            message(2L, "ben@example.com")));
+
+        assertThat(failures).isEmpty();
+        assertThat(server.connections.get()).isEqualTo(1);
+        assertThat(server.recipients).containsExactly("ana@example.com", "ben@example.com");
+        assertThat(server.data.get(0)).contains("Subject: Reminder: your appointment").contains("Gel Manicure");
+    }
+
+    @Test
+    void send_failsOnlyTheRefusedRecipient() {
+        Map<Long, ReminderSender.Failure> failures = sender.send(List.of(
+            message(1L, "ana@example.com"),
+            message(2L, "refused@example.com")));
+
+        assertThat(failures).containsOnlyKeys(2L);
+        assertThat(failures.get(2L).retryable()).isTrue();
+        assertThat(server.data).hasSize(1);
+    }
+
+    @Test
+    void send_customerWithoutEmail_failsPermanentlyWithoutConnecting() {
+        Map<Long, ReminderSender.Failure> failures = sender.send(List.of(message(1L, null)));
+
+        assertThat(failures.get(1L).retryable()).isFalse();
+        assertThat(server.connections.get()).isZero();
+    }
+
+    private static ReminderMessage message(Long id, String email) {
+        return new ReminderMessage(id, ReminderKind.DAY_BEFORE, "Ana", email, "5550000000", "Tina",
+            LocalDateTime.of(2030, 5, 6, 10, 30), List.of("Gel Manicure"));
+    }
+
+    /**
+     * Just enough SMTP to accept mail: records recipients and message bodies, refuses one address.
+     */
+    private static final class FakeSmtpServer {
+
+        private final ServerSocket socket = new ServerSocket(0);
+        private final String refused;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final List<String> recipients = new CopyOnWriteArrayList<>();
+        private final List<String> data = new CopyOnWriteArrayList<>();
+
+        FakeSmtpServer(String refused) throws IOException {
+            this.refused = refused;
+            Thread thread = new Thread(this::serve, "fake-smtp");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        void close() throws IOException {
+            socket.close();
+        }
+
+        private void serve() {
+            while (!socket.isClosed()) {
+                try (Socket client = socket.accept()) {
+                    connections.incrementAndGet();
+                    converse(client);
+                } catch (IOException e) {
+                    // Closed by the test
+                }
+            }
+        }
+
+        private void converse(Socket client) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+            Writer out = new OutputStreamWriter(client.getOutputStream(), StandardCharsets.US_ASCII);
+            reply(out, "220 fake-smtp ready");
+            String recipient = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 fake-smtp");
+                } else if (command.startsWith("RCPT TO:")) {
+                    recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                    reply(out, recipient.equals(refused) ? "550 mailbox unavailable" : "250 OK");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 end with .");
+                    StringBuilder body = new StringBuilder();
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        body.append(line).append('\n');
+                    }
+                    recipients.add(recipient);
+                    data.add(body.toString());
+                    reply(out, "250 queued");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 bye");
+                    return;
+                } else {
+                    reply(out, "250 OK"); // MAIL FROM, RSET, NOOP
+                }
+            }
+        }
+
+        private static void reply(Writer out, String line) throws IOException {
+            out.write(line + "\r\n");
+            out.flush();
+        }
+    }
+}
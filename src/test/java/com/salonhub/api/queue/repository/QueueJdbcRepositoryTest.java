@@ -0,0 +1,46 @@
+package com.salonhub.api.queue.repository;
+
+import com.salonhub.api.queue.model.Queue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+@Import(QueueJdbcRepository.class)
+class QueueJdbcRepositoryTest {
+
+    @Autowired
+    private QueueJdbcRepository queueJdbcRepository;
+
+    @Autowired
+    private QueueRepository queueRepository;
+
+    @Test
+    void batchInsert_assignsIdsAndKeepsPartyTogether() {
+        // Given
+        Queue first = new Queue(1L, "Party check-in");
+        first.setQueueNumber(1);
+        first.setPartyId("party-1");
+        Queue second = new Queue(2L, "Party check-in");
+        second.setQueueNumber(2);
+        second.setPartyId("party-1");
+
+        // When
+        List<Queue> saved = queueJdbcRepository.batchInsert(List.of(first, second));
+
+        // Then
+        assertThat(saved).extracting(Queue::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(saved).extracting(Queue::getCreatedAt).doesNotContainNull();
+        assertThat(queueRepository.findByPartyIdOrderByQueueNumberAsc("party-1"))
+            .extracting(Queue::getCustomerId)
+            .containsExactly(1L, 2L);
+    }
+}
@@ -0,0 +1,146 @@
+package com.salonhub.api.queue.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.appointment.service.AppointmentService;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.queue.model.Queue;
+import com.salonhub.api.queue.model.QueueStatus;
+import com.salonhub.api.queue.repository.QueueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:promotion",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "salonhub.queue.promotion.enabled=false",
+    "salonhub.queue.promotion.lead-time=15m",
+    "salonhub.queue.promotion.tick-ms=60000"
+})
+class AppointmentQueuePromoterTest {
+
+    @Autowired
+    private AppointmentQueuePromoter promoter;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private QueueRepository queueRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    private Long technicianId;
+    private Long customerId;
+    private List<Long> serviceIds;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        technicianId = employeeRepository.save(new Employee("Promo Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        Customer customer = new Customer();
+        customer.setName("Pat Promo");
+        customer.setPhoneNumber("555" + String.format("%07d", technicianId));
+        customerId = customerRepository.save(customer).getId();
+        serviceIds = List.of(serviceTypeRepository.save(
+            new ServiceType(null, "Promo Cut " + technicianId, 30, new BigDecimal("25.00"))).getId());
+        // Each test works on its own future day, so the wheel is reloaded for it
+        day = LocalDate.now().plusDays(10 + technicianId % 300);
+    }
+
+    @Test
+    void tick_queuesAppointmentsLeadTimeBeforeTheyStart() {
+        Long first = book(day.atTime(10, 0));
+        Long otherTechnicianId = employeeRepository.save(new Employee("Promo Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        Long second = appointmentService.book(
+            new AppointmentRequestDTO(customerId, otherTechnicianId, serviceIds, day.atTime(10, 5))).getId();
+        book(day.atTime(15, 0));
+
+        assertThat(promoter.tick(day.atTime(9, 40))).isZero();
+        assertThat(promoter.tick(day.atTime(9, 51))).isEqualTo(2);
+
+        List<Queue> entries = entriesFor(first, second);
+        assertThat(entries).extracting(Queue::getAppointmentId).containsExactly(first, second);
+        assertThat(entries).extracting(Queue::getEmployeeId).containsExactly(technicianId, otherTechnicianId);
+        assertThat(entries).allSatisfy(entry -> {
+            assertThat(entry.getStatus()).isEqualTo(QueueStatus.WAITING);
+            assertThat(entry.getCustomerId()).isEqualTo(customerId);
+        });
+        assertThat(entries.get(1).getQueueNumber()).isEqualTo(entries.get(0).getQueueNumber() + 1);
+        assertThat(promoter.tick(day.atTime(9, 55))).isZero();
+    }
+
+    @Test
+    void rescheduling_movesTheDeadline() {
+        Long appointmentId = book(day.atTime(10, 0));
+        promoter.tick(day.atTime(9, 0));
+
+        appointmentService.update(appointmentId, request(day.atTime(12, 0)));
+
+        assertThat(promoter.tick(day.atTime(9, 50))).isZero();
+        assertThat(promoter.tick(day.atTime(11, 45))).isEqualTo(1);
+        assertThat(entriesFor(appointmentId)).hasSize(1);
+    }
+
+    @Test
+    void cancelling_dropsTheDeadline() {
+        Long appointmentId = book(day.atTime(10, 0));
+        promoter.tick(day.atTime(9, 0));
+
+        appointmentService.cancel(appointmentId);
+
+        assertThat(promoter.tick(day.atTime(9, 50))).isZero();
+        assertThat(entriesFor(appointmentId)).isEmpty();
+    }
+
+    @Test
+    void alreadyCheckedIn_isNotQueuedAgain() {
+        Long appointmentId = book(day.atTime(10, 0));
+        promoter.tick(day.atTime(9, 0));
+        queueRepository.save(new Queue(customerId, technicianId, appointmentId, 999, QueueStatus.WAITING, null, null));
+
+        assertThat(promoter.tick(day.atTime(9, 50))).isZero();
+        assertThat(entriesFor(appointmentId)).hasSize(1);
+    }
+
+    private List<Queue> entriesFor(Long... appointmentIds) {
+        List<Long> ids = List.of(appointmentIds);
+        return queueRepository.findAll().stream()
+            .filter(entry -> ids.contains(entry.getAppointmentId()))
+            .sorted((a, b) -> a.getQueueNumber().compareTo(b.getQueueNumber()))
+            .toList();
+    }
+
+    private Long book(LocalDateTime start) {
+        return appointmentService.book(request(start)).getId();
+    }
+
+    private AppointmentRequestDTO request(LocalDateTime start) {
+        return new AppointmentRequestDTO(customerId, technicianId, serviceIds, start);
+    }
+}
@@ -8,7 +8,10 @@ import com.salonhub.api.queue.dto.QueueEntryDTO;
 import com.salonhub.api.queue.dto.QueueUpdateDTO;
 import com.salonhub.api.queue.model.Queue;
 import com.salonhub.api.queue.model.QueueStatus;
+import com.salonhub.api.queue.repository.QueueJdbcRepository;
 import com.salonhub.api.queue.repository.QueueRepository;
+import com.salonhub.api.station.repository.StationTypeRepository;
+import com.salonhub.api.station.service.StationService;
 import com.salonhub.api.testfixtures.CustomerDatabaseDefault;
 import com.salonhub.api.testfixtures.EmployeeDatabaseDefault;
 import com.salonhub.api.testfixtures.QueueTestDataBuilder;
@@ -18,7 +21,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +39,9 @@ class QueueServiceImplTest {
     @Mock
     private QueueRepository queueRepository;
 
+    @Mock
+    private QueueJdbcRepository queueJdbcRepository;
+
     @Mock
     private CustomerRepository customerRepository;
 
@@ -43,6 +51,15 @@ class QueueServiceImplTest {
     @Mock
     private QueueNotificationService notificationService;
 
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private StationService stationService;
+
+    @Mock
+    private StationTypeRepository stationTypeRepository;
+
     @InjectMocks
     private QueueServiceImpl queueService;
 
@@ -86,6 +103,27 @@ class QueueServiceImplTest {
         assertThat(queue.getQueueNumber()).isEqualTo(1);
     }
 
+    @Test
+    void addAllToQueue_shouldNumberConsecutivelyAndInsertInOneBatch() {
+        // Given
+        Queue first = new Queue(1L, "Party check-in");
+        Queue second = new Queue(2L, "Party check-in");
+        given(queueRepository.findMaxQueueNumber()).willReturn(Optional.of(7));
+        given(queueRepository.findByStatusOrderByCreatedAtAsc(QueueStatus.WAITING)).willReturn(List.of(queue));
+        given(queueJdbcRepository.batchInsert(any())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Queue> result = queueService.addAllToQueue(List.of(first, second));
+
+        // Then
+        assertThat(result).extracting(Queue::getQueueNumber).containsExactly(8, 9);
+        assertThat(result).extracting(Queue::getPosition).containsExactly(2, 3);
+        assertThat(result).extracting(Queue::getEstimatedWaitTime).containsExactly(30, 60);
+        verify(queueJdbcRepository).batchInsert(List.of(first, second));
+        verify(queueRepository, never()).save(any(Queue.class));
+        verify(notificationService).broadcastQueueUpdate(any());
+    }
+
     @Test
     void getCurrentQueue_shouldReturnQueueEntries() {
         // Given
@@ -187,9 +225,44 @@ class QueueServiceImplTest {
         // Then
         assertThat(result.getId()).isEqualTo(queue.getId());
         assertThat(queue.getStatus()).isEqualTo(QueueStatus.IN_PROGRESS);
+        assertThat(queue.getServingStartedAt()).isNotNull();
         verify(queueRepository).save(queue);
     }
 
+    @Test
+    void updateQueueEntry_shouldKeepServingStart_whenAnEntryBeingServedIsEdited() {
+        // Given
+        LocalDateTime servingSince = LocalDateTime.now().minusMinutes(40);
+        queue.setStatus(QueueStatus.IN_PROGRESS);
+        queue.setServingStartedAt(servingSince);
+        QueueUpdateDTO notesOnly = new QueueUpdateDTO();
+        notesOnly.setNotes("Prefers a short-nail finish");
+        given(queueRepository.findById(1L)).willReturn(Optional.of(queue));
+        given(queueRepository.save(any(Queue.class))).willReturn(queue);
+        given(customerRepository.findById(queue.getCustomerId())).willReturn(Optional.of(CustomerDatabaseDefault.JANE));
+        given(employeeRepository.findById(queue.getEmployeeId())).willReturn(Optional.of(EmployeeDatabaseDefault.ALICE));
+
+        // When
+        queueService.updateQueueEntry(1L, notesOnly);
+
+        // Then
+        assertThat(queue.getServingStartedAt()).isEqualTo(servingSince);
+    }
+
+    @Test
+    void updateQueueEntry_shouldThrowException_whenStationTypeIsUnknown() {
+        // Given
+        queueUpdateDTO.setStationTypeId(99L);
+        given(queueRepository.findById(1L)).willReturn(Optional.of(queue));
+        given(stationTypeRepository.existsById(99L)).willReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> queueService.updateQueueEntry(1L, queueUpdateDTO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Station type not found with ID: 99");
+        verify(queueRepository, never()).save(any(Queue.class));
+    }
+
     @Test
     void calculateEstimatedWaitTime_shouldReturnBaseTime_whenNoWaitingCustomers() {
         // Given
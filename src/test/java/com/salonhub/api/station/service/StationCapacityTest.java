@@ -0,0 +1,86 @@
+package com.salonhub.api.station.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StationCapacityTest {
+
+    private static final long CHAIRS = 1L;
+
+    @Test
+    void fits_untilEveryStationOfTheTypeIsTaken() {
+        StationCapacity capacity = new StationCapacity(Map.of(CHAIRS, 2), 5);
+        capacity.add(CHAIRS, 600, 660);
+
+        assertThat(capacity.fits(CHAIRS, 600, 660)).isTrue();
+        capacity.add(CHAIRS, 630, 690);
+
+        assertThat(capacity.fits(CHAIRS, 640, 650)).isFalse();
+        assertThat(capacity.fits(CHAIRS, 600, 630)).isTrue();
+        // Half-open: the second chair is free again at 11:00
+        assertThat(capacity.fits(CHAIRS, 660, 720)).isTrue();
+        assertThat(capacity.fits(CHAIRS, 600, 630, 1)).isFalse();
+    }
+
+    @Test
+    void fits_countsEveryTouchedSlot() {
+        StationCapacity capacity = new StationCapacity(Map.of(CHAIRS, 1), 5);
+        capacity.add(CHAIRS, 602, 603);
+
+        assertThat(capacity.fits(CHAIRS, 604, 610)).isFalse();
+        assertThat(capacity.fits(CHAIRS, 605, 610)).isTrue();
+    }
+
+    @Test
+    void fits_unknownTypesAreUnlimitedAndEmptyTypesAreFull() {
+        StationCapacity capacity = new StationCapacity(Map.of(CHAIRS, 0), 5);
+
+        assertThat(capacity.fits(CHAIRS, 0, 5)).isFalse();
+        assertThat(capacity.fits(99L, 0, 1_440)).isTrue();
+    }
+
+    @Test
+    void copy_isIndependentOfTheOriginal() {
+        StationCapacity capacity = new StationCapacity(Map.of(CHAIRS, 1), 5);
+        StationCapacity copy = capacity.copy();
+        copy.add(CHAIRS, 0, 1_440);
+
+        assertThat(capacity.fits(CHAIRS, 0, 1_440)).isTrue();
+        assertThat(copy.fits(CHAIRS, 1_435, 1_440)).isFalse();
+    }
+
+    @Test
+    void constructor_rejectsSlotsThatDontDivideADay() {
+        assertThatThrownBy(() -> new StationCapacity(Map.of(), 7))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fits_matchesABruteForceCount() {
+        Random random = new Random(42);
+        int stations = 3;
+        StationCapacity capacity = new StationCapacity(Map.of(CHAIRS, stations), 5);
+        int[] inUse = new int[1_440 / 5];
+        for (int i = 0; i < 400; i++) {
+            int start = random.nextInt(1_440);
+            int end = Math.min(1_440, start + 1 + random.nextInt(120));
+            int alsoNeeded = random.nextInt(2);
+            boolean expected = true;
+            for (int slot = start / 5; slot < (end + 4) / 5; slot++) {
+                expected &= inUse[slot] + 1 + alsoNeeded <= stations;
+            }
+            assertThat(capacity.fits(CHAIRS, start, end, alsoNeeded)).isEqualTo(expected);
+            if (random.nextBoolean()) {
+                capacity.add(CHAIRS, start, end);
+                for (int slot = start / 5; slot < (end + 4) / 5; slot++) {
+                    inUse[slot]++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.salonhub.api.station.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.dto.AvailableSlotDTO;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.appointment.service.AppointmentService;
+import com.salonhub.api.appointment.service.AvailabilityService;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.station.dto.StationTypeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:stations",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class StationServiceTest {
+
+    @Autowired
+    private StationService stationService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    private Long first;
+    private Long second;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        first = employeeRepository.save(new Employee("Station Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        second = employeeRepository.save(new Employee("Station Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        tomorrow = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    void book_rejectsATimeWhenEveryStationIsTaken() {
+        Long pedicure = pedicure(1);
+        book(first, pedicure, tomorrow.atTime(10, 0));
+
+        assertThatThrownBy(() -> book(second, pedicure, tomorrow.atTime(10, 30)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Spa Chair");
+        assertThat(book(second, pedicure, tomorrow.atTime(11, 0))).isNotNull();
+    }
+
+    @Test
+    void book_allowsAsManyAtOnceAsThereAreStations() {
+        Long pedicure = pedicure(2);
+        book(first, pedicure, tomorrow.atTime(13, 0));
+
+        assertThat(book(second, pedicure, tomorrow.atTime(13, 0))).isNotNull();
+    }
+
+    @Test
+    void availability_skipsTimesWithNoFreeStation() {
+        Long pedicure = pedicure(1);
+        book(first, pedicure, tomorrow.atTime(15, 0));
+
+        List<LocalDateTime> starts = availabilityService
+            .findAvailability(tomorrow, tomorrow, List.of(pedicure), second).getSlots().stream()
+            .map(AvailableSlotDTO::getStartTime)
+            .toList();
+
+        assertThat(starts).doesNotContain(tomorrow.atTime(14, 30), tomorrow.atTime(15, 0), tomorrow.atTime(15, 30));
+        assertThat(starts).contains(tomorrow.atTime(14, 0), tomorrow.atTime(16, 0));
+    }
+
+    private Long pedicure(int chairs) {
+        StationTypeDTO chair = stationService.create(new StationTypeDTO(null, "Spa Chair " + System.nanoTime(), chairs));
+        ServiceType service = new ServiceType(null, "Station Pedicure " + System.nanoTime(), 60, new BigDecimal("45.00"));
+        service.setStationTypeId(chair.getId());
+        return serviceTypeRepository.save(service).getId();
+    }
+
+    private Long book(Long employeeId, Long serviceId, LocalDateTime start) {
+        return appointmentService.book(new AppointmentRequestDTO(customer(), employeeId, List.of(serviceId), start)).getId();
+    }
+
+    private Long customer() {
+        Customer customer = new Customer();
+        customer.setName("Stella Station");
+        customer.setPhoneNumber("555" + String.format("%07d", System.nanoTime() % 10_000_000));
+        return customerRepository.save(customer).getId();
+    }
+}
@@ -0,0 +1,191 @@
+package com.salonhub.api.waitlist.service;
+
+import com.salonhub.api.appointment.dto.AppointmentRequestDTO;
+import com.salonhub.api.appointment.model.ServiceType;
+import com.salonhub.api.appointment.repository.ServiceTypeRepository;
+import com.salonhub.api.appointment.service.AppointmentService;
+import com.salonhub.api.appointment.service.SlotHoldService;
+import com.salonhub.api.customer.model.Customer;
+import com.salonhub.api.customer.repository.CustomerRepository;
+import com.salonhub.api.employee.model.Employee;
+import com.salonhub.api.employee.model.Role;
+import com.salonhub.api.employee.repository.EmployeeRepository;
+import com.salonhub.api.waitlist.dto.WaitlistEntryDTO;
+import com.salonhub.api.waitlist.dto.WaitlistRequestDTO;
+import com.salonhub.api.waitlist.model.WaitlistEntry;
+import com.salonhub.api.waitlist.model.WaitlistStatus;
+import com.salonhub.api.waitlist.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:waitlist",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class WaitlistServiceTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistRepository;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ServiceTypeRepository serviceTypeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long employeeId;
+    private List<Long> hourLong;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        employeeId = employeeRepository.save(new Employee("Waitlist Tech " + System.nanoTime(), Role.TECHNICIAN, true)).getId();
+        hourLong = List.of(serviceTypeRepository.save(
+            new ServiceType(null, "Waitlist Pedicure " + employeeId, 60, new BigDecimal("45.00"))).getId());
+        tomorrow = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    void cancellation_offersTheFreedTimeToTheOldestFittingEntry() throws InterruptedException {
+        Long booked = book(customer(), tomorrow.atTime(10, 0));
+        WaitlistEntryDTO first = join(customer(), tomorrow.atTime(9, 30), tomorrow.atTime(12, 0));
+        WaitlistEntryDTO second = join(customer(), tomorrow.atTime(9, 0), tomorrow.atTime(11, 0));
+
+        appointmentService.cancel(booked);
+
+        WaitlistEntry offered = awaitStatus(first.getId(), WaitlistStatus.OFFERED);
+        assertThat(offered.getOfferedStart()).isEqualTo(tomorrow.atTime(10, 0));
+        assertThat(offered.getHoldId()).isNotNull();
+        assertThat(slotHoldService.isHeld(employeeId, tomorrow.atTime(10, 0), tomorrow.atTime(11, 0))).isTrue();
+        assertThat(waitlistService.get(second.getId()).getStatus()).isEqualTo(WaitlistStatus.WAITING);
+    }
+
+    @Test
+    void cancellation_leavesEntriesTheFreedTimeIsTooShortFor() throws InterruptedException {
+        Long booked = book(customer(), tomorrow.atTime(14, 0));
+        WaitlistEntryDTO tooLate = join(customer(), tomorrow.atTime(14, 30), tomorrow.atTime(16, 0));
+        WaitlistEntryDTO fits = join(customer(), tomorrow.atTime(13, 0), tomorrow.atTime(15, 0));
+
+        appointmentService.cancel(booked);
+
+        assertThat(awaitStatus(fits.getId(), WaitlistStatus.OFFERED).getOfferedStart()).isEqualTo(tomorrow.atTime(14, 0));
+        assertThat(waitlistService.get(tooLate.getId()).getStatus()).isEqualTo(WaitlistStatus.WAITING);
+    }
+
+    @Test
+    void partlyRebookedFreedTime_stillReachesLaterEntries() throws InterruptedException {
+        Long twoHours = serviceTypeRepository.save(
+            new ServiceType(null, "Waitlist Spa " + employeeId, 120, new BigDecimal("90.00"))).getId();
+        Long halfHour = serviceTypeRepository.save(
+            new ServiceType(null, "Waitlist Polish " + employeeId, 30, new BigDecimal("20.00"))).getId();
+        Long booked = appointmentService.book(
+            new AppointmentRequestDTO(customer(), employeeId, List.of(twoHours), tomorrow.atTime(10, 0))).getId();
+        WaitlistEntryDTO early = join(customer(), tomorrow.atTime(10, 0), tomorrow.atTime(11, 0));
+        WaitlistEntryDTO later = join(customer(), tomorrow.atTime(10, 30), tomorrow.atTime(12, 0));
+
+        // The first half hour is rebooked in the same transaction, so it is taken before matching starts
+        Long customerId = customer();
+        transactionTemplate.executeWithoutResult(status -> {
+            appointmentService.cancel(booked);
+            appointmentService.book(new AppointmentRequestDTO(customerId, employeeId, List.of(halfHour), tomorrow.atTime(10, 0)));
+        });
+
+        assertThat(awaitStatus(later.getId(), WaitlistStatus.OFFERED).getOfferedStart()).isEqualTo(tomorrow.atTime(10, 30));
+        assertThat(waitlistService.get(early.getId()).getStatus()).isEqualTo(WaitlistStatus.WAITING);
+    }
+
+    @Test
+    void lapsedOffer_movesOnToTheNextEntry() throws InterruptedException {
+        Long booked = book(customer(), tomorrow.atTime(16, 0));
+        WaitlistEntryDTO first = join(customer(), tomorrow.atTime(16, 0), tomorrow.atTime(17, 0));
+        WaitlistEntryDTO second = join(customer(), tomorrow.atTime(15, 0), tomorrow.atTime(18, 0));
+        appointmentService.cancel(booked);
+        awaitStatus(first.getId(), WaitlistStatus.OFFERED);
+
+        int expired = waitlistService.expireOffers(LocalDateTime.now().plusHours(1));
+
+        assertThat(expired).isPositive(); // Offers left open by other tests lapse too
+        assertThat(waitlistService.get(first.getId()).getStatus()).isEqualTo(WaitlistStatus.EXPIRED);
+        WaitlistEntryDTO next = waitlistService.get(second.getId());
+        assertThat(next.getStatus()).isEqualTo(WaitlistStatus.OFFERED);
+        assertThat(next.getOfferedStart()).isEqualTo(tomorrow.atTime(16, 0));
+    }
+
+    @Test
+    void accept_booksTheOfferedTime() throws InterruptedException {
+        Long booked = book(customer(), tomorrow.atTime(11, 0));
+        Long customerId = customer();
+        WaitlistEntryDTO entry = join(customerId, tomorrow.atTime(11, 0), tomorrow.atTime(12, 0));
+        appointmentService.cancel(booked);
+        awaitStatus(entry.getId(), WaitlistStatus.OFFERED);
+
+        WaitlistEntryDTO accepted = waitlistService.accept(entry.getId());
+
+        assertThat(accepted.getStatus()).isEqualTo(WaitlistStatus.BOOKED);
+        assertThat(appointmentService.getById(accepted.getAppointmentId()).getStartTime()).isEqualTo(tomorrow.atTime(11, 0));
+        assertThat(appointmentService.getById(accepted.getAppointmentId()).getCustomerId()).isEqualTo(customerId);
+        assertThatThrownBy(() -> waitlistService.accept(entry.getId())).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void join_rejectsWindowsShorterThanTheServices() {
+        assertThatThrownBy(() -> join(customer(), tomorrow.atTime(9, 0), tomorrow.atTime(9, 45)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private WaitlistEntry awaitStatus(Long entryId, WaitlistStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        WaitlistEntry entry = waitlistRepository.findById(entryId).orElseThrow();
+        while (entry.getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            entry = waitlistRepository.findById(entryId).orElseThrow();
+        }
+        assertThat(entry.getStatus()).isEqualTo(status);
+        return entry;
+    }
+
+    private WaitlistEntryDTO join(Long customerId, LocalDateTime start, LocalDateTime end) {
+        return waitlistService.join(new WaitlistRequestDTO(customerId, employeeId, hourLong, start, end));
+    }
+
+    private Long book(Long customerId, LocalDateTime start) {
+        return appointmentService.book(new AppointmentRequestDTO(customerId, employeeId, hourLong, start)).getId();
+    }
+
+    private Long customer() {
+        Customer customer = new Customer();
+        customer.setName("Wendy Waitlist");
+        customer.setPhoneNumber("554" + String.format("%07d", System.nanoTime() % 10_000_000));
+        return customerRepository.save(customer).getId();
+    }
+}
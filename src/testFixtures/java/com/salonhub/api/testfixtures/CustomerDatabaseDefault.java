@@ -1,6 +1,7 @@
 package com.salonhub.api.testfixtures;
 
 import org.springframework.jdbc.core.JdbcTemplate;
+import com.salonhub.api.common.util.ContactNormalizer;
 import com.salonhub.api.customer.model.Customer;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,8 +18,9 @@ public class CustomerDatabaseDefault {
 
     public static final List<String> SQL = CUSTOMERLIST.stream()
         .map(c -> String.format(
-            "INSERT INTO customers (id, name, email, phone_number) VALUES (%d, '%s', '%s', '%s');",
-            c.getId(), c.getName(), c.getEmail(), c.getPhoneNumber()
+            "INSERT INTO customers (id, name, email, phone_number, email_normalized, phone_normalized) VALUES (%d, '%s', '%s', '%s', '%s', '%s');",
+            c.getId(), c.getName(), c.getEmail(), c.getPhoneNumber(),
+            ContactNormalizer.normalizeEmail(c.getEmail()), ContactNormalizer.normalizePhone(c.getPhoneNumber())
         ))
         .collect(Collectors.toList());
     public static void seed(JdbcTemplate jdbc) {